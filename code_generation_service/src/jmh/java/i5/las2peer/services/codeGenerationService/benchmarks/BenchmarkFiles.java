@@ -0,0 +1,77 @@
+package i5.las2peer.services.codeGenerationService.benchmarks;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+
+import org.apache.commons.io.IOUtils;
+
+/**
+ * Helper methods shared by the benchmarks, i.e. loading the test files of the repository and
+ * creating synthetic templates of a given size.
+ *
+ */
+
+public class BenchmarkFiles {
+
+  /**
+   * Reads a file of the repository. As the benchmarks are either started from the root folder or
+   * from the project folder, both locations are tried.
+   *
+   * @param path The path of the file relative to the root folder of the repository
+   * @return The content of the file
+   * @throws IOException if the file could not be found or read
+   */
+
+  public static String getContent(String path) throws IOException {
+    File file = new File(path);
+    if (!file.exists()) {
+      file = new File("..", path);
+    }
+    try (FileInputStream fis = new FileInputStream(file)) {
+      return IOUtils.toString(fis, "UTF-8");
+    }
+  }
+
+  /**
+   * Creates a synthetic template containing the given number of variables and unprotected blocks.
+   * As variable names may only consist of letters and underscores, the index of a variable is
+   * encoded with letters, see {@link #getVariableName(int)}.
+   *
+   * @param variableCount The number of variables of the template
+   * @return The source code of the template
+   */
+
+  public static String createSyntheticTemplate(int variableCount) {
+    StringBuilder builder = new StringBuilder();
+    for (int i = 0; i < variableCount; i++) {
+      builder.append("<div id=\"").append(getVariableName(i)).append("\">");
+      if (i % 10 == 0) {
+        builder.append("-{unprotected block ").append(i).append("}-");
+      } else {
+        builder.append("protected content ").append(i);
+      }
+      builder.append("</div>\n");
+    }
+    builder.append("$Content$");
+    return builder.toString();
+  }
+
+  /**
+   * Get the name of the i-th variable of a synthetic template
+   *
+   * @param index The index of the variable
+   * @return The variable name including the surrounding dollar signs
+   */
+
+  public static String getVariableName(int index) {
+    StringBuilder name = new StringBuilder();
+    int i = index;
+    do {
+      name.append((char) ('a' + (i % 26)));
+      i = i / 26;
+    } while (i > 0);
+    return "$Var_" + name.toString() + "$";
+  }
+
+}
@@ -0,0 +1,244 @@
+package i5.las2peer.services.codeGenerationService.benchmarks;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.ObjectInputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import i5.cae.simpleModel.SimpleEntityAttribute;
+import i5.cae.simpleModel.SimpleModel;
+import i5.cae.simpleModel.edge.SimpleEdge;
+import i5.cae.simpleModel.node.SimpleNode;
+
+/**
+ * Helper methods to load the serialized test models of the repository and to create synthetically
+ * scaled variants of them.
+ *
+ */
+
+public class BenchmarkModels {
+
+  // node types that may only appear once in a model and are therefore not copied when scaling
+  private static final List<String> SINGLETON_NODE_TYPES =
+      Arrays.asList("RESTful Resource", "Database", "Widget");
+
+  // attributes that connect the components of an application or have to be unique in it
+  private static final List<String> COMPONENT_ATTRIBUTES =
+      Arrays.asList("name", "path", "microserviceAddress", "intentAction", "id");
+
+  public static final String[] APPLICATION_MODEL_PATHS = new String[] {
+      "testModels/applicationTestModel/CAE Example Application.model",
+      "testModels/applicationTestModel/Graph Widget.model",
+      "testModels/applicationTestModel/LAS2peer Load Store Graph Service.model",
+      "testModels/applicationTestModel/LAS2peer Video List Service.model",
+      "testModels/applicationTestModel/Load Store Widget.model",
+      "testModels/applicationTestModel/Video List Widget.model",
+      "testModels/applicationTestModel/Video Player Widget.model"};
+
+  /**
+   * Reads a serialized {@link i5.cae.simpleModel.SimpleModel}. As the benchmarks are either started
+   * from the root folder or from the project folder, both locations are tried. The test models were
+   * serialized with an older version of the frontend component meta-model, thus renamed node types
+   * are updated, see {@link #updateNodeTypes(SimpleModel)}.
+   *
+   * @param path The path of the model relative to the root folder of the repository
+   * @return The deserialized model
+   * @throws Exception if the model could not be read
+   */
+
+  public static SimpleModel readModel(String path) throws Exception {
+    File file = new File(path);
+    if (!file.exists()) {
+      file = new File("..", path);
+    }
+    try (ObjectInputStream input =
+        new ObjectInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+      return updateNodeTypes((SimpleModel) input.readObject());
+    }
+  }
+
+  /**
+   * Replaces the node type "HTML Element" of older frontend component models by its current name
+   * "View Component Part".
+   *
+   * @param model The model to update
+   * @return The updated model
+   */
+
+  private static SimpleModel updateNodeTypes(SimpleModel model) {
+    ArrayList<SimpleNode> nodes = new ArrayList<SimpleNode>();
+    for (SimpleNode node : model.getNodes()) {
+      if (node.getType().equals("HTML Element")) {
+        node = new SimpleNode(node.getId(), "View Component Part", node.getAttributes());
+      }
+      nodes.add(node);
+    }
+    return new SimpleModel(model.getName(), nodes, model.getEdges(), model.getAttributes());
+  }
+
+  /**
+   * Reads the application model together with its component models, the application model itself
+   * is the first entry of the list.
+   *
+   * @param scale The scale factor that is applied to each component model, see
+   *        {@link #scaleModel(SimpleModel, int)}
+   * @return The list of models as expected by the application constructor
+   * @throws Exception if a model could not be read
+   */
+
+  public static ArrayList<SimpleModel> readApplicationModels(int scale) throws Exception {
+    ArrayList<SimpleModel> models = new ArrayList<SimpleModel>();
+    for (int i = 0; i < APPLICATION_MODEL_PATHS.length; i++) {
+      SimpleModel model = readModel(APPLICATION_MODEL_PATHS[i]);
+      models.add(i == 0 ? model : scaleModel(model, scale));
+    }
+    return models;
+  }
+
+  /**
+   * Creates a synthetic application of the given number of components by copying the components of
+   * the test application, see {@link #copyModel(SimpleModel, String)}. Each copy of the test
+   * application communicates only within itself.
+   *
+   * @param componentCount The number of components of the application
+   * @return The list of models as expected by the application constructor
+   * @throws Exception if a model could not be read
+   */
+
+  public static ArrayList<SimpleModel> createApplicationModels(int componentCount)
+      throws Exception {
+    ArrayList<SimpleModel> models = new ArrayList<SimpleModel>();
+    models.add(readModel(APPLICATION_MODEL_PATHS[0]));
+    int componentModels = APPLICATION_MODEL_PATHS.length - 1;
+    for (int i = 0; i < componentCount; i++) {
+      SimpleModel model = readModel(APPLICATION_MODEL_PATHS[1 + i % componentModels]);
+      int copy = i / componentModels;
+      models.add(copy == 0 ? model : copyModel(model, "_" + copy));
+    }
+    return models;
+  }
+
+  /**
+   * Creates a copy of a component model with unique node and edge ids and a unique name. The names,
+   * paths, microservice addresses, intent actions and element ids of the copy get the suffix too,
+   * so that copies of a microservice and a frontend component calling it are connected with each
+   * other, but not with other copies.
+   *
+   * @param model The model to copy
+   * @param suffix The suffix of the ids and names of the copy
+   * @return The copy of the model
+   */
+
+  public static SimpleModel copyModel(SimpleModel model, String suffix) {
+    ArrayList<SimpleNode> nodes = new ArrayList<SimpleNode>();
+    for (SimpleNode node : model.getNodes()) {
+      nodes.add(new SimpleNode(node.getId() + suffix, node.getType(),
+          copyComponentAttributes(node.getAttributes(), suffix)));
+    }
+    ArrayList<SimpleEdge> edges = new ArrayList<SimpleEdge>();
+    for (SimpleEdge edge : model.getEdges()) {
+      edges.add(new SimpleEdge(edge.getId() + suffix, edge.getSourceNode() + suffix,
+          edge.getTargetNode() + suffix, edge.getType(), "", edge.getAttributes()));
+    }
+    return new SimpleModel(model.getName() + suffix, nodes, edges, model.getAttributes());
+  }
+
+  /**
+   * Creates a synthetically scaled variant of a model. All nodes except the singleton ones
+   * (RESTful Resource, Database and Widget) are copied scale - 1 times together with their edges,
+   * such that the scaled model is still a valid model of the same type.
+   *
+   * @param model The model to scale
+   * @param scale The scale factor, 1 returns the given model
+   * @return The scaled model
+   */
+
+  public static SimpleModel scaleModel(SimpleModel model, int scale) {
+    if (scale <= 1) {
+      return model;
+    }
+    ArrayList<SimpleNode> nodes = new ArrayList<SimpleNode>(model.getNodes());
+    ArrayList<SimpleEdge> edges = new ArrayList<SimpleEdge>(model.getEdges());
+
+    for (int copy = 1; copy < scale; copy++) {
+      String suffix = "_" + copy;
+      Map<String, String> copiedIds = new HashMap<String, String>();
+      for (SimpleNode node : model.getNodes()) {
+        if (SINGLETON_NODE_TYPES.contains(node.getType())) {
+          continue;
+        }
+        copiedIds.put(node.getId(), node.getId() + suffix);
+        nodes.add(new SimpleNode(node.getId() + suffix, node.getType(),
+            copyAttributes(node.getAttributes(), suffix)));
+      }
+      for (SimpleEdge edge : model.getEdges()) {
+        String source = copiedIds.get(edge.getSourceNode());
+        String target = copiedIds.get(edge.getTargetNode());
+        // edges between singleton nodes exist only once
+        if (source == null && target == null) {
+          continue;
+        }
+        edges.add(new SimpleEdge(edge.getId() + suffix,
+            source != null ? source : edge.getSourceNode(),
+            target != null ? target : edge.getTargetNode(), edge.getType(), "",
+            copyAttributes(edge.getAttributes(), suffix)));
+      }
+    }
+    return new SimpleModel(model.getName(), nodes, edges, model.getAttributes());
+  }
+
+  /**
+   * Creates a copy of a model with the given model attribute, e.g. to give each copy of a model its
+   * own versioned model id and thus its own repository.
+   *
+   * @param model The model
+   * @param name The name of the attribute, an existing attribute of this name is replaced
+   * @param value The value of the attribute
+   * @return The copy of the model
+   */
+
+  public static SimpleModel setAttribute(SimpleModel model, String name, String value) {
+    ArrayList<SimpleEntityAttribute> attributes = new ArrayList<SimpleEntityAttribute>();
+    for (SimpleEntityAttribute attribute : model.getAttributes()) {
+      if (!attribute.getName().equals(name)) {
+        attributes.add(attribute);
+      }
+    }
+    attributes.add(new SimpleEntityAttribute(name, name, value));
+    return new SimpleModel(model.getName(), model.getNodes(), model.getEdges(), attributes);
+  }
+
+  private static ArrayList<SimpleEntityAttribute> copyComponentAttributes(
+      ArrayList<SimpleEntityAttribute> attributes, String suffix) {
+    ArrayList<SimpleEntityAttribute> copy = new ArrayList<SimpleEntityAttribute>();
+    for (SimpleEntityAttribute attribute : attributes) {
+      String value = attribute.getValue();
+      if (COMPONENT_ATTRIBUTES.contains(attribute.getName()) && value != null
+          && !value.isEmpty()) {
+        value = value + suffix;
+      }
+      copy.add(new SimpleEntityAttribute(attribute.getSyncMetaId(), attribute.getName(), value));
+    }
+    return copy;
+  }
+
+  private static ArrayList<SimpleEntityAttribute> copyAttributes(
+      ArrayList<SimpleEntityAttribute> attributes, String suffix) {
+    ArrayList<SimpleEntityAttribute> copy = new ArrayList<SimpleEntityAttribute>();
+    for (SimpleEntityAttribute attribute : attributes) {
+      String value = attribute.getValue();
+      // keep names unique, e.g. http method names are used as java method names
+      if (attribute.getName().equals("name") && value != null && !value.isEmpty()) {
+        value = value + suffix;
+      }
+      copy.add(new SimpleEntityAttribute(attribute.getSyncMetaId(), attribute.getName(), value));
+    }
+    return copy;
+  }
+
+}
@@ -0,0 +1,54 @@
+package i5.las2peer.services.codeGenerationService.benchmarks;
+
+import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import i5.cae.simpleModel.SimpleModel;
+import i5.las2peer.services.codeGenerationService.models.application.Application;
+import i5.las2peer.services.codeGenerationService.models.application.communicationModel.CommunicationModel;
+
+/**
+ * Benchmarks for the creation of the communication view of an application, as it is done by
+ * getCommunicationViewOfApplicationModel. The application is a synthetic application of the
+ * configured number of components, see {@link BenchmarkModels#createApplicationModels(int)}.
+ *
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CommunicationModelBenchmark {
+
+  @Param({"6", "100"})
+  public int componentCount;
+
+  private Application application;
+
+  @Setup(Level.Trial)
+  public void loadApplication() throws Exception {
+    application = new Application(BenchmarkModels.createApplicationModels(componentCount),
+        new HashMap<String, String>());
+  }
+
+  @Benchmark
+  public CommunicationModel createCommunicationModel() {
+    return new CommunicationModel(application.getName(), application.getVersion(),
+        application.getMicroservices(), application.getFrontendComponents());
+  }
+
+  @Benchmark
+  public SimpleModel toCommunicationModel() {
+    return application.toCommunicationModel();
+  }
+
+}
@@ -0,0 +1,207 @@
+package i5.las2peer.services.codeGenerationService.benchmarks;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.commons.io.FileUtils;
+
+import i5.cae.simpleModel.SimpleModel;
+import i5.las2peer.api.p2p.ServiceNameVersion;
+import i5.las2peer.p2p.LocalNode;
+import i5.las2peer.p2p.LocalNodeManager;
+import i5.las2peer.security.ServiceAgentImpl;
+import i5.las2peer.services.codeGenerationService.CodeGenerationService;
+import i5.las2peer.services.codeGenerationService.adapters.LocalGitHostAdapter;
+import i5.las2peer.services.codeGenerationService.utilities.Metrics;
+
+/**
+ * End-to-end throughput harness for the code generation. Starts a local node with the service
+ * configured to use the {@link LocalGitHostAdapter}, seeds the template repository from a local
+ * copy of the CAE-Templates layout and lets a number of threads run create, update and
+ * synchronization cycles concurrently. Each thread works on its own repository, microservices and
+ * frontend components alternate between the threads. Afterwards p50 / p99 latency and throughput
+ * are printed per phase (see {@link Metrics}) and per cycle type.
+ *
+ * Usage: GenerationThroughputHarness [templates folder] [threads] [cycles per thread]
+ *
+ * The harness has to be started in an empty working directory, as the service configuration,
+ * the git host and the local repositories are created there. The test models are read relative to
+ * the system property "harness.rootDir", which defaults to the working directory.
+ *
+ */
+
+public class GenerationThroughputHarness {
+
+  private static final String SERVICE_PROPERTIES =
+      "etc/i5.las2peer.services.codeGenerationService.CodeGenerationService.properties";
+  private static final String SERVICE_PASSPHRASE = "a pass";
+
+  private static final String GIT_USER = "harness";
+  private static final String GIT_PASSWORD = "harness";
+  private static final String GIT_USER_MAIL = "harness@localhost";
+  private static final String GIT_ORGANIZATION = "CAE-Community-Application-Editor";
+  private static final String TEMPLATE_REPOSITORY = "CAE-Templates";
+
+  private static final String MICROSERVICE_MODEL =
+      "testModels/My First Testservice without DB.model";
+  private static final String FRONTEND_COMPONENT_MODEL = "testModels/My Test Widget.model";
+
+  private static final String CREATE_CYCLE = "cycle_create";
+  private static final String UPDATE_CYCLE = "cycle_update";
+  private static final String SYNC_CYCLE = "cycle_sync";
+
+  private static LocalNode node;
+  private static ServiceAgentImpl serviceAgent;
+  private static ServiceNameVersion serviceNameVersion;
+
+  public static void main(String[] args) throws Exception {
+    if (args.length < 1) {
+      System.err.println(
+          "Usage: GenerationThroughputHarness <templates folder> [threads] [cycles per thread]");
+      System.exit(1);
+    }
+    File templatesDirectory = new File(args[0]);
+    int threads = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+    int cycles = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+    File rootDirectory = new File(System.getProperty("harness.rootDir", "."));
+
+    // fresh git host and service configuration in the working directory
+    File gitHostDirectory = new File("githost").getAbsoluteFile();
+    FileUtils.deleteDirectory(gitHostDirectory);
+    gitHostDirectory.mkdirs();
+    String baseURL = "file://" + gitHostDirectory.getPath() + "/";
+    writeServiceProperties(baseURL, new File("repositories").getAbsolutePath() + "/");
+
+    LocalGitHostAdapter gitAdapter = new LocalGitHostAdapter(baseURL, GIT_USER, GIT_PASSWORD,
+        GIT_ORGANIZATION, TEMPLATE_REPOSITORY, GIT_USER_MAIL);
+    gitAdapter.seedTemplateRepository(templatesDirectory);
+
+    SimpleModel microserviceModel =
+        BenchmarkModels.readModel(new File(rootDirectory, MICROSERVICE_MODEL).getPath());
+    SimpleModel frontendComponentModel =
+        BenchmarkModels.readModel(new File(rootDirectory, FRONTEND_COMPONENT_MODEL).getPath());
+
+    // start node
+    node = new LocalNodeManager().newNode();
+    node.launch();
+    serviceNameVersion = new ServiceNameVersion(CodeGenerationService.class.getName(), "0.1");
+    serviceAgent = ServiceAgentImpl.createServiceAgent(serviceNameVersion, SERVICE_PASSPHRASE);
+    serviceAgent.unlock(SERVICE_PASSPHRASE);
+    node.registerReceiver(serviceAgent);
+
+    Metrics.reset();
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    List<Future<?>> workers = new ArrayList<Future<?>>();
+    long startTime = System.nanoTime();
+    for (int i = 0; i < threads; i++) {
+      final boolean microservice = i % 2 == 0;
+      final SimpleModel model = BenchmarkModels.setAttribute(
+          microservice ? microserviceModel : frontendComponentModel, "versionedModelId",
+          "harness" + i);
+      final String repositoryName =
+          (microservice ? "microservice-" : "frontendComponent-") + "harness" + i;
+      workers.add(executor.submit(() -> {
+        runCycles(model, repositoryName, cycles);
+        return null;
+      }));
+    }
+    try {
+      for (Future<?> worker : workers) {
+        worker.get();
+      }
+    } finally {
+      executor.shutdownNow();
+      node.shutDown();
+    }
+    printReport(System.nanoTime() - startTime);
+  }
+
+  /**
+   * Creates the repository of the model and generates it, afterwards the repository is updated
+   * alternately by synchronizing it with the old model and by regenerating it without an old
+   * model.
+   *
+   * @param model The model
+   * @param repositoryName The name of the repository of the model
+   * @param cycles The number of cycles
+   * @throws Exception if an invocation of the service fails or does not return "done"
+   */
+
+  private static void runCycles(SimpleModel model, String repositoryName, int cycles)
+      throws Exception {
+    invoke("createRepo", repositoryName);
+    for (int cycle = 0; cycle < cycles; cycle++) {
+      ArrayList<SimpleModel> models = new ArrayList<SimpleModel>();
+      models.add(model);
+      String method = "updateRepositoryOfModel";
+      String cycleTimer = UPDATE_CYCLE;
+      if (cycle == 0) {
+        method = "createFromModel";
+        cycleTimer = CREATE_CYCLE;
+      } else if (cycle % 2 == 1) {
+        // an old model triggers the model synchronization
+        models.add(model);
+        cycleTimer = SYNC_CYCLE;
+      }
+
+      long cycleStart = System.nanoTime();
+      String result = (String) invoke(method, "harness cycle " + cycle, "", "", models,
+          new HashMap<String, String>(), null);
+      if (result == null || !result.startsWith("done")) {
+        throw new IllegalStateException(repositoryName + ": " + method + " failed with " + result);
+      }
+      Metrics.timer(cycleTimer).recordSince(cycleStart);
+    }
+  }
+
+  private static Serializable invoke(String method, Serializable... parameters) throws Exception {
+    return node.invoke(serviceAgent, serviceNameVersion, method, parameters);
+  }
+
+  private static void writeServiceProperties(String baseURL, String localGitPath)
+      throws Exception {
+    Properties properties = new Properties();
+    properties.setProperty("gitUser", GIT_USER);
+    properties.setProperty("gitUserMail", GIT_USER_MAIL);
+    properties.setProperty("gitOrganization", GIT_ORGANIZATION);
+    properties.setProperty("templateRepository", TEMPLATE_REPOSITORY);
+    properties.setProperty("deploymentRepo", "CAE-Deployment-Temp");
+    properties.setProperty("gitPassword", GIT_PASSWORD);
+    properties.setProperty("useModelSynchronization", "true");
+    properties.setProperty("usedGitHost", "Local");
+    properties.setProperty("baseURL", baseURL);
+    properties.setProperty("token", "local");
+    properties.setProperty("widgetHomeBaseURL", "http://localhost:8086/");
+    properties.setProperty("localGitPath", localGitPath);
+
+    File file = new File(SERVICE_PROPERTIES);
+    file.getParentFile().mkdirs();
+    try (OutputStream output = new FileOutputStream(file)) {
+      properties.store(output, "generated by the generation throughput harness");
+    }
+  }
+
+  private static void printReport(long wallNanos) {
+    double seconds = wallNanos / 1e9;
+    System.out.println(String.format("%-16s %8s %12s %12s %12s", "phase", "count", "p50 [ms]",
+        "p99 [ms]", "ops/s"));
+    for (Map.Entry<String, Metrics.Timer> entry : Metrics.getTimers().entrySet()) {
+      Metrics.Timer timer = entry.getValue();
+      System.out.println(String.format("%-16s %8d %12.2f %12.2f %12.2f", entry.getKey(),
+          timer.getCount(), timer.getPercentile(0.5) / 1e6, timer.getPercentile(0.99) / 1e6,
+          timer.getCount() / seconds));
+    }
+    System.out.println(String.format("wall time: %.2f s", seconds));
+  }
+
+}
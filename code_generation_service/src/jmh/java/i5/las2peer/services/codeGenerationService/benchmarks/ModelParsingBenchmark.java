@@ -0,0 +1,75 @@
+package i5.las2peer.services.codeGenerationService.benchmarks;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import i5.cae.simpleModel.SimpleModel;
+import i5.las2peer.services.codeGenerationService.exception.ModelParseException;
+import i5.las2peer.services.codeGenerationService.models.application.Application;
+import i5.las2peer.services.codeGenerationService.models.frontendComponent.FrontendComponent;
+import i5.las2peer.services.codeGenerationService.models.microservice.Microservice;
+
+/**
+ * Benchmarks for parsing the model classes from their
+ * {@link i5.cae.simpleModel.SimpleModel} representation, as it is done on every request. The
+ * serialized test models are scaled synthetically by the configured factor, see
+ * {@link BenchmarkModels#scaleModel(SimpleModel, int)}.
+ *
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ModelParsingBenchmark {
+
+  @Param({"1", "10", "100"})
+  public int scale;
+
+  private SimpleModel microserviceModel;
+  private SimpleModel microserviceWithDatabaseModel;
+  private SimpleModel frontendComponentModel;
+  private ArrayList<SimpleModel> applicationModels;
+
+  @Setup(Level.Trial)
+  public void loadModels() throws Exception {
+    microserviceModel = BenchmarkModels.scaleModel(
+        BenchmarkModels.readModel("testModels/My First Testservice without DB.model"), scale);
+    microserviceWithDatabaseModel = BenchmarkModels
+        .scaleModel(BenchmarkModels.readModel("testModels/My First Testservice.model"), scale);
+    frontendComponentModel = BenchmarkModels
+        .scaleModel(BenchmarkModels.readModel("testModels/My Test Widget.model"), scale);
+    applicationModels = BenchmarkModels.readApplicationModels(scale);
+  }
+
+  @Benchmark
+  public Microservice parseMicroservice() throws ModelParseException {
+    return new Microservice(microserviceModel, null);
+  }
+
+  @Benchmark
+  public Microservice parseMicroserviceWithDatabase() throws ModelParseException {
+    return new Microservice(microserviceWithDatabaseModel, null);
+  }
+
+  @Benchmark
+  public FrontendComponent parseFrontendComponent() throws ModelParseException {
+    return new FrontendComponent(frontendComponentModel);
+  }
+
+  @Benchmark
+  public Application parseApplication() throws ModelParseException {
+    return new Application(applicationModels, new HashMap<String, String>());
+  }
+
+}
@@ -0,0 +1,121 @@
+package i5.las2peer.services.codeGenerationService.benchmarks;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+import org.json.simple.parser.JSONParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import i5.las2peer.services.codeGenerationService.models.traceModel.FileTraceModel;
+import i5.las2peer.services.codeGenerationService.models.traceModel.TraceModel;
+import i5.las2peer.services.codeGenerationService.templateEngine.GuidanceModel;
+import i5.las2peer.services.codeGenerationService.templateEngine.ModelViolationDetection;
+import i5.las2peer.services.codeGenerationService.templateEngine.Template;
+import i5.las2peer.services.codeGenerationService.templateEngine.TemplateEngine;
+
+/**
+ * Benchmarks for the model violation check of a large synthetic frontend component, i.e. the
+ * configured number of traced files with 200 model elements each. The results of previous checks
+ * are cleared by every benchmark except for the one of unchanged files, so that the concurrent
+ * check of the files can be compared with checking them one after another.
+ *
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ModelViolationBenchmark {
+
+  private static final int ELEMENTS_PER_FILE = 200;
+  private static final String REPOSITORY = "frontendComponent-benchmark";
+
+  @Param({"1", "20", "100"})
+  public int fileCount;
+
+  private HashMap<String, JSONObject> files;
+  private GuidanceModel guidanceModel;
+
+  @SuppressWarnings("unchecked")
+  @Setup(Level.Trial)
+  public void generateFiles() throws Exception {
+    String contentTemplateContent =
+        BenchmarkFiles.getContent("testFiles/sharedFiles/templates/ContentTemplate3.txt");
+    files = new HashMap<String, JSONObject>();
+    for (int f = 0; f < fileCount; f++) {
+      String fileName = "widget" + f + ".js";
+      TemplateEngine templateEngine =
+          Template.createInitialTemplateEngine(new TraceModel(), fileName);
+      Template mainTemplate = templateEngine.createTemplate(fileName + "Id", "$Content$");
+      templateEngine.addTemplate(mainTemplate);
+      for (int i = 0; i < ELEMENTS_PER_FILE; i++) {
+        Template contentTemplate =
+            templateEngine.createTemplate("content" + i, contentTemplateContent);
+        contentTemplate.setVariable("$Id$", "id" + i);
+        contentTemplate.setVariable("$UnprotectedBlock$",
+            i % 50 == 0 ? "$('#id').load('forbidden.html');" : "var value" + i + " = " + i + ";");
+        mainTemplate.appendVariable("$Content$", contentTemplate);
+        templateEngine.addTrace("model" + f + "_" + i, "HTML Element", "element" + i,
+            contentTemplate);
+      }
+      FileTraceModel fileTraceModel = templateEngine.getFileTraceModel();
+
+      JSONObject file = new JSONObject();
+      file.put("content", Base64.getEncoder()
+          .encodeToString(fileTraceModel.getContent().getBytes(StandardCharsets.UTF_8)));
+      file.put("fileTraces",
+          new JSONParser().parse(fileTraceModel.toJSONObject().toJSONString()));
+      files.put(fileName, file);
+    }
+    guidanceModel = new GuidanceModel((JSONObject) new JSONParser()
+        .parse("{\"guidances\":[{\"type\":\"HTML Element\",\"regex\":\"\\\\.load\\\\(('.*?')\\\\)\","
+            + "\"group\":1,\"message\":\"Do not load other files\"}]}"));
+  }
+
+  @Benchmark
+  public JSONArray checkFiles() {
+    ModelViolationDetection.clearCache();
+    return ModelViolationDetection.performViolationCheck(REPOSITORY, files, guidanceModel);
+  }
+
+  @SuppressWarnings("unchecked")
+  @Benchmark
+  public JSONArray checkFilesSequentially() {
+    ModelViolationDetection.clearCache();
+    JSONArray feedback = new JSONArray();
+    for (Map.Entry<String, JSONObject> file : files.entrySet()) {
+      HashMap<String, JSONObject> singleFile = new HashMap<String, JSONObject>();
+      singleFile.put(file.getKey(), file.getValue());
+      feedback.addAll(ModelViolationDetection.performViolationCheck(REPOSITORY, singleFile,
+          guidanceModel));
+    }
+    return feedback;
+  }
+
+  @Benchmark
+  public boolean passesViolationCheck() {
+    ModelViolationDetection.clearCache();
+    return ModelViolationDetection.passesViolationCheck(REPOSITORY, files, guidanceModel);
+  }
+
+  /**
+   * Checks the files with the results of the previous invocation, as for unchanged files
+   */
+  @Benchmark
+  public JSONArray checkUnchangedFiles() {
+    return ModelViolationDetection.performViolationCheck(REPOSITORY, files, guidanceModel);
+  }
+
+}
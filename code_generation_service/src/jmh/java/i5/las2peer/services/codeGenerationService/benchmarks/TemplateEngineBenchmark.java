@@ -0,0 +1,90 @@
+package i5.las2peer.services.codeGenerationService.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import i5.las2peer.services.codeGenerationService.models.traceModel.TraceModel;
+import i5.las2peer.services.codeGenerationService.templateEngine.Template;
+import i5.las2peer.services.codeGenerationService.templateEngine.TemplateEngine;
+
+/**
+ * Benchmarks for the creation of templates and the assignment of their variables, using the shared
+ * test templates and synthetic templates with a configurable number of variables.
+ *
+ */
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class TemplateEngineBenchmark {
+
+  @Param({"10", "1000", "5000"})
+  public int variableCount;
+
+  private String mainTemplateContent;
+  private String contentTemplateContent;
+  private String syntheticTemplateContent;
+
+  private TemplateEngine templateEngine;
+
+  @Setup(Level.Trial)
+  public void loadTemplates() throws Exception {
+    mainTemplateContent = BenchmarkFiles.getContent("testFiles/sharedFiles/templates/main.txt");
+    contentTemplateContent =
+        BenchmarkFiles.getContent("testFiles/sharedFiles/templates/ContentTemplate1.txt");
+    syntheticTemplateContent = BenchmarkFiles.createSyntheticTemplate(variableCount);
+  }
+
+  // per iteration, as a setup per invocation distorts the measurement of these short benchmarks;
+  // the benchmarks thus create the templates they change themselves
+  @Setup(Level.Iteration)
+  public void createTemplateEngine() {
+    templateEngine = Template.createInitialTemplateEngine(new TraceModel(), "benchmark.txt");
+  }
+
+  @Benchmark
+  public Template createSharedTemplate() {
+    return templateEngine.createTemplate("testFileId", mainTemplateContent);
+  }
+
+  @Benchmark
+  public Template createSyntheticTemplate() {
+    return templateEngine.createTemplate("syntheticId", syntheticTemplateContent);
+  }
+
+  // includes the creation of the template, measured alone by createSyntheticTemplate, as every
+  // variable can only be replaced once
+  @Benchmark
+  public Template setVariables() {
+    Template syntheticTemplate =
+        templateEngine.createTemplate("syntheticId", syntheticTemplateContent);
+    for (int i = 0; i < variableCount; i++) {
+      syntheticTemplate.setVariable(BenchmarkFiles.getVariableName(i), "value" + i);
+    }
+    return syntheticTemplate;
+  }
+
+  @Benchmark
+  public void appendVariables(Blackhole blackhole) {
+    Template containerTemplate = templateEngine.createTemplate("containerId", "$Content$");
+    for (int i = 0; i < variableCount; i++) {
+      Template contentTemplate =
+          templateEngine.createTemplate("content" + i, contentTemplateContent);
+      contentTemplate.setVariable("$Id$", "id" + i);
+      contentTemplate.setVariable("$ElementContent$", "content" + i);
+      containerTemplate.appendVariable("$Content$", contentTemplate);
+    }
+    blackhole.consume(containerTemplate);
+  }
+
+}
@@ -0,0 +1,154 @@
+package i5.las2peer.services.codeGenerationService.benchmarks;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.json.simple.JSONObject;
+import org.json.simple.parser.JSONParser;
+import org.json.simple.parser.ParseException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import i5.las2peer.services.codeGenerationService.models.traceModel.FileTraceModel;
+import i5.las2peer.services.codeGenerationService.models.traceModel.FileTraceModelFactory;
+import i5.las2peer.services.codeGenerationService.models.traceModel.TraceFileFormat;
+import i5.las2peer.services.codeGenerationService.models.traceModel.TraceModel;
+import i5.las2peer.services.codeGenerationService.templateEngine.Template;
+import i5.las2peer.services.codeGenerationService.templateEngine.TemplateEngine;
+import i5.las2peer.services.codeGenerationService.traces.segments.CompositeSegment;
+
+/**
+ * Benchmarks for the composition of segments and the (de)serialization of file trace models. The
+ * file trace model is generated once per trial from a synthetic template with the configured number
+ * of variables and appended content templates. The trace file benchmarks compare the json and the
+ * binary {@link TraceFileFormat}.
+ *
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class TraceSegmentBenchmark {
+
+  @Param({"10", "1000", "5000"})
+  public int variableCount;
+
+  private CompositeSegment rootSegment;
+  private FileTraceModel fileTraceModel;
+  private String fileContent;
+  private JSONObject fileTraces;
+  private byte[] jsonTraceFile;
+  private byte[] binaryTraceFile;
+
+  private String testCaseContent;
+  private JSONObject testCaseTraces;
+
+  @Setup(Level.Trial)
+  public void generateFile() throws Exception {
+    String contentTemplateContent =
+        BenchmarkFiles.getContent("testFiles/sharedFiles/templates/ContentTemplate1.txt");
+    TraceModel traceModel = new TraceModel();
+    TemplateEngine templateEngine =
+        Template.createInitialTemplateEngine(traceModel, "benchmark.txt");
+    Template mainTemplate = templateEngine.createTemplate("syntheticId",
+        BenchmarkFiles.createSyntheticTemplate(variableCount));
+    for (int i = 0; i < variableCount; i++) {
+      mainTemplate.setVariable(BenchmarkFiles.getVariableName(i), "value" + i);
+      Template contentTemplate =
+          templateEngine.createTemplate("content" + i, contentTemplateContent);
+      contentTemplate.setVariable("$Id$", "id" + i);
+      contentTemplate.setVariable("$ElementContent$", "content" + i);
+      mainTemplate.appendVariable("$Content$", contentTemplate);
+      templateEngine.addTrace("model" + i, "Element", "element" + i, contentTemplate);
+    }
+    templateEngine.addTemplate(mainTemplate);
+
+    rootSegment = mainTemplate.getSegment();
+    fileTraceModel = templateEngine.getFileTraceModel();
+    fileContent = fileTraceModel.getContent();
+    // round trip through a string, so that the json object equals a parsed traces file
+    fileTraces = (JSONObject) new JSONParser().parse(fileTraceModel.toJSONObject().toJSONString());
+    jsonTraceFile = fileTraces.toJSONString().getBytes(StandardCharsets.UTF_8);
+    binaryTraceFile = TraceFileFormat.encode(fileTraces);
+
+    testCaseContent =
+        BenchmarkFiles.getContent("testFiles/ModelSynchronization/TestCase1/testFile.txt");
+    testCaseTraces = (JSONObject) new JSONParser().parse(
+        BenchmarkFiles.getContent("testFiles/ModelSynchronization/TestCase1/testFile.txt.traces"));
+  }
+
+  @Benchmark
+  public String compositeSegmentToString() {
+    return rootSegment.toString();
+  }
+
+  @Benchmark
+  public int compositeSegmentGetLength() {
+    return rootSegment.getLength();
+  }
+
+  @Benchmark
+  public JSONObject fileTraceModelToJSONObject() {
+    return fileTraceModel.toJSONObject();
+  }
+
+  @Benchmark
+  public FileTraceModel createFileTraceModelFromJSON() {
+    return FileTraceModelFactory.createFileTraceModelFromJSON(fileContent, fileTraces,
+        new TraceModel(), "benchmark.txt");
+  }
+
+  @Benchmark
+  public FileTraceModel createFileTraceModelFromStream() throws ParseException {
+    return FileTraceModelFactory.createFileTraceModel(fileContent, jsonTraceFile,
+        new TraceModel(), "benchmark.txt");
+  }
+
+  @Benchmark
+  public String fileTraceModelToJSONString() {
+    return fileTraceModel.toJSONObject().toJSONString();
+  }
+
+  @Benchmark
+  public String fileTraceModelWriteJSON() throws IOException {
+    StringWriter out = new StringWriter();
+    fileTraceModel.writeJSON(out);
+    return out.toString();
+  }
+
+  @Benchmark
+  public FileTraceModel createTestCaseFileTraceModelFromJSON() {
+    return FileTraceModelFactory.createFileTraceModelFromJSON(testCaseContent, testCaseTraces,
+        new TraceModel(), "testFile.txt");
+  }
+
+  @Benchmark
+  public byte[] writeJSONTraceFile() {
+    return fileTraces.toJSONString().getBytes(StandardCharsets.UTF_8);
+  }
+
+  @Benchmark
+  public byte[] writeBinaryTraceFile() {
+    return TraceFileFormat.encode(fileTraces);
+  }
+
+  @Benchmark
+  public JSONObject parseJSONTraceFile() throws ParseException {
+    return TraceFileFormat.parse(jsonTraceFile);
+  }
+
+  @Benchmark
+  public JSONObject parseBinaryTraceFile() throws ParseException {
+    return TraceFileFormat.parse(binaryTraceFile);
+  }
+
+}
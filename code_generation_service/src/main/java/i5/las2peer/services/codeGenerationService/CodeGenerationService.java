@@ -1,24 +1,27 @@
 package i5.las2peer.services.codeGenerationService;
 
 import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Base64;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import i5.las2peer.apiTestModel.TestCase;
 import i5.las2peer.apiTestModel.TestModel;
 import i5.las2peer.services.codeGenerationService.models.traceModel.FileTraceModel;
+import i5.las2peer.services.codeGenerationService.models.traceModel.TraceFileFormat;
 import i5.las2peer.services.codeGenerationService.models.traceModel.TraceModel;
 import i5.las2peer.services.codeGenerationService.templateEngine.InitialGenerationStrategy;
 import i5.las2peer.services.codeGenerationService.templateEngine.Template;
 import i5.las2peer.services.codeGenerationService.templateEngine.TemplateEngine;
-import kong.unirest.Unirest;
 import org.apache.commons.io.FileUtils;
 import org.eclipse.jgit.api.Git;
-import org.eclipse.jgit.lib.Ref;
 import org.eclipse.jgit.revwalk.RevCommit;
 import org.eclipse.jgit.treewalk.TreeWalk;
 import org.json.simple.JSONArray;
@@ -33,22 +36,36 @@ import i5.las2peer.restMapper.RESTService;
 import i5.las2peer.restMapper.annotations.ServicePath;
 import i5.las2peer.services.codeGenerationService.adapters.BaseGitHostAdapter;
 import i5.las2peer.services.codeGenerationService.adapters.GitHostAdapter;
+import i5.las2peer.services.codeGenerationService.adapters.GitHostHttpClient;
 import i5.las2peer.services.codeGenerationService.adapters.GitHubAdapter;
 import i5.las2peer.services.codeGenerationService.adapters.GitLabAdapter;
+import i5.las2peer.services.codeGenerationService.adapters.LocalGitHostAdapter;
+import i5.las2peer.services.codeGenerationService.events.GitOperationEvent;
 import i5.las2peer.services.codeGenerationService.exception.GitHelperException;
 import i5.las2peer.services.codeGenerationService.exception.GitHostException;
 import i5.las2peer.services.codeGenerationService.exception.ModelParseException;
 import i5.las2peer.services.codeGenerationService.generators.ApplicationGenerator;
+import i5.las2peer.services.codeGenerationService.generators.DeploymentStatusPoller;
 import i5.las2peer.services.codeGenerationService.generators.FrontendComponentGenerator;
 import i5.las2peer.services.codeGenerationService.generators.FrontendComponentSynchronization;
+import i5.las2peer.services.codeGenerationService.generators.GeneratedFile;
 import i5.las2peer.services.codeGenerationService.generators.Generator;
 import i5.las2peer.services.codeGenerationService.generators.MicroserviceGenerator;
 import i5.las2peer.services.codeGenerationService.generators.MicroserviceSynchronization;
+import i5.las2peer.services.codeGenerationService.generators.TestMethodTemplates;
+import i5.las2peer.services.codeGenerationService.generators.TracedFile;
+import i5.las2peer.services.codeGenerationService.generators.WarmUp;
 import i5.las2peer.services.codeGenerationService.models.application.Application;
 import i5.las2peer.services.codeGenerationService.models.frontendComponent.FrontendComponent;
 import i5.las2peer.services.codeGenerationService.models.microservice.Microservice;
+import i5.las2peer.services.codeGenerationService.templateEngine.GuidanceModel;
 import i5.las2peer.services.codeGenerationService.templateEngine.ModelViolationDetection;
 import i5.las2peer.services.codeGenerationService.utilities.GitUtility;
+import i5.las2peer.services.codeGenerationService.utilities.Metrics;
+import i5.las2peer.services.codeGenerationService.utilities.ParsedModelCache;
+import i5.las2peer.services.codeGenerationService.utilities.RemoteRepositoryCache;
+import i5.las2peer.services.codeGenerationService.utilities.ResponseCache;
+import i5.las2peer.services.codeGenerationService.utilities.WorkerPools;
 import io.swagger.annotations.Api;
 import io.swagger.annotations.Contact;
 import io.swagger.annotations.Info;
@@ -78,10 +95,34 @@ public class CodeGenerationService extends RESTService {
 	private String usedGitHost;
 
 	private boolean useModelCheck;
+	// invoke the model check of the service through las2peer instead of calling it directly,
+	// e.g. to run it on another node
+	private boolean useRemoteModelCheck = false;
 
 	private String baseURL;
 	private String token;
 
+	// git host api client properties, timeouts in seconds
+	private int gitHostConnectTimeout = 10;
+	private int gitHostReadTimeout = 30;
+	private int gitHostRequestsPerSecond = 5;
+	// seconds for which the existence of a remote repository is cached, 0 disables the cache
+	private int remoteRepositoryCacheTtl = 10;
+	// milliseconds in which pushes of merges into the master branch of a repository are coalesced,
+	// while another push of the repository is in progress
+	private int pushCoalescingWindow = 250;
+	// seconds for which the templates of the api-testing-bot's test methods are cached
+	private int testMethodTemplatesTtl = 3600;
+	// format of newly written trace files, json or binary; both are read
+	private String traceFileFormat = TraceFileFormat.JSON;
+	// number of cached responses of the file endpoints, 0 disables the cache
+	private int responseCacheSize = ResponseCache.DEFAULT_MAX_ENTRIES;
+	// number of cached parsed component models, 0 disables the cache
+	private int parsedModelCacheSize = ParsedModelCache.DEFAULT_MAX_ENTRIES;
+	// warm up the template repository, template engine and JGit in the background after the start
+	private boolean warmUpOnStart = false;
+	private WarmUp warmUp;
+
 	private String oidcProvider;
 
 	// The git service adapter object
@@ -99,10 +140,18 @@ public class CodeGenerationService extends RESTService {
 	private String jenkinsUrl;
 	private String jenkinsJobToken;
 	private String deploymentRepo;
+	// milliseconds between two polls of the status of a deployment
+	private int jenkinsPollInterval = 2000;
+	private DeploymentStatusPoller deploymentStatusPoller;
 
 	boolean useModelSynchronization;
 	private final L2pLogger logger = L2pLogger.getInstance(CodeGenerationService.class.getName());
 
+	// the test methods of a test model are generated by a bounded number of threads shared by all
+	// requests, instead of the common fork join pool of the jvm
+	private static final ExecutorService testMethodExecutor =
+			WorkerPools.newBoundedPool("test-method-generation");
+
 	//The base URL where generated and deployed widget's files are hosted
 	private String widgetHomeBaseURL;
 	private String localGitPath;
@@ -166,12 +215,31 @@ public class CodeGenerationService extends RESTService {
 		} else if (Objects.equals(usedGitHost, "GitLab")) {
 			gitAdapter = new GitLabAdapter(baseURL, token, gitUser, gitPassword, gitOrganization, templateRepository,
 					gitUserMail);
+		} else if (Objects.equals(usedGitHost, "Local")) {
+			// bare repositories on the local file system, baseURL has to be a file url
+			gitAdapter = new LocalGitHostAdapter(baseURL, gitUser, gitPassword, gitOrganization, templateRepository,
+					gitUserMail);
 		} else {
 			// Abort
 			throw new GitHostException("No valid git provider selected");
 		}
+		((BaseGitHostAdapter) gitAdapter).setHttpClient(new GitHostHttpClient(Duration.ofSeconds(gitHostConnectTimeout),
+				Duration.ofSeconds(gitHostReadTimeout), gitHostRequestsPerSecond, GitHostHttpClient.DEFAULT_BURST,
+				GitHostHttpClient.DEFAULT_MAX_RETRIES));
+		RemoteRepositoryCache.setTtl(remoteRepositoryCacheTtl * 1000L);
+		TestMethodTemplates.setTtl(testMethodTemplatesTtl * 1000L);
+		TraceFileFormat.setWriteFormat(traceFileFormat);
+		ResponseCache.setMaxEntries(responseCacheSize);
+		ParsedModelCache.setMaxEntries(parsedModelCacheSize);
 		gitUtility = new GitUtility(gitUser, gitPassword, gitOrganization, baseURL);
+		gitUtility.setPushCoalescingWindow(pushCoalescingWindow);
 		gitProxy = new GitProxy(gitUtility, logger);
+		deploymentStatusPoller = new DeploymentStatusPoller(jenkinsUrl, jenkinsPollInterval);
+		if (warmUpOnStart) {
+			warmUp = new WarmUp((BaseGitHostAdapter) gitAdapter, WarmUp.DEFAULT_GENERATIONS,
+					this::getTestMethodTemplates);
+			warmUp.start();
+		}
 	}
 
 	@Override
@@ -179,6 +247,12 @@ public class CodeGenerationService extends RESTService {
 		getResourceConfig().register(RESTResources.class);
 	}
 
+	@Override
+	public void onStop() {
+		// stop the background polling of the deployment status
+		deploymentStatusPoller.shutdown();
+	}
+
 	public void createRepo(String repoName) {
 		try {
 			gitAdapter.createRepo(repoName, "This repository was generated by the CAE, it features the generated source code from " + repoName);
@@ -188,7 +262,11 @@ public class CodeGenerationService extends RESTService {
 	}
 
 	public void addWebhook(String repoName, String webhookUrl) {
-		gitAdapter.addWebhook(repoName, webhookUrl);
+		try {
+			gitAdapter.addWebhook(repoName, webhookUrl);
+		} catch (GitHostException e) {
+			throw new RuntimeException(e);
+		}
 	}
 
 	/**
@@ -198,6 +276,59 @@ public class CodeGenerationService extends RESTService {
 	 * @return JUnit test method code
 	 */
 	public String generateTestMethod(TestCase testCase) {
+		return generateTestMethod(testCase, getTestMethodTemplates());
+	}
+
+	/**
+	 * This method is used by api-testing-bot.
+	 * It generates the JUnit test method code for all test cases of the given
+	 * test model in parallel.
+	 * @param testModel Test model for whose test cases code should be generated.
+	 * @return JUnit test method code, in the order of the test cases
+	 */
+	public ArrayList<String> generateTestMethods(TestModel testModel) {
+		// load the templates once, not in every worker
+		TestMethodTemplates templates = getTestMethodTemplates();
+		List<Future<String>> results = new ArrayList<Future<String>>();
+		try {
+			for (TestCase testCase : testModel.getTestCases()) {
+				results.add(testMethodExecutor.submit(() -> generateTestMethod(testCase, templates)));
+			}
+			ArrayList<String> testMethods = new ArrayList<String>();
+			for (Future<String> result : results) {
+				testMethods.add(result.get());
+			}
+			return testMethods;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted during the generation of the test methods", e);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw new IllegalStateException("Generation of a test method failed", e.getCause());
+		} finally {
+			for (Future<String> result : results) {
+				result.cancel(true);
+			}
+		}
+	}
+
+	/**
+	 * Removes the cached test method templates, such that they are loaded from
+	 * the template repository again on the next generation of a test method.
+	 */
+	public void invalidateTestMethodTemplates() {
+		TestMethodTemplates.invalidate();
+	}
+
+	private TestMethodTemplates getTestMethodTemplates() {
+		// don't clone full template repository here, because only 2 files are needed
+		String baseUrl = "https://raw.githubusercontent.com/" + gitOrganization + "/" + templateRepository + "/master";
+		return TestMethodTemplates.get(baseUrl + "/backend/app/src/test/java/i5/las2peer/services/servicePackage/");
+	}
+
+	private static String generateTestMethod(TestCase testCase, TestMethodTemplates templates) {
 		// create a trace model (just because it is needed)
 		TraceModel traceModel = new TraceModel();
 		FileTraceModel serviceTestTraceModel = new FileTraceModel(traceModel, "Test.java");
@@ -206,30 +337,10 @@ public class CodeGenerationService extends RESTService {
 		TemplateEngine serviceTestTemplateEngine =
 				new TemplateEngine(new InitialGenerationStrategy(), serviceTestTraceModel);
 
-		// don't clone full CAE-Templates repository here, because only 3 files are needed
-		String baseUrl = "https://raw.githubusercontent.com/" + gitOrganization + "/CAE-Templates/master";
-		String testFilesUrl = baseUrl + "/backend/app/src/test/java/i5/las2peer/services/servicePackage/";
-
-		String genericTestMethodUrl = testFilesUrl + "genericTestMethod.txt";
-		String genericTestRequestUrl = testFilesUrl + "genericTestRequest.txt";
-
-		String genericTestMethod = Unirest.get(genericTestMethodUrl).asString().getBody();
-		// remove method javadoc
-		genericTestMethod = "@Test" + genericTestMethod.split("@Test")[1];
-		// use normal MiniClient
-		genericTestMethod = genericTestMethod.replaceAll("MiniClientCoverage", "MiniClient");
-
-		String genericTestRequest = Unirest.get(genericTestRequestUrl).asString().getBody();
-		// remove logs
-		String[] parts = genericTestRequest.split("System.out.println");
-		genericTestRequest = parts[0] + parts[1].split(";", 2)[1];
-
-		String genericStatusCodeAssertion = "Assert.assert$Comparison_Operator$($Value$, result.getHttpCode());";
-
 		// generate test method
 		Template testMethod = MicroserviceGenerator.generateTestMethod(null, serviceTestTemplateEngine, testCase,
-				serviceTestTemplateEngine.createTemplate("", ""),
-				genericTestMethod, genericTestRequest, genericStatusCodeAssertion, true);
+				serviceTestTemplateEngine.createTemplate("", ""), templates.getGenericTestMethod(),
+				templates.getGenericTestRequest(), templates.getGenericStatusCodeAssertion(), true);
 
 		// return code
 		return testMethod.getContent();
@@ -278,12 +389,13 @@ public class CodeGenerationService extends RESTService {
 				String type = model.getAttributes().get(i).getValue();
 				try {
 					String commitSha;
+					long parseStart = System.nanoTime();
 					switch (type) {
 					case "microservice":
 						// Create an object representing the microservice model
 						Context.get().monitorEvent(MonitoringEvent.SERVICE_MESSAGE, "createFromModel: Creating microservice model now..");
-						Microservice microservice = new Microservice(model, testModel);
-						microservice.setMetadataDocString(metadataDoc);
+						Microservice microservice = ParsedModelCache.getMicroservice(model, testModel);
+						Metrics.timer(Metrics.PARSE).recordSince(parseStart);
 
 						// Generate the code (and repositories) for this model
 						Context.get().monitorEvent(MonitoringEvent.SERVICE_MESSAGE,
@@ -297,7 +409,8 @@ public class CodeGenerationService extends RESTService {
 					case "frontend-component":
 						Context.get().monitorEvent(MonitoringEvent.SERVICE_MESSAGE,
 								"createFromModel: Creating frontend component model now..");
-						FrontendComponent frontendComponent = new FrontendComponent(model);
+						FrontendComponent frontendComponent = ParsedModelCache.getFrontendComponent(model);
+						Metrics.timer(Metrics.PARSE).recordSince(parseStart);
 						Context.get().monitorEvent(MonitoringEvent.SERVICE_MESSAGE,
 								"createFromModel: Creating frontend component source code now..");
 						commitSha = FrontendComponentGenerator.createSourceCode(frontendComponent, (BaseGitHostAdapter) gitAdapter,
@@ -308,6 +421,7 @@ public class CodeGenerationService extends RESTService {
 					case "application":
 						Context.get().monitorEvent(MonitoringEvent.SERVICE_MESSAGE, "createFromModel: Creating application model now..");
 						Application application = new Application(serializedModel, externalDependencies);
+						Metrics.timer(Metrics.PARSE).recordSince(parseStart);
 						Context.get().monitorEvent(MonitoringEvent.SERVICE_MESSAGE,
 								"createFromModel: Creating application source code now..");
 						ApplicationGenerator.createSourceCode(application, (BaseGitHostAdapter) gitAdapter, commitMessage,
@@ -440,6 +554,7 @@ public class CodeGenerationService extends RESTService {
 
 				String type = model.getAttributes().get(i).getValue();
 				String deleteReturnMessage;
+				long parseStart = System.nanoTime();
 				try {
 					switch (type) {
 					case "microservice":
@@ -448,15 +563,17 @@ public class CodeGenerationService extends RESTService {
 						// check first if model can be constructed
 						// (in case of an invalid model, keep the old
 						// repository)
-						Microservice microservice = new Microservice(model, testModel);
-						microservice.setMetadataDocString(metadataDoc);
+						Microservice microservice = ParsedModelCache.getMicroservice(model, testModel);
+						Metrics.timer(Metrics.PARSE).recordSince(parseStart);
 
 						// only if an old model and a remote repository exist,
 						// we can synchronize
 						// the model and source code
 						if (useModelSynchronization && oldModel != null && MicroserviceSynchronization
 								.existsRemoteRepositoryForModel(microservice, (BaseGitHostAdapter) gitAdapter)) {
-							Microservice oldMicroservice = new Microservice(oldModel, testModel);
+							parseStart = System.nanoTime();
+							Microservice oldMicroservice = ParsedModelCache.getMicroservice(oldModel, testModel);
+							Metrics.timer(Metrics.PARSE).recordSince(parseStart);
 							Context.get().monitorEvent(MonitoringEvent.SERVICE_MESSAGE,
 									"Using model sync: Old model:" + oldModel.getName());
 							Context.get().monitorEvent(MonitoringEvent.SERVICE_MESSAGE,
@@ -472,7 +589,7 @@ public class CodeGenerationService extends RESTService {
 
 						} else {
 
-							if (gitAdapter instanceof GitLabAdapter) {
+							if (gitAdapter instanceof GitLabAdapter || gitAdapter instanceof LocalGitHostAdapter) {
 								// Use pseudo-update to circumvent gitlab
 								// deletion/creation problem
 								return pseudoUpdateRepositoryOfModel(commitMessage, versionTag, metadataDoc,
@@ -515,7 +632,8 @@ public class CodeGenerationService extends RESTService {
 						// check first if model can be constructed
 						// (in case of an invalid model, keep the old
 						// repository)
-						FrontendComponent frontendComponent = new FrontendComponent(model);
+						FrontendComponent frontendComponent = ParsedModelCache.getFrontendComponent(model);
+						Metrics.timer(Metrics.PARSE).recordSince(parseStart);
 
 						// only if an old model and a remote repository exist,
 						// we can synchronize
@@ -523,7 +641,9 @@ public class CodeGenerationService extends RESTService {
 
 						if (useModelSynchronization && oldModel != null && FrontendComponentSynchronization
 								.existsRemoteRepositoryForModel(frontendComponent, (BaseGitHostAdapter) gitAdapter)) {
-							FrontendComponent oldFrontendComponent = new FrontendComponent(oldModel);
+							parseStart = System.nanoTime();
+							FrontendComponent oldFrontendComponent = ParsedModelCache.getFrontendComponent(oldModel);
+							Metrics.timer(Metrics.PARSE).recordSince(parseStart);
 
 							Context.get().monitorEvent(MonitoringEvent.SERVICE_MESSAGE,
 									"updateRepositoryOfModel: Calling synchronizeSourceCode now..");
@@ -538,7 +658,7 @@ public class CodeGenerationService extends RESTService {
 							Context.get().monitorEvent(MonitoringEvent.SERVICE_MESSAGE, "updateRepositoryOfModel: Synchronized!");
 							return "done:" + commitSha;
 						} else {
-							if (gitAdapter instanceof GitLabAdapter) {
+							if (gitAdapter instanceof GitLabAdapter || gitAdapter instanceof LocalGitHostAdapter) {
 								return pseudoUpdateRepositoryOfModel(commitMessage, versionTag, metadataDoc,
 										serializedModel, externalDependencies, testModel);
 							} else {
@@ -690,19 +810,42 @@ public class CodeGenerationService extends RESTService {
 	}
 
 	/**
-	 * Fetch all traced files of a repository
+	 * Fetch all traced files of a repository together with the raw content of
+	 * their trace files. The files are only returned as a whole, since a
+	 * synchronization with a missing file would drop it from the traced files of
+	 * the repository.
 	 *
 	 * @param repositoryName
 	 *            The name of the repository
 	 * @return a map containing all traced files
+	 * @throws GitHelperException
+	 *             Thrown if a traced file or its trace file could not be read
 	 */
-	private HashMap<String, JSONObject> getTracedFiles(String repositoryName) {
-		HashMap<String, JSONObject> files = new HashMap<String, JSONObject>();
-		try {
-			files = getAllTracedFiles(repositoryName);
+	private HashMap<String, TracedFile> getTracedFiles(String repositoryName) throws GitHelperException {
+		HashMap<String, TracedFile> files = new HashMap<String, TracedFile>();
+
+		try (Git git = gitUtility.getLocalGit(repositoryName, "development");) {
+			JSONArray tracedFiles = (JSONArray) gitProxy.getTraceModel(git).get("tracedFiles");
+
+			try (TreeWalk treeWalk = gitUtility.getRepositoryTreeWalk(git.getRepository(), true)) {
+				while (treeWalk.next()) {
+					String path = treeWalk.getPathString();
+					if (tracedFiles.contains(path)) {
+						String content = gitUtility.getFileContent(git.getRepository(), path);
+						byte[] traces = gitUtility.getFileBytes(git.getRepository(), gitProxy.getTraceFileName(path));
+						files.put(path, new TracedFile(path, content, traces));
+					}
+				}
+			}
+
+		} catch (GitHelperException e) {
+			logger.printStackTrace(e);
+			throw e;
 		} catch (Exception e) {
 			logger.printStackTrace(e);
+			throw new GitHelperException("Reading the traced files of " + repositoryName + " failed: " + e.getMessage());
 		}
+
 		return files;
 	}
 
@@ -725,10 +868,10 @@ public class CodeGenerationService extends RESTService {
 				while (treeWalk.next()) {
 					if (tracedFiles.contains(treeWalk.getPathString())) {
 						JSONObject fileObject = new JSONObject();
-						String content = gitUtility.getFileContent(git.getRepository(), treeWalk.getPathString());
+						byte[] content = gitUtility.getFileBytes(git.getRepository(), treeWalk.getPathString());
 						JSONObject fileTraces = gitProxy.getFileTraces(git, treeWalk.getPathString());
 
-						fileObject.put("content", Base64.getEncoder().encodeToString(content.getBytes("utf-8")));
+						fileObject.put("content", Base64.getEncoder().encodeToString(content));
 						fileObject.put("fileTraces", fileTraces);
 
 						files.put(treeWalk.getPathString(), fileObject);
@@ -758,39 +901,43 @@ public class CodeGenerationService extends RESTService {
 	 */
 
 	public String storeAndCommitFilesRaw(String repositoryName, String commitMessage, String versionTag, String[][] files) {
+		List<GeneratedFile> generatedFiles = new ArrayList<GeneratedFile>(files.length);
+		for (String[] fileData : files) {
+			generatedFiles.add(new GeneratedFile(fileData[0], Base64.getDecoder().decode(fileData[1])));
+		}
+		return storeAndCommitFiles(repositoryName, commitMessage, versionTag, generatedFiles);
+	}
 
-		try (Git git = gitUtility.getLocalGit(repositoryName, "development");) {
-			for (String[] fileData : files) {
-
-				String filePath = fileData[0];
-				String content = fileData[1];
-
-				byte[] base64decodedBytes = Base64.getDecoder().decode(content);
-				String decodedString = new String(base64decodedBytes, "utf-8");
-
-				File file = new File(git.getRepository().getDirectory().getParent(), filePath);
-				if (!file.exists()) {
-					File dirs = file.getParentFile();
-					dirs.mkdirs();
-					file.createNewFile();
-				}
-				FileWriter fW = new FileWriter(file, false);
-				fW.write(decodedString);
-				fW.close();
-
-				git.add().addFilepattern(filePath).call();
-
-			}
-
-			RevCommit commit = git.commit().setAuthor(this.gitUser, this.gitUserMail).setMessage(commitMessage).call();
+	/**
+	 * Store the given files to the development branch of a repository and commit
+	 * them, see {@link GitUtility#storeAndCommitFiles}.
+	 *
+	 * @param repositoryName
+	 *            The name of the repository
+	 * @param commitMessage
+	 *            The commit message to use
+	 *
+	 * @param versionTag String which should be used as the tag when commiting. May be null.
+	 * @param files
+	 *            The files to commit
+	 * @return The sha of the commit, or of the current commit if nothing changed, or
+	 *         an error message
+	 */
 
-			if(versionTag != null) {
-				git.tag().setObjectId(commit).setName(versionTag).call();
-			}
+	public String storeAndCommitFiles(String repositoryName, String commitMessage, String versionTag,
+			List<GeneratedFile> files) {
 
-			Ref head = git.getRepository().getAllRefs().get("HEAD");
-            String commitSha = head.getObjectId().getName();
-            return commitSha;
+		long startTime = System.nanoTime();
+		GitOperationEvent event = new GitOperationEvent("commit", repositoryName);
+		event.branchName = "development";
+		try (Git git = gitUtility.getLocalGit(repositoryName, "development");) {
+			RevCommit commit = gitUtility.storeAndCommitFiles(git, this.gitUser, this.gitUserMail, commitMessage,
+					versionTag, files, event);
+			String commitSha = commit.getName();
+			Metrics.timer(Metrics.COMMIT).recordSince(startTime);
+			Metrics.summary(Metrics.FILES_PER_COMMIT).record(event.fileCount);
+			event.commit();
+			return commitSha;
 		} catch (Exception e) {
 			logger.printStackTrace(e);
 			return e.getMessage();
@@ -807,8 +954,42 @@ public class CodeGenerationService extends RESTService {
 	 * @return A json array containing feedback about found violations
 	 */
 	public JSONArray checkModel(JSONObject violationRules, HashMap<String, JSONObject> files) {
+		return checkModel(violationRules, files, null);
+	}
+
+	/**
+	 * Performs a model violation check against the given files of a repository.
+	 * The results are kept for the next check of the files of the repository,
+	 * which then only checks the model elements that changed.
+	 *
+	 * @param violationRules
+	 *            A json object containing the violation rules
+	 * @param files
+	 *            The files to check
+	 * @param repositoryName
+	 *            The name of the repository of the files
+	 * @return A json array containing feedback about found violations
+	 */
+	public JSONArray checkModel(JSONObject violationRules, HashMap<String, JSONObject> files,
+			String repositoryName) {
+		Context.get().monitorEvent(MonitoringEvent.SERVICE_MESSAGE, "starting model violation detection..");
+		return ModelViolationDetection.performViolationCheck(repositoryName, files, violationRules);
+	}
+
+	/**
+	 * Checks if the given files pass the model violation check. Faster than
+	 * {@link #checkModel(JSONObject, HashMap)} for callers that do not need the
+	 * feedback, as the check stops at the first violation.
+	 *
+	 * @param violationRules
+	 *            A json object containing the violation rules
+	 * @param files
+	 *            The files to check
+	 * @return True, if no violation was found
+	 */
+	public boolean passesModelCheck(JSONObject violationRules, HashMap<String, JSONObject> files) {
 		Context.get().monitorEvent(MonitoringEvent.SERVICE_MESSAGE, "starting model violation detection..");
-		return ModelViolationDetection.performViolationCheck(files, violationRules);
+		return ModelViolationDetection.passesViolationCheck(null, files, new GuidanceModel(violationRules));
 	}
 
 	/**
@@ -837,7 +1018,9 @@ public class CodeGenerationService extends RESTService {
 	}
 
 	/**
-	 * Get the deployment status of the last build from Jenkins
+	 * Get the deployment status of the last build from Jenkins. The status is
+	 * polled from Jenkins in the background and shared by all clients, see
+	 * {@link DeploymentStatusPoller}.
 	 *
 	 * @param queueItem
 	 *            The queue item path returned by the remote api of Jenkins
@@ -847,7 +1030,25 @@ public class CodeGenerationService extends RESTService {
 	 */
 
 	public String deployStatus(String queueItem) {
-		return ApplicationGenerator.deployStatus(queueItem, jenkinsUrl);
+		return deploymentStatusPoller.getStatus(queueItem);
+	}
+
+	/**
+	 * Get the deployment status of the last build from Jenkins as soon as it
+	 * differs from the status already known by the client (long-poll).
+	 *
+	 * @param queueItem
+	 *            The queue item path returned by the remote api of Jenkins
+	 * @param knownStatusHash
+	 *            The hash code of the status the client received last
+	 * @param timeout
+	 *            The maximal time to wait for a change in milliseconds, at
+	 *            most 30 seconds
+	 * @return The console text of the last build from Jenkins
+	 */
+
+	public String deployStatus(String queueItem, int knownStatusHash, long timeout) {
+		return deploymentStatusPoller.awaitStatusChange(queueItem, knownStatusHash, Math.min(timeout, 30000));
 	}
 
 	/**
@@ -936,6 +1137,18 @@ public class CodeGenerationService extends RESTService {
 		return useModelCheck;
 	}
 
+	public boolean isUseRemoteModelCheck() {
+		return useRemoteModelCheck;
+	}
+
+	/**
+	 * Get the warm-up started with the service.
+	 * @return The warm-up or null if the service is not warmed up on start
+	 */
+	public WarmUp getWarmUp() {
+		return warmUp;
+	}
+
 	public String getGitUser() {
 		return gitUser;
 	}
@@ -1,6 +1,13 @@
 package i5.las2peer.services.codeGenerationService;
 
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
 import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.Repository;
 import org.eclipse.jgit.treewalk.TreeWalk;
 import org.json.simple.JSONArray;
 import org.json.simple.JSONObject;
@@ -9,16 +16,31 @@ import org.json.simple.parser.ParseException;
 
 import i5.las2peer.logging.L2pLogger;
 import i5.las2peer.services.codeGenerationService.exception.GitHelperException;
+import i5.las2peer.services.codeGenerationService.models.traceModel.TraceFileFormat;
+import i5.las2peer.services.codeGenerationService.models.traceModel.TraceIndex;
+import i5.las2peer.services.codeGenerationService.templateEngine.GuidanceModel;
+import i5.las2peer.services.codeGenerationService.utilities.BoundedCache;
 import i5.las2peer.services.codeGenerationService.utilities.GitUtility;
 
 public class GitProxy {
+	// number of repositories whose trace index or guidance model is cached, the
+	// least recently used ones are removed
+	public static final int MAX_CACHED_REPOSITORIES = 256;
+
 	private GitUtility gitUtility;
 	private L2pLogger logger;
+	// the trace index of the recently used repositories, for their last read commit
+	private final BoundedCache<String, CachedTraceIndex> traceIndexCache =
+			new BoundedCache<String, CachedTraceIndex>(MAX_CACHED_REPOSITORIES);
+	// the guidance model of the recently used repositories, for their last read commit
+	private final BoundedCache<String, CachedGuidanceModel> guidanceModelCache =
+			new BoundedCache<String, CachedGuidanceModel>(MAX_CACHED_REPOSITORIES);
 	
 	public GitProxy(GitUtility gitUtility, L2pLogger logger) {
 		this.gitUtility = gitUtility;
 		this.logger = logger;
 	}
+
 	/*--------------------------------------------
 	   * Git Host Proxy helper methods
 	   * -------------------------------------------
@@ -102,9 +124,9 @@ public class GitProxy {
 		if (tracedFiles.contains(fullFileName)) {
 
 			try {
-				String content = gitUtility.getFileContent(git.getRepository(), getTraceFileName(fullFileName));
-				JSONParser parser = new JSONParser();
-				fileTraces = (JSONObject) parser.parse(content);
+				// the trace file may be stored as json or in the binary format
+				byte[] content = gitUtility.getFileBytes(git.getRepository(), getTraceFileName(fullFileName));
+				fileTraces = TraceFileFormat.parse(content);
 				fileTraces.put("generationId", traceModel.get("id"));
 			} catch (GitHelperException e) {
 				logger.printStackTrace(e);
@@ -114,6 +136,64 @@ public class GitProxy {
 		return fileTraces;
 	}
 
+	/**
+	 * Get the index of the locations of the model elements of a repository, see
+	 * {@link TraceIndex}. The index is cached for the current commit of the
+	 * repository. Repositories generated before the index was introduced get an
+	 * index created from their trace files.
+	 *
+	 * @param git
+	 *            The git object of the repository
+	 * @return The index of the repository
+	 * @throws Exception
+	 *             Thrown if the traces could not be read
+	 */
+	public TraceIndex getTraceIndex(Git git) throws Exception {
+		Repository repository = git.getRepository();
+		ObjectId head = repository.resolve(Constants.HEAD);
+		if (head == null) {
+			throw new GitHelperException("Repository has no commit");
+		}
+		String repositoryPath = repository.getDirectory().getAbsolutePath();
+		CachedTraceIndex cached = traceIndexCache.get(repositoryPath);
+		if (cached != null && cached.commitId.equals(head)) {
+			return cached.index;
+		}
+
+		TraceIndex index;
+		byte[] content = getTraceIndexFile(git);
+		if (content != null) {
+			index = TraceIndex.parse(content);
+		} else {
+			JSONObject traceModel = getTraceModel(git);
+			Map<String, JSONObject> fileTraces = new HashMap<String, JSONObject>();
+			for (Object fileName : (JSONArray) traceModel.get("tracedFiles")) {
+				fileTraces.put((String) fileName, TraceFileFormat.parse(
+						gitUtility.getFileBytes(repository, getTraceFileName((String) fileName))));
+			}
+			index = TraceIndex.create(traceModel, fileTraces);
+		}
+
+		traceIndexCache.put(repositoryPath, new CachedTraceIndex(head.copy(), index));
+		return index;
+	}
+
+	/**
+	 * Get the content of the index file of a repository, see {@link TraceIndex}
+	 *
+	 * @param git
+	 *            The git object of the repository
+	 * @return The content of the index file or null if the repository was
+	 *         generated without an index
+	 */
+	public byte[] getTraceIndexFile(Git git) {
+		try {
+			return gitUtility.getFileBytes(git.getRepository(), TraceIndex.FILE_NAME);
+		} catch (GitHelperException e) {
+			return null;
+		}
+	}
+
 	@SuppressWarnings("unchecked")
 	public JSONObject getGuidances(Git git) {
 
@@ -133,6 +213,40 @@ public class GitProxy {
 		return guidances;
 	}
 
+	/**
+	 * Get the guidance model of the guidances of a repository, used for the
+	 * model violation check. The model is cached for the current commit of the
+	 * repository, so that the guidances are only read and their rules only
+	 * compiled again after a commit.
+	 *
+	 * @param git
+	 *            The git object of the repository
+	 * @return The guidance model of the repository
+	 * @throws GitHelperException
+	 *             Thrown if the repository has no commit
+	 */
+	public GuidanceModel getGuidanceModel(Git git) throws GitHelperException {
+		Repository repository = git.getRepository();
+		ObjectId head;
+		try {
+			head = repository.resolve(Constants.HEAD);
+		} catch (IOException e) {
+			throw new GitHelperException(e.getMessage());
+		}
+		if (head == null) {
+			throw new GitHelperException("Repository has no commit");
+		}
+		String repositoryPath = repository.getDirectory().getAbsolutePath();
+		CachedGuidanceModel cached = guidanceModelCache.get(repositoryPath);
+		if (cached != null && cached.commitId.equals(head)) {
+			return cached.guidanceModel;
+		}
+
+		GuidanceModel guidanceModel = new GuidanceModel(getGuidances(git));
+		guidanceModelCache.put(repositoryPath, new CachedGuidanceModel(head.copy(), guidanceModel));
+		return guidanceModel;
+	}
+
 	/**
 	 * Get the global trace model of a component
 	 * 
@@ -163,4 +277,24 @@ public class GitProxy {
 		return result;
 	}
 
+	private static class CachedTraceIndex {
+		private final ObjectId commitId;
+		private final TraceIndex index;
+
+		private CachedTraceIndex(ObjectId commitId, TraceIndex index) {
+			this.commitId = commitId;
+			this.index = index;
+		}
+	}
+
+	private static class CachedGuidanceModel {
+		private final ObjectId commitId;
+		private final GuidanceModel guidanceModel;
+
+		private CachedGuidanceModel(ObjectId commitId, GuidanceModel guidanceModel) {
+			this.commitId = commitId;
+			this.guidanceModel = guidanceModel;
+		}
+	}
+
 }
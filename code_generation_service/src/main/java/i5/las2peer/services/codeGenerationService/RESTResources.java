@@ -3,15 +3,21 @@ package i5.las2peer.services.codeGenerationService;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.FileWriter;
+import java.io.IOException;
 import java.io.Serializable;
 import java.net.HttpURLConnection;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.Base64;
 import java.util.HashMap;
 import java.util.Objects;
 import java.util.logging.Level;
 
+import javax.ws.rs.BadRequestException;
 import javax.ws.rs.Consumes;
+import javax.ws.rs.DefaultValue;
 import javax.ws.rs.GET;
+import javax.ws.rs.HeaderParam;
 import javax.ws.rs.InternalServerErrorException;
 import javax.ws.rs.NotAcceptableException;
 import javax.ws.rs.NotFoundException;
@@ -22,9 +28,12 @@ import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
 import javax.ws.rs.ServiceUnavailableException;
+import javax.ws.rs.core.CacheControl;
+import javax.ws.rs.core.EntityTag;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 
+import org.eclipse.jgit.api.AddCommand;
 import org.eclipse.jgit.api.Git;
 import org.eclipse.jgit.lib.Constants;
 import org.eclipse.jgit.lib.ObjectId;
@@ -43,13 +52,20 @@ import org.json.simple.JSONArray;
 import org.json.simple.JSONObject;
 import org.json.simple.JSONValue;
 import org.json.simple.parser.JSONParser;
+import org.json.simple.parser.ParseException;
 
 import i5.las2peer.api.Context;
 import i5.las2peer.api.ServiceException;
 import i5.las2peer.api.logging.MonitoringEvent;
 import i5.las2peer.services.codeGenerationService.adapters.BaseGitHostAdapter;
 import i5.las2peer.services.codeGenerationService.exception.GitHelperException;
+import i5.las2peer.services.codeGenerationService.generators.WarmUp;
+import i5.las2peer.services.codeGenerationService.models.traceModel.TraceFileFormat;
+import i5.las2peer.services.codeGenerationService.models.traceModel.TraceIndex;
+import i5.las2peer.services.codeGenerationService.templateEngine.ModelViolationDetection;
 import i5.las2peer.services.codeGenerationService.utilities.GitUtility;
+import i5.las2peer.services.codeGenerationService.utilities.Metrics;
+import i5.las2peer.services.codeGenerationService.utilities.ResponseCache;
 import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiResponse;
 import io.swagger.annotations.ApiResponses;
@@ -59,6 +75,7 @@ public class RESTResources {
 	private final CodeGenerationService service = (CodeGenerationService) Context.getCurrent().getService();
 	protected GitUtility gitUtility;
 	private boolean useModelCheck;
+	private boolean useRemoteModelCheck;
 	private String gitUser;
 	private String gitUserMail;
 	private GitProxy gitProxy;
@@ -66,6 +83,7 @@ public class RESTResources {
 	public RESTResources() {
 		gitUtility = service.getGitUtility();
 		useModelCheck = service.isUseModelCheck();
+		useRemoteModelCheck = service.isUseRemoteModelCheck();
 		gitUser = service.getGitUser();
 		gitUserMail = service.getGitUserMail();
 		gitProxy = service.getGitProxy();
@@ -77,6 +95,78 @@ public class RESTResources {
 		return Response.ok("CodeGen service").build();
 	}
 
+	/**
+	 * Exports the metrics of the code generation, e.g. the durations of the generation phases, the
+	 * written files and the requests to the git host.
+	 * @return The metrics in the Prometheus text format
+	 */
+	@GET
+	@Path("metrics")
+	@Produces(MediaType.TEXT_PLAIN)
+	@ApiOperation(value = "Returns the metrics of the code generation in the Prometheus text format.")
+	@ApiResponses(value = {@ApiResponse(code = HttpURLConnection.HTTP_OK, message = "OK")})
+	public Response getMetrics() {
+		return Response.ok(Metrics.toPrometheusText(), "text/plain; version=0.0.4").build();
+	}
+
+	/**
+	 * Reports whether the service is ready, i.e. whether the warm-up started with the service is
+	 * finished. A service that is not warmed up on start is ready right away.
+	 * @return The status of the warm-up, with status code 503 while it is running
+	 */
+	@SuppressWarnings("unchecked")
+	@GET
+	@Path("ready")
+	@Produces(MediaType.APPLICATION_JSON)
+	@ApiOperation(value = "Reports whether the warm-up of the service is finished.")
+	@ApiResponses(value = {@ApiResponse(code = HttpURLConnection.HTTP_OK, message = "Ready"),
+			@ApiResponse(code = HttpURLConnection.HTTP_UNAVAILABLE, message = "Warming up")})
+	public Response getReadiness() {
+		WarmUp warmUp = service.getWarmUp();
+		JSONObject readiness;
+		if (warmUp == null) {
+			readiness = new JSONObject();
+			readiness.put("ready", true);
+			readiness.put("status", "disabled");
+		} else {
+			readiness = warmUp.toJSONObject();
+		}
+		if (warmUp != null && !warmUp.isDone()) {
+			return Response.status(Response.Status.SERVICE_UNAVAILABLE).entity(readiness.toJSONString())
+					.type(MediaType.APPLICATION_JSON).build();
+		}
+		return Response.ok(readiness.toJSONString(), MediaType.APPLICATION_JSON).build();
+	}
+
+	/**
+	 * Get the deployment status of a Jenkins queue item. If the client passes the hash of the status
+	 * it received last, the request waits until the status differs from it (long-poll).
+	 * @param queueItem The queue item path returned by the remote api of Jenkins
+	 * @param knownStatusHash The hash code of the status known by the client, may be omitted
+	 * @param timeout The maximal time to wait for a change in milliseconds, at most 30 seconds
+	 * @return The console text of the build and its hash code
+	 */
+	@SuppressWarnings("unchecked")
+	@GET
+	@Path("deployStatus")
+	@Produces(MediaType.APPLICATION_JSON)
+	@ApiOperation(value = "Get the deployment status of a Jenkins queue item, waits for a change of a known status.")
+	@ApiResponses(value = {@ApiResponse(code = HttpURLConnection.HTTP_OK, message = "OK"),
+			@ApiResponse(code = HttpURLConnection.HTTP_BAD_REQUEST, message = "Missing queue item")})
+	public Response getDeployStatus(@QueryParam("queueItem") String queueItem,
+			@QueryParam("knownStatusHash") Integer knownStatusHash,
+			@QueryParam("timeout") @DefaultValue("30000") long timeout) {
+		if (queueItem == null || queueItem.isEmpty()) {
+			throw new BadRequestException("Missing queue item");
+		}
+		String status = knownStatusHash == null ? service.deployStatus(queueItem)
+				: service.deployStatus(queueItem, knownStatusHash, timeout);
+		JSONObject result = new JSONObject();
+		result.put("status", status);
+		result.put("statusHash", status.hashCode());
+		return Response.ok(result.toJSONString(), MediaType.APPLICATION_JSON).build();
+	}
+
 	/*--------------------------------------------
 	 * REST endpoints (github proxy functionality)
 	 * -------------------------------------------
@@ -244,10 +334,16 @@ public class RESTResources {
 						HashMap<String, JSONObject> tracedFile = new HashMap<String, JSONObject>();
 						tracedFile.put(filePath, tracedFileObject);
 
-						Serializable[] payload = { gitProxy.getGuidances(git), tracedFile };
-						JSONArray feedback = (JSONArray) Context.getCurrent().invoke(
-								"i5.las2peer.services.codeGenerationService.CodeGenerationService@0.1", "checkModel",
-								payload);
+						JSONArray feedback;
+						if (useRemoteModelCheck) {
+							Serializable[] payload = { gitProxy.getGuidances(git), tracedFile, repositoryName };
+							feedback = (JSONArray) Context.getCurrent().invoke(
+									"i5.las2peer.services.codeGenerationService.CodeGenerationService@0.1", "checkModel",
+									payload);
+						} else {
+							feedback = ModelViolationDetection.performViolationCheck(repositoryName, tracedFile,
+									gitProxy.getGuidanceModel(git));
+						}
 						if (feedback.size() > 0) {
 							result.put("status", "Model violation check fails");
 							result.put("feedbackItems", feedback);
@@ -267,10 +363,23 @@ public class RESTResources {
 					File traceFile = new File(git.getRepository().getDirectory().getParent(),
 							gitProxy.getTraceFileName(filePath));
 
-					fW = new FileWriter(traceFile, false);
-					fW.write(traces.toJSONString());
-					fW.close();
-					git.add().addFilepattern(filePath).addFilepattern(gitProxy.getTraceFileName(filePath)).call();
+					Files.write(traceFile.toPath(), TraceFileFormat.serialize(traces));
+					AddCommand add = git.add().addFilepattern(filePath).addFilepattern(gitProxy.getTraceFileName(filePath));
+
+					// update the locations of the model elements of the file, repositories
+					// without an index get one created from their traces and committed
+					byte[] indexContent = gitProxy.getTraceIndexFile(git);
+					if (indexContent == null) {
+						// a copy, as the created index is cached for the current commit
+						indexContent = gitProxy.getTraceIndex(git).toJSONString().getBytes(StandardCharsets.UTF_8);
+					}
+					TraceIndex index = TraceIndex.parse(indexContent);
+					index.update(filePath, traces);
+					File indexFile = new File(git.getRepository().getDirectory().getParent(), TraceIndex.FILE_NAME);
+					indexFile.getParentFile().mkdirs();
+					Files.write(indexFile.toPath(), index.toJSONString().getBytes(StandardCharsets.UTF_8));
+					add.addFilepattern(TraceIndex.FILE_NAME);
+					add.call();
 					RevCommit commit = git.commit().setAuthor(gitUser, gitUserMail).setMessage(commitMessage).call();
 					String commitSha = commit.getId().getName();
 
@@ -323,33 +432,70 @@ public class RESTResources {
 
 		try (Git git = gitUtility.getLocalGit(repositoryName, "development");) {
 
+			TraceIndex index = gitProxy.getTraceIndex(git);
+			if (!index.contains(modelId)) {
+				throw new FileNotFoundException();
+			}
+
 			JSONObject resultObject = new JSONObject();
+			resultObject.put("fileName", index.getFileName(modelId));
+			resultObject.put("segmentId", index.getSegmentId(modelId));
+			return Response.ok(resultObject.toJSONString()).build();
+		} catch (FileNotFoundException fileNotFoundException) {
+			throw new NotFoundException();
+		} catch (Exception e) {
+			service.getLogger().log(Level.FINER, e.getMessage());
+			throw new InternalServerErrorException();
+		}
+
+	}
+
+	/**
+	 * Returns the file names and segment ids of several model ids at once.
+	 *
+	 * @param repositoryName
+	 *            The name of the repository
+	 * @param modelIds
+	 *            A json array of the model ids
+	 * @return HttpResponse with the status code of the request and a json
+	 *         object containing the file name and segment id of every found
+	 *         model id
+	 * @throws ServiceException
+	 * 			Thrown if something goes wrong with the Github Service
+	 */
 
-			JSONObject traceModel = gitProxy.getTraceModel(git);
-			JSONObject modelsToFiles = (JSONObject) traceModel.get("modelsToFile");
+	@SuppressWarnings("unchecked")
+	@POST
+	@Path("{repositoryName}/segments")
+	@Consumes(MediaType.APPLICATION_JSON)
+	@Produces(MediaType.APPLICATION_JSON)
+	@ApiOperation(value = "Returns the segment ids and filenames for the given model ids.", notes = "Model ids without a segment are omitted.")
+	@ApiResponses(value = { @ApiResponse(code = HttpURLConnection.HTTP_OK, message = "OK"),
+			@ApiResponse(code = HttpURLConnection.HTTP_BAD_REQUEST, message = "Invalid list of model ids"),
+			@ApiResponse(code = HttpURLConnection.HTTP_INTERNAL_ERROR, message = "Internal server error") })
+	public Response getSegmentsOfModelIds(@PathParam("repositoryName") String repositoryName, String modelIds)
+			throws ServiceException {
 
-			if (modelsToFiles != null) {
-				if (modelsToFiles.containsKey(modelId)) {
-					JSONArray fileList = (JSONArray) ((JSONObject) modelsToFiles.get(modelId)).get("files");
-					String fileName = (String) fileList.get(0);
-					JSONObject fileTraceModel = gitProxy.getFileTraces(git, fileName);
-					JSONObject fileTraces = (JSONObject) fileTraceModel.get("traces");
-					JSONArray segments = (JSONArray) ((JSONObject) fileTraces.get(modelId)).get("segments");
-					String segmentId = (String) segments.get(0);
+		JSONArray modelIdList;
+		try {
+			modelIdList = (JSONArray) new JSONParser().parse(modelIds);
+		} catch (ParseException | ClassCastException e) {
+			throw new BadRequestException("Expected a json array of model ids");
+		}
 
-					resultObject.put("fileName", fileName);
-					resultObject.put("segmentId", segmentId);
+		try (Git git = gitUtility.getLocalGit(repositoryName, "development");) {
 
-				} else {
-					throw new FileNotFoundException();
+			TraceIndex index = gitProxy.getTraceIndex(git);
+			JSONObject resultObject = new JSONObject();
+			for (Object modelId : modelIdList) {
+				if (modelId instanceof String && index.contains((String) modelId)) {
+					JSONObject location = new JSONObject();
+					location.put("fileName", index.getFileName((String) modelId));
+					location.put("segmentId", index.getSegmentId((String) modelId));
+					resultObject.put(modelId, location);
 				}
-			} else {
-				throw new Exception("Error: modelsToFiles mapping not found!");
 			}
-
 			return Response.ok(resultObject.toJSONString()).build();
-		} catch (FileNotFoundException fileNotFoundException) {
-			throw new NotFoundException();
 		} catch (Exception e) {
 			service.getLogger().log(Level.FINER, e.getMessage());
 			throw new InternalServerErrorException();
@@ -378,11 +524,21 @@ public class RESTResources {
 	@ApiResponses(value = { @ApiResponse(code = HttpURLConnection.HTTP_OK, message = "OK, file found"),
 			@ApiResponse(code = HttpURLConnection.HTTP_INTERNAL_ERROR, message = "Internal server error"),
 			@ApiResponse(code = HttpURLConnection.HTTP_NOT_FOUND, message = "404, file not found") })
-	public Response getLivePreviewFiles(@PathParam("repositoryName") String repositoryName) throws ServiceException {
+	public Response getLivePreviewFiles(@PathParam("repositoryName") String repositoryName,
+			@HeaderParam("If-None-Match") String ifNoneMatch) throws ServiceException {
 		if (repositoryName.startsWith("frontendComponent")) {
 
 			try (Git git = gitUtility.getLocalGit(repositoryName, "development")) {
 				if (git.getRepository().getBranch().equals("development")) {
+					String commitId = getHeadCommitId(git);
+					if (ResponseCache.matches(ifNoneMatch, commitId)) {
+						return notModified(commitId);
+					}
+					String cacheKey = "livePreviewFiles:" + repositoryName;
+					String cachedResponse = ResponseCache.get(cacheKey, commitId);
+					if (cachedResponse != null) {
+						return taggedResponse(cachedResponse, commitId);
+					}
 
 					JSONObject result = new JSONObject();
 					JSONArray fileList = new JSONArray();
@@ -390,8 +546,8 @@ public class RESTResources {
 					String[] neededFileNames = { "index.html", "js/applicationScript.js" };
 
 					for (String fileName : neededFileNames) {
-						String content = gitUtility.getFileContent(git.getRepository(), fileName);
-						String contentBase64 = Base64.getEncoder().encodeToString(content.getBytes("utf-8"));
+						byte[] content = gitUtility.getFileBytes(git.getRepository(), fileName);
+						String contentBase64 = Base64.getEncoder().encodeToString(content);
 
 						JSONObject fileObject = new JSONObject();
 						fileObject.put("fileName", fileName);
@@ -400,7 +556,9 @@ public class RESTResources {
 					}
 
 					result.put("files", fileList);
-					return Response.ok(result.toJSONString()).build();
+					String response = result.toJSONString();
+					ResponseCache.put(cacheKey, commitId, response);
+					return taggedResponse(response, commitId);
 				} else {
 					throw new ServiceUnavailableException(repositoryName + " currently unavailable");
 				}
@@ -461,14 +619,24 @@ public class RESTResources {
 			@ApiResponse(code = HttpURLConnection.HTTP_INTERNAL_ERROR, message = "Internal server error"),
 			@ApiResponse(code = HttpURLConnection.HTTP_NOT_FOUND, message = "404, file not found") })
 	public Response getFileInRepository(@PathParam("repositoryName") String repositoryName,
-			@QueryParam("file") String fileName) throws ServiceException {
+			@QueryParam("file") String fileName, @HeaderParam("If-None-Match") String ifNoneMatch)
+			throws ServiceException {
 
 		try (Git git = gitUtility.getLocalGit(repositoryName, "development")) {
+			String commitId = getHeadCommitId(git);
+			if (ResponseCache.matches(ifNoneMatch, commitId)) {
+				return notModified(commitId);
+			}
+			String cacheKey = "file:" + repositoryName + ":" + fileName;
+			String cachedResponse = ResponseCache.get(cacheKey, commitId);
+			if (cachedResponse != null) {
+				return taggedResponse(cachedResponse, commitId);
+			}
 
 			JSONObject fileTraces = gitProxy.getFileTraces(git, fileName);
 
-			String content = gitUtility.getFileContent(git.getRepository(), fileName);
-			String contentBase64 = Base64.getEncoder().encodeToString(content.getBytes("utf-8"));
+			byte[] content = gitUtility.getFileBytes(git.getRepository(), fileName);
+			String contentBase64 = Base64.getEncoder().encodeToString(content);
 
 			JSONObject resultObject = new JSONObject();
 			resultObject.put("content", contentBase64);
@@ -477,7 +645,9 @@ public class RESTResources {
 			if (fileTraces != null) {
 				resultObject.put("traceModel", fileTraces);
 			}
-			return Response.ok(resultObject.toJSONString()).build();
+			String response = resultObject.toJSONString();
+			ResponseCache.put(cacheKey, commitId, response);
+			return taggedResponse(response, commitId);
 		} catch (FileNotFoundException fileNotFoundException) {
 			throw new NotFoundException();
 		} catch (Exception e) {
@@ -517,7 +687,8 @@ public class RESTResources {
 			@ApiResponse(code = HttpURLConnection.HTTP_OK, message = "OK, repository of the model found"),
 			@ApiResponse(code = HttpURLConnection.HTTP_INTERNAL_ERROR, message = "Internal server error") })
 	public Response listFilesInRepository(@PathParam("repoName") String repositoryName,
-			@QueryParam("path") String path) throws ServiceException {
+			@QueryParam("path") String path, @HeaderParam("If-None-Match") String ifNoneMatch)
+			throws ServiceException {
 
 		if (path == null) {
 			path = "";
@@ -528,7 +699,17 @@ public class RESTResources {
 		JSONObject jsonResponse = new JSONObject();
 		JSONArray files = new JSONArray();
 		jsonResponse.put("files", files);
+		String commitId;
+		String cacheKey = "files:" + repositoryName + ":" + path;
 		try (Git git = gitUtility.getLocalGit(repositoryName, "development");) {
+			commitId = getHeadCommitId(git);
+			if (ResponseCache.matches(ifNoneMatch, commitId)) {
+				return notModified(commitId);
+			}
+			String cachedResponse = ResponseCache.get(cacheKey, commitId);
+			if (cachedResponse != null) {
+				return taggedResponse(cachedResponse, commitId);
+			}
 
 			JSONArray tracedFiles = (JSONArray) gitProxy.getTraceModel(git).get("tracedFiles");
 			TreeWalk treeWalk = gitUtility.getRepositoryTreeWalk(git.getRepository());
@@ -569,7 +750,41 @@ public class RESTResources {
 			service.getLogger().log(Level.FINER, e.getMessage());
 			throw new InternalServerErrorException("IO error!");
 		}
-		return Response.ok(jsonResponse.toString().replace("\\", "")).build();
+		String response = jsonResponse.toString().replace("\\", "");
+		ResponseCache.put(cacheKey, commitId, response);
+		return taggedResponse(response, commitId);
+	}
+
+	/**
+	 * Get the id of the current commit of a repository, used to cache the
+	 * responses of the file endpoints, see {@link ResponseCache}
+	 *
+	 * @param git
+	 *            The git object of the repository
+	 * @return The id of the current commit
+	 * @throws GitHelperException
+	 *             Thrown if the repository has no commit
+	 * @throws IOException
+	 *             Thrown if the head could not be resolved
+	 */
+	private String getHeadCommitId(Git git) throws GitHelperException, IOException {
+		ObjectId head = git.getRepository().resolve(Constants.HEAD);
+		if (head == null) {
+			throw new GitHelperException("Repository has no commit");
+		}
+		return head.getName();
+	}
+
+	private Response taggedResponse(String response, String commitId) {
+		CacheControl cacheControl = new CacheControl();
+		// clients have to revalidate the response, as the branch may have new commits
+		cacheControl.setNoCache(true);
+		return Response.ok(response).tag(new EntityTag(commitId)).cacheControl(cacheControl).build();
+	}
+
+	private Response notModified(String commitId) {
+		Metrics.counter(Metrics.NOT_MODIFIED_RESPONSES).increment();
+		return Response.notModified(new EntityTag(commitId)).build();
 	}
 
 	/**
@@ -1,6 +1,12 @@
 package i5.las2peer.services.codeGenerationService.adapters;
 
+import java.io.IOException;
+import java.net.http.HttpResponse;
+
+import i5.las2peer.services.codeGenerationService.events.GitHostRequestEvent;
 import i5.las2peer.services.codeGenerationService.exception.GitHostException;
+import i5.las2peer.services.codeGenerationService.utilities.Metrics;
+import i5.las2peer.services.codeGenerationService.utilities.RemoteRepositoryCache;
 
 /**
  * 
@@ -22,6 +28,9 @@ public abstract class BaseGitHostAdapter implements GitHostAdapter {
 	
 	protected String baseURL = "";
 
+	// shared client for all requests to the api of the git host
+	protected GitHostHttpClient httpClient = new GitHostHttpClient();
+
 	protected BaseGitHostAdapter(String gitUser, String gitPassword, String token, String gitOrganization,
 			String templateRepository, String gitUserMail, String baseURL) throws GitHostException {
 		super();
@@ -71,8 +80,68 @@ public abstract class BaseGitHostAdapter implements GitHostAdapter {
 		return baseURL;
 	}
 
+	/**
+	 * Get the git url of the repository with the given name.
+	 * @param name The name of the repository
+	 * @return The url of the repository
+	 */
+	public String getRepositoryURL(String name) {
+		return baseURL + gitOrganization + "/" + name + ".git";
+	}
+
+	/**
+	 * Updates the cached existence of a repository after it was created or deleted.
+	 * @param name The name of the repository
+	 * @param exists True, if the repository exists now
+	 */
+	protected void updateRepositoryCache(String name, boolean exists) {
+		RemoteRepositoryCache.put(getRepositoryURL(name), exists);
+	}
+
+	public void setHttpClient(GitHostHttpClient httpClient) {
+		this.httpClient = httpClient;
+	}
+
 	@Override
-	public void addWebhook(String repoName, String webhookUrl) {
+	public void addWebhook(String repoName, String webhookUrl) throws GitHostException {
+
+	}
 
+	/**
+	 * Sends a request to the api of the git host using the shared http client and updates the metrics
+	 * and the flight recorder event of the request.
+	 * @param method The http method
+	 * @param url The url of the request
+	 * @param body The body of the request, may be null
+	 * @param headers Alternating names and values of the request headers
+	 * @return The response
+	 * @throws IOException if no response was received
+	 */
+	protected HttpResponse<String> sendRequest(String method, String url, String body, String... headers)
+			throws IOException {
+		GitHostRequestEvent request = new GitHostRequestEvent(method, url);
+		int status = -1;
+		try {
+			HttpResponse<String> response = httpClient.send(method, url, body, headers);
+			status = response.statusCode();
+			return response;
+		} finally {
+			recordRequest(request, status);
+		}
+	}
+
+	/**
+	 * Updates the metrics of the requests to the api of the git host and commits the flight recorder
+	 * event of the request.
+	 * @param request The event of the request, created when the request was started
+	 * @param status The http status of the response, -1 if the request failed without response
+	 */
+	private void recordRequest(GitHostRequestEvent request, int status) {
+		Metrics.timer(Metrics.GIT_HOST_REQUEST).recordSince(request.getStartTime());
+		if (status < 200 || status >= 300) {
+			Metrics.counter(Metrics.GIT_HOST_REQUEST_ERRORS).increment();
+		}
+		request.status = status;
+		request.commit();
 	}
 }
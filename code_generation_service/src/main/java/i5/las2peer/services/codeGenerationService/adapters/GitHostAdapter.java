@@ -10,5 +10,5 @@ public interface GitHostAdapter {
 	public void createRepo(String name, String description) throws GitHostException;
 	public void deleteRepo(String name) throws GitHostException;
 
-	public void addWebhook(String repoName, String webhookUrl);
+	public void addWebhook(String repoName, String webhookUrl) throws GitHostException;
 }
\ No newline at end of file
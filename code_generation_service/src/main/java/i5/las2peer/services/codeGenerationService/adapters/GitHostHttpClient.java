@@ -0,0 +1,247 @@
+package i5.las2peer.services.codeGenerationService.adapters;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ *
+ * Http client shared by all requests of a git host adapter to the api of the git host. The
+ * connections are pooled and kept alive, requests have connect and read timeouts.
+ *
+ * Requests are scheduled by a token bucket, which allows short bursts but limits the sustained
+ * request rate. The rate is lowered when the rate-limit headers of the git host (X-RateLimit-* of
+ * GitHub, RateLimit-* of GitLab) report that the remaining requests would not last until the reset
+ * of the limit, and requests are held back until the reset when nothing is left. Responses with
+ * status 429, 5xx and rate-limit related 403 are retried with jittered exponential backoff, a
+ * Retry-After header of the git host takes precedence over the backoff. POST requests are not
+ * idempotent, so they are only retried if the git host rejected them because of the rate limit.
+ */
+public class GitHostHttpClient {
+
+	public static final Duration DEFAULT_CONNECT_TIMEOUT = Duration.ofSeconds(10);
+	public static final Duration DEFAULT_READ_TIMEOUT = Duration.ofSeconds(30);
+	public static final double DEFAULT_REQUESTS_PER_SECOND = 5;
+	public static final int DEFAULT_BURST = 10;
+	public static final int DEFAULT_MAX_RETRIES = 3;
+
+	// backoff of the first retry and upper bound of the backoff
+	private static final long BASE_BACKOFF_MILLIS = 500;
+	private static final long MAX_BACKOFF_MILLIS = 30000;
+	// a request fails instead of waiting longer than this for the rate limit
+	private static final long MAX_WAIT_MILLIS = 60000;
+	// lower bound of the request rate when pacing by the rate limit of the git host
+	private static final double MIN_REQUESTS_PER_SECOND = 0.01;
+
+	private final HttpClient client;
+	private final Duration readTimeout;
+	private final double requestsPerSecond;
+	private final int burst;
+	private final int maxRetries;
+
+	// token bucket state, guarded by this
+	private double tokens;
+	private long lastRefill = System.nanoTime();
+	private double rate;
+	private long blockedUntil = lastRefill;
+
+	public GitHostHttpClient() {
+		this(DEFAULT_CONNECT_TIMEOUT, DEFAULT_READ_TIMEOUT, DEFAULT_REQUESTS_PER_SECOND, DEFAULT_BURST,
+				DEFAULT_MAX_RETRIES);
+	}
+
+	/**
+	 * Creates a client.
+	 * @param connectTimeout Timeout for establishing a connection
+	 * @param readTimeout Timeout for receiving the response of a request
+	 * @param requestsPerSecond Sustained number of requests per second
+	 * @param burst Number of requests that may be sent at once
+	 * @param maxRetries Number of retries of a failed request
+	 */
+	public GitHostHttpClient(Duration connectTimeout, Duration readTimeout, double requestsPerSecond, int burst,
+			int maxRetries) {
+		this.client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).connectTimeout(connectTimeout)
+				.followRedirects(HttpClient.Redirect.NORMAL).build();
+		this.readTimeout = readTimeout;
+		this.requestsPerSecond = requestsPerSecond;
+		this.burst = burst;
+		this.maxRetries = maxRetries;
+		this.tokens = burst;
+		this.rate = requestsPerSecond;
+	}
+
+	/**
+	 * Sends a request, waiting for the rate limit and retrying it if the git host is overloaded.
+	 * @param method The http method, e.g. GET
+	 * @param url The url of the request
+	 * @param body The body of the request, may be null
+	 * @param headers Alternating names and values of the request headers
+	 * @return The response, the last one if all retries failed
+	 * @throws IOException if no response could be received or the rate limit would block the
+	 *         request too long
+	 */
+	public HttpResponse<String> send(String method, String url, String body, String... headers)
+			throws IOException {
+		HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(url)).timeout(readTimeout)
+				.method(method, body == null ? HttpRequest.BodyPublishers.noBody()
+						: HttpRequest.BodyPublishers.ofString(body));
+		if (headers.length > 0) {
+			builder.headers(headers);
+		}
+		HttpRequest request = builder.build();
+
+		for (int attempt = 0;; attempt++) {
+			sleep(reserve());
+			HttpResponse<String> response;
+			try {
+				response = client.send(request, HttpResponse.BodyHandlers.ofString());
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new InterruptedIOException("Request to " + url + " was interrupted");
+			} catch (IOException e) {
+				// only requests without side effects may be repeated after a lost connection
+				if (attempt >= maxRetries || method.equals("POST")) {
+					throw e;
+				}
+				sleep(backoff(attempt));
+				continue;
+			}
+
+			updateRateLimit(response);
+			if (attempt >= maxRetries || !isRetryable(method, response)) {
+				return response;
+			}
+			Optional<String> retryAfter = response.headers().firstValue("Retry-After");
+			if (retryAfter.isPresent()) {
+				block(parseLong(retryAfter.get(), 1) * 1000);
+			} else {
+				sleep(backoff(attempt));
+			}
+		}
+	}
+
+	/**
+	 * Helper method: Takes a token from the bucket.
+	 * @return The time in nanoseconds to wait before the request may be sent
+	 * @throws IOException if the wait would be longer than the maximal wait
+	 */
+	private synchronized long reserve() throws IOException {
+		long now = System.nanoTime();
+		tokens = Math.min(burst, tokens + (now - lastRefill) / 1e9 * rate);
+		lastRefill = now;
+		tokens -= 1;
+		// requests queue up behind a block, then behind each other according to the rate
+		long wait = Math.max(0, blockedUntil - now);
+		if (tokens < 0) {
+			wait += (long) (-tokens / rate * 1e9);
+		}
+		if (wait > MAX_WAIT_MILLIS * 1000000) {
+			// give the token back, the request is not sent
+			tokens += 1;
+			throw new IOException("Rate limit of the git host exceeded, retry in " + wait / 1000000000 + " s");
+		}
+		return wait;
+	}
+
+	/**
+	 * Helper method: Holds back all requests for the given time.
+	 * @param millis The time in milliseconds
+	 */
+	private synchronized void block(long millis) {
+		blockedUntil = Math.max(blockedUntil, System.nanoTime() + millis * 1000000);
+	}
+
+	/**
+	 * Helper method: Adapts the request rate to the rate-limit headers of the response.
+	 * @param response The response of the git host
+	 */
+	private void updateRateLimit(HttpResponse<String> response) {
+		Optional<String> remaining = firstHeader(response, "X-RateLimit-Remaining", "RateLimit-Remaining");
+		Optional<String> reset = firstHeader(response, "X-RateLimit-Reset", "RateLimit-Reset");
+		if (!remaining.isPresent() || !reset.isPresent()) {
+			return;
+		}
+		long remainingRequests = parseLong(remaining.get(), -1);
+		long untilReset = parseLong(reset.get(), 0) * 1000 - System.currentTimeMillis();
+		if (remainingRequests < 0 || untilReset <= 0) {
+			return;
+		}
+		if (remainingRequests == 0) {
+			block(untilReset);
+		}
+		synchronized (this) {
+			// spread the remaining requests until the reset
+			rate = Math.max(MIN_REQUESTS_PER_SECOND,
+					Math.min(requestsPerSecond, remainingRequests / (untilReset / 1000.0)));
+		}
+	}
+
+	/**
+	 * Helper method: Checks if a response is worth a retry, i.e. the git host is overloaded or the
+	 * rate limit was hit. Other 403 responses are missing permissions and thus not retried. A POST
+	 * may already have taken effect when the git host or a proxy answers with 5xx, so it is only
+	 * retried on 429 or on a rate-limit 403 with Retry-After.
+	 * @param method The http method of the request
+	 * @param response The response
+	 * @return true if the request should be retried
+	 */
+	private boolean isRetryable(String method, HttpResponse<String> response) {
+		int status = response.statusCode();
+		boolean retryAfter = response.headers().firstValue("Retry-After").isPresent();
+		if (method.equals("POST")) {
+			return status == 429 || (status == 403 && retryAfter);
+		}
+		if (status == 429 || status >= 500) {
+			return true;
+		}
+		if (status == 403) {
+			return retryAfter
+					|| firstHeader(response, "X-RateLimit-Remaining", "RateLimit-Remaining").map("0"::equals)
+							.orElse(false)
+					|| (response.body() != null && response.body().toLowerCase(Locale.ROOT).contains("rate limit"));
+		}
+		return false;
+	}
+
+	/**
+	 * Helper method: Computes the backoff of a retry with full jitter.
+	 * @param attempt The number of the failed attempt, starting at 0
+	 * @return The backoff in nanoseconds
+	 */
+	private long backoff(int attempt) {
+		long max = Math.min(MAX_BACKOFF_MILLIS, BASE_BACKOFF_MILLIS << Math.min(attempt, 16));
+		return ThreadLocalRandom.current().nextLong(max + 1) * 1000000;
+	}
+
+	private static Optional<String> firstHeader(HttpResponse<String> response, String name, String alternative) {
+		Optional<String> value = response.headers().firstValue(name);
+		return value.isPresent() ? value : response.headers().firstValue(alternative);
+	}
+
+	private static long parseLong(String value, long defaultValue) {
+		try {
+			return Long.parseLong(value.trim());
+		} catch (NumberFormatException e) {
+			return defaultValue;
+		}
+	}
+
+	private static void sleep(long nanos) throws InterruptedIOException {
+		if (nanos <= 0) {
+			return;
+		}
+		try {
+			Thread.sleep(nanos / 1000000, (int) (nanos % 1000000));
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted while waiting for the rate limit of the git host");
+		}
+	}
+}
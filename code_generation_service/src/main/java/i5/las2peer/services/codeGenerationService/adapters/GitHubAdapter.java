@@ -1,16 +1,9 @@
 package i5.las2peer.services.codeGenerationService.adapters;
 
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.io.OutputStreamWriter;
-import java.net.HttpURLConnection;
-import java.net.MalformedURLException;
-import java.net.URL;
+import java.net.http.HttpResponse;
 import java.util.Base64;
 
-import kong.unirest.HttpResponse;
-import kong.unirest.Unirest;
 import org.json.simple.JSONArray;
 import org.json.simple.JSONObject;
 
@@ -48,45 +41,16 @@ public class GitHubAdapter extends BaseGitHostAdapter {
 	  jsonObject.put("description", description);
 	  String body = JSONObject.toJSONString(jsonObject);
 	
-	  String authString = this.getToken();
-	  
-	  byte[] authEncBytes = Base64.getEncoder().encode(authString.getBytes());
-	  String authStringEnc;
-	  
-	  URL url;
 	  try {
-		  url = new URL("https://api.github.com/orgs/" + this.gitOrganization + "/repos");
-		  authStringEnc = new String(authEncBytes);
-	  
-		  HttpURLConnection connection = (HttpURLConnection) url.openConnection();
-		  connection.setRequestMethod("POST");
-		  connection.setDoInput(true);
-		  connection.setDoOutput(true);
-		  connection.setUseCaches(false);
-		  connection.setRequestProperty("Accept", "application/vnd.github.v3+json");
-		  connection.setRequestProperty("Content-Type", "application/vnd.github.v3+json");
-		  connection.setRequestProperty("Content-Length", String.valueOf(body.length()));
-		  connection.setRequestProperty("Authorization", "Basic " + authStringEnc);
-		
-		  OutputStreamWriter writer = new OutputStreamWriter(connection.getOutputStream());
-		  writer.write(body);
-		  writer.flush();
-		  writer.close();
-		
+		  HttpResponse<String> response = sendRequest("POST", "https://api.github.com/orgs/" + this.gitOrganization + "/repos", body,
+				  "Accept", "application/vnd.github.v3+json",
+				  "Content-Type", "application/vnd.github.v3+json",
+				  "Authorization", "Basic " + getBasicAuthorization());
 		  // forward (in case of) error
-		  if (connection.getResponseCode() != 201) {
-		    String message = "Error creating repository at: ";
-		    BufferedReader reader =
-		        new BufferedReader(new InputStreamReader(connection.getErrorStream()));
-		    for (String line; (line = reader.readLine()) != null;) {
-		      message += line;
-		    }
-		    reader.close();
-		    throw new GitHostException(message);
+		  if (response.statusCode() != 201) {
+		    throw new GitHostException("Error creating repository at: " + response.body());
 		  }
-	  } catch (MalformedURLException e) {
-			e.printStackTrace();
-			throw new GitHostException(e.getMessage());
+		  updateRepositoryCache(name, true);
 	  } catch (IOException e) {
 		  	e.printStackTrace();
 		  	throw new GitHostException(e.getMessage());
@@ -99,33 +63,28 @@ public class GitHubAdapter extends BaseGitHostAdapter {
 	 */
 	@Override
 	public void deleteRepo(String name) throws GitHostException {
-		String authString = this.getToken();
-		byte[] authEncBytes = Base64.getEncoder().encode(authString.getBytes());
-		String authStringEnc = new String(authEncBytes);
 		try {
-			URL url = new URL("https://api.github.com/repos/" + this.gitOrganization + "/" + name);
-			HttpURLConnection connection = (HttpURLConnection) url.openConnection();
-			connection.setRequestMethod("DELETE");
-			connection.setUseCaches(false);
-			connection.setRequestProperty("Authorization", "Basic " + authStringEnc);
-	
+			HttpResponse<String> response = sendRequest("DELETE", "https://api.github.com/repos/" + this.gitOrganization + "/" + name, null,
+					"Authorization", "Basic " + getBasicAuthorization());
 			// forward (in case of) error
-			if (connection.getResponseCode() != 204) {
-				String message = "Error deleting repository: ";
-				BufferedReader reader = new BufferedReader(new InputStreamReader(connection.getErrorStream()));
-				for (String line; (line = reader.readLine()) != null;) {
-					message += line;
-				}
-				reader.close();
-				throw new GitHostException(message);
+			if (response.statusCode() != 204) {
+				throw new GitHostException("Error deleting repository: " + response.body());
 			}
+			updateRepositoryCache(name, false);
 	  }catch (IOException e) {
 		  throw new GitHostException(e.getMessage());
 	  }
 			
 	}
 
-	public void addWebhook(String repoName, String webhookUrl) {
+	/**
+	 * Adds a webhook to a GitHub repository using the GitHub api.
+	 * @param repoName The repository
+	 * @param webhookUrl The url the events of the repository are sent to
+	 */
+	@SuppressWarnings("unchecked")
+	@Override
+	public void addWebhook(String repoName, String webhookUrl) throws GitHostException {
 		JSONObject body = new JSONObject();
 		JSONObject config = new JSONObject();
 		config.put("url", webhookUrl);
@@ -135,10 +94,24 @@ public class GitHubAdapter extends BaseGitHostAdapter {
 		events.add("*");
 		body.put("events", events);
 
-		HttpResponse<String> response = Unirest.post("https://api.github.com/repos/" + gitOrganization + "/" + repoName + "/hooks")
-				.header("Authorization", "token " + token)
-				.header("Content-Type", "application/json")
-				.body(body.toJSONString())
-				.asString();
+		try {
+			HttpResponse<String> response = sendRequest("POST", "https://api.github.com/repos/" + gitOrganization + "/" + repoName + "/hooks", body.toJSONString(),
+					"Authorization", "token " + token,
+					"Content-Type", "application/json");
+			// forward (in case of) error
+			if (response.statusCode() != 201) {
+				throw new GitHostException("Error adding webhook: " + response.body());
+			}
+		} catch (IOException e) {
+			throw new GitHostException(e.getMessage());
+		}
+	}
+
+	/**
+	 * Helper method: The token as value of a basic authorization header.
+	 * @return The base64 encoded token
+	 */
+	private String getBasicAuthorization() {
+		return new String(Base64.getEncoder().encode(this.getToken().getBytes()));
 	}
 }
@@ -1,12 +1,7 @@
 package i5.las2peer.services.codeGenerationService.adapters;
 
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.io.OutputStreamWriter;
-import java.net.HttpURLConnection;
-import java.net.MalformedURLException;
-import java.net.URL;
+import java.net.http.HttpResponse;
 
 import org.json.simple.JSONArray;
 import org.json.simple.JSONObject;
@@ -34,38 +29,15 @@ public class GitLabAdapter extends BaseGitHostAdapter{
 	 * @return The response.
 	 */
 	private String getString(String url) {
-		HttpURLConnection c = null;
-		
 		try {
-			URL u = new URL(url);
-			c = (HttpURLConnection) u.openConnection();
-			c.setRequestMethod("GET");
-			c.setRequestProperty("PRIVATE-TOKEN", token);
-			c.setUseCaches(false);
-			c.connect();
-			int status = c.getResponseCode();
-			
-			switch (status) {
+			HttpResponse<String> response = sendRequest("GET", url, null, "PRIVATE-TOKEN", token);
+			switch (response.statusCode()) {
 			case 200:
 			case 201:
-				BufferedReader br = new BufferedReader(new InputStreamReader(c.getInputStream()));
-	            StringBuilder sb = new StringBuilder();
-	            String line;
-	            while ((line = br.readLine()) != null) {
-	                sb.append(line+"\n");
-	            }
-	            br.close();
-	            return sb.toString();
+				return response.body();
 			}
-			
-		} catch (MalformedURLException e) {
-			//TODO: Handle exception
-		} catch (IOException e) {
+		} catch (IOException | IllegalArgumentException e) {
 			//TODO: Handle exception
-		} finally {
-			if (c != null) {
-				c.disconnect();
-			}
 		}
 		return "";
 	}
@@ -76,30 +48,13 @@ public class GitLabAdapter extends BaseGitHostAdapter{
 	 * @throws GitHostException
 	 */
 	private void deleteResource(String url) throws GitHostException {
-		HttpURLConnection c = null;
-		
 		try {
-			URL u = new URL(url);
-			c = (HttpURLConnection) u.openConnection();
-			c.setRequestMethod("DELETE");
-			c.setRequestProperty("PRIVATE-TOKEN", token);
-			c.setUseCaches(false);
-			c.connect();
-			int status = c.getResponseCode();
-			
-			if(status != 200) {
-				c.disconnect();
-				throw new GitHostException("failed to delete resource with " + status + " at:" + u.getPath());
+			HttpResponse<String> response = sendRequest("DELETE", url, null, "PRIVATE-TOKEN", token);
+			if(response.statusCode() != 200) {
+				throw new GitHostException("failed to delete resource with " + response.statusCode() + " at:" + response.uri().getPath());
 			}
-			
-		} catch (MalformedURLException e) {
-			throw new GitHostException("Failed to delete resource");
-		} catch (IOException e) {
+		} catch (IOException | IllegalArgumentException e) {
 			throw new GitHostException("Failed to delete resource");
-		} finally {
-			if (c != null) {
-				c.disconnect();
-			}
 		}
 	}
 
@@ -110,46 +65,15 @@ public class GitLabAdapter extends BaseGitHostAdapter{
 	 * @throws GitHostException
 	 */
 	private void createResource(String url, JSONObject data) throws GitHostException {
-		HttpURLConnection c = null;
-		
 		try {
-			String body = data.toJSONString();
-			URL u = new URL(url);
-			c = (HttpURLConnection) u.openConnection();
-			c.setRequestMethod("POST");
-			c.setRequestProperty("PRIVATE-TOKEN", token);
-			c.setRequestProperty("Content-Type", "application/json");
-			c.setDoInput(true);
-		    c.setDoOutput(true);
-			c.setUseCaches(false);
-			
-			OutputStreamWriter writer = new OutputStreamWriter(c.getOutputStream());
-			writer.write(body);
-			writer.flush();
-			writer.close();
-			
-			int status = c.getResponseCode();
-	
-			if (status != 201){
-				// forward (in case of) error	  
-			    String message = "Error creating repository at: ";
-			    BufferedReader reader =
-			        new BufferedReader(new InputStreamReader(c.getErrorStream()));
-			    for (String line; (line = reader.readLine()) != null;) {
-			      message += line;
-			    }
-			    reader.close();
-			    throw new GitHostException(message);	  
+			HttpResponse<String> response = sendRequest("POST", url, data.toJSONString(),
+					"PRIVATE-TOKEN", token, "Content-Type", "application/json");
+			if (response.statusCode() != 201){
+				// forward (in case of) error
+			    throw new GitHostException("Error creating repository at: " + response.body());
 			}
-			
-		} catch (MalformedURLException e) {
+		} catch (IOException | IllegalArgumentException e) {
 			throw new GitHostException("GitLab repo creation went wrong");
-		} catch (IOException e) {
-			throw new GitHostException("GitLab repo creation went wrong");
-		} finally {
-			if (c != null) {
-				c.disconnect();
-			}
 		}
 	}
 
@@ -207,6 +131,7 @@ public class GitLabAdapter extends BaseGitHostAdapter{
 			// example: http://ginkgo.informatik.rwth-aachen.de:4080/api/v4/projects/2
 			deleteResource(baseURL + "api/v4/" + "projects/" + id);
 		}
+		updateRepositoryCache(name, false);
 		
 		}catch (ParseException e) {
 			throw new GitHostException("Failed to delete repo");
@@ -229,6 +154,7 @@ public class GitLabAdapter extends BaseGitHostAdapter{
 		obj.put("description", description);
 		obj.put("namespace_id", id);
 		createResource(baseURL + "api/v4/" + "projects", obj);
+		updateRepositoryCache(name, true);
 	}
 	
 }
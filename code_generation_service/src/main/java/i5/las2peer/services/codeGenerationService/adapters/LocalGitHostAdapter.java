@@ -0,0 +1,153 @@
+package i5.las2peer.services.codeGenerationService.adapters;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.stream.Stream;
+
+import org.apache.commons.io.FileUtils;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.api.errors.GitAPIException;
+import org.eclipse.jgit.lib.PersonIdent;
+import org.eclipse.jgit.transport.RefSpec;
+
+import i5.las2peer.services.codeGenerationService.exception.GitHostException;
+
+/**
+ *
+ * Git host stand-in that manages bare repositories on the local file system, such that the service
+ * can be run and load-tested without GitHub or GitLab. The base url has to be a file url, e.g.
+ * file:///tmp/cae-git/, the repositories are stored at [baseURL]/[gitOrganization]/[name].git.
+ */
+public class LocalGitHostAdapter extends BaseGitHostAdapter {
+
+	private final File organizationDirectory;
+
+	public LocalGitHostAdapter(String baseURL, String gitUser, String gitPassword, String gitOrganization,
+			String templateRepository, String gitUserMail) throws GitHostException {
+		// there is no api that would need a token
+		super(gitUser, gitPassword, "local", gitOrganization, templateRepository, gitUserMail, baseURL);
+		try {
+			this.organizationDirectory = new File(new File(new URI(baseURL)), gitOrganization);
+		} catch (URISyntaxException | IllegalArgumentException e) {
+			throw new GitHostException("Base url is not a valid file url: " + baseURL);
+		}
+	}
+
+	/**
+	 * Get the directory of the bare repository with the given name.
+	 * @param name The name of the repository
+	 * @return The directory of the repository, may not exist
+	 */
+	public File getRepositoryDirectory(String name) {
+		return new File(organizationDirectory, name + ".git");
+	}
+
+	/**
+	 * Creates a bare repository in the directory of the organization.
+	 * @param name The name of the repository.
+	 * @param description The description, stored in the description file of the repository.
+	 */
+	@Override
+	public void createRepo(String name, String description) throws GitHostException {
+		File directory = getRepositoryDirectory(name);
+		if (directory.exists()) {
+			throw new GitHostException("Repository " + name + " already exists");
+		}
+		try {
+			Git.init().setBare(true).setDirectory(directory).call().close();
+			try (FileWriter writer = new FileWriter(new File(directory, "description"), false)) {
+				writer.write(description);
+			}
+		} catch (GitAPIException | IOException e) {
+			throw new GitHostException("Local repo creation went wrong: " + e.getMessage());
+		}
+		updateRepositoryCache(name, true);
+	}
+
+	/**
+	 * Deletes the bare repository with the given name.
+	 * @param name The repo to be deleted.
+	 * @throws GitHostException if the repository does not exist or could not be deleted
+	 */
+	@Override
+	public void deleteRepo(String name) throws GitHostException {
+		File directory = getRepositoryDirectory(name);
+		if (!directory.exists()) {
+			throw new GitHostException("Repository " + name + " does not exist");
+		}
+		try {
+			FileUtils.deleteDirectory(directory);
+		} catch (IOException e) {
+			throw new GitHostException("Failed to delete repo: " + e.getMessage());
+		}
+		updateRepositoryCache(name, false);
+	}
+
+	/**
+	 * Creates the template repository from a local copy of the CAE-Templates layout, i.e. a folder
+	 * containing the "backend", "frontend" and "application" folders. The content is committed to the
+	 * master branch, an existing template repository is replaced.
+	 * @param templatesDirectory The folder containing the templates, a ".git" folder is ignored
+	 * @throws GitHostException if the template repository could not be created
+	 */
+	public void seedTemplateRepository(File templatesDirectory) throws GitHostException {
+		if (!templatesDirectory.isDirectory()) {
+			throw new GitHostException("Templates folder " + templatesDirectory + " does not exist");
+		}
+		if (getRepositoryDirectory(templateRepository).exists()) {
+			deleteRepo(templateRepository);
+		}
+		createRepo(templateRepository, "Templates used by the code generation");
+
+		File workingDirectory = null;
+		try {
+			workingDirectory = Files.createTempDirectory(templateRepository).toFile();
+			copyTemplates(templatesDirectory.toPath(), workingDirectory.toPath());
+			try (Git git = Git.init().setDirectory(workingDirectory).call()) {
+				git.add().addFilepattern(".").call();
+				git.commit().setMessage("Seed templates").setCommitter(new PersonIdent(gitUser, gitUserMail)).call();
+				git.push().setRemote(getRepositoryDirectory(templateRepository).toURI().toString())
+						.setRefSpecs(new RefSpec("refs/heads/master:refs/heads/master")).call();
+			}
+		} catch (GitAPIException | IOException e) {
+			throw new GitHostException("Seeding the template repository went wrong: " + e.getMessage());
+		} finally {
+			if (workingDirectory != null) {
+				try {
+					FileUtils.deleteDirectory(workingDirectory);
+				} catch (IOException e) {
+					// only a temporary folder
+				}
+			}
+		}
+	}
+
+	/**
+	 * Helper method: Copies the templates folder without its git metadata.
+	 * @param source The templates folder
+	 * @param target The working directory of the template repository
+	 * @throws IOException if a file could not be copied
+	 */
+	private void copyTemplates(Path source, Path target) throws IOException {
+		Path gitDirectory = source.resolve(".git");
+		try (Stream<Path> paths = Files.walk(source)) {
+			for (Path path : (Iterable<Path>) paths::iterator) {
+				if (path.startsWith(gitDirectory)) {
+					continue;
+				}
+				Path copy = target.resolve(source.relativize(path).toString());
+				if (Files.isDirectory(path)) {
+					Files.createDirectories(copy);
+				} else {
+					Files.copy(path, copy, StandardCopyOption.REPLACE_EXISTING);
+				}
+			}
+		}
+	}
+}
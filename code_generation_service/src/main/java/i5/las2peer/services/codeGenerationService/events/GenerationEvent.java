@@ -0,0 +1,47 @@
+package i5.las2peer.services.codeGenerationService.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event of the generation or synchronization of the source code of a model. The
+ * event begins when it is created.
+ *
+ */
+
+@Name("i5.las2peer.codeGeneration.Generation")
+@Label("Generation")
+@Category({"CAE", "Code Generation"})
+@Description("Generating or synchronizing the repository of a model")
+public class GenerationEvent extends Event {
+
+  @Label("Model Type")
+  public String modelType;
+
+  @Label("Model Id")
+  @Description("The versioned model id")
+  public String modelId;
+
+  @Label("Repository")
+  public String repositoryName;
+
+  @Label("Synchronization")
+  public boolean synchronization;
+
+  @Label("File Count")
+  @Description("The number of committed files")
+  public int fileCount;
+
+  public GenerationEvent(String modelType, String modelId, String repositoryName,
+      boolean synchronization) {
+    this.modelType = modelType;
+    this.modelId = modelId;
+    this.repositoryName = repositoryName;
+    this.synchronization = synchronization;
+    begin();
+  }
+
+}
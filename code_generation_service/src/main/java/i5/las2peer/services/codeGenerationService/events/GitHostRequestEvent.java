@@ -0,0 +1,44 @@
+package i5.las2peer.services.codeGenerationService.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event of a request to the api of the git host. The event begins when it is
+ * created.
+ *
+ */
+
+@Name("i5.las2peer.codeGeneration.GitHostRequest")
+@Label("Git Host Request")
+@Category({"CAE", "Code Generation"})
+@Description("A http request to the api of GitHub or GitLab")
+public class GitHostRequestEvent extends Event {
+
+  @Label("Method")
+  public String method;
+
+  @Label("Url")
+  public String url;
+
+  @Label("Status")
+  @Description("The http status of the response, -1 if no response was received")
+  public int status = -1;
+
+  // not recorded, used for the metrics
+  private final transient long startTime = System.nanoTime();
+
+  public GitHostRequestEvent(String method, String url) {
+    this.method = method;
+    this.url = url;
+    begin();
+  }
+
+  public long getStartTime() {
+    return startTime;
+  }
+
+}
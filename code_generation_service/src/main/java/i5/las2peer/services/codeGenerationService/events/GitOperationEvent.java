@@ -0,0 +1,44 @@
+package i5.las2peer.services.codeGenerationService.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event of a git operation on a local or remote repository, i.e. clone, fetch,
+ * checkout, merge, commit or push. The event begins when it is created.
+ *
+ */
+
+@Name("i5.las2peer.codeGeneration.GitOperation")
+@Label("Git Operation")
+@Category({"CAE", "Code Generation"})
+@Description("A git operation, e.g. clone, fetch, checkout, merge, commit or push")
+public class GitOperationEvent extends Event {
+
+  @Label("Operation")
+  public String operation;
+
+  @Label("Repository")
+  public String repositoryName;
+
+  @Label("Branch")
+  public String branchName;
+
+  @Label("File Count")
+  public int fileCount;
+
+  @Label("Bytes")
+  @DataAmount
+  public long bytes;
+
+  public GitOperationEvent(String operation, String repositoryName) {
+    this.operation = operation;
+    this.repositoryName = repositoryName;
+    begin();
+  }
+
+}
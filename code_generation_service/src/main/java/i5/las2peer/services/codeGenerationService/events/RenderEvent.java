@@ -0,0 +1,33 @@
+package i5.las2peer.services.codeGenerationService.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event of rendering the content of a file from its segments. The event begins
+ * when it is created.
+ *
+ */
+
+@Name("i5.las2peer.codeGeneration.Render")
+@Label("Render")
+@Category({"CAE", "Code Generation"})
+@Description("Rendering the source code of a file from the segments of its template engine")
+public class RenderEvent extends Event {
+
+  @Label("File")
+  public String fileName;
+
+  @Label("Length")
+  @Description("The number of characters of the rendered source code")
+  public int length;
+
+  public RenderEvent(String fileName) {
+    this.fileName = fileName;
+    begin();
+  }
+
+}
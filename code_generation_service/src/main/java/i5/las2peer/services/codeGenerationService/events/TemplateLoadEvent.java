@@ -0,0 +1,32 @@
+package i5.las2peer.services.codeGenerationService.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event of loading the content of the template repository. The event begins when
+ * it is created.
+ *
+ */
+
+@Name("i5.las2peer.codeGeneration.TemplateLoad")
+@Label("Template Load")
+@Category({"CAE", "Code Generation"})
+@Description("Cloning the template repository and reading its last commit")
+public class TemplateLoadEvent extends Event {
+
+  @Label("Repository")
+  public String repositoryName;
+
+  @Label("Commit")
+  public String commitId;
+
+  public TemplateLoadEvent(String repositoryName) {
+    this.repositoryName = repositoryName;
+    begin();
+  }
+
+}
@@ -0,0 +1,35 @@
+package i5.las2peer.services.codeGenerationService.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event of serializing a file trace model. The event begins when it is created.
+ *
+ */
+
+@Name("i5.las2peer.codeGeneration.TraceSerialization")
+@Label("Trace Serialization")
+@Category({"CAE", "Code Generation"})
+@Description("Serializing the trace model of a file to json")
+public class TraceSerializationEvent extends Event {
+
+  @Label("File")
+  public String fileName;
+
+  @Label("Segment Count")
+  public int segmentCount;
+
+  @Label("Model Count")
+  @Description("The number of model elements with traces in the file")
+  public int modelCount;
+
+  public TraceSerializationEvent(String fileName) {
+    this.fileName = fileName;
+    begin();
+  }
+
+}
@@ -44,6 +44,7 @@ import i5.las2peer.services.codeGenerationService.adapters.BaseGitHostAdapter;
 import i5.las2peer.services.codeGenerationService.exception.GitHostException;
 import i5.las2peer.services.codeGenerationService.models.application.Application;
 import i5.las2peer.services.codeGenerationService.models.frontendComponent.FrontendComponent;
+import i5.las2peer.services.codeGenerationService.utilities.Metrics;
 
 /**
  * 
@@ -108,6 +109,7 @@ public class ApplicationGenerator extends Generator {
     // variables to be closed in the final block
     Repository applicationRepository = null;
     TreeWalk treeWalk = null;
+    Metrics.gauge(Metrics.GENERATIONS_ACTIVE).increment();
     try {
       PersonIdent caeUser = new PersonIdent(gitAdapter.getGitUser(), gitAdapter.getGitUserMail());
 
@@ -280,9 +282,11 @@ public class ApplicationGenerator extends Generator {
         applicationRepository = createTextFileInRepository(applicationRepository, "", "get_ext_dependencies.sh", getExtDependencies);
         
         
+        long commitStart = System.nanoTime();
         RevCommit commit = Git.wrap(applicationRepository).commit()
             .setMessage(commitMessage)
             .setCommitter(caeUser).call();
+        Metrics.timer(Metrics.COMMIT).recordSince(commitStart);
         
         if(versionTag != null) {
         	Git.wrap(applicationRepository).tag().setObjectId(commit).setName(versionTag).call();	
@@ -376,8 +380,10 @@ public class ApplicationGenerator extends Generator {
         treeWalk.close();
         // commit files
         try {
+          long commitStart = System.nanoTime();
           Git.wrap(applicationRepository).commit()
               .setMessage("Added microservice " + microserviceName).setCommitter(caeUser).call();
+          Metrics.timer(Metrics.COMMIT).recordSince(commitStart);
         } catch (Exception e) {
           logger.printStackTrace(e);
           throw new GitHostException(e.getMessage());
@@ -511,9 +517,11 @@ public class ApplicationGenerator extends Generator {
         treeWalk.close();
         // commit files
         try {
+          long commitStart = System.nanoTime();
           Git.wrap(applicationRepository).commit()
               .setMessage("Added frontend component " + frontendComponentName).setCommitter(caeUser)
               .call();
+          Metrics.timer(Metrics.COMMIT).recordSince(commitStart);
         } catch (Exception e) {
           logger.printStackTrace(e);
           throw new GitHostException(e.getMessage());
@@ -539,7 +547,11 @@ public class ApplicationGenerator extends Generator {
       }
 
       // close all open resources
+    } catch (GitHostException e) {
+      Metrics.counter(Metrics.GENERATION_ERRORS).increment();
+      throw e;
     } finally {
+      Metrics.gauge(Metrics.GENERATIONS_ACTIVE).decrement();
     	if(applicationRepository != null)
     		applicationRepository.close();
     	if (treeWalk != null) 
@@ -557,7 +569,7 @@ public class ApplicationGenerator extends Generator {
    * @throws Exception Possible exceptions from the http request
    */
 
-  private static String getBuildPath(String queueItem, String jenkinsUrl) throws Exception {
+  static String getBuildPath(String queueItem, String jenkinsUrl) throws Exception {
     URL url = new URL(jenkinsUrl + queueItem + "api/json");
     HttpURLConnection connection = (HttpURLConnection) url.openConnection();
     connection.setRequestMethod("GET");
@@ -594,47 +606,33 @@ public class ApplicationGenerator extends Generator {
   }
 
   /**
-   * Get the job console text of a build of a queue item. When the item is still pending, the string
-   * "Pending" is returned. This consumes an URL provided by jenkins.
+   * Get the console text of a build.
    * 
-   * @param queueItem The path of the queue item
+   * @param buildPath The build path, see {@link #getBuildPath(String, String)}
    * @param jenkinsUrl The base path of Jenkins
-   * @return The console text of a build of a queue item or "Pending" if the item is still
-   *         pending/waiting for its execution
+   * @return The console text of the build
+   * @throws Exception Possible exceptions from the http request or the error message of Jenkins
    */
 
-  public static String deployStatus(String queueItem, String jenkinsUrl) {
-    try {
-      String buildPath = getBuildPath(queueItem, jenkinsUrl);
-      if (buildPath == null) {
-        return "Pending";
-      } else {
-
-        URL url = new URL(jenkinsUrl + buildPath + "consoleText");
-        HttpURLConnection connection = (HttpURLConnection) url.openConnection();
-        connection.setRequestMethod("GET");
-        connection.setDoOutput(true);
-        connection.setUseCaches(false);
-
-        String message = "";
-        BufferedReader reader =
-            new BufferedReader(new InputStreamReader(connection.getInputStream()));
-        for (String line; (line = reader.readLine()) != null;) {
-          message += line + "\n";
-        }
-        reader.close();
-        // forward (in case of) error
-        if (connection.getResponseCode() != 200) {
-          throw new Exception("Jenkins error: " + message);
-        } else {
-          return message;
-        }
-
-      }
+  static String getConsoleText(String buildPath, String jenkinsUrl) throws Exception {
+    URL url = new URL(jenkinsUrl + buildPath + "consoleText");
+    HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+    connection.setRequestMethod("GET");
+    connection.setDoOutput(true);
+    connection.setUseCaches(false);
 
-    } catch (Exception e) {
-      logger.printStackTrace(e);
-      return "Error:" + e.getMessage();
+    String message = "";
+    BufferedReader reader =
+        new BufferedReader(new InputStreamReader(connection.getInputStream()));
+    for (String line; (line = reader.readLine()) != null;) {
+      message += line + "\n";
+    }
+    reader.close();
+    // forward (in case of) error
+    if (connection.getResponseCode() != 200) {
+      throw new Exception("Jenkins error: " + message);
+    } else {
+      return message;
     }
   }
 
@@ -0,0 +1,184 @@
+package i5.las2peer.services.codeGenerationService.generators;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import i5.las2peer.logging.L2pLogger;
+
+/**
+ *
+ * Polls the status of the Jenkins queue items of deployments on a shared schedule and caches it,
+ * such that clients asking for the deployment status do not cause requests to Jenkins. Each queue
+ * item is polled once per interval, no matter how many clients ask for it. Once a build is
+ * finished, its status is not polled anymore, and items no client asked for within the idle
+ * timeout are removed. Clients may wait for a change of the status instead of polling, see
+ * {@link #awaitStatusChange(String, int, long)}.
+ *
+ */
+public class DeploymentStatusPoller {
+
+  public static final long DEFAULT_POLL_INTERVAL_MILLIS = 2000;
+  // items no client asked for within this time are not polled anymore
+  private static final long IDLE_TIMEOUT_MILLIS = 600000;
+  // the last line of the console text of a finished build, e.g. "Finished: SUCCESS"
+  private static final String FINISHED = "Finished: ";
+
+  private static final L2pLogger logger =
+      L2pLogger.getInstance(DeploymentStatusPoller.class.getName());
+
+  private final String jenkinsUrl;
+  private final long pollIntervalMillis;
+  private final Map<String, Item> items = new ConcurrentHashMap<String, Item>();
+  private ScheduledExecutorService scheduler;
+
+  /**
+   * Creates a poller, the polling starts with the first request of a status.
+   *
+   * @param jenkinsUrl The base path of Jenkins
+   * @param pollIntervalMillis The time between two polls of a queue item in milliseconds
+   */
+
+  public DeploymentStatusPoller(String jenkinsUrl, long pollIntervalMillis) {
+    this.jenkinsUrl = jenkinsUrl;
+    this.pollIntervalMillis = pollIntervalMillis;
+  }
+
+  /**
+   * Get the latest status of a queue item, i.e. the job console text of its build. The status of a
+   * queue item that was not requested before is polled right away.
+   *
+   * @param queueItem The path of the queue item
+   * @return The console text of the build of the queue item, "Pending" if it is still waiting for
+   *         its execution or an error message starting with "Error:"
+   */
+
+  public String getStatus(String queueItem) {
+    return getItem(queueItem).status;
+  }
+
+  /**
+   * Waits until the status of a queue item differs from the status known by the client.
+   *
+   * @param queueItem The path of the queue item
+   * @param knownStatusHash The {@link String#hashCode()} of the status known by the client
+   * @param timeoutMillis The maximal time to wait in milliseconds
+   * @return The latest status, which is the known status if it did not change within the timeout
+   */
+
+  public String awaitStatusChange(String queueItem, int knownStatusHash, long timeoutMillis) {
+    Item item = getItem(queueItem);
+    long deadline = System.currentTimeMillis() + timeoutMillis;
+    synchronized (item) {
+      long remaining = timeoutMillis;
+      while (item.status.hashCode() == knownStatusHash && !item.isFinished() && remaining > 0) {
+        try {
+          item.wait(remaining);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          break;
+        }
+        remaining = deadline - System.currentTimeMillis();
+      }
+      return item.status;
+    }
+  }
+
+  /**
+   * Stops polling.
+   */
+
+  public synchronized void shutdown() {
+    if (scheduler != null) {
+      scheduler.shutdownNow();
+      scheduler = null;
+    }
+    items.clear();
+  }
+
+  private Item getItem(String queueItem) {
+    Item item = items.computeIfAbsent(queueItem, Item::new);
+    item.lastRequested = System.currentTimeMillis();
+    synchronized (item) {
+      if (item.status == null) {
+        poll(item);
+        startPolling();
+      }
+    }
+    return item;
+  }
+
+  private synchronized void startPolling() {
+    if (scheduler == null) {
+      scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "deployment-status-poller");
+        thread.setDaemon(true);
+        return thread;
+      });
+      scheduler.scheduleWithFixedDelay(this::pollAll, pollIntervalMillis, pollIntervalMillis,
+          TimeUnit.MILLISECONDS);
+    }
+  }
+
+  private void pollAll() {
+    long now = System.currentTimeMillis();
+    for (Item item : items.values()) {
+      if (now - item.lastRequested > IDLE_TIMEOUT_MILLIS) {
+        items.remove(item.queueItem, item);
+      } else if (!item.isFinished()) {
+        poll(item);
+      }
+    }
+  }
+
+  /**
+   * Helper method: Polls the status of a queue item and wakes up the clients waiting for a change.
+   * The build path of a queue item does not change once the build started, thus it is only
+   * requested until it is known.
+   *
+   * @param item The queue item
+   */
+
+  private void poll(Item item) {
+    String status;
+    try {
+      if (item.buildPath == null) {
+        item.buildPath = ApplicationGenerator.getBuildPath(item.queueItem, jenkinsUrl);
+      }
+      status = item.buildPath == null ? "Pending"
+          : ApplicationGenerator.getConsoleText(item.buildPath, jenkinsUrl);
+    } catch (Exception e) {
+      logger.printStackTrace(e);
+      status = "Error:" + e.getMessage();
+    }
+    synchronized (item) {
+      if (!status.equals(item.status)) {
+        item.status = status;
+        item.notifyAll();
+      }
+    }
+  }
+
+  private static class Item {
+    private final String queueItem;
+    private volatile String status;
+    private volatile String buildPath;
+    private volatile long lastRequested;
+
+    private Item(String queueItem) {
+      this.queueItem = queueItem;
+    }
+
+    private boolean isFinished() {
+      String text = status;
+      if (text == null) {
+        return false;
+      }
+      int lastLine = text.lastIndexOf('\n', text.length() - 2);
+      return text.startsWith(FINISHED, lastLine + 1);
+    }
+  }
+
+}
@@ -25,6 +25,8 @@ import i5.las2peer.api.Context;
 import i5.las2peer.logging.L2pLogger;
 import i5.las2peer.services.codeGenerationService.CodeGenerationService;
 import i5.las2peer.services.codeGenerationService.adapters.BaseGitHostAdapter;
+import i5.las2peer.services.codeGenerationService.events.GenerationEvent;
+import i5.las2peer.services.codeGenerationService.events.GitOperationEvent;
 import i5.las2peer.services.codeGenerationService.exception.GitHostException;
 import i5.las2peer.services.codeGenerationService.models.frontendComponent.Event;
 import i5.las2peer.services.codeGenerationService.models.frontendComponent.FrontendComponent;
@@ -43,6 +45,7 @@ import i5.las2peer.services.codeGenerationService.templateEngine.InitialGenerati
 import i5.las2peer.services.codeGenerationService.templateEngine.Template;
 import i5.las2peer.services.codeGenerationService.templateEngine.TemplateEngine;
 import i5.las2peer.services.codeGenerationService.templateEngine.TemplateStrategy;
+import i5.las2peer.services.codeGenerationService.utilities.Metrics;
 
 /**
  * Generates frontend component source code from passed on
@@ -105,9 +108,12 @@ public class FrontendComponentGenerator extends Generator {
         String yjsInit = null;
         String guidances = null;
 
+        Metrics.gauge(Metrics.GENERATIONS_ACTIVE).increment();
         try {
             PersonIdent caeUser = new PersonIdent(gitAdapter.getGitUser(), gitAdapter.getGitUserMail());
             String repositoryName = getRepositoryName(frontendComponent);
+            GenerationEvent generationEvent = new GenerationEvent("frontendComponent",
+                    frontendComponent.getVersionedModelId(), repositoryName, false);
             String componentName = frontendComponent.getName();
             frontendComponentRepository = generateNewRepository(repositoryName, gitAdapter);
 
@@ -228,6 +234,7 @@ public class FrontendComponentGenerator extends Generator {
                 logger.printStackTrace(e);
                 throw new GitHostException(e.getMessage());
             }
+            long renderStart = System.nanoTime();
             // the global traceModel
             TraceModel traceModel = new TraceModel();
 
@@ -282,17 +289,19 @@ public class FrontendComponentGenerator extends Generator {
             frontendComponentRepository =
                     createTextFileInRepository(frontendComponentRepository, "traces/", "tracedFiles.json",
                             traceModel.toJSONObject().toJSONString().replace("\\", ""));
+            frontendComponentRepository =
+                    createTraceIndexInRepository(frontendComponentRepository, traceModel);
 
             frontendComponentRepository = createTextFileInRepository(frontendComponentRepository, "",
                     "index.html", widgetTemplateEngine.getContent());
-            frontendComponentRepository = createTextFileInRepository(frontendComponentRepository,
-                    "traces/", "index.html.traces", widgetTemplateEngine.toJSONObject().toJSONString());
+            frontendComponentRepository = createTraceFileInRepository(frontendComponentRepository,
+                    "traces/", "index.html.traces", widgetTemplateEngine.getFileTraceModel());
 
             frontendComponentRepository = createTextFileInRepository(frontendComponentRepository, "js/",
                     "applicationScript.js", applicationScriptTemplateEngine.getContent());
-            frontendComponentRepository = createTextFileInRepository(frontendComponentRepository,
+            frontendComponentRepository = createTraceFileInRepository(frontendComponentRepository,
                     "traces/js/", "applicationScript.js.traces",
-                    applicationScriptTemplateEngine.toJSONObject().toJSONString());
+                    applicationScriptTemplateEngine.getFileTraceModel());
 
             // libraries
             frontendComponentRepository = createTextFileInRepository(frontendComponentRepository,
@@ -320,13 +329,18 @@ public class FrontendComponentGenerator extends Generator {
                     createImageFileInRepository(frontendComponentRepository, "img/", "logo.png", logo);
             frontendComponentRepository = createTextFileInRepository(frontendComponentRepository,
                     "traces/", "guidances.json", guidances);
+            Metrics.timer(Metrics.RENDER).recordSince(renderStart);
 
             // commit files
             String commitSha = "";
+            long commitStart = System.nanoTime();
+            GitOperationEvent commitEvent = new GitOperationEvent("commit", repositoryName);
             try {
                 RevCommit commit = Git.wrap(frontendComponentRepository).commit()
                         .setMessage(commitMessage)
                         .setCommitter(caeUser).call();
+                commitEvent.fileCount = frontendComponentRepository.readDirCache().getEntryCount();
+                Metrics.summary(Metrics.FILES_PER_COMMIT).record(commitEvent.fileCount);
 
                 Ref head = frontendComponentRepository.getAllRefs().get("HEAD");
                 commitSha = head.getObjectId().getName();
@@ -338,6 +352,8 @@ public class FrontendComponentGenerator extends Generator {
                 logger.printStackTrace(e);
                 throw new GitHostException(e.getMessage());
             }
+            Metrics.timer(Metrics.COMMIT).recordSince(commitStart);
+            commitEvent.commit();
 
             // push (local) repository content to GitHub repository "gh-pages" branch
             try {
@@ -346,10 +362,16 @@ public class FrontendComponentGenerator extends Generator {
                 logger.printStackTrace(e);
                 throw new GitHostException(e.getMessage());
             }
+            generationEvent.fileCount = commitEvent.fileCount;
+            generationEvent.commit();
             return commitSha;
 
             // close all open resources
+        } catch (GitHostException e) {
+            Metrics.counter(Metrics.GENERATION_ERRORS).increment();
+            throw e;
         } finally {
+            Metrics.gauge(Metrics.GENERATIONS_ACTIVE).decrement();
             if (frontendComponentRepository != null)
                 frontendComponentRepository.close();
             if (treeWalk != null)
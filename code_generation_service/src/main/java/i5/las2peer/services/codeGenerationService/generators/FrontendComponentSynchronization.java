@@ -1,6 +1,5 @@
 package i5.las2peer.services.codeGenerationService.generators;
 
-import java.io.UnsupportedEncodingException;
 import java.util.*;
 
 import com.google.common.collect.ImmutableMap;
@@ -9,24 +8,25 @@ import org.eclipse.jgit.lib.ObjectLoader;
 import org.eclipse.jgit.lib.ObjectReader;
 import org.eclipse.jgit.treewalk.TreeWalk;
 import org.eclipse.jgit.treewalk.filter.PathFilter;
-import org.json.simple.JSONObject;
+import org.json.simple.parser.ParseException;
 
 import i5.las2peer.api.Context;
 import i5.las2peer.api.logging.MonitoringEvent;
 import i5.las2peer.logging.L2pLogger;
 import i5.las2peer.services.codeGenerationService.CodeGenerationService;
 import i5.las2peer.services.codeGenerationService.adapters.BaseGitHostAdapter;
+import i5.las2peer.services.codeGenerationService.events.GenerationEvent;
 import i5.las2peer.services.codeGenerationService.exception.GitHelperException;
 import i5.las2peer.services.codeGenerationService.exception.GitHostException;
 import i5.las2peer.services.codeGenerationService.models.frontendComponent.FrontendComponent;
 import i5.las2peer.services.codeGenerationService.models.traceModel.FileTraceModel;
-import i5.las2peer.services.codeGenerationService.models.traceModel.FileTraceModelFactory;
 import i5.las2peer.services.codeGenerationService.models.traceModel.TraceModel;
 import i5.las2peer.services.codeGenerationService.templateEngine.SynchronizationOrderedStrategy;
 import i5.las2peer.services.codeGenerationService.templateEngine.SynchronizationStrategy;
 import i5.las2peer.services.codeGenerationService.templateEngine.Template;
 import i5.las2peer.services.codeGenerationService.templateEngine.TemplateEngine;
 import i5.las2peer.services.codeGenerationService.utilities.GitUtility;
+import i5.las2peer.services.codeGenerationService.utilities.Metrics;
 
 /**
  *
@@ -41,9 +41,12 @@ public class FrontendComponentSynchronization extends FrontendComponentGenerator
       L2pLogger.getInstance(ApplicationGenerator.class.getName());
 
   public static String synchronizeSourceCode(FrontendComponent frontendComponent,
-      FrontendComponent oldFrontendComponent, HashMap<String, JSONObject> files,BaseGitHostAdapter gitAdapter,CodeGenerationService service,
+      FrontendComponent oldFrontendComponent, HashMap<String, TracedFile> files,BaseGitHostAdapter gitAdapter,CodeGenerationService service,
       String metadataDoc, GitUtility gitUtility, String commitMessage, String versionTag)
       throws GitHostException, GitHelperException {
+    GenerationEvent generationEvent = new GenerationEvent("frontendComponent",
+        frontendComponent.getVersionedModelId(), getRepositoryName(frontendComponent), true);
+
     // first load the needed templates from the template repository
 
     // helper variables
@@ -170,6 +173,7 @@ public class FrontendComponentSynchronization extends FrontendComponentGenerator
       throw new GitHostException(e.getMessage());
     }
 
+    long renderStart = System.nanoTime();
     // now loop through the traced files and synchronize them
 
     Iterator<String> it = files.keySet().iterator();
@@ -178,16 +182,10 @@ public class FrontendComponentSynchronization extends FrontendComponentGenerator
 
     while (it.hasNext()) {
       String fileName = it.next();
-      JSONObject fileObject = files.get(fileName);
-      String content = (String) fileObject.get("content");
-      byte[] base64decodedBytes = Base64.getDecoder().decode(content);
+      TracedFile tracedFile = files.get(fileName);
 
       try {
-        content = new String(base64decodedBytes, "utf-8");
-
-        JSONObject fileTraces = (JSONObject) fileObject.get("fileTraces");
-        FileTraceModel oldFileTraceModel = FileTraceModelFactory
-            .createFileTraceModelFromJSON(content, fileTraces, traceModel, fileName);
+        FileTraceModel oldFileTraceModel = tracedFile.createFileTraceModel(traceModel, fileName);
 
         switch (fileName) {
           case "index.html":
@@ -203,81 +201,74 @@ public class FrontendComponentSynchronization extends FrontendComponentGenerator
 
         }
 
-      } catch (UnsupportedEncodingException e) {
+      } catch (ParseException e) {
         logger.printStackTrace(e);
       }
 
     }
 
-    try {
-      Context.get().monitorEvent(MonitoringEvent.SERVICE_MESSAGE, "Synchronizing widget now ...");
-      applicationSynchronizationStrategy
-          .addAditionalOldFileTraceModel(widgetTemplateEngine.getFileTraceModel());
-      widgetSynchronizationStrategy
-          .addAditionalOldFileTraceModel(applicationTemplateEngine.getFileTraceModel());
-      //prepare additional import map
-      Map<String, String> imports = ImmutableMap.of(
-              "Yjs", yjsImports,
-              "webComponents", polymerLibImport,
-              "polymerElement", polymerElementImport);
-
-      // regenerate widget code
-      createWidgetCode(widgetTemplateEngine, widget, wireframeElementTemplate, imports,
-          gitAdapter.getGitOrganization(), getRepositoryName(frontendComponent), frontendComponent);
-
-      traceModel.addFileTraceModel(widgetTemplateEngine.getFileTraceModel());
-
-      // regenerate applicationScript code
-      Template applicationTemplate = applicationTemplateEngine.createTemplate(
-          frontendComponent.getWidgetModelId() + ":applicationScript:", applicationScript);
-
-      applicationTemplateEngine.addTemplate(applicationTemplate);
-
-      createApplicationScript(applicationTemplate, functionTemplate, microserviceCallTemplate,
-          iwcResponseTemplate, htmlElementTemplate, frontendComponent);
-
-      // add events to elements
-      addEventsToApplicationScript(applicationTemplate, dataBindingCallerTemplate,
-              dataBindingListTemplate, dataBindingDtlTemplate,
-              widgetTemplateEngine, eventTemplate, functionTemplate, frontendComponent);
-
-      // add (possible) Yjs collaboration stuff
-      addYjsCollaboration(applicationTemplate, applicationTemplateEngine, yjsInit,
-          frontendComponent);
-
-      traceModel.addFileTraceModel(applicationTemplateEngine.getFileTraceModel());
-
-      Context.get().monitorEvent(MonitoringEvent.SERVICE_MESSAGE, "... widget synchronized.");
-
-      // commit changes
-      List<String[]> fileList = getUpdatedTracedFilesForRepository(traceModel, guidances);
-
-      if (widgetTemplateEngine.getContent().contains("/js/lib/y.js")) {
-        fileList.add(new String[] {"js/lib/y.js",
-            Base64.getEncoder().encodeToString(yjs.getBytes("utf-8"))});
-        fileList.add(new String[] {"js/lib/y-array.js",
-            Base64.getEncoder().encodeToString(yArray.getBytes("utf-8"))});
-        fileList.add(new String[] {"js/lib/y-text.js",
-            Base64.getEncoder().encodeToString(yText.getBytes("utf-8"))});
-        fileList.add(new String[] {"js/lib/y-websockets-client.js",
-            Base64.getEncoder().encodeToString(yWebsockets.getBytes("utf-8"))});
-        fileList.add(new String[] {"js/lib/y-memory.js",
-            Base64.getEncoder().encodeToString(yMemory.getBytes("utf-8"))});
-      }
+    Context.get().monitorEvent(MonitoringEvent.SERVICE_MESSAGE, "Synchronizing widget now ...");
+    applicationSynchronizationStrategy
+        .addAditionalOldFileTraceModel(widgetTemplateEngine.getFileTraceModel());
+    widgetSynchronizationStrategy
+        .addAditionalOldFileTraceModel(applicationTemplateEngine.getFileTraceModel());
+    //prepare additional import map
+    Map<String, String> imports = ImmutableMap.of(
+            "Yjs", yjsImports,
+            "webComponents", polymerLibImport,
+            "polymerElement", polymerElementImport);
 
+    // regenerate widget code
+    createWidgetCode(widgetTemplateEngine, widget, wireframeElementTemplate, imports,
+        gitAdapter.getGitOrganization(), getRepositoryName(frontendComponent), frontendComponent);
 
-      String commitSha = updateTracedFilesInRepository(fileList, getRepositoryName(frontendComponent), service,
-    		  commitMessage, versionTag);
+    traceModel.addFileTraceModel(widgetTemplateEngine.getFileTraceModel());
 
-      // merge development and master and push to gh-pages
-   	  String masterBranchName = "gh-pages";
-   	  gitUtility.mergeIntoMasterBranch(getRepositoryName(frontendComponent), masterBranchName, versionTag);
+    // regenerate applicationScript code
+    Template applicationTemplate = applicationTemplateEngine.createTemplate(
+        frontendComponent.getWidgetModelId() + ":applicationScript:", applicationScript);
 
-   	  return commitSha;
-    } catch (UnsupportedEncodingException e) {
-      logger.printStackTrace(e);
-      return "";
+    applicationTemplateEngine.addTemplate(applicationTemplate);
+
+    createApplicationScript(applicationTemplate, functionTemplate, microserviceCallTemplate,
+        iwcResponseTemplate, htmlElementTemplate, frontendComponent);
+
+    // add events to elements
+    addEventsToApplicationScript(applicationTemplate, dataBindingCallerTemplate,
+            dataBindingListTemplate, dataBindingDtlTemplate,
+            widgetTemplateEngine, eventTemplate, functionTemplate, frontendComponent);
+
+    // add (possible) Yjs collaboration stuff
+    addYjsCollaboration(applicationTemplate, applicationTemplateEngine, yjsInit,
+        frontendComponent);
+
+    traceModel.addFileTraceModel(applicationTemplateEngine.getFileTraceModel());
+
+    Context.get().monitorEvent(MonitoringEvent.SERVICE_MESSAGE, "... widget synchronized.");
+
+    // commit changes
+    List<GeneratedFile> fileList = getUpdatedTracedFilesForRepository(traceModel, guidances);
+
+    if (widgetTemplateEngine.getContent().contains("/js/lib/y.js")) {
+      fileList.add(new GeneratedFile("js/lib/y.js", yjs));
+      fileList.add(new GeneratedFile("js/lib/y-array.js", yArray));
+      fileList.add(new GeneratedFile("js/lib/y-text.js", yText));
+      fileList.add(new GeneratedFile("js/lib/y-websockets-client.js", yWebsockets));
+      fileList.add(new GeneratedFile("js/lib/y-memory.js", yMemory));
     }
+
+    Metrics.timer(Metrics.RENDER).recordSince(renderStart);
+
+    String commitSha = updateTracedFilesInRepository(fileList, getRepositoryName(frontendComponent), service,
+        commitMessage, versionTag);
+
+    // merge development and master and push to gh-pages
+    String masterBranchName = "gh-pages";
+    gitUtility.mergeIntoMasterBranch(getRepositoryName(frontendComponent), masterBranchName, versionTag);
+
+    generationEvent.fileCount = fileList.size();
+    generationEvent.commit();
+    return commitSha;
   }
 
   public static boolean existsRemoteRepositoryForModel(FrontendComponent frontendComponent, BaseGitHostAdapter gitAdapter) {
@@ -0,0 +1,47 @@
+package i5.las2peer.services.codeGenerationService.generators;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A file produced by a generator or synchronizer that should be written to a repository. The
+ * content is kept as raw bytes, so that it can be written and committed without any re-encoding.
+ *
+ */
+
+public class GeneratedFile {
+
+  private final String path;
+  private final byte[] content;
+
+  /**
+   * Creates a file with the given raw content
+   *
+   * @param path The path of the file relative to the repository root
+   * @param content The content of the file
+   */
+
+  public GeneratedFile(String path, byte[] content) {
+    this.path = path;
+    this.content = content;
+  }
+
+  /**
+   * Creates a file with the given text content, encoded as utf-8
+   *
+   * @param path The path of the file relative to the repository root
+   * @param content The text content of the file
+   */
+
+  public GeneratedFile(String path, String content) {
+    this(path, content.getBytes(StandardCharsets.UTF_8));
+  }
+
+  public String getPath() {
+    return path;
+  }
+
+  public byte[] getContent() {
+    return content;
+  }
+
+}
@@ -9,15 +9,16 @@ import java.io.ObjectOutput;
 import java.io.ObjectOutputStream;
 import java.io.OutputStream;
 import java.io.PrintStream;
-import java.io.UnsupportedEncodingException;
 import java.util.ArrayList;
-import java.util.Base64;
 import java.util.List;
 import java.util.Map;
 import javax.imageio.ImageIO;
 
 import org.eclipse.jgit.api.Git;
 import org.eclipse.jgit.api.LsRemoteCommand;
+import org.eclipse.jgit.api.errors.GitAPIException;
+import org.eclipse.jgit.api.errors.TransportException;
+import org.eclipse.jgit.errors.NoRemoteRepositoryException;
 import org.eclipse.jgit.lib.Constants;
 import org.eclipse.jgit.lib.ObjectId;
 import org.eclipse.jgit.lib.Repository;
@@ -35,9 +36,15 @@ import i5.las2peer.api.Service;
 import i5.las2peer.logging.L2pLogger;
 import i5.las2peer.services.codeGenerationService.CodeGenerationService;
 import i5.las2peer.services.codeGenerationService.adapters.BaseGitHostAdapter;
+import i5.las2peer.services.codeGenerationService.events.GitOperationEvent;
+import i5.las2peer.services.codeGenerationService.events.TemplateLoadEvent;
 import i5.las2peer.services.codeGenerationService.exception.GitHostException;
 import i5.las2peer.services.codeGenerationService.models.traceModel.FileTraceModel;
+import i5.las2peer.services.codeGenerationService.models.traceModel.TraceFileFormat;
+import i5.las2peer.services.codeGenerationService.models.traceModel.TraceIndex;
 import i5.las2peer.services.codeGenerationService.models.traceModel.TraceModel;
+import i5.las2peer.services.codeGenerationService.utilities.Metrics;
+import i5.las2peer.services.codeGenerationService.utilities.RemoteRepositoryCache;
 
 /**
  * 
@@ -123,6 +130,8 @@ public abstract class Generator {
 	if(gitAdapter == null) {
 		throw new GitHostException("Adapter is null");
 	}
+    long startTime = System.nanoTime();
+    TemplateLoadEvent event = new TemplateLoadEvent(gitAdapter.getTemplateRepository());
     Repository templateRepository = getRemoteRepository(gitAdapter.getTemplateRepository(), gitAdapter);
     
     if (templateRepository == null) {
@@ -145,6 +154,7 @@ public abstract class Generator {
       RevTree tree = revWalk.parseCommit(lastCommitId).getTree();
       treeWalk.addTree(tree);
       treeWalk.setRecursive(true);
+      event.commitId = lastCommitId.getName();
     } catch (Exception e) {
       logger.printStackTrace(e);
       throw new GitHostException(e.getMessage());
@@ -152,6 +162,8 @@ public abstract class Generator {
       templateRepository.close();
       revWalk.close();
     }
+    Metrics.timer(Metrics.TEMPLATE_FETCH).recordSince(startTime);
+    event.commit();
     return treeWalk;
   }
 
@@ -225,6 +237,8 @@ public abstract class Generator {
     localPath.delete();
 
     // then clone
+    long startTime = System.nanoTime();
+    GitOperationEvent event = new GitOperationEvent("clone", repositoryName);
     try {
       CredentialsProvider prov = new UsernamePasswordCredentialsProvider(gitAdapter.getGitUser(), gitAdapter.getGitPassword());
       
@@ -237,6 +251,9 @@ public abstract class Generator {
       logger.printStackTrace(e);
       throw new GitHostException(e.getMessage());
     }
+    Metrics.timer(Metrics.CLONE).recordSince(startTime);
+    event.commit();
+    RemoteRepositoryCache.put(repositoryAddress, true);
 
     return repository;
   }
@@ -271,6 +288,69 @@ public abstract class Generator {
       PrintStream printStream = new PrintStream(buffer);
       printStream.print(content);
       printStream.close();
+      recordWrittenFile(repository, relativePath + fileName);
+    } catch (IOException e) {
+      logger.printStackTrace(e);
+      throw new GitHostException(e.getMessage());
+    }
+
+    // stage file
+    try {
+      Git.wrap(repository).add().addFilepattern(".").call();
+    } catch (Exception e) {
+      logger.printStackTrace(e);
+      throw new GitHostException(e.getMessage());
+    }
+    return repository;
+
+  }
+
+
+  /**
+   * Adds the index of the model elements of the given trace model to the repository, at
+   * {@link TraceIndex#FILE_NAME}.
+   * 
+   * @param repository the repository the index should be added to
+   * @param traceModel the global trace model containing all traced files of the repository
+   * 
+   * @return the {@link org.eclipse.jgit.lib.Repository}, now containing the index
+   * 
+   * @throws GitHostException if anything goes wrong during the creation of the file
+   */
+
+  public static Repository createTraceIndexInRepository(Repository repository,
+      TraceModel traceModel) throws GitHostException {
+    int separator = TraceIndex.FILE_NAME.lastIndexOf('/') + 1;
+    return createTextFileInRepository(repository, TraceIndex.FILE_NAME.substring(0, separator),
+        TraceIndex.FILE_NAME.substring(separator), TraceIndex.create(traceModel).toJSONString());
+  }
+
+  /**
+   * 
+   * Adds a trace file to the repository, in the format set by
+   * {@link TraceFileFormat#setWriteFormat(String)}. Beware of side effects, due to adding all files
+   * in main folder to staged area currently.
+   * 
+   * @param repository the repository the file should be added to
+   * @param relativePath the relative path the file should reside at; without first separator
+   * @param fileName the file name
+   * @param fileTraceModel the trace model of the file
+   * 
+   * @return the {@link org.eclipse.jgit.lib.Repository}, now containing one more file
+   * 
+   * @throws GitHostException if anything goes wrong during the creation of the file
+   * 
+   */
+  public static Repository createTraceFileInRepository(Repository repository, String relativePath,
+      String fileName, FileTraceModel fileTraceModel) throws GitHostException {
+
+    File dirs = new File(repository.getDirectory().getParent() + "/" + relativePath);
+    dirs.mkdirs();
+
+    try (OutputStream file = new FileOutputStream(
+        repository.getDirectory().getParent() + "/" + relativePath + fileName)) {
+      file.write(TraceFileFormat.serialize(fileTraceModel));
+      recordWrittenFile(repository, relativePath + fileName);
     } catch (IOException e) {
       logger.printStackTrace(e);
       throw new GitHostException(e.getMessage());
@@ -316,6 +396,7 @@ public abstract class Generator {
       ObjectOutput output = new ObjectOutputStream(buffer);
       output.writeObject(content);
       output.close();
+      recordWrittenFile(repository, relativePath + fileName);
     } catch (IOException e) {
       logger.printStackTrace(e);
       throw new GitHostException(e.getMessage());
@@ -357,6 +438,7 @@ public abstract class Generator {
     try {
       File file = new File(repository.getDirectory().getParent() + "/" + relativePath + fileName);
       ImageIO.write(content, fileName.substring(fileName.lastIndexOf(".") + 1), file);
+      recordWrittenFile(repository, relativePath + fileName);
     } catch (IOException e) {
       logger.printStackTrace(e);
       throw new GitHostException(e.getMessage());
@@ -374,6 +456,19 @@ public abstract class Generator {
   }
 
 
+  /**
+   * Updates the file metrics after a file was written to the working directory of a repository.
+   * 
+   * @param repository the repository the file was written to
+   * @param path the path of the file relative to the working directory
+   */
+  private static void recordWrittenFile(Repository repository, String path) {
+    Metrics.counter(Metrics.FILES_WRITTEN).increment();
+    Metrics.counter(Metrics.BYTES_WRITTEN)
+        .add(new File(repository.getDirectory().getParent() + "/" + path).length());
+  }
+
+
   /**
    * 
    * Pushes a local repository (from and) to the "master" branch on GitHub. This method only works
@@ -415,6 +510,10 @@ public abstract class Generator {
   public static Repository pushToRemoteRepository(Repository repository, String localBranchName, 
 		  String remoteBranchName, BaseGitHostAdapter gitAdapter, String versionTag, boolean forcePush)
       throws GitHostException {
+    long startTime = System.nanoTime();
+    String repositoryAddress = repository.getConfig().getString("remote", "Remote", "url");
+    GitOperationEvent event = new GitOperationEvent("push", repositoryAddress);
+    event.branchName = remoteBranchName;
     CredentialsProvider credentialsProvider =
         new UsernamePasswordCredentialsProvider(gitAdapter.getGitUser(), gitAdapter.getGitPassword());
     try {
@@ -444,6 +543,11 @@ public abstract class Generator {
       logger.printStackTrace(e);
       throw new GitHostException(e.getMessage());
     }
+    Metrics.timer(Metrics.PUSH).recordSince(startTime);
+    event.commit();
+    if (repositoryAddress != null) {
+      RemoteRepositoryCache.put(repositoryAddress, true);
+    }
     return repository;
   }
 
@@ -464,7 +568,8 @@ public abstract class Generator {
 
   /**
    * Checks whether a remote repository of the given name in the given github organization exists.
-   * Uses the ls remote git command to determine if the repository exists.
+   * Uses the ls remote git command to determine if the repository exists, the result is cached for
+   * a short time, see {@link RemoteRepositoryCache}.
    * 
    * @param name The name of the repository
    * @param gitAdapter adapter for Git
@@ -472,25 +577,29 @@ public abstract class Generator {
    */
 
   public static boolean existsRemoteRepository(String name, BaseGitHostAdapter gitAdapter) {
+    String url = gitAdapter.getRepositoryURL(name);
+    return RemoteRepositoryCache.exists(url, () -> lsRemote(url, gitAdapter));
+  }
+
+  private static boolean lsRemote(String url, BaseGitHostAdapter gitAdapter)
+      throws GitAPIException {
     CredentialsProvider credentialsProvider =
         new UsernamePasswordCredentialsProvider(gitAdapter.getGitUser(), gitAdapter.getGitPassword());
     LsRemoteCommand lsCmd = new LsRemoteCommand(null);
-    
-    String url;
-     
-    url = gitAdapter.getBaseURL() + gitAdapter.getGitOrganization() + "/" + name + ".git";
-    
     lsCmd.setRemote(url);
     lsCmd.setHeads(true);
     lsCmd.setCredentialsProvider(credentialsProvider);
-    boolean exists = true;
     try {
       lsCmd.call();
-    } catch (Exception e) {
-      // ignore the exception, as this is the way we determine if a remote repository exists
-      exists = false;
+    } catch (TransportException e) {
+      // this is the way we determine that a remote repository does not exist, other failures
+      // leave the existence unknown
+      if (e.getCause() instanceof NoRemoteRepositoryException) {
+        return false;
+      }
+      throw e;
     }
-    return exists;
+    return true;
   }
 
   /**
@@ -523,13 +632,15 @@ public abstract class Generator {
       repository = createTextFileInRepository(repository, relativePath, fileName,
           fileTraceModel.getContent());
 
-      repository = createTextFileInRepository(repository, "traces/" + relativePath,
-          fileName + ".traces", fileTraceModel.toJSONObject().toJSONString());
+      repository = createTraceFileInRepository(repository, "traces/" + relativePath,
+          fileName + ".traces", fileTraceModel);
     }
 
     repository = createTextFileInRepository(repository, "traces/", "tracedFiles.json",
         traceModel.toJSONObject().toJSONString().replace("\\", ""));
 
+    repository = createTraceIndexInRepository(repository, traceModel);
+
     return repository;
   }
 
@@ -540,12 +651,12 @@ public abstract class Generator {
    * @param repositoryName The name of the repository
    * @param commitMessage A commit message
    * @param versionTag String which should be used as the tag when commiting. May be null.
-   * @param files An array containing the file names and file contents
+   * @param files A list containing the files to commit
    */
-  private static String commitMultipleFilesRaw(String repositoryName, String commitMessage, String versionTag,
-      String[][] files) {
+  private static String commitMultipleFiles(String repositoryName, String commitMessage, String versionTag,
+      List<GeneratedFile> files) {
     try {
-    	return ((CodeGenerationService) Context.getCurrent().getService()).storeAndCommitFilesRaw(repositoryName, 
+    	return ((CodeGenerationService) Context.getCurrent().getService()).storeAndCommitFiles(repositoryName, 
     			commitMessage, versionTag, files);
     } catch (Exception e) {
       logger.printStackTrace(e);
@@ -562,10 +673,9 @@ public abstract class Generator {
    * @param service Name of the service
    */
 
-  protected static String updateTracedFilesInRepository(List<String[]> fileList,
+  protected static String updateTracedFilesInRepository(List<GeneratedFile> fileList,
       String repositoryName, Service service, String commitMessage, String versionTag) {
-    return commitMultipleFilesRaw(repositoryName, commitMessage, versionTag,
-        fileList.toArray(new String[][] {}));
+    return commitMultipleFiles(repositoryName, commitMessage, versionTag, fileList);
   }
 
   /**
@@ -574,15 +684,13 @@ public abstract class Generator {
    * @param traceModel A trace model that contains the traced files
    * @param guidances The feedback rules used to perform the model violation detection.
    * @return A list of the traced files contained in the trace model
-   * @throws UnsupportedEncodingException Thrown for errors during the encoding of the content of
-   *         files
    */
 
-  protected static List<String[]> getUpdatedTracedFilesForRepository(TraceModel traceModel,
-      String guidances) throws UnsupportedEncodingException {
+  protected static List<GeneratedFile> getUpdatedTracedFilesForRepository(TraceModel traceModel,
+      String guidances) {
     Map<String, FileTraceModel> fileTraceMap = traceModel.getFilenameToFileTraceModelMap();
 
-    List<String[]> fileList = new ArrayList<String[]>();
+    List<GeneratedFile> fileList = new ArrayList<GeneratedFile>();
 
     for (String fullPath : fileTraceMap.keySet()) {
       FileTraceModel fileTraceModel = fileTraceMap.get(fullPath);
@@ -595,22 +703,18 @@ public abstract class Generator {
         relativePath = fullPath.substring(0, index) + "/";
       }
 
-      String content = fileTraceModel.getContent();
-      String fileTraceContent = fileTraceModel.toJSONObject().toJSONString();
-
-      fileList.add(new String[] {"traces/" + relativePath + fileName + ".traces",
-          Base64.getEncoder().encodeToString(fileTraceContent.getBytes("utf-8"))});
-      fileList.add(new String[] {relativePath + fileName,
-          Base64.getEncoder().encodeToString(content.getBytes("utf-8"))});
+      fileList.add(new GeneratedFile("traces/" + relativePath + fileName + ".traces",
+          TraceFileFormat.serialize(fileTraceModel)));
+      fileList.add(new GeneratedFile(relativePath + fileName, fileTraceModel.getContent()));
 
     }
 
     String tracedFiles = traceModel.toJSONObject().toJSONString().replace("\\", "");
-    fileList.add(new String[] {"traces/tracedFiles.json",
-        Base64.getEncoder().encodeToString(tracedFiles.getBytes("utf-8"))});
+    fileList.add(new GeneratedFile("traces/tracedFiles.json", tracedFiles));
+    fileList.add(
+        new GeneratedFile(TraceIndex.FILE_NAME, TraceIndex.create(traceModel).toJSONString()));
 
-    fileList.add(new String[] {"traces/guidances.json",
-        Base64.getEncoder().encodeToString(guidances.getBytes("utf-8"))});
+    fileList.add(new GeneratedFile("traces/guidances.json", guidances));
 
     return fileList;
 
@@ -6,6 +6,8 @@ import com.google.common.base.Strings;
 import i5.las2peer.apiTestModel.*;
 import i5.las2peer.logging.L2pLogger;
 import i5.las2peer.services.codeGenerationService.adapters.BaseGitHostAdapter;
+import i5.las2peer.services.codeGenerationService.events.GenerationEvent;
+import i5.las2peer.services.codeGenerationService.events.GitOperationEvent;
 import i5.las2peer.services.codeGenerationService.exception.GitHostException;
 import i5.las2peer.services.codeGenerationService.exception.ModelParseException;
 import i5.las2peer.services.codeGenerationService.models.microservice.*;
@@ -18,6 +20,7 @@ import i5.las2peer.services.codeGenerationService.templateEngine.Template;
 import i5.las2peer.services.codeGenerationService.templateEngine.TemplateEngine;
 import i5.las2peer.services.codeGenerationService.templateEngine.TemplateStrategy;
 import i5.las2peer.services.codeGenerationService.traces.segments.Segment;
+import i5.las2peer.services.codeGenerationService.utilities.Metrics;
 
 import org.eclipse.jgit.api.Git;
 import org.eclipse.jgit.lib.*;
@@ -219,10 +222,13 @@ public class MicroserviceGenerator extends Generator {
         String genericClassBody = null;
         String genericClassProperty = null;
 
+	    Metrics.gauge(Metrics.GENERATIONS_ACTIVE).increment();
 	    try {
 
 	      PersonIdent caeUser = new PersonIdent(gitAdapter.getGitUser(), gitAdapter.getGitUserMail());
 	      String repositoryName = getRepositoryName(microservice);
+	      GenerationEvent generationEvent = new GenerationEvent("microservice",
+	          microservice.getVersionedModelId(), repositoryName, false);
 	      TraceModel traceModel = new TraceModel();
 
 	      //
@@ -456,6 +462,7 @@ public class MicroserviceGenerator extends Generator {
 	          }
 	      }
 
+	      long renderStart = System.nanoTime();
 	      // generate service class and test
 	      String repositoryLocation = gitAdapter.getBaseURL() + gitAdapter.getGitOrganization() + "/" + repositoryName;
 
@@ -508,7 +515,7 @@ public class MicroserviceGenerator extends Generator {
 	          new TemplateEngine(new InitialGenerationStrategy(), serviceTestTraceModel);
 
 	      generateNewServiceTest(serviceTestTemplateEngine, serviceTest, microservice, genericTestMethod,
-	    		  genericTestRequest, genericStatusCodeAssertion);
+	    		  genericTestRequest, genericStatusCodeAssertion, metadataDoc);
 
 	      // add not traced files to new repository, e.g. static files
 
@@ -560,13 +567,18 @@ public class MicroserviceGenerator extends Generator {
 
 	      // add traced files to new repository
 	      createTracedFilesInRepository(traceModel, microserviceRepository);
+	      Metrics.timer(Metrics.RENDER).recordSince(renderStart);
 
 	      // commit files
 	      String commitSha = "";
+	      long commitStart = System.nanoTime();
+	      GitOperationEvent commitEvent = new GitOperationEvent("commit", repositoryName);
 	      try {
 	        RevCommit commit = Git.wrap(microserviceRepository).commit()
 	            .setMessage(commitMessage)
 	            .setCommitter(caeUser).call();
+	        commitEvent.fileCount = microserviceRepository.readDirCache().getEntryCount();
+	        Metrics.summary(Metrics.FILES_PER_COMMIT).record(commitEvent.fileCount);
 	        Ref head = microserviceRepository.getAllRefs().get("HEAD");
             commitSha = head.getObjectId().getName();
 
@@ -577,6 +589,8 @@ public class MicroserviceGenerator extends Generator {
 	        logger.printStackTrace(e);
 	        throw new GitHostException(e.getMessage());
 	      }
+	      Metrics.timer(Metrics.COMMIT).recordSince(commitStart);
+	      commitEvent.commit();
 
 	      // push (local) repository content to GitHub repository
 	      try {
@@ -586,12 +600,16 @@ public class MicroserviceGenerator extends Generator {
 	        throw new GitHostException(e.getMessage());
 	      }
 
+	      generationEvent.fileCount = commitEvent.fileCount;
+	      generationEvent.commit();
 	      return commitSha;
 
 	      // close all open resources
 	    } catch (GitHostException e) {
+	    	Metrics.counter(Metrics.GENERATION_ERRORS).increment();
 	    	throw e;
 	    } finally {
+	      Metrics.gauge(Metrics.GENERATIONS_ACTIVE).decrement();
 	      if(microserviceRepository != null) {
 	    	  microserviceRepository.close();
 	      }
@@ -1598,10 +1616,11 @@ public class MicroserviceGenerator extends Generator {
    * @param templateEngine The template engine to use
    * @param serviceTest the service test class file
    * @param microservice the microservice model
+   * @param metadataDoc the metadata document containing the schemas of the microservice
    */
   protected static void generateNewServiceTest(TemplateEngine templateEngine, String serviceTest,
       Microservice microservice, String genericTestMethod, String genericTestRequest,
-      String genericStatusCodeAssertion) {
+      String genericStatusCodeAssertion, String metadataDoc) {
     // create template and add to template engine
     Template serviceTestTemplate =
         templateEngine.createTemplate(microservice.getMicroserviceModelId(), serviceTest);
@@ -1627,7 +1646,7 @@ public class MicroserviceGenerator extends Generator {
     if(microservice.getTestModel() != null) {
     	TestModel testModel = microservice.getTestModel();
     	for(TestCase testCase : testModel.getTestCases()) {
-			generateTestMethod(microservice, templateEngine, testCase, serviceTestTemplate, genericTestMethod,
+			generateTestMethod(metadataDoc, templateEngine, testCase, serviceTestTemplate, genericTestMethod,
 					genericTestRequest, genericStatusCodeAssertion, false);
     	}
     }
@@ -1635,7 +1654,7 @@ public class MicroserviceGenerator extends Generator {
     serviceTestTemplate.setVariableIfNotSet("$Test_Methods$", "");
   }
 
-  public static Template generateTestMethod(Microservice microservice, TemplateEngine templateEngine, TestCase testCase, Template serviceTestTemplate,
+  public static Template generateTestMethod(String metadataDoc, TemplateEngine templateEngine, TestCase testCase, Template serviceTestTemplate,
 											String genericTestMethod, String genericTestRequest,
 											String genericStatusCodeAssertion, boolean simplify) {
 	  // 2 spaces indent for test method
@@ -1729,7 +1748,7 @@ public class MicroserviceGenerator extends Generator {
 				  BodyAssertion bodyAssertion = (BodyAssertion) assertion;
 
 				  Template t = templateEngine.createTemplate(bodyAssertion.getId() + ":assertion",
-						  insertLineBreak(generateBodyAssertionCode(bodyAssertion, microservice, simplify), 2).indent(6));
+						  insertLineBreak(generateBodyAssertionCode(bodyAssertion, metadataDoc, simplify), 2).indent(6));
 				  requestTemplate.appendVariable("$Request_Assertions$", t);
 
 			  }
@@ -1778,38 +1797,38 @@ public class MicroserviceGenerator extends Generator {
   /**
    * Generates the code for the given body assertion.
    * @param bodyAssertion Body assertion for which code should be generated.
-   * @param microservice
+   * @param metadataDoc The metadata document containing the schemas of the microservice
    * @return Code corresponding to given body assertion.
    */
-  private static String generateBodyAssertionCode(BodyAssertion bodyAssertion, Microservice microservice, boolean simplify) {
+  private static String generateBodyAssertionCode(BodyAssertion bodyAssertion, String metadataDoc, boolean simplify) {
 	  // add a comment that describes the assertion
 	  String code = "// Response body " + bodyAssertion.getOperator().toString();
 	  code = insertLineBreak(code);
 	  // add the assertion code itself
 	  String id = "\"[" + bodyAssertion.getId() + "]\", ";
-	  return code + "assertThat(" + (simplify ? "" : id) + "response, " + generateOperatorCode(bodyAssertion.getOperator(), microservice) + ");";
+	  return code + "assertThat(" + (simplify ? "" : id) + "response, " + generateOperatorCode(bodyAssertion.getOperator(), metadataDoc) + ");";
   }
   
   /**
    * Recursively generates the code for the given operator and its successors.
    * @param operator Operator for which code should be generated.
-   * @param microservice
+   * @param metadataDoc The metadata document containing the schemas of the microservice
    * @return Code for the given operator and its successors.
    */
-  private static String generateOperatorCode(BodyAssertionOperator operator, Microservice microservice) {
+  private static String generateOperatorCode(BodyAssertionOperator operator, String metadataDoc) {
 	  if(operator.getOperatorId() == ResponseBodyOperator.HAS_TYPE.getId()) {
 	  	  // check if type is predefined or a schema defined in metadata editor
 		  if(OperatorInput.fromId(operator.getInputType()) != null) {
 			  return generateHasTypeOperatorCode(operator);
 		  } else {
-		  	  return generateHasSchemaOperatorCode(operator, microservice);
+		  	  return generateHasSchemaOperatorCode(operator, metadataDoc);
 		  }
 	  } else if(operator.getOperatorId() == ResponseBodyOperator.HAS_FIELD.getId()) {
-		  return generateHasFieldOperatorCode(operator, microservice);
+		  return generateHasFieldOperatorCode(operator, metadataDoc);
 	  } else if(operator.getOperatorId() == ResponseBodyOperator.HAS_LIST_ENTRY_THAT.getId()) {
-	      return generateHasListEntryThatOperatorCode(operator, microservice);
+	      return generateHasListEntryThatOperatorCode(operator, metadataDoc);
 	  } else if(operator.getOperatorId() == ResponseBodyOperator.ALL_LIST_ENTRIES.getId()) {
-		  return generateAllListEntriesOperatorCode(operator, microservice);
+		  return generateAllListEntriesOperatorCode(operator, metadataDoc);
 	  } else {
 		  return "// TODO: Not yet supported by code-generation!";
 	  }
@@ -1829,12 +1848,12 @@ public class MicroserviceGenerator extends Generator {
 	  return generateTypeAssertionCode(expectedType);
   }
 
-  private static String generateHasSchemaOperatorCode(BodyAssertionOperator operator, Microservice microservice) {
+  private static String generateHasSchemaOperatorCode(BodyAssertionOperator operator, String metadataDoc) {
   	  // get name of schema
 	  String schemaName = operator.getInputValue();
 
 	  String typeAssertionCode = generateTypeAssertionCode("JSONObject");
-	  String schemaAssertionCode = "followsSchema(\"" + schemaName + "\", \"\"\"\n" + createJSONSchemaFromMetadataDoc(microservice.getMetadataDocString(), schemaName) + "\"\"\")";
+	  String schemaAssertionCode = "followsSchema(\"" + schemaName + "\", \"\"\"\n" + createJSONSchemaFromMetadataDoc(metadataDoc, schemaName) + "\"\"\")";
 
 	  // create assertion
 	  return "both(" + typeAssertionCode + ").and(asJSONObject(" + schemaAssertionCode + "))";
@@ -1861,16 +1880,16 @@ public class MicroserviceGenerator extends Generator {
    * Generates code for "has field" operator. Ensures that current object is of type JSONObject.
    * Appends code of following operator, if exists.
    * @param operator A "has field" operator.
-   * @param microservice
+   * @param metadataDoc The metadata document containing the schemas of the microservice
    * @return Code for given "has field" operator.
    */
-  private static String generateHasFieldOperatorCode(BodyAssertionOperator operator, Microservice microservice) {
+  private static String generateHasFieldOperatorCode(BodyAssertionOperator operator, String metadataDoc) {
 	  // verify that current object is JSONObject and that the JSONObject has the given field
 	  String typeAssertion = generateTypeAssertionCode("JSONObject");
 	  
 	  String fieldName = operator.getInputValue();
 	  // if there is a following operator => append it
-	  String followingOperatorCode = operator.hasFollowingOperator() ? ", " + generateOperatorCode(operator.getFollowingOperator(), microservice) : "";
+	  String followingOperatorCode = operator.hasFollowingOperator() ? ", " + generateOperatorCode(operator.getFollowingOperator(), metadataDoc) : "";
 	  
 	  return "both(" + typeAssertion + ").and(asJSONObject(hasField(\"" + fieldName + "\"" + followingOperatorCode + ")))";
   }
@@ -1879,15 +1898,15 @@ public class MicroserviceGenerator extends Generator {
    * Generates code for "has list entry that" operator. Ensures that current object is of type JSONArray.
    * Appends code of following operator.
    * @param operator A "has list entry that" operator.
-   * @param microservice
+   * @param metadataDoc The metadata document containing the schemas of the microservice
    * @return Code for "has list entry that" operator.
    */
-  private static String generateHasListEntryThatOperatorCode(BodyAssertionOperator operator, Microservice microservice) {
+  private static String generateHasListEntryThatOperatorCode(BodyAssertionOperator operator, String metadataDoc) {
 	  // verify that current object is JSONArray
 	  String typeAssertion = generateTypeAssertionCode("JSONArray");
 	  
 	  // "has list entry that" operator always has a following operator
-	  String followingOperatorCode = generateOperatorCode(operator.getFollowingOperator(), microservice);
+	  String followingOperatorCode = generateOperatorCode(operator.getFollowingOperator(), metadataDoc);
 	  
 	  return "both(" + typeAssertion + ").and(asJSONObjectList(hasItem(" + followingOperatorCode + ")))";
   }
@@ -1896,15 +1915,15 @@ public class MicroserviceGenerator extends Generator {
    * Generates code for "all list entries" operator. Ensures that current object is of type JSONArray.
    * Appends code of following operator.
    * @param operator A "all list entries" operator.
-   * @param microservice
+   * @param metadataDoc The metadata document containing the schemas of the microservice
    * @return Code for "all list entries" operator.
    */
-  private static String generateAllListEntriesOperatorCode(BodyAssertionOperator operator, Microservice microservice) {
+  private static String generateAllListEntriesOperatorCode(BodyAssertionOperator operator, String metadataDoc) {
 	  // verify that current object is JSONArray
 	  String typeAssertion = generateTypeAssertionCode("JSONArray");
 	  
 	  // "all list entries" operator always has a following operator
-	  String followingOperatorCode = generateOperatorCode(operator.getFollowingOperator(), microservice);
+	  String followingOperatorCode = generateOperatorCode(operator.getFollowingOperator(), metadataDoc);
 	  
 	  return "both(" + typeAssertion + ").and(asJSONObjectList(everyItem(" + followingOperatorCode + ")))";
   }
@@ -5,26 +5,26 @@ import i5.las2peer.api.Service;
 import i5.las2peer.api.logging.MonitoringEvent;
 import i5.las2peer.logging.L2pLogger;
 import i5.las2peer.services.codeGenerationService.adapters.BaseGitHostAdapter;
+import i5.las2peer.services.codeGenerationService.events.GenerationEvent;
 import i5.las2peer.services.codeGenerationService.exception.GitHelperException;
 import i5.las2peer.services.codeGenerationService.exception.ModelParseException;
 import i5.las2peer.services.codeGenerationService.models.microservice.Microservice;
 import i5.las2peer.services.codeGenerationService.models.traceModel.FileTraceModel;
-import i5.las2peer.services.codeGenerationService.models.traceModel.FileTraceModelFactory;
 import i5.las2peer.services.codeGenerationService.models.traceModel.TraceModel;
 import i5.las2peer.services.codeGenerationService.templateEngine.*;
 import i5.las2peer.services.codeGenerationService.utilities.GitUtility;
+import i5.las2peer.services.codeGenerationService.utilities.Metrics;
 
 import org.eclipse.jgit.lib.ObjectId;
 import org.eclipse.jgit.lib.ObjectLoader;
 import org.eclipse.jgit.lib.ObjectReader;
 import org.eclipse.jgit.treewalk.TreeWalk;
 import org.eclipse.jgit.treewalk.filter.PathFilter;
-import org.json.simple.JSONObject;
+import org.json.simple.parser.ParseException;
 
-import java.io.UnsupportedEncodingException;
-import java.util.Base64;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
 
 /**
  * 
@@ -58,9 +58,12 @@ public class MicroserviceSynchronization extends MicroserviceGenerator {
    */
 
   public static String synchronizeSourceCode(Microservice microservice, Microservice oldMicroservice,
-      HashMap<String, JSONObject> files, BaseGitHostAdapter gitAdapter, Service service, String metadataDoc,
+      HashMap<String, TracedFile> files, BaseGitHostAdapter gitAdapter, Service service, String metadataDoc,
       GitUtility gitUtility, String commitMessage, String versionTag) throws ModelParseException, GitHelperException {
 
+    GenerationEvent generationEvent = new GenerationEvent("microservice",
+        microservice.getVersionedModelId(), getRepositoryName(microservice), true);
+
     // first load the needed templates from the template repository
 
     // variables holding the template source code
@@ -206,6 +209,7 @@ public class MicroserviceSynchronization extends MicroserviceGenerator {
       logger.printStackTrace(e);
     }
 
+    long renderStart = System.nanoTime();
     // new file names
     String serviceFileName = getServiceFileName(microservice);
     String servicePropertiesFileName = getServicePropertiesFileName(microservice);
@@ -294,16 +298,12 @@ public class MicroserviceSynchronization extends MicroserviceGenerator {
 
     while (it.hasNext()) {
       String fileName = it.next();
-      JSONObject fileObject = files.get(fileName);
-      String content = (String) fileObject.get("content");
-      byte[] base64decodedBytes = Base64.getDecoder().decode(content);
+      TracedFile tracedFile = files.get(fileName);
+      String content = tracedFile.getContent();
 
       try {
         Context.get().monitorEvent(MonitoringEvent.SERVICE_MESSAGE, "Synchronizing " + fileName + " now ...");
-        content = new String(base64decodedBytes, "utf-8");
-        JSONObject fileTraces = (JSONObject) fileObject.get("fileTraces");
-        FileTraceModel oldFileTraceModel = FileTraceModelFactory
-            .createFileTraceModelFromJSON(content, fileTraces, traceModel, fileName);
+        FileTraceModel oldFileTraceModel = tracedFile.createFileTraceModel(traceModel, fileName);
         TemplateStrategy strategy = new SynchronizationStrategy(oldFileTraceModel);
 
         TemplateEngine templateEngine = new TemplateEngine(strategy, oldFileTraceModel);
@@ -322,7 +322,7 @@ public class MicroserviceSynchronization extends MicroserviceGenerator {
               databaseConfig, databaseInstantiation, serviceInvocation, metadataDoc);
         } else if (fileName.equals(serviceOldTestFileName)) {
           oldFileTraceModel.setFileName(serviceTestFileName);
-          generateNewServiceTest(templateEngine, serviceTest, microservice, genericTestMethod, genericTestRequest, genericStatusCodeAssertion);
+          generateNewServiceTest(templateEngine, serviceTest, microservice, genericTestMethod, genericTestRequest, genericStatusCodeAssertion, metadataDoc);
         } else if (fileName.equals(oldClassesFileName)) {
             oldFileTraceModel.setFileName(newClassesFileName);
    
@@ -358,26 +358,25 @@ public class MicroserviceSynchronization extends MicroserviceGenerator {
         if (templateEngine != null) {
           traceModel.addFileTraceModel(templateEngine.getFileTraceModel());
         }
-      } catch (UnsupportedEncodingException e) {
+      } catch (ParseException e) {
         logger.printStackTrace(e);
       }
 
     }
 
-    try {
-      // commit changes
-      String commitSha = updateTracedFilesInRepository(getUpdatedTracedFilesForRepository(traceModel, guidances),
-          getRepositoryName(microservice), service, commitMessage, versionTag);
-      
-      // merge development and master and push to master
-   	  String masterBranchName = "master";
-   	  gitUtility.mergeIntoMasterBranch(getRepositoryName(microservice), masterBranchName, versionTag);
-   	  
-   	  return commitSha;
-    } catch (UnsupportedEncodingException e) {
-      logger.printStackTrace(e);
-      return "";
-    }
+    Metrics.timer(Metrics.RENDER).recordSince(renderStart);
+    // commit changes
+    List<GeneratedFile> fileList = getUpdatedTracedFilesForRepository(traceModel, guidances);
+    String commitSha = updateTracedFilesInRepository(fileList, getRepositoryName(microservice), service,
+        commitMessage, versionTag);
+
+    // merge development and master and push to master
+    String masterBranchName = "master";
+    gitUtility.mergeIntoMasterBranch(getRepositoryName(microservice), masterBranchName, versionTag);
+
+    generationEvent.fileCount = fileList.size();
+    generationEvent.commit();
+    return commitSha;
 
   }
 
@@ -0,0 +1,124 @@
+package i5.las2peer.services.codeGenerationService.generators;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+/**
+ * The templates used to generate single test methods for the api-testing-bot, see
+ * {@link MicroserviceGenerator#generateTestMethod}. Only these files of the template repository
+ * are needed, thus they are downloaded as raw files instead of cloning the repository. The
+ * templates are loaded once and then cached until they expire or are invalidated.
+ *
+ */
+
+public class TestMethodTemplates {
+
+  public static final long DEFAULT_TTL_MILLIS = 3600000;
+
+  private static final String STATUS_CODE_ASSERTION =
+      "Assert.assert$Comparison_Operator$($Value$, result.getHttpCode());";
+
+  private static final HttpClient httpClient =
+      HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+
+  private static TestMethodTemplates cached;
+  private static long ttlMillis = DEFAULT_TTL_MILLIS;
+
+  private final String testFilesUrl;
+  private final String genericTestMethod;
+  private final String genericTestRequest;
+  private final long loadTime;
+
+  private TestMethodTemplates(String testFilesUrl, String genericTestMethod,
+      String genericTestRequest) {
+    this.testFilesUrl = testFilesUrl;
+    this.genericTestMethod = genericTestMethod;
+    this.genericTestRequest = genericTestRequest;
+    this.loadTime = System.nanoTime();
+  }
+
+  /**
+   * Get the templates, they are only downloaded if they are not cached yet, expired or were loaded
+   * from another url.
+   *
+   * @param testFilesUrl The url of the folder containing the test templates, ending with a slash
+   * @return The templates
+   */
+
+  public static synchronized TestMethodTemplates get(String testFilesUrl) {
+    if (cached == null || !cached.testFilesUrl.equals(testFilesUrl)
+        || System.nanoTime() - cached.loadTime >= ttlMillis * 1000000) {
+      cached = load(testFilesUrl);
+    }
+    return cached;
+  }
+
+  /**
+   * Removes the cached templates, e.g. after the template repository was updated.
+   */
+
+  public static synchronized void invalidate() {
+    cached = null;
+  }
+
+  /**
+   * Sets the time after which the templates are downloaded again. Clears the cache.
+   *
+   * @param millis The time to live in milliseconds
+   */
+
+  public static synchronized void setTtl(long millis) {
+    ttlMillis = millis;
+    cached = null;
+  }
+
+  private static TestMethodTemplates load(String testFilesUrl) {
+    String genericTestMethod = download(testFilesUrl + "genericTestMethod.txt");
+    // remove method javadoc
+    genericTestMethod = "@Test" + genericTestMethod.split("@Test")[1];
+    // use normal MiniClient
+    genericTestMethod = genericTestMethod.replaceAll("MiniClientCoverage", "MiniClient");
+
+    String genericTestRequest = download(testFilesUrl + "genericTestRequest.txt");
+    // remove logs
+    String[] parts = genericTestRequest.split("System.out.println");
+    genericTestRequest = parts[0] + parts[1].split(";", 2)[1];
+
+    return new TestMethodTemplates(testFilesUrl, genericTestMethod, genericTestRequest);
+  }
+
+  private static String download(String url) {
+    HttpResponse<String> response;
+    try {
+      response = httpClient.send(HttpRequest.newBuilder(URI.create(url))
+          .timeout(Duration.ofSeconds(30)).GET().build(), HttpResponse.BodyHandlers.ofString());
+    } catch (IOException e) {
+      throw new IllegalStateException("Could not load test template " + url, e);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Could not load test template " + url, e);
+    }
+    if (response.statusCode() != 200) {
+      throw new IllegalStateException(
+          "Could not load test template " + url + ": " + response.statusCode());
+    }
+    return response.body();
+  }
+
+  public String getGenericTestMethod() {
+    return genericTestMethod;
+  }
+
+  public String getGenericTestRequest() {
+    return genericTestRequest;
+  }
+
+  public String getGenericStatusCodeAssertion() {
+    return STATUS_CODE_ASSERTION;
+  }
+
+}
@@ -0,0 +1,62 @@
+package i5.las2peer.services.codeGenerationService.generators;
+
+import org.json.simple.parser.ParseException;
+
+import i5.las2peer.services.codeGenerationService.models.traceModel.FileTraceModel;
+import i5.las2peer.services.codeGenerationService.models.traceModel.FileTraceModelFactory;
+import i5.las2peer.services.codeGenerationService.models.traceModel.TraceModel;
+
+/**
+ * A traced file of a repository, i.e. its content together with the raw content of its trace
+ * file. Used to pass the files of a repository to the synchronizers, which create the old file
+ * trace models from them.
+ *
+ */
+
+public class TracedFile {
+
+  private final String path;
+  private final String content;
+  private final byte[] traces;
+
+  /**
+   * Creates a traced file
+   *
+   * @param path The path of the file relative to the repository root
+   * @param content The content of the file
+   * @param traces The content of the trace file of the file, json or binary
+   */
+
+  public TracedFile(String path, String content, byte[] traces) {
+    this.path = path;
+    this.content = content;
+    this.traces = traces;
+  }
+
+  public String getPath() {
+    return path;
+  }
+
+  public String getContent() {
+    return content;
+  }
+
+  public byte[] getTraces() {
+    return traces;
+  }
+
+  /**
+   * Creates the file trace model of the file from its traces
+   *
+   * @param traceModel The global trace model the file trace model should belong to
+   * @param fileName The file name to use for the file trace model
+   * @return The file trace model of the file
+   * @throws ParseException if the trace file could not be parsed
+   */
+
+  public FileTraceModel createFileTraceModel(TraceModel traceModel, String fileName)
+      throws ParseException {
+    return FileTraceModelFactory.createFileTraceModel(content, traces, traceModel, fileName);
+  }
+
+}
@@ -0,0 +1,236 @@
+package i5.las2peer.services.codeGenerationService.generators;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.eclipse.jgit.diff.RawText;
+import org.eclipse.jgit.dircache.DirCache;
+import org.eclipse.jgit.dircache.DirCacheBuilder;
+import org.eclipse.jgit.dircache.DirCacheEntry;
+import org.eclipse.jgit.internal.storage.dfs.DfsRepositoryDescription;
+import org.eclipse.jgit.internal.storage.dfs.InMemoryRepository;
+import org.eclipse.jgit.lib.CommitBuilder;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.FileMode;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.ObjectInserter;
+import org.eclipse.jgit.lib.ObjectReader;
+import org.eclipse.jgit.lib.PersonIdent;
+import org.eclipse.jgit.lib.RefUpdate;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.treewalk.TreeWalk;
+import org.json.simple.JSONObject;
+
+import i5.las2peer.logging.L2pLogger;
+import i5.las2peer.services.codeGenerationService.adapters.BaseGitHostAdapter;
+import i5.las2peer.services.codeGenerationService.exception.GitHostException;
+import i5.las2peer.services.codeGenerationService.models.traceModel.TraceModel;
+import i5.las2peer.services.codeGenerationService.templateEngine.Template;
+import i5.las2peer.services.codeGenerationService.templateEngine.TemplateEngine;
+import i5.las2peer.services.codeGenerationService.utilities.Metrics;
+
+/**
+ *
+ * Warm-up of the service after its start, such that the first generations are not slowed down by
+ * cold caches and code that is not compiled yet. The warm-up runs preload tasks of the service,
+ * e.g. the download of the test method templates, loads the template repository and renders all
+ * of its text files as templates into an in-memory repository several times. This exercises the
+ * template engine, the trace serialization and JGit like a generation, without touching the git
+ * host. Its status is reported by the readiness resource of the service.
+ *
+ */
+public class WarmUp {
+
+  public enum Status {
+    PENDING, RUNNING, COMPLETED, FAILED
+  }
+
+  public static final int DEFAULT_GENERATIONS = 3;
+
+  private static final L2pLogger logger = L2pLogger.getInstance(WarmUp.class.getName());
+
+  private final BaseGitHostAdapter gitAdapter;
+  private final int generations;
+  private final Runnable[] preloads;
+  private volatile Status status = Status.PENDING;
+  private volatile long durationMillis = -1;
+  private volatile int templateFiles;
+  private volatile String error;
+
+  /**
+   * Creates a warm-up, it is run by {@link #start()}.
+   *
+   * @param gitAdapter The adapter used to load the template repository
+   * @param generations The number of renderings of all templates
+   * @param preloads Further tasks of the service, a failing task does not fail the warm-up
+   */
+
+  public WarmUp(BaseGitHostAdapter gitAdapter, int generations, Runnable... preloads) {
+    this.gitAdapter = gitAdapter;
+    this.generations = generations;
+    this.preloads = preloads;
+  }
+
+  /**
+   * Starts the warm-up in a background thread, if it was not started before.
+   */
+
+  public synchronized void start() {
+    if (this.status != Status.PENDING) {
+      return;
+    }
+    this.status = Status.RUNNING;
+    Thread thread = new Thread(this::run, "service-warm-up");
+    thread.setDaemon(true);
+    thread.start();
+  }
+
+  private void run() {
+    long startTime = System.nanoTime();
+    try {
+      for (Runnable preload : this.preloads) {
+        try {
+          preload.run();
+        } catch (RuntimeException e) {
+          logger.warning("Warm-up task failed: " + e.getMessage());
+        }
+      }
+      Map<String, String> templates = loadTemplates(this.gitAdapter);
+      this.templateFiles = templates.size();
+      generate(templates, this.generations).close();
+      this.status = Status.COMPLETED;
+      logger.info("Warm-up completed with " + this.templateFiles + " template files");
+    } catch (Throwable e) {
+      // also errors, e.g. a stack overflow while rendering, such that the service becomes ready
+      logger.printStackTrace(e);
+      this.error = e.getMessage() != null ? e.getMessage() : e.getClass().getName();
+      this.status = Status.FAILED;
+    } finally {
+      this.durationMillis = (System.nanoTime() - startTime) / 1000000;
+      Metrics.timer(Metrics.WARM_UP).recordSince(startTime);
+    }
+  }
+
+  /**
+   * Loads the text files of the template repository, binary files like images are skipped.
+   *
+   * @param gitAdapter The adapter used to load the template repository
+   * @return The content of the text files by their path
+   * @throws GitHostException if the template repository cannot be loaded
+   */
+
+  public static Map<String, String> loadTemplates(BaseGitHostAdapter gitAdapter)
+      throws GitHostException {
+    Map<String, String> templates = new LinkedHashMap<String, String>();
+    try (TreeWalk treeWalk = Generator.getTemplateRepositoryContent(gitAdapter)) {
+      ObjectReader reader = treeWalk.getObjectReader();
+      while (treeWalk.next()) {
+        byte[] content = reader.open(treeWalk.getObjectId(0)).getBytes();
+        if (!RawText.isBinary(content)) {
+          templates.put(treeWalk.getPathString(), new String(content, StandardCharsets.UTF_8));
+        }
+      }
+    } catch (IOException e) {
+      logger.printStackTrace(e);
+      throw new GitHostException(e.getMessage());
+    }
+    return templates;
+  }
+
+  /**
+   * Renders templates with traces and commits the files and their traces to an in-memory
+   * repository, as done by a generation. Each rendering is committed on top of the previous one.
+   *
+   * @param templates The content of the templates by their path
+   * @param generations The number of renderings of all templates
+   * @return The in-memory repository
+   * @throws IOException if a commit fails
+   */
+
+  public static Repository generate(Map<String, String> templates, int generations)
+      throws IOException {
+    InMemoryRepository repository =
+        new InMemoryRepository(new DfsRepositoryDescription("warm-up"));
+    PersonIdent author = new PersonIdent("CAE", "cae@warm-up");
+    for (int generation = 0; generation < generations; generation++) {
+      TraceModel traceModel = new TraceModel();
+      for (Map.Entry<String, String> template : templates.entrySet()) {
+        TemplateEngine templateEngine =
+            Template.createInitialTemplateEngine(traceModel, template.getKey());
+        Template fileTemplate =
+            templateEngine.createTemplate(template.getKey(), template.getValue());
+        templateEngine.addTemplate(fileTemplate);
+        templateEngine.addTrace(template.getKey(), "File", template.getKey(), fileTemplate);
+      }
+
+      try (ObjectInserter inserter = repository.newObjectInserter()) {
+        DirCache index = DirCache.newInCore();
+        DirCacheBuilder builder = index.builder();
+        for (GeneratedFile file : Generator.getUpdatedTracedFilesForRepository(traceModel,
+            new JSONObject().toJSONString())) {
+          DirCacheEntry entry = new DirCacheEntry(file.getPath());
+          entry.setFileMode(FileMode.REGULAR_FILE);
+          entry.setObjectId(inserter.insert(Constants.OBJ_BLOB, file.getContent()));
+          builder.add(entry);
+        }
+        builder.finish();
+
+        CommitBuilder commit = new CommitBuilder();
+        commit.setTreeId(index.writeTree(inserter));
+        ObjectId head = repository.resolve(Constants.HEAD);
+        if (head != null) {
+          commit.setParentId(head);
+        }
+        commit.setAuthor(author);
+        commit.setCommitter(author);
+        commit.setMessage("Warm-up generation " + generation);
+        ObjectId commitId = inserter.insert(commit);
+        inserter.flush();
+
+        RefUpdate refUpdate = repository.updateRef(Constants.HEAD);
+        refUpdate.setNewObjectId(commitId);
+        refUpdate.forceUpdate();
+      }
+    }
+    return repository;
+  }
+
+  public Status getStatus() {
+    return this.status;
+  }
+
+  /**
+   * Checks if the warm-up is finished, no matter if it failed.
+   *
+   * @return True, if the service is ready to handle requests without warm-up delays
+   */
+
+  public boolean isDone() {
+    return this.status == Status.COMPLETED || this.status == Status.FAILED;
+  }
+
+  /**
+   * Get the status of the warm-up as reported by the readiness resource.
+   *
+   * @return A json object containing the status, the duration in milliseconds, the number of
+   *         template files and the error message if the warm-up failed
+   */
+
+  @SuppressWarnings("unchecked")
+  public JSONObject toJSONObject() {
+    JSONObject json = new JSONObject();
+    json.put("ready", this.isDone());
+    json.put("status", this.status.name().toLowerCase());
+    if (this.durationMillis >= 0) {
+      json.put("duration", this.durationMillis);
+      json.put("templateFiles", this.templateFiles);
+    }
+    if (this.error != null) {
+      json.put("error", this.error);
+    }
+    return json;
+  }
+
+}
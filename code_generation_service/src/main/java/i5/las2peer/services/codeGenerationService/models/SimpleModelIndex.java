@@ -0,0 +1,135 @@
+package i5.las2peer.services.codeGenerationService.models;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import i5.cae.simpleModel.SimpleModel;
+import i5.cae.simpleModel.edge.SimpleEdge;
+import i5.cae.simpleModel.node.SimpleNode;
+
+/**
+ * Index of the nodes and edges of a {@link i5.cae.simpleModel.SimpleModel}, built in one pass over
+ * the model. The model parsers use it to check the type of the node an edge refers to and to find
+ * the edges of a node without scanning all edges of the model. The nodes of a type and the edges of
+ * a node are kept in the order of the model.
+ *
+ */
+
+public class SimpleModelIndex {
+
+  private final Map<String, SimpleNode> nodes = new HashMap<String, SimpleNode>();
+  private final Map<String, List<SimpleNode>> nodesByType = new HashMap<String, List<SimpleNode>>();
+  // the edges by node id and edge type
+  private final Map<String, Map<String, List<SimpleEdge>>> outgoingEdges =
+      new HashMap<String, Map<String, List<SimpleEdge>>>();
+  private final Map<String, Map<String, List<SimpleEdge>>> incomingEdges =
+      new HashMap<String, Map<String, List<SimpleEdge>>>();
+
+  public SimpleModelIndex(SimpleModel model) {
+    for (SimpleNode node : model.getNodes()) {
+      this.nodes.put(node.getId(), node);
+      this.nodesByType.computeIfAbsent(node.getType(), type -> new ArrayList<SimpleNode>())
+          .add(node);
+    }
+    for (SimpleEdge edge : model.getEdges()) {
+      addEdge(this.outgoingEdges, edge.getSourceNode(), edge);
+      addEdge(this.incomingEdges, edge.getTargetNode(), edge);
+    }
+  }
+
+  private static void addEdge(Map<String, Map<String, List<SimpleEdge>>> edges, String nodeId,
+      SimpleEdge edge) {
+    edges.computeIfAbsent(nodeId, id -> new HashMap<String, List<SimpleEdge>>())
+        .computeIfAbsent(edge.getType(), type -> new ArrayList<SimpleEdge>()).add(edge);
+  }
+
+  /**
+   * Get a node of the model
+   *
+   * @param nodeId The id of the node
+   * @return The node or null if the model has no node with that id
+   */
+
+  public SimpleNode getNode(String nodeId) {
+    return this.nodes.get(nodeId);
+  }
+
+  /**
+   * Checks if a node of the model is of a type
+   *
+   * @param nodeId The id of the node, may be null
+   * @param type The type of the node
+   * @return True, if the model has a node of that type with that id
+   */
+
+  public boolean isNode(String nodeId, String type) {
+    SimpleNode node = this.nodes.get(nodeId);
+    return node != null && node.getType().equals(type);
+  }
+
+  /**
+   * Get the nodes of a type
+   *
+   * @param type The type of the nodes
+   * @return The nodes of that type, in the order of the model
+   */
+
+  public List<SimpleNode> getNodes(String type) {
+    return Collections.unmodifiableList(
+        this.nodesByType.getOrDefault(type, Collections.<SimpleNode>emptyList()));
+  }
+
+  /**
+   * Get the edges of a type starting at a node
+   *
+   * @param nodeId The id of the source node
+   * @param edgeType The type of the edges
+   * @return The edges, in the order of the model
+   */
+
+  public List<SimpleEdge> getOutgoingEdges(String nodeId, String edgeType) {
+    return getEdges(this.outgoingEdges, nodeId, edgeType);
+  }
+
+  /**
+   * Get the edges of a type ending at a node
+   *
+   * @param nodeId The id of the target node
+   * @param edgeType The type of the edges
+   * @return The edges, in the order of the model
+   */
+
+  public List<SimpleEdge> getIncomingEdges(String nodeId, String edgeType) {
+    return getEdges(this.incomingEdges, nodeId, edgeType);
+  }
+
+  /**
+   * Checks if a node is the target of an edge of a type whose source is a node of a type
+   *
+   * @param nodeId The id of the target node
+   * @param edgeType The type of the edge
+   * @param sourceType The type of the source node
+   * @return True, if there is such an edge
+   */
+
+  public boolean hasIncomingEdge(String nodeId, String edgeType, String sourceType) {
+    for (SimpleEdge edge : getIncomingEdges(nodeId, edgeType)) {
+      if (isNode(edge.getSourceNode(), sourceType)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static List<SimpleEdge> getEdges(Map<String, Map<String, List<SimpleEdge>>> edges,
+      String nodeId, String edgeType) {
+    Map<String, List<SimpleEdge>> nodeEdges = edges.get(nodeId);
+    List<SimpleEdge> typeEdges = nodeEdges == null ? null : nodeEdges.get(edgeType);
+    return typeEdges == null ? Collections.<SimpleEdge>emptyList()
+        : Collections.unmodifiableList(typeEdges);
+  }
+
+}
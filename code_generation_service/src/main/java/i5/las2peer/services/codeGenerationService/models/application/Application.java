@@ -3,12 +3,21 @@ package i5.las2peer.services.codeGenerationService.models.application;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
 
 import i5.cae.simpleModel.SimpleModel;
 import i5.las2peer.services.codeGenerationService.exception.ModelParseException;
 import i5.las2peer.services.codeGenerationService.models.application.communicationModel.CommunicationModel;
 import i5.las2peer.services.codeGenerationService.models.frontendComponent.FrontendComponent;
 import i5.las2peer.services.codeGenerationService.models.microservice.Microservice;
+import i5.las2peer.services.codeGenerationService.utilities.WorkerPools;
 
 /**
  * 
@@ -17,6 +26,10 @@ import i5.las2peer.services.codeGenerationService.models.microservice.Microservi
  * 
  */
 public class Application {
+  // the component models of all applications are parsed by a bounded number of threads
+  private static final ExecutorService executor =
+      WorkerPools.newBoundedPool("application-model-parser");
+
   private String name;
   private String versionedModelId;
   private String version;
@@ -54,36 +67,108 @@ public class Application {
 
     // now construct models for all components (starting with the first component, first entry of
     // array is application model itself! TODO: think of different version handling
-    //TODO: Check this
-    for (int i = 1; i < modelComponents.size(); i++) {
-      for (int j = 0; j < modelComponents.get(i).getAttributes().size(); j++) {
-        if (modelComponents.get(i).getAttributes().get(j).getName().equals("type")) {
-          String type = modelComponents.get(i).getAttributes().get(j).getValue();
-          switch (type) {
-            case "microservice":
-              if (this.microservices.containsKey(modelComponents.get(i).getName())) {
-               // throw new ModelParseException(
-                    //"Error: More than one microservice with name " + modelComponents[i].getName());
-              } else {
-              this.microservices.put(modelComponents.get(i).getName(),
-                  new Microservice(modelComponents.get(i)));
-              }
-              break;
-            case "frontend-component":
-              if (this.frontendComponents.containsKey(modelComponents.get(i).getName())) {
-                //throw new ModelParseException("Error in Application constructor: More than one frontend-component with name "
-                    //+ modelComponents[i].getName());
-              }else {
-              this.frontendComponents.put(modelComponents.get(i).getName(),
-                  new FrontendComponent(modelComponents.get(i)));
-              }
-              break;
-            default:
-              throw new ModelParseException(
-                  "Error: Application can only consist of microservices and frontend components!");
+    // the component models are independent, thus they are parsed concurrently. Only the first
+    // component of a name is used and errors are reported in the order of the components.
+    LinkedHashMap<String, Future<Microservice>> parsedMicroservices =
+        new LinkedHashMap<String, Future<Microservice>>();
+    LinkedHashMap<String, Future<FrontendComponent>> parsedFrontendComponents =
+        new LinkedHashMap<String, Future<FrontendComponent>>();
+    // the futures of all components, in the order of the components
+    List<Future<?>> parsedComponents = new ArrayList<Future<?>>();
+    ModelParseException typeError = null;
+    try {
+      components: for (int i = 1; i < modelComponents.size(); i++) {
+        SimpleModel component = modelComponents.get(i);
+        for (int j = 0; j < component.getAttributes().size(); j++) {
+          if (component.getAttributes().get(j).getName().equals("type")) {
+            String type = component.getAttributes().get(j).getValue();
+            switch (type) {
+              case "microservice":
+                if (!parsedMicroservices.containsKey(component.getName())) {
+                  Future<Microservice> microservice =
+                      parse(() -> new Microservice(component), modelComponents.size());
+                  parsedMicroservices.put(component.getName(), microservice);
+                  parsedComponents.add(microservice);
+                }
+                break;
+              case "frontend-component":
+                if (!parsedFrontendComponents.containsKey(component.getName())) {
+                  Future<FrontendComponent> frontendComponent =
+                      parse(() -> new FrontendComponent(component), modelComponents.size());
+                  parsedFrontendComponents.put(component.getName(), frontendComponent);
+                  parsedComponents.add(frontendComponent);
+                }
+                break;
+              default:
+                // reported after the errors of the components before this one
+                typeError = new ModelParseException(
+                    "Error: Application can only consist of microservices and frontend components!");
+                break components;
+            }
           }
         }
       }
+
+      for (Future<?> component : parsedComponents) {
+        getParsedComponent(component);
+      }
+      if (typeError != null) {
+        throw typeError;
+      }
+      for (Entry<String, Future<Microservice>> microservice : parsedMicroservices.entrySet()) {
+        this.microservices.put(microservice.getKey(), getParsedComponent(microservice.getValue()));
+      }
+      for (Entry<String, Future<FrontendComponent>> frontendComponent : parsedFrontendComponents
+          .entrySet()) {
+        this.frontendComponents.put(frontendComponent.getKey(),
+            getParsedComponent(frontendComponent.getValue()));
+      }
+    } finally {
+      for (Future<?> component : parsedComponents) {
+        component.cancel(true);
+      }
+    }
+  }
+
+  /**
+   * Parses a component model, concurrently if the application has more than one component.
+   * 
+   * @param parser The constructor of the component
+   * @param modelCount The number of models of the application, including the application model
+   * @return The future of the parsed component
+   */
+  private static <T> Future<T> parse(Callable<T> parser, int modelCount) {
+    if (modelCount > 2) {
+      return executor.submit(parser);
+    }
+    FutureTask<T> task = new FutureTask<T>(parser);
+    task.run();
+    return task;
+  }
+
+  /**
+   * Waits for a component to be parsed.
+   * 
+   * @param component The future of the component
+   * @return The parsed component
+   * @throws ModelParseException if the model of the component could not be parsed
+   */
+  private static <T> T getParsedComponent(Future<T> component) throws ModelParseException {
+    try {
+      return component.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new ModelParseException("Error: Interrupted while parsing the application components");
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof ModelParseException) {
+        throw (ModelParseException) cause;
+      } else if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      } else if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+      throw new IllegalStateException(cause);
     }
   }
 
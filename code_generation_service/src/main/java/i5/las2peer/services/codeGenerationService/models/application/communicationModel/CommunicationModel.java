@@ -2,7 +2,9 @@ package i5.las2peer.services.codeGenerationService.models.application.communicat
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map.Entry;
 
 import i5.cae.simpleModel.SimpleEntityAttribute;
@@ -45,10 +47,9 @@ public class CommunicationModel {
    * Creates a Communication View Model. The "comm"-elements this model consists of have the same
    * SyncMeta ids as the corresponding elements of the microserivce and frontend-component models.
    * 
-   * Please note, that the creation of the model is not optimized in terms of speed, but split up
-   * into several loops to provide at least a bit of readability. Should be fast enough though,
-   * compared to the GiHub access functionalities of this service, this is still some dimensions
-   * faster.
+   * The edges are created with the help of indices of the services (by class name and path), the
+   * IWC calls (by intent action) and the collaborative elements (by label), which are built once,
+   * so that the creation grows linearly with the size of the application and the number of edges.
    * 
    * @param name the name of the complete application
    * @param version the application's version
@@ -112,48 +113,57 @@ public class CommunicationModel {
           EdgeType.APPLICATION_COMPONENT));
     }
 
+    // INDICES
+    // microservices by class name and by path, in the order of the microservices map
+    HashMap<String, List<Microservice>> microservicesByClass =
+        new HashMap<String, List<Microservice>>();
+    HashMap<String, List<Microservice>> microservicesByPath =
+        new HashMap<String, List<Microservice>>();
+    for (Microservice microservice : microservices.values()) {
+      // a bit complex..but that is how one gets the class name
+      String serviceClass = "i5.las2peer.services."
+          + microservice.getResourceName().substring(0, 1).toLowerCase()
+          + microservice.getResourceName().substring(1) + "." + microservice.getResourceName();
+      microservicesByClass.computeIfAbsent(serviceClass, key -> new ArrayList<Microservice>())
+          .add(microservice);
+      if (microservice.getPath() != null) {
+        microservicesByPath
+            .computeIfAbsent(microservice.getPath(), key -> new ArrayList<Microservice>())
+            .add(microservice);
+      }
+    }
+    // ids of the other services by their class name
+    HashMap<String, String> otherServiceIds = new HashMap<String, String>();
+
     // go through microservices and add internal calls
     for (Microservice microserviceSource : microservices.values()) {
       for (HttpMethod method : microserviceSource.getHttpMethods().values()) {
         for (InternalCall internalCall : method.getInternalCalls()) {
           String targetServiceClass = internalCall.getServiceClass();
-          boolean found = false;
-          for (Microservice microserviceTarget : microservices.values()) {
-            // a bit complex..but that is how one gets the class name
-            String serviceClass = "i5.las2peer.services."
-                + microserviceTarget.getResourceName().substring(0, 1).toLowerCase()
-                + microserviceTarget.getResourceName().substring(1) + "."
-                + microserviceTarget.getResourceName();
-            // if target id matches and services are not the same, we found the target, add edge
-            // from source service to target service (SyncMeta ids)
-            // important: we do not check for existing (http-)methods, since internal invocations
-            // can be done on "non-restful" (=not-modeled) methods as well
-            if (serviceClass.equals(targetServiceClass) && !(microserviceTarget
-                .getMicroserviceModelId().equals(microserviceSource.getMicroserviceModelId()))) {
-              this.commEdges.add(new CommEdge(microserviceSource.getMicroserviceModelId(),
-                  microserviceTarget.getMicroserviceModelId(), EdgeType.INTERNAL_RESOURCE_CALL));
-              found = true;
+          String targetId = null;
+          // the first service with the target class that is not the source itself is the target,
+          // add edge from source service to target service (SyncMeta ids)
+          // important: we do not check for existing (http-)methods, since internal invocations
+          // can be done on "non-restful" (=not-modeled) methods as well
+          for (Microservice microserviceTarget : microservicesByClass
+              .getOrDefault(targetServiceClass, Collections.<Microservice>emptyList())) {
+            if (!(microserviceTarget.getMicroserviceModelId()
+                .equals(microserviceSource.getMicroserviceModelId()))) {
+              targetId = microserviceTarget.getMicroserviceModelId();
               break;
             }
           }
-          // if service was not found, search other services and add a new one if necessary
-          if (!found) {
-            found = false; // reset
-            for (Entry<String, CommOtherService> otherService : this.otherServices.entrySet()) {
-              if (otherService.getValue().getLabel().equals(targetServiceClass)) {
-                found = true;
-                this.commEdges.add(new CommEdge(microserviceSource.getMicroserviceModelId(),
-                    otherService.getKey(), EdgeType.INTERNAL_RESOURCE_CALL));
-                break;
-              }
-            }
-            if (!found) {
-              String newId = generateNewRandomSyncMetaId();
-              otherServices.put(newId, new CommOtherService(targetServiceClass));
-              this.commEdges.add(new CommEdge(microserviceSource.getMicroserviceModelId(), newId,
-                  EdgeType.INTERNAL_RESOURCE_CALL));
+          // if service was not found, use the other service or add a new one if necessary
+          if (targetId == null) {
+            targetId = otherServiceIds.get(targetServiceClass);
+            if (targetId == null) {
+              targetId = generateNewRandomSyncMetaId();
+              otherServices.put(targetId, new CommOtherService(targetServiceClass));
+              otherServiceIds.put(targetServiceClass, targetId);
             }
           }
+          this.commEdges.add(new CommEdge(microserviceSource.getMicroserviceModelId(), targetId,
+              EdgeType.INTERNAL_RESOURCE_CALL));
         }
       }
     }
@@ -179,12 +189,12 @@ public class CommunicationModel {
         }
         // http calls (TODO: Check if parameter match)
         String frontendComponentMicroservicePath = frontendComponent.getMicroserviceAddress();
-        for (Entry<String, Microservice> microservice : microservices.entrySet()) {
-          if (frontendComponentMicroservicePath.equals(microservice.getValue().getPath())) {
-            for (MicroserviceCall microserviceCall : function.getMicroserviceCalls()) {
-              this.commEdges.add(new CommEdge(microserviceCall.getModelId(),
-                  microservice.getValue().getMicroserviceModelId(), EdgeType.HTTP_CALL));
-            }
+        List<Microservice> calledMicroservices = microservicesByPath.getOrDefault(
+            frontendComponentMicroservicePath, Collections.<Microservice>emptyList());
+        for (Microservice microservice : calledMicroservices) {
+          for (MicroserviceCall microserviceCall : function.getMicroserviceCalls()) {
+            this.commEdges.add(new CommEdge(microserviceCall.getModelId(),
+                microservice.getMicroserviceModelId(), EdgeType.HTTP_CALL));
           }
         }
       }
@@ -197,23 +207,32 @@ public class CommunicationModel {
       }
     }
     // iwc communication edges (check for matching intent action)
+    HashMap<String, List<String>> iwcCallsByIntentAction = new HashMap<String, List<String>>();
+    for (Entry<String, CommIWCCall> call : this.iwcCalls.entrySet()) {
+      iwcCallsByIntentAction
+          .computeIfAbsent(call.getValue().getLabel(), key -> new ArrayList<String>())
+          .add(call.getKey());
+    }
     for (Entry<String, CommIWCResponse> response : this.iwcResponses.entrySet()) {
-      for (Entry<String, CommIWCCall> call : this.iwcCalls.entrySet()) {
-        if (response.getValue().getLabel().equals(call.getValue().getLabel())) {
-          this.commEdges
-              .add(new CommEdge(call.getKey(), response.getKey(), EdgeType.IWC_COMMUNICATION));
-        }
+      for (String callId : iwcCallsByIntentAction.getOrDefault(response.getValue().getLabel(),
+          Collections.<String>emptyList())) {
+        this.commEdges.add(new CommEdge(callId, response.getKey(), EdgeType.IWC_COMMUNICATION));
       }
     }
     // collaborative (Yjs) edges
+    HashMap<String, List<String>> collaborativeElementsByLabel =
+        new HashMap<String, List<String>>();
+    for (Entry<String, CommCollaborativeElement> element : this.collaborativeElements.entrySet()) {
+      collaborativeElementsByLabel
+          .computeIfAbsent(element.getValue().getLabel(), key -> new ArrayList<String>())
+          .add(element.getKey());
+    }
     for (Entry<String, CommCollaborativeElement> elementOne : this.collaborativeElements
         .entrySet()) {
-      for (Entry<String, CommCollaborativeElement> elementTwo : this.collaborativeElements
-          .entrySet()) {
-        if (!(elementOne.getKey().equals(elementTwo.getKey()))
-            && elementOne.getValue().getLabel().equals(elementTwo.getValue().getLabel())) {
+      for (String elementTwo : collaborativeElementsByLabel.get(elementOne.getValue().getLabel())) {
+        if (!(elementOne.getKey().equals(elementTwo))) {
           this.commEdges
-              .add(new CommEdge(elementOne.getKey(), elementTwo.getKey(), EdgeType.COMMUNICATES));
+              .add(new CommEdge(elementOne.getKey(), elementTwo, EdgeType.COMMUNICATES));
         }
       }
     }
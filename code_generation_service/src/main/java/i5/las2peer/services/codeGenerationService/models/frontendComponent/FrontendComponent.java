@@ -3,12 +3,14 @@ package i5.las2peer.services.codeGenerationService.models.frontendComponent;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 
 import i5.cae.simpleModel.SimpleEntityAttribute;
 import i5.cae.simpleModel.SimpleModel;
 import i5.cae.simpleModel.edge.SimpleEdge;
 import i5.cae.simpleModel.node.SimpleNode;
 import i5.las2peer.services.codeGenerationService.exception.ModelParseException;
+import i5.las2peer.services.codeGenerationService.models.SimpleModelIndex;
 
 /**
  *
@@ -62,6 +64,9 @@ public class FrontendComponent {
     HashMap<String, MicroserviceCall> tempMicroserviceCalls = new HashMap<String, MicroserviceCall>();
     HashMap<String, DataBinding> tempDataBindings = new HashMap<String, DataBinding>();
     HashMap<String, ParamBinding> tempParamBindings = new HashMap<String, ParamBinding>();
+    // used to check if the nodes above are connected to exactly one "parent object", independent of
+    // the order of the edges
+    SimpleModelIndex index = new SimpleModelIndex(model);
 
     this.name = model.getName();
 
@@ -222,11 +227,11 @@ public class FrontendComponent {
           break;
         case "View Component to Event":
           if (!this.viewComponents.containsKey(currentEdgeSource)
-              || !tempEvents.containsKey(currentEdgeTarget)) {
+              || !tempEvents.containsKey(currentEdgeTarget)
+              || getParentCount(index, currentEdgeTarget) > 1) {
             throw new ModelParseException("Wrong View Component to Event edge!");
           }
           this.viewComponents.get(currentEdgeSource).addEvent(tempEvents.get(currentEdgeTarget));
-          tempEvents.remove(currentEdgeTarget);
           break;
         case "Widget to HTML Element":
           if (!this.widgetModelId.equals(currentEdgeSource)
@@ -261,15 +266,16 @@ public class FrontendComponent {
           break;
         case "HTML Element to Event":
           if (!this.htmlElements.containsKey(currentEdgeSource)
-              || !tempEvents.containsKey(currentEdgeTarget)) {
+              || !tempEvents.containsKey(currentEdgeTarget)
+              || getParentCount(index, currentEdgeTarget) > 1) {
             throw new ModelParseException("Wrong HTML Element to Event edge!");
           }
           this.htmlElements.get(currentEdgeSource).addEvent(tempEvents.get(currentEdgeTarget));
-          tempEvents.remove(currentEdgeTarget);
           break;
         case "Parameter Connection":
-          // check if parameter is there
-          if (!tempParameters.containsKey(currentEdgeTarget)) {
+          // check if parameter is there and only connected once
+          if (!tempParameters.containsKey(currentEdgeTarget)
+              || index.getIncomingEdges(currentEdgeTarget, currentEdgeType).size() > 1) {
             throw new ModelParseException("Wrong Parameter Connection edge!");
           }
           // check for function connection
@@ -278,104 +284,56 @@ public class FrontendComponent {
                 .addInputParameter(tempParameters.get(currentEdgeTarget));
           }
           // if not, check for microservice connection
-          // first, check if call is still in tempMicroserviceCalls
           else if (tempMicroserviceCalls.containsKey(currentEdgeSource)) {
             tempMicroserviceCalls.get(currentEdgeSource)
                 .addInputParameter(tempParameters.get(currentEdgeTarget));
-            // if not, check if in list of a function
-          } else {
-            boolean found = false;
-            for (Function function : this.functions.values()) {
-              for (MicroserviceCall call : function.getMicroserviceCalls()) {
-                if (call.getModelId().equals(currentEdgeSource)) {
-                  call.addInputParameter(tempParameters.get(currentEdgeTarget));
-                  found = true;
-                }
-              }
-            }
             // if not, the parameter connection is invalid
-            if (!found) {
-              throw new ModelParseException("Wrong Parameter Connection edge!");
-            }
+          } else {
+            throw new ModelParseException("Wrong Parameter Connection edge!");
           }
-          tempParameters.remove(currentEdgeTarget);
           break;
         case "Waits for":
           if (!this.functions.containsKey(currentEdgeSource)
-              || !tempIwcResponses.containsKey(currentEdgeTarget)) {
+              || !tempIwcResponses.containsKey(currentEdgeTarget)
+              || index.getIncomingEdges(currentEdgeTarget, currentEdgeType).size() > 1) {
             throw new ModelParseException("Wrong Waits for edge!");
           }
           this.functions.get(currentEdgeSource)
               .addIwcResponse(tempIwcResponses.get(currentEdgeTarget));
-          tempIwcResponses.remove(currentEdgeTarget);
           break;
         case "Initiates":
           if (!this.functions.containsKey(currentEdgeSource)
-              || !tempIwcCalls.containsKey(currentEdgeTarget)) {
+              || !tempIwcCalls.containsKey(currentEdgeTarget)
+              || index.getIncomingEdges(currentEdgeTarget, currentEdgeType).size() > 1) {
             throw new ModelParseException("Wrong Initiates edge!");
           }
           this.functions.get(currentEdgeSource).addIwcCall(tempIwcCalls.get(currentEdgeTarget));
-          tempIwcCalls.remove(currentEdgeTarget);
           break;
         case "Event to Function Call":
-          // check if function exists
-          if (!this.functions.containsKey(currentEdgeTarget)) {
+          // check if function and event exist
+          if (!this.functions.containsKey(currentEdgeTarget)
+              || !tempEvents.containsKey(currentEdgeSource)) {
             throw new ModelParseException("Wrong Event to Function Call!");
           }
-          // check if event is still in tempEvent list
-          if (tempEvents.containsKey(currentEdgeSource)) {
-            tempEvents.get(currentEdgeSource).setCalledFunctionId(currentEdgeTarget);
-            break;
-          } else {
-            boolean found = false;
-            // now we need to check already parsed events..
-            for (ViewComponent element : this.viewComponents.values()) {
-              for (Event event : element.getEvents()) {
-                if (event.getModelId().equals(currentEdgeSource)) {
-                  event.setCalledFunctionId(currentEdgeTarget);
-                  found = true;
-                }
-              }
-            }
-            for (HtmlElement element : this.htmlElements.values()) {
-              for (Event event : element.getEvents()) {
-                if (event.getModelId().equals(currentEdgeSource)) {
-                  event.setCalledFunctionId(currentEdgeTarget);
-                  found = true;
-                }
-              }
-            }
-            if (!found) {
-              throw new ModelParseException("Wrong Event to Function Call!");
-            }
+          tempEvents.get(currentEdgeSource).setCalledFunctionId(currentEdgeTarget);
+          // only calls of events of view components or html elements connect the function
+          if (getParentCount(index, currentEdgeSource) > 0) {
+            functionCount--;
           }
-          functionCount--;
           break;
         case "Event to ParamBinding":
-          // check if function exists
-          if (!this.paramBindings.containsKey(currentEdgeTarget)) {
+          // check if parameter binding and event exist
+          if (!this.paramBindings.containsKey(currentEdgeTarget)
+              || !tempEvents.containsKey(currentEdgeSource)) {
             throw new ModelParseException("Wrong Event to Parameter Binding!");
           }
-          // check if event is still in tempEvent list
-          if (tempEvents.containsKey(currentEdgeSource)) {
-            tempEvents.get(currentEdgeSource).setCalledParamBindingId(currentEdgeTarget);
-            break;
-          } else {
-            boolean found = false;
-            // now we need to check already parsed events..
-            for (ViewComponent element : this.viewComponents.values()) {
-              for (Event event : element.getEvents()) {
-                if (event.getModelId().equals(currentEdgeSource)) {
-                  event.setCalledParamBindingId(currentEdgeTarget);
-                  found = true;
-                }
-              }
-            }
-            if (!found) {
-              throw new ModelParseException("Wrong Event to Parameter Binding!");
-            }
+          // only events of view components can call parameter bindings
+          if (!index.getIncomingEdges(currentEdgeSource, "View Component to Event").isEmpty()) {
+            paramBindingCount--;
+          } else if (getParentCount(index, currentEdgeSource) > 0) {
+            throw new ModelParseException("Wrong Event to Parameter Binding!");
           }
-          paramBindingCount--;
+          tempEvents.get(currentEdgeSource).setCalledParamBindingId(currentEdgeTarget);
           break;
         case "ParamBinding to ViewComponent":
           if (!this.paramBindings.containsKey(currentEdgeSource)
@@ -391,21 +349,21 @@ public class FrontendComponent {
           break;
         case "Function To Microservice Call":
           if (!this.functions.containsKey(currentEdgeSource)
-              || !tempMicroserviceCalls.containsKey(currentEdgeTarget)) {
+              || !tempMicroserviceCalls.containsKey(currentEdgeTarget)
+              || index.getIncomingEdges(currentEdgeTarget, currentEdgeType).size() > 1) {
             throw new ModelParseException("Wrong Function To Microservice Call edge!");
           }
           this.functions.get(currentEdgeSource)
               .addMicroserviceCall(tempMicroserviceCalls.get(currentEdgeTarget));
-          tempMicroserviceCalls.remove(currentEdgeTarget);
           break;
         case "View Component to DataBinding":
           if (!this.viewComponents.containsKey(currentEdgeSource)
-              || !tempDataBindings.containsKey(currentEdgeTarget)) {
+              || !tempDataBindings.containsKey(currentEdgeTarget)
+              || index.getIncomingEdges(currentEdgeTarget, currentEdgeType).size() > 1) {
             throw new ModelParseException("Wrong View Component to DataBinding edge!");
           }
           this.viewComponents.get(currentEdgeSource)
               .addDataBinding(tempDataBindings.get(currentEdgeTarget));
-          tempDataBindings.remove(currentEdgeTarget);
           break;
         case "Widget to Function":
           if (!this.widgetModelId.equals(currentEdgeSource)
@@ -430,16 +388,25 @@ public class FrontendComponent {
     }
     // only one widget allowed (checked previously), no multiple edges between two objects in
     // SyncMeta -> element count must be zero now if all elements are connected to the widget
-    // also, all temp lists should be empty by now
+    // also, all nodes of the temp lists should be connected to their "parent objects" by now
+    int unconnectedEvents = 0;
+    for (String eventId : tempEvents.keySet()) {
+      if (getParentCount(index, eventId) == 0) {
+        unconnectedEvents++;
+      }
+    }
     if (htmlElementCount != 0 || viewComponentCount != 0 || functionCount > 0
-        || paramBindingCount > 0 || !tempEvents.isEmpty()
-        || !tempParameters.isEmpty() || !tempIwcResponses.isEmpty() || !tempIwcCalls.isEmpty()
-        || !tempMicroserviceCalls.isEmpty() || !tempDataBindings.isEmpty()) {
+        || paramBindingCount > 0 || unconnectedEvents > 0
+        || !allConnected(index, tempParameters.keySet(), "Parameter Connection")
+        || !allConnected(index, tempIwcResponses.keySet(), "Waits for")
+        || !allConnected(index, tempIwcCalls.keySet(), "Initiates")
+        || !allConnected(index, tempMicroserviceCalls.keySet(), "Function To Microservice Call")
+        || !allConnected(index, tempDataBindings.keySet(), "View Component to DataBinding")) {
           String str = "";
           if(viewComponentCount != 0)  str += "viewComponentCount" + viewComponentCount;
           if(functionCount > 0)  str += "functionCount" + functionCount;
           if(paramBindingCount > 0)  str += "paramBindingCount" + functionCount;
-          if(!tempEvents.isEmpty())  str += "tempEvents" + tempEvents.size();
+          if(unconnectedEvents > 0)  str += "tempEvents" + unconnectedEvents;
       throw new ModelParseException("Model not fully connected!" + str);
     }
     // check functions (now complete with all IWC events, microservice calls and input parameters)
@@ -449,6 +416,39 @@ public class FrontendComponent {
     }
   }
 
+  /**
+   * Counts the view components and html elements an event is connected to.
+   *
+   * @param index the index of the model
+   * @param eventId the id of the node of the event
+   *
+   * @return the number of edges from view components and html elements to the event
+   */
+  private static int getParentCount(SimpleModelIndex index, String eventId) {
+    return index.getIncomingEdges(eventId, "View Component to Event").size()
+        + index.getIncomingEdges(eventId, "HTML Element to Event").size();
+  }
+
+  /**
+   * Checks if all nodes are the target of an edge of a type. The edges of the types used by the
+   * frontend component are only accepted from the expected source nodes.
+   *
+   * @param index the index of the model
+   * @param nodeIds the ids of the nodes
+   * @param edgeType the type of the edge
+   *
+   * @return true, if all nodes are connected
+   */
+  private static boolean allConnected(SimpleModelIndex index, Set<String> nodeIds,
+      String edgeType) {
+    for (String nodeId : nodeIds) {
+      if (index.getIncomingEdges(nodeId, edgeType).isEmpty()) {
+        return false;
+      }
+    }
+    return true;
+  }
+
   public String getWidgetModelId() {
     return widgetModelId;
   }
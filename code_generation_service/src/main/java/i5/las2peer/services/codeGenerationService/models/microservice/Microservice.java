@@ -6,6 +6,7 @@ import i5.cae.simpleModel.edge.SimpleEdge;
 import i5.cae.simpleModel.node.SimpleNode;
 import i5.las2peer.apiTestModel.TestModel;
 import i5.las2peer.services.codeGenerationService.exception.ModelParseException;
+import i5.las2peer.services.codeGenerationService.models.SimpleModelIndex;
 
 import java.util.*;
 
@@ -52,6 +53,7 @@ public class Microservice {
     this.mobSOSLogs = new HashMap<String, MobSOSLog>();
 
     // used for checking node to edge dependencies for correctness
+    SimpleModelIndex index = new SimpleModelIndex(model);
     Map<String, Table> tempTables = new HashMap<String, Table>();
     Map<String, Column> tempColumns = new HashMap<String, Column>();
     Map<String, HttpPayload> tempHttpPayloads = new HashMap<String, HttpPayload>();
@@ -163,22 +165,7 @@ public class Microservice {
       this.testModel = testModel;
     }
 
-    // now to the edges
-
-    // used to determine if the model is connected (assumed that SyncMeta does not allow multiple
-    // edges between the same objects)
-    int httpMethodToResourceEdges = 0;
-    int tableToDatabaseEdges = 0;
-    boolean databaseToResourceEdge = false;
-
-    // we assume in the beginning, that all nodes lack required edges
-    // as we process every edge we remove nodes that fulfill the requirements
-    // all sets below should be empty after we processed all edges
-    Set<String> internalCallParametersWithoutInternalCall = new HashSet<>(tempInternalCallParameters.keySet());
-    Set<String> columnsWithoutTable = new HashSet<>(tempColumns.keySet());
-    Set<String> httpPayloadsWithoutMethod = new HashSet<>(tempHttpPayloads.keySet());
-    Set<String> httpResponsesWithoutMethod = new HashSet<>(tempHttpResponses.keySet());
-    Set<String> internalCallsWithoutMethod = new HashSet<>(tempInternalCalls.keySet());
+    // now to the edges, the objects are connected after all edges were checked
 
     ArrayList<SimpleEdge> edges = model.getEdges();
     
@@ -189,156 +176,152 @@ public class Microservice {
 
       switch (currentEdgeType) {
         case "Parameter to Internal Service Call":
-          if (tempInternalCalls.containsKey(currentEdgeSource)
-              && tempInternalCallParameters.containsKey(currentEdgeTarget)) {
-            // Add parameter to internal call
+          // a parameter edge from any other source than an internal call does not connect the
+          // parameter
+          if (!tempInternalCallParameters.containsKey(currentEdgeTarget)) {
+            throw new ModelParseException("Wrong Parameter to Internal Service Call edge!");
+          }
+          if (tempInternalCalls.containsKey(currentEdgeSource)) {
             tempInternalCalls.get(currentEdgeSource)
                 .addInternalCallParam(tempInternalCallParameters.get(currentEdgeTarget));
-            internalCallParametersWithoutInternalCall.remove(currentEdgeTarget);
-            // check if the internal call parameter is (at least) in temp list and internal call
-            // itself was already added to http method
-          } else if (tempInternalCallParameters.containsKey(currentEdgeTarget)) {
-            for (HttpMethod method : this.httpMethods.values()) {
-              for (InternalCall call : method.getInternalCalls()) {
-                if (call.getModelId().equals(currentEdgeSource)) {
-                  call.addInternalCallParam(tempInternalCallParameters.get(currentEdgeTarget));
-                  internalCallParametersWithoutInternalCall.remove(currentEdgeTarget);
-                  break;
-                }
-              }
-            }
-          } else {
-            throw new ModelParseException("Wrong Parameter to Internal Service Call edge!");
           }
           break;
         case "Internal Call":
-          if (this.httpMethods.containsKey(currentEdgeSource)
-              && tempInternalCalls.containsKey(currentEdgeTarget)) {
-            this.httpMethods.get(currentEdgeSource)
-                .addInternalCall(tempInternalCalls.get(currentEdgeTarget));
-            internalCallsWithoutMethod.remove(currentEdgeTarget);
-          }
+          // an edge between any other nodes than an http method and an internal call does not
+          // connect anything
           break;
         case "RESTful Resource to HTTP Method":
           if (!this.microserviceModelId.equals(currentEdgeSource)
               || !this.httpMethods.containsKey(currentEdgeTarget)) {
             throw new ModelParseException("Wrong RESTful Resource to HTTP Method edge!");
-          } else {
-            httpMethodToResourceEdges++;
           }
           break;
         case "RESTful Resource to Database":
           if (!this.microserviceModelId.equals(currentEdgeSource)
               || !this.database.getModelId().equals(currentEdgeTarget)) {
             throw new ModelParseException("Wrong RESTful Resource to Database edge!");
-          } else {
-            databaseToResourceEdge = true;
           }
           break;
         case "Database to Table":
           if (!this.database.getModelId().equals(currentEdgeSource)
               || !tempTables.containsKey(currentEdgeTarget)) {
             throw new ModelParseException("Wrong Database to Table edge!");
-          } else {
-            tableToDatabaseEdges++;
           }
           break;
-        // add column to table and remove from tempColumns if edge was validated successfully
         case "Table to Column":
-          Table currentTable = tempTables.get(currentEdgeSource);
-          Column currentColumn = tempColumns.get(currentEdgeTarget);
-          if (currentTable == null || currentColumn == null) {
+          if (!tempTables.containsKey(currentEdgeSource)
+              || !tempColumns.containsKey(currentEdgeTarget)) {
             throw new ModelParseException("Wrong Table to Column edge!");
           }
-          currentTable.addColumn(currentColumn);
-          columnsWithoutTable.remove(currentEdgeTarget);
           break;
-        // add payload to http method and remove from temp payloads if edge was validated
-        // successfully
         case "HTTP Method to HTTP Payload":
-          HttpMethod currentHttpMethod = this.httpMethods.get(currentEdgeSource);
-          HttpPayload currentHttpPayload = tempHttpPayloads.get(currentEdgeTarget);
-          String httpPayloadId = currentEdgeTarget;
-          if (currentHttpMethod == null || currentHttpPayload == null) {
+          if (!this.httpMethods.containsKey(currentEdgeSource)
+              || !tempHttpPayloads.containsKey(currentEdgeTarget)) {
             throw new ModelParseException("Wrong HTTP Method to HTTP Payload Edge!");
           }
-          currentHttpMethod.addHttpPayload(currentHttpPayload);
-          currentHttpMethod.addNodeIdPayload(httpPayloadId, currentHttpPayload);
-          httpPayloadsWithoutMethod.remove(currentEdgeTarget);
           break;
-        // add response to http method and remove from temp responses if edge was validated
-        // successfully
         case "HTTP Method to HTTP Response":
-        
-        	if(httpResponsesWithoutMethod.isEmpty()) {
-        		throw new ModelParseException("There are no HTTP Responses left, an edge might be duplicated! From: " +
-        				this.httpMethods.get(currentEdgeSource).getName());
-        	}
-        	
-          currentHttpMethod = this.httpMethods.get(currentEdgeSource);
-          HttpResponse currentHttpResponse = tempHttpResponses.get(currentEdgeTarget);
-          String httpResponseId = currentEdgeTarget;
-          
-          if (currentHttpMethod == null || currentHttpResponse == null) {
+          if (!this.httpMethods.containsKey(currentEdgeSource)
+              || !tempHttpResponses.containsKey(currentEdgeTarget)) {
             throw new ModelParseException("Wrong HTTP Method to HTTP Response Edge!");
           }
-
-          currentHttpMethod.addHttpResponse(currentHttpResponse);
-          currentHttpMethod.addNodeIdResponse(httpResponseId, currentHttpResponse);
-          httpResponsesWithoutMethod.remove(currentEdgeTarget);
+          if (index.getIncomingEdges(currentEdgeTarget, currentEdgeType).size() > 1) {
+            throw new ModelParseException("HTTP Response is connected to more than one "
+                + "HTTP Method, an edge might be duplicated! From: "
+                + this.httpMethods.get(currentEdgeSource).getName());
+          }
           break;
         case "HTTP Response to MobSOS Log":
-          currentHttpResponse = tempHttpResponses.get(currentEdgeSource);
-          MobSOSLog currentMobSOSLog = this.mobSOSLogs.get(currentEdgeTarget);
-          currentHttpResponse.setMobSOSLog(currentMobSOSLog);
+          HttpResponse currentHttpResponse = tempHttpResponses.get(currentEdgeSource);
+          if (currentHttpResponse == null) {
+            throw new ModelParseException("Wrong HTTP Response to MobSOS Log edge!");
+          }
+          currentHttpResponse.setMobSOSLog(this.mobSOSLogs.get(currentEdgeTarget));
           break;
         case "HTTP Method to MobSOS Log":
-          currentHttpMethod = this.httpMethods.get(currentEdgeSource);
-          currentMobSOSLog = this.mobSOSLogs.get(currentEdgeTarget);
-          currentHttpMethod.setMobSOSLog(currentMobSOSLog);
+          HttpMethod currentHttpMethod = this.httpMethods.get(currentEdgeSource);
+          if (currentHttpMethod == null) {
+            throw new ModelParseException("Wrong HTTP Method to MobSOS Log edge!");
+          }
+          currentHttpMethod.setMobSOSLog(this.mobSOSLogs.get(currentEdgeTarget));
           break;
         case "HTTP Payload to MobSOS Log":
-          currentHttpPayload = tempHttpPayloads.get(currentEdgeSource);
-          currentMobSOSLog = this.mobSOSLogs.get(currentEdgeTarget);
-          currentHttpPayload.setMobSOSLog(currentMobSOSLog);
+          HttpPayload currentHttpPayload = tempHttpPayloads.get(currentEdgeSource);
+          if (currentHttpPayload == null) {
+            throw new ModelParseException("Wrong HTTP Payload to MobSOS Log edge!");
+          }
+          currentHttpPayload.setMobSOSLog(this.mobSOSLogs.get(currentEdgeTarget));
           break;
         default:
           throw new ModelParseException("Unknown microservice edge type: " + currentEdgeType);
       }
     }
 
-    // check for correct edge counts
-    if (!(httpMethodToResourceEdges == this.httpMethods.size())) {
-      throw new ModelParseException("Not enough http method to resource edges with http methods size. Model is not fully connected!");
+    // check if all nodes are connected (assumed that SyncMeta does not allow multiple edges
+    // between the same objects), all edges of the types checked below were validated above
+    for (String httpMethodId : this.httpMethods.keySet()) {
+      if (index.getIncomingEdges(httpMethodId, "RESTful Resource to HTTP Method").isEmpty()) {
+        throw new ModelParseException("Not enough http method to resource edges with http methods size. Model is not fully connected!");
+      }
     }
-    // check for correct edge counts
-    if (!(tableToDatabaseEdges == tempTables.size())) {
-      throw new ModelParseException("Not enough table to database edges. Model is not fully connected!");
+    for (String tableId : tempTables.keySet()) {
+      if (index.getIncomingEdges(tableId, "Database to Table").isEmpty()) {
+        throw new ModelParseException("Not enough table to database edges. Model is not fully connected!");
+      }
     }
     // check database edges
-    if ((!databaseToResourceEdge && this.database != null)) {
+    if (this.database != null && index
+        .getIncomingEdges(this.database.getModelId(), "RESTful Resource to Database").isEmpty()) {
       throw new ModelParseException("No database to resource edge and database is not null. Model is not fully connected!");
     }
     // check if all columns were correctly connected to a table
-    if (!columnsWithoutTable.isEmpty()) {
+    if (!allConnected(index, "Column", "Table to Column", "Table")) {
       throw new ModelParseException("All columns must be connected to a table!");
     }
     // check if all payloads were correctly connected to an http method
-    if (!httpPayloadsWithoutMethod.isEmpty()) {
+    if (!allConnected(index, "HTTP Payload", "HTTP Method to HTTP Payload", "HTTP Method")) {
       throw new ModelParseException("All http payloads must be connected to an http method!");
     }
     // check, if all responses were correctly connected to an http method
-    if (!httpResponsesWithoutMethod.isEmpty()) {
+    if (!allConnected(index, "HTTP Response", "HTTP Method to HTTP Response", "HTTP Method")) {
       throw new ModelParseException("All http responses must be connected to an http method!");
     }
     // check, if all internal call parameters were correctly connected to an internal call
-    if (!internalCallParametersWithoutInternalCall.isEmpty()) {
+    if (!allConnected(index, "Service Call Parameter", "Parameter to Internal Service Call",
+        "Internal Service Call")) {
       throw new ModelParseException("All call parameters must be connected to an internal call!");
     }
     // check, if all internal calls were correctly connected to an http method
-    if (!internalCallsWithoutMethod.isEmpty()) {
+    if (!allConnected(index, "Internal Service Call", "Internal Call", "HTTP Method")) {
       throw new ModelParseException("All internal calls must be connected to an http method!");
     }
+
+    // now add the nodes connected to the http methods and tables, in the order of their edges
+    for (Map.Entry<String, HttpMethod> httpMethod : httpMethods.entrySet()) {
+      String httpMethodId = httpMethod.getKey();
+      HttpMethod currentHttpMethod = httpMethod.getValue();
+      for (SimpleEdge edge : index.getOutgoingEdges(httpMethodId, "Internal Call")) {
+        InternalCall internalCall = tempInternalCalls.get(edge.getTargetNode());
+        if (internalCall != null) {
+          currentHttpMethod.addInternalCall(internalCall);
+        }
+      }
+      for (SimpleEdge edge : index.getOutgoingEdges(httpMethodId, "HTTP Method to HTTP Payload")) {
+        HttpPayload httpPayload = tempHttpPayloads.get(edge.getTargetNode());
+        currentHttpMethod.addHttpPayload(httpPayload);
+        currentHttpMethod.addNodeIdPayload(edge.getTargetNode(), httpPayload);
+      }
+      for (SimpleEdge edge : index.getOutgoingEdges(httpMethodId, "HTTP Method to HTTP Response")) {
+        HttpResponse httpResponse = tempHttpResponses.get(edge.getTargetNode());
+        currentHttpMethod.addHttpResponse(httpResponse);
+        currentHttpMethod.addNodeIdResponse(edge.getTargetNode(), httpResponse);
+      }
+    }
+    for (Map.Entry<String, Table> tempTable : tempTables.entrySet()) {
+      for (SimpleEdge edge : index.getOutgoingEdges(tempTable.getKey(), "Table to Column")) {
+        tempTable.getValue().addColumn(tempColumns.get(edge.getTargetNode()));
+      }
+    }
     // give the http methods the signal that they can check their payloads and responses
     for (Map.Entry<String, HttpMethod> httpMethod : httpMethods.entrySet()) {
       httpMethod.getValue().checkPayloadAndResponses();
@@ -353,7 +336,26 @@ public class Microservice {
     }
   }
 
-  
+  /**
+   * Checks if all nodes of a type are the target of an edge from a node of another type.
+   * 
+   * @param index the index of the model
+   * @param type the type of the nodes
+   * @param edgeType the type of the edge
+   * @param sourceType the type of the source of the edge
+   * 
+   * @return true, if all nodes are connected
+   */
+  private static boolean allConnected(SimpleModelIndex index, String type, String edgeType,
+      String sourceType) {
+    for (SimpleNode node : index.getNodes(type)) {
+      if (!index.hasIncomingEdge(node.getId(), edgeType, sourceType)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
   public TestModel getTestModel() {
 	  return this.testModel;
   }
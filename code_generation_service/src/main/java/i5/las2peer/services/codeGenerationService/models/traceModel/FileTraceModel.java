@@ -1,5 +1,7 @@
 package i5.las2peer.services.codeGenerationService.models.traceModel;
 
+import java.io.IOException;
+import java.io.Writer;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
@@ -9,8 +11,12 @@ import java.util.Map;
 import org.json.simple.JSONArray;
 import org.json.simple.JSONObject;
 
+import com.google.gson.stream.JsonWriter;
+
+import i5.las2peer.services.codeGenerationService.events.TraceSerializationEvent;
 import i5.las2peer.services.codeGenerationService.traces.segments.CompositeSegment;
 import i5.las2peer.services.codeGenerationService.traces.segments.Segment;
+import i5.las2peer.services.codeGenerationService.traces.segments.SegmentIds;
 
 /**
  * The trace model for a single file that contains the sequence of all segments of that file. In
@@ -38,8 +44,10 @@ public class FileTraceModel {
   }
 
   public Segment getRecursiveSegment(String segmentId) {
+    segmentId = SegmentIds.intern(segmentId);
     for (Segment segment : this.segmentList) {
-      if (segment.getId().equals(segmentId)) {
+      // ids of segments are canonical, so comparing the references is sufficient
+      if (segment.getId() == segmentId) {
         return segment;
       } else if (segment instanceof CompositeSegment) {
         CompositeSegment cS = ((CompositeSegment) segment);
@@ -101,6 +109,21 @@ public class FileTraceModel {
 
   }
 
+  /**
+   * Get the id of the first segment linked to a model element
+   * 
+   * @param modelId The id of the model element
+   * @return The id of the first segment or null if the model element has no segment in this file
+   */
+
+  public String getFirstSegmentId(String modelId) {
+    List<Segment> segmentList = this.model2Segment.get(modelId);
+    if (segmentList == null || segmentList.isEmpty()) {
+      return null;
+    }
+    return segmentList.get(0).getId();
+  }
+
   /**
    * Get the file name to which the file trace model belongs
    * 
@@ -128,6 +151,7 @@ public class FileTraceModel {
 
   @SuppressWarnings("unchecked")
   public JSONObject toJSONObject() {
+    TraceSerializationEvent event = new TraceSerializationEvent(this.fileName);
     JSONObject outerObject = new JSONObject();
     JSONArray segments = new JSONArray();
     JSONObject traces = new JSONObject();
@@ -159,9 +183,89 @@ public class FileTraceModel {
     outerObject.put("traces", traces);
     outerObject.put("traceSegments", segments);
 
+    event.segmentCount = segments.size();
+    event.modelCount = traces.size();
+    event.commit();
     return outerObject;
   }
 
+  /**
+   * Write the traces of the file as json to a stream, without creating the json objects of
+   * {@link #toJSONObject()} first
+   * 
+   * @param out The stream the json is written to, it is not closed
+   * @throws IOException Thrown if writing to the stream fails
+   */
+
+  public void writeJSON(Writer out) throws IOException {
+    TraceSerializationEvent event = new TraceSerializationEvent(this.fileName);
+    JsonWriter writer = new JsonWriter(out);
+
+    writer.beginObject();
+    writer.name("traces").beginObject();
+    for (String modelId : this.model2Segment.keySet()) {
+      writer.name(modelId).beginObject();
+      JSONObject metaInformation = this.modelMetaInformation.get(modelId);
+      if (metaInformation != null) {
+        for (Object key : metaInformation.keySet()) {
+          // toJSONObject stores the segments in the meta information
+          if (!"segments".equals(key)) {
+            writer.name(String.valueOf(key));
+            writeJSONValue(writer, metaInformation.get(key));
+          }
+        }
+      }
+      writer.name("segments").beginArray();
+      for (Segment segment : this.model2Segment.get(modelId)) {
+        if (segment != null) {
+          writer.value(segment.getId());
+        }
+      }
+      writer.endArray();
+      writer.endObject();
+    }
+    writer.endObject();
+
+    writer.name("traceSegments").beginArray();
+    for (Segment segment : this.segmentList) {
+      segment.writeJSON(writer);
+    }
+    writer.endArray();
+    writer.endObject();
+    writer.flush();
+
+    event.segmentCount = this.segmentList.size();
+    event.modelCount = this.model2Segment.size();
+    event.commit();
+  }
+
+  private static void writeJSONValue(JsonWriter writer, Object value) throws IOException {
+    if (value == null) {
+      writer.nullValue();
+    } else if (value instanceof String) {
+      writer.value((String) value);
+    } else if (value instanceof Boolean) {
+      writer.value((Boolean) value);
+    } else if (value instanceof Number) {
+      writer.value((Number) value);
+    } else if (value instanceof Map) {
+      writer.beginObject();
+      for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+        writer.name(String.valueOf(entry.getKey()));
+        writeJSONValue(writer, entry.getValue());
+      }
+      writer.endObject();
+    } else if (value instanceof Collection) {
+      writer.beginArray();
+      for (Object entry : (Collection<?>) value) {
+        writeJSONValue(writer, entry);
+      }
+      writer.endArray();
+    } else {
+      writer.value(value.toString());
+    }
+  }
+
   /**
    * Set the name of the file
    * 
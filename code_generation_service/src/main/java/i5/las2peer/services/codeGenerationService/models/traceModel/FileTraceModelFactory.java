@@ -1,7 +1,16 @@
 package i5.las2peer.services.codeGenerationService.models.traceModel;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+
 import org.json.simple.JSONArray;
 import org.json.simple.JSONObject;
+import org.json.simple.parser.ParseException;
+
+import com.google.gson.stream.JsonReader;
 
 import i5.las2peer.services.codeGenerationService.traces.segments.SegmentFactory;
 
@@ -36,4 +45,65 @@ public class FileTraceModelFactory {
     return fileTraceModel;
   }
 
+  /**
+   * Create a {@link i5.las2peer.services.codeGenerationService.models.traceModel.FileTraceModel}
+   * for a file based on its source code and the content of its trace file, which may be json or
+   * binary, see {@link TraceFileFormat}
+   * 
+   * @param source The source code of the file
+   * @param traceFile The content of the trace file of the file
+   * @param traceModel A global trace model
+   * @param fileName The file name
+   * @return The created file trace model for the file
+   * @throws ParseException if the trace file could not be parsed
+   */
+
+  public static FileTraceModel createFileTraceModel(String source, byte[] traceFile,
+      TraceModel traceModel, String fileName) throws ParseException {
+    if (TraceFileFormat.isBinary(traceFile)) {
+      return createFileTraceModelFromJSON(source, TraceFileFormat.decode(traceFile), traceModel,
+          fileName);
+    }
+    try {
+      return createFileTraceModel(source,
+          new InputStreamReader(new ByteArrayInputStream(traceFile), StandardCharsets.UTF_8),
+          traceModel, fileName);
+    } catch (IOException | RuntimeException e) {
+      throw new ParseException(ParseException.ERROR_UNEXPECTED_EXCEPTION, e);
+    }
+  }
+
+  /**
+   * Create a {@link i5.las2peer.services.codeGenerationService.models.traceModel.FileTraceModel}
+   * for a file based on its source code and its json trace file. The segments are created while
+   * reading the json, without parsing it into json objects first
+   * 
+   * @param source The source code of the file
+   * @param traces A reader of the json trace file of the file
+   * @param traceModel A global trace model
+   * @param fileName The file name
+   * @return The created file trace model for the file
+   * @throws IOException Thrown if the json is malformed or could not be read
+   */
+
+  public static FileTraceModel createFileTraceModel(String source, Reader traces,
+      TraceModel traceModel, String fileName) throws IOException {
+
+    FileTraceModel fileTraceModel = new FileTraceModel(traceModel, fileName);
+
+    JsonReader reader = new JsonReader(traces);
+    reader.beginObject();
+    while (reader.hasNext()) {
+      if (reader.nextName().equals("traceSegments")) {
+        fileTraceModel.addSegments(SegmentFactory.createSegments(reader, source, 0L));
+      } else {
+        // the traces of the model elements are not needed to synchronize the file
+        reader.skipValue();
+      }
+    }
+    reader.endObject();
+
+    return fileTraceModel;
+  }
+
 }
@@ -0,0 +1,546 @@
+package i5.las2peer.services.codeGenerationService.models.traceModel;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+import org.json.simple.parser.JSONParser;
+import org.json.simple.parser.ParseException;
+
+import i5.las2peer.services.codeGenerationService.traces.segments.AppendableVariableSegment;
+import i5.las2peer.services.codeGenerationService.traces.segments.CompositeSegment;
+import i5.las2peer.services.codeGenerationService.traces.segments.ProtectedSegment;
+import i5.las2peer.services.codeGenerationService.traces.segments.UnprotectedSegment;
+
+/**
+ * The formats of the ".traces" files containing the trace information of a file. Besides json, the
+ * traces can be stored in a compact binary format: all strings, e.g. keys and segment ids, are
+ * stored once in a table and referenced by their index, numbers and lengths are stored as varints,
+ * segments are stored as a type tag followed by their properties and hashes are stored as bytes.
+ * Readers detect the format of a file by its header, thus repositories may contain both formats.
+ *
+ * The binary format starts with the magic bytes "CAET" and the version, followed by the string
+ * table and the root value. The string table contains the count of strings, then for each string
+ * the length of the prefix it shares with the previous string and the rest as utf-8 bytes.
+ *
+ */
+
+public class TraceFileFormat {
+
+  public static final String JSON = "json";
+  public static final String BINARY = "binary";
+
+  public static final int VERSION = 1;
+  private static final byte[] MAGIC = {'C', 'A', 'E', 'T'};
+
+  // type tags of the values
+  private static final int TAG_NULL = 0;
+  private static final int TAG_FALSE = 1;
+  private static final int TAG_TRUE = 2;
+  private static final int TAG_LONG = 3;
+  private static final int TAG_DOUBLE = 4;
+  private static final int TAG_STRING = 5;
+  private static final int TAG_ARRAY = 6;
+  private static final int TAG_OBJECT = 7;
+  // type tags of the segments, see the toJSONObject methods of the segments
+  private static final int TAG_COMPOSITE = 8;
+  private static final int TAG_APPENDABLE = 9;
+  private static final int TAG_PROTECTED = 10;
+  private static final int TAG_UNPROTECTED = 11;
+  private static final int TAG_UNPROTECTED_HASH = 12;
+
+  private static volatile String writeFormat = JSON;
+
+  /**
+   * Sets the format of newly written trace files.
+   *
+   * @param format {@link #JSON} or {@link #BINARY}
+   */
+
+  public static void setWriteFormat(String format) {
+    if (!JSON.equals(format) && !BINARY.equals(format)) {
+      throw new IllegalArgumentException("Unknown trace file format " + format);
+    }
+    writeFormat = format;
+  }
+
+  public static String getWriteFormat() {
+    return writeFormat;
+  }
+
+  /**
+   * Serializes the traces of a file in the format set by {@link #setWriteFormat(String)}.
+   *
+   * @param fileTraces The traces of a file, see {@link FileTraceModel#toJSONObject()}
+   * @return The content of the trace file
+   */
+
+  public static byte[] serialize(JSONObject fileTraces) {
+    return convert(fileTraces, writeFormat);
+  }
+
+  /**
+   * Serializes the traces of a file in the format set by {@link #setWriteFormat(String)}. Json is
+   * written directly from the segments, see {@link FileTraceModel#writeJSON(Writer)}.
+   *
+   * @param fileTraceModel The trace model of a file
+   * @return The content of the trace file
+   */
+
+  public static byte[] serialize(FileTraceModel fileTraceModel) {
+    if (BINARY.equals(writeFormat)) {
+      return encode(fileTraceModel.toJSONObject());
+    }
+    ByteArrayOutputStream out = new ByteArrayOutputStream(8192);
+    try (Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8)) {
+      fileTraceModel.writeJSON(writer);
+    } catch (IOException e) {
+      // not thrown by a byte array stream
+      throw new UncheckedIOException(e);
+    }
+    return out.toByteArray();
+  }
+
+  /**
+   * Parses a trace file of any format.
+   *
+   * @param content The content of the trace file
+   * @return The traces of the file
+   * @throws ParseException if the content is neither valid json nor a valid binary trace file
+   */
+
+  public static JSONObject parse(byte[] content) throws ParseException {
+    if (isBinary(content)) {
+      return decode(content);
+    }
+    return (JSONObject) new JSONParser().parse(new String(content, StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Checks if the content of a trace file is in the binary format.
+   *
+   * @param content The content of the trace file
+   * @return True, if the content starts with the header of the binary format
+   */
+
+  public static boolean isBinary(byte[] content) {
+    if (content.length < MAGIC.length + 1) {
+      return false;
+    }
+    for (int i = 0; i < MAGIC.length; i++) {
+      if (content[i] != MAGIC[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Converts a trace file into another format.
+   *
+   * @param content The content of the trace file in any format
+   * @param format The target format, {@link #JSON} or {@link #BINARY}
+   * @return The content of the trace file in the target format
+   * @throws ParseException if the content is not a valid trace file
+   */
+
+  public static byte[] convert(byte[] content, String format) throws ParseException {
+    return convert(parse(content), format);
+  }
+
+  private static byte[] convert(JSONObject fileTraces, String format) {
+    if (BINARY.equals(format)) {
+      return encode(fileTraces);
+    }
+    return fileTraces.toJSONString().getBytes(StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Encodes traces in the binary format.
+   *
+   * @param fileTraces The traces of a file
+   * @return The binary trace file
+   */
+
+  public static byte[] encode(JSONObject fileTraces) {
+    Encoder encoder = new Encoder();
+    encoder.writeValue(fileTraces);
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream(encoder.body.size() + 1024);
+    out.write(MAGIC, 0, MAGIC.length);
+    out.write(VERSION);
+    writeVarint(out, encoder.strings.size());
+    String previous = "";
+    for (String string : encoder.strings) {
+      // segment ids of a template share long prefixes, thus only the suffix is stored
+      int prefix = 0;
+      int max = Math.min(previous.length(), string.length());
+      while (prefix < max && previous.charAt(prefix) == string.charAt(prefix)) {
+        prefix++;
+      }
+      if (prefix > 0 && Character.isHighSurrogate(string.charAt(prefix - 1))) {
+        prefix--;
+      }
+      byte[] bytes = string.substring(prefix).getBytes(StandardCharsets.UTF_8);
+      writeVarint(out, prefix);
+      writeVarint(out, bytes.length);
+      out.write(bytes, 0, bytes.length);
+      previous = string;
+    }
+    byte[] body = encoder.body.toByteArray();
+    out.write(body, 0, body.length);
+    return out.toByteArray();
+  }
+
+  /**
+   * Decodes a binary trace file.
+   *
+   * @param content The binary trace file
+   * @return The traces of the file
+   * @throws ParseException if the content is not a valid binary trace file
+   */
+
+  public static JSONObject decode(byte[] content) throws ParseException {
+    Decoder decoder = new Decoder(content);
+    try {
+      decoder.position = MAGIC.length;
+      int version = decoder.readByte();
+      if (version != VERSION) {
+        throw new ParseException(decoder.position, ParseException.ERROR_UNEXPECTED_TOKEN,
+            "trace file version " + version);
+      }
+      int count = decoder.readVarint();
+      decoder.strings = new String[count];
+      String previous = "";
+      for (int i = 0; i < count; i++) {
+        int prefix = decoder.readVarint();
+        int length = decoder.readVarint();
+        decoder.strings[i] = previous.substring(0, prefix)
+            + new String(content, decoder.position, length, StandardCharsets.UTF_8);
+        decoder.position += length;
+        previous = decoder.strings[i];
+      }
+      return (JSONObject) decoder.readValue();
+    } catch (RuntimeException e) {
+      // truncated or corrupted content
+      throw new ParseException(decoder.position, ParseException.ERROR_UNEXPECTED_EXCEPTION, e);
+    }
+  }
+
+  private static void writeVarint(ByteArrayOutputStream out, long value) {
+    while ((value & ~0x7FL) != 0) {
+      out.write((int) ((value & 0x7F) | 0x80));
+      value >>>= 7;
+    }
+    out.write((int) value);
+  }
+
+  private static class Encoder {
+    private final List<String> strings = new ArrayList<String>();
+    private final Map<String, Integer> stringIndex = new HashMap<String, Integer>();
+    private final ByteArrayOutputStream body = new ByteArrayOutputStream(4096);
+
+    private void writeString(String string) {
+      Integer index = stringIndex.get(string);
+      if (index == null) {
+        index = strings.size();
+        strings.add(string);
+        stringIndex.put(string, index);
+      }
+      writeVarint(body, index);
+    }
+
+    private void writeValue(Object value) {
+      if (value == null) {
+        body.write(TAG_NULL);
+      } else if (value instanceof Boolean) {
+        body.write((Boolean) value ? TAG_TRUE : TAG_FALSE);
+      } else if (value instanceof Double || value instanceof Float) {
+        body.write(TAG_DOUBLE);
+        long bits = Double.doubleToLongBits(((Number) value).doubleValue());
+        for (int i = 56; i >= 0; i -= 8) {
+          body.write((int) (bits >>> i));
+        }
+      } else if (value instanceof Number) {
+        body.write(TAG_LONG);
+        long number = ((Number) value).longValue();
+        // zigzag, such that small negative numbers are short as well
+        writeVarint(body, (number << 1) ^ (number >> 63));
+      } else if (value instanceof String) {
+        body.write(TAG_STRING);
+        writeString((String) value);
+      } else if (value instanceof List) {
+        List<?> list = (List<?>) value;
+        body.write(TAG_ARRAY);
+        writeVarint(body, list.size());
+        for (Object entry : list) {
+          writeValue(entry);
+        }
+      } else if (value instanceof Map) {
+        if (!writeSegment((Map<?, ?>) value)) {
+          Map<?, ?> map = (Map<?, ?>) value;
+          body.write(TAG_OBJECT);
+          writeVarint(body, map.size());
+          for (Map.Entry<?, ?> entry : map.entrySet()) {
+            writeString(String.valueOf(entry.getKey()));
+            writeValue(entry.getValue());
+          }
+        }
+      } else {
+        // same as the json serialization
+        body.write(TAG_STRING);
+        writeString(value.toString());
+      }
+    }
+
+    /**
+     * Writes a segment with a type tag, if the object has exactly the properties of a segment.
+     *
+     * @param map The json object
+     * @return False, if the object is not a segment and has to be written as object
+     */
+
+    private boolean writeSegment(Map<?, ?> map) {
+      Object type = map.get("type");
+      Object id = map.get("id");
+      if (!(type instanceof String) || !(id instanceof String)) {
+        return false;
+      }
+      Set<?> keys = map.keySet();
+      switch ((String) type) {
+        case CompositeSegment.TYPE:
+        case AppendableVariableSegment.TYPE:
+          if (keys.size() != 3 || !(map.get("traceSegments") instanceof List)) {
+            return false;
+          }
+          body.write(type.equals(CompositeSegment.TYPE) ? TAG_COMPOSITE : TAG_APPENDABLE);
+          writeString((String) id);
+          List<?> children = (List<?>) map.get("traceSegments");
+          writeVarint(body, children.size());
+          for (Object child : children) {
+            writeValue(child);
+          }
+          return true;
+        case ProtectedSegment.TYPE:
+          if (keys.size() != 3 || !isLength(map.get("length"))) {
+            return false;
+          }
+          body.write(TAG_PROTECTED);
+          writeString((String) id);
+          writeVarint(body, ((Number) map.get("length")).longValue());
+          return true;
+        case UnprotectedSegment.TYPE:
+          if (!isLength(map.get("length"))) {
+            return false;
+          }
+          Object hash = map.get("hash");
+          if (keys.size() == 4 && Boolean.FALSE.equals(map.get("integrityCheck"))) {
+            body.write(TAG_UNPROTECTED);
+          } else if (keys.size() == 5 && Boolean.TRUE.equals(map.get("integrityCheck"))
+              && hash instanceof String && isHex((String) hash)) {
+            body.write(TAG_UNPROTECTED_HASH);
+          } else {
+            return false;
+          }
+          writeString((String) id);
+          writeVarint(body, ((Number) map.get("length")).longValue());
+          if (hash != null) {
+            writeHex((String) hash);
+          }
+          return true;
+        default:
+          return false;
+      }
+    }
+
+    private void writeHex(String hex) {
+      // the number of digits, as leading zeros are not always part of the hash
+      writeVarint(body, hex.length());
+      for (int i = 0; i < hex.length(); i += 2) {
+        int high = Character.digit(hex.charAt(i), 16);
+        int low = i + 1 < hex.length() ? Character.digit(hex.charAt(i + 1), 16) : 0;
+        body.write((high << 4) | low);
+      }
+    }
+
+    private boolean isLength(Object length) {
+      return (length instanceof Long || length instanceof Integer)
+          && ((Number) length).longValue() >= 0;
+    }
+
+    private boolean isHex(String string) {
+      for (int i = 0; i < string.length(); i++) {
+        char c = string.charAt(i);
+        if ((c < '0' || c > '9') && (c < 'a' || c > 'f')) {
+          return false;
+        }
+      }
+      return true;
+    }
+  }
+
+  private static class Decoder {
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private final byte[] content;
+    private int position;
+    private String[] strings;
+
+    private Decoder(byte[] content) {
+      this.content = content;
+    }
+
+    private int readByte() {
+      return content[position++] & 0xFF;
+    }
+
+    private long readVarlong() {
+      long value = 0;
+      for (int shift = 0; shift < 64; shift += 7) {
+        int b = readByte();
+        value |= (long) (b & 0x7F) << shift;
+        if ((b & 0x80) == 0) {
+          return value;
+        }
+      }
+      throw new IllegalStateException("Malformed varint");
+    }
+
+    private int readVarint() {
+      return Math.toIntExact(readVarlong());
+    }
+
+    private String readString() {
+      return strings[readVarint()];
+    }
+
+    @SuppressWarnings("unchecked")
+    private Object readValue() {
+      int tag = readByte();
+      switch (tag) {
+        case TAG_NULL:
+          return null;
+        case TAG_FALSE:
+          return false;
+        case TAG_TRUE:
+          return true;
+        case TAG_LONG:
+          long zigzag = readVarlong();
+          return (zigzag >>> 1) ^ -(zigzag & 1);
+        case TAG_DOUBLE:
+          long bits = 0;
+          for (int i = 0; i < 8; i++) {
+            bits = (bits << 8) | readByte();
+          }
+          return Double.longBitsToDouble(bits);
+        case TAG_STRING:
+          return readString();
+        case TAG_ARRAY:
+          return readArray(readVarint());
+        case TAG_OBJECT:
+          int size = readVarint();
+          JSONObject object = new JSONObject();
+          for (int i = 0; i < size; i++) {
+            String key = readString();
+            object.put(key, readValue());
+          }
+          return object;
+        case TAG_COMPOSITE:
+        case TAG_APPENDABLE:
+          JSONObject composite = new JSONObject();
+          composite.put("type",
+              tag == TAG_COMPOSITE ? CompositeSegment.TYPE : AppendableVariableSegment.TYPE);
+          composite.put("id", readString());
+          composite.put("traceSegments", readArray(readVarint()));
+          return composite;
+        case TAG_PROTECTED:
+          JSONObject segment = new JSONObject();
+          segment.put("type", ProtectedSegment.TYPE);
+          segment.put("id", readString());
+          segment.put("length", readVarlong());
+          return segment;
+        case TAG_UNPROTECTED:
+        case TAG_UNPROTECTED_HASH:
+          JSONObject unprotected = new JSONObject();
+          unprotected.put("type", UnprotectedSegment.TYPE);
+          unprotected.put("id", readString());
+          unprotected.put("length", readVarlong());
+          unprotected.put("integrityCheck", tag == TAG_UNPROTECTED_HASH);
+          if (tag == TAG_UNPROTECTED_HASH) {
+            unprotected.put("hash", readHex());
+          }
+          return unprotected;
+        default:
+          throw new IllegalStateException("Unknown type tag " + tag);
+      }
+    }
+
+    @SuppressWarnings("unchecked")
+    private JSONArray readArray(int size) {
+      JSONArray array = new JSONArray();
+      for (int i = 0; i < size; i++) {
+        array.add(readValue());
+      }
+      return array;
+    }
+
+    private String readHex() {
+      int digits = readVarint();
+      char[] hex = new char[digits];
+      for (int i = 0; i < digits; i += 2) {
+        int b = readByte();
+        hex[i] = HEX_DIGITS[b >>> 4];
+        if (i + 1 < digits) {
+          hex[i + 1] = HEX_DIGITS[b & 0x0F];
+        }
+      }
+      return new String(hex);
+    }
+  }
+
+  /**
+   * Converts trace files in place, e.g. the traces folder of a checked out repository.
+   *
+   * @param args The target format followed by the trace files or folders containing trace files
+   * @throws Exception if a file could not be converted
+   */
+
+  public static void main(String[] args) throws Exception {
+    if (args.length < 2 || (!JSON.equals(args[0]) && !BINARY.equals(args[0]))) {
+      System.err.println("Usage: TraceFileFormat <json|binary> <trace file or folder>...");
+      System.exit(1);
+    }
+    for (int i = 1; i < args.length; i++) {
+      convertFile(new File(args[i]), args[0]);
+    }
+  }
+
+  private static void convertFile(File file, String format) throws IOException, ParseException {
+    if (file.isDirectory()) {
+      File[] files = file.listFiles();
+      if (files != null) {
+        for (File child : files) {
+          convertFile(child, format);
+        }
+      }
+    } else if (file.getName().endsWith(".traces")) {
+      byte[] content = Files.readAllBytes(file.toPath());
+      byte[] converted = convert(content, format);
+      Files.write(file.toPath(), converted);
+      System.out.println(file + ": " + content.length + " -> " + converted.length + " bytes");
+    }
+  }
+
+}
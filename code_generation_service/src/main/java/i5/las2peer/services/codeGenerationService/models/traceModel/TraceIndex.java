@@ -0,0 +1,194 @@
+package i5.las2peer.services.codeGenerationService.models.traceModel;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+import org.json.simple.parser.JSONParser;
+import org.json.simple.parser.ParseException;
+
+/**
+ * An index of the location of model elements in the traced files of a repository, i.e. the file
+ * and the id of the first segment of each model element. It is written to {@link #FILE_NAME} next
+ * to the global trace model, so that the location of a model element can be looked up without
+ * parsing the trace files. The index is stored as a json object mapping each model id to an array
+ * of its file name and segment id.
+ *
+ */
+
+public class TraceIndex {
+
+  public static final String FILE_NAME = "traces/index.json";
+
+  private final Map<String, String[]> locations;
+
+  private TraceIndex(Map<String, String[]> locations) {
+    this.locations = locations;
+  }
+
+  /**
+   * Creates the index of a global trace model
+   *
+   * @param traceModel The global trace model
+   * @return The index of the model elements of the trace model
+   */
+
+  public static TraceIndex create(TraceModel traceModel) {
+    Map<String, String[]> locations = new LinkedHashMap<String, String[]>();
+    Map<String, FileTraceModel> fileTraceModels = traceModel.getFilenameToFileTraceModelMap();
+    for (Map.Entry<String, List<String>> entry : traceModel.getModelIdToFilenamesMap()
+        .entrySet()) {
+      String fileName = entry.getValue().get(0);
+      FileTraceModel fileTraceModel = fileTraceModels.get(fileName);
+      if (fileTraceModel != null) {
+        String segmentId = fileTraceModel.getFirstSegmentId(entry.getKey());
+        if (segmentId != null) {
+          locations.put(entry.getKey(), new String[] {fileName, segmentId});
+        }
+      }
+    }
+    return new TraceIndex(locations);
+  }
+
+  /**
+   * Creates the index from the json of a global trace model and the json of the traces of its
+   * files, used for repositories that do not contain an index yet
+   *
+   * @param traceModel The json of the global trace model
+   * @param fileTraces The json of the trace files, by file name
+   * @return The index of the model elements of the trace model
+   */
+
+  public static TraceIndex create(JSONObject traceModel, Map<String, JSONObject> fileTraces) {
+    TraceIndex index = new TraceIndex(new LinkedHashMap<String, String[]>());
+    JSONObject modelsToFiles = (JSONObject) traceModel.get("modelsToFile");
+    if (modelsToFiles == null) {
+      return index;
+    }
+    for (Object modelId : modelsToFiles.keySet()) {
+      JSONArray fileList = (JSONArray) ((JSONObject) modelsToFiles.get(modelId)).get("files");
+      String fileName = (String) fileList.get(0);
+      index.putFirstSegment((String) modelId, fileName, fileTraces.get(fileName));
+    }
+    return index;
+  }
+
+  /**
+   * Parses an index written by {@link #toJSONString()}
+   *
+   * @param content The content of the index file
+   * @return The index
+   * @throws ParseException if the index is not valid
+   */
+
+  public static TraceIndex parse(byte[] content) throws ParseException {
+    JSONObject json =
+        (JSONObject) new JSONParser().parse(new String(content, StandardCharsets.UTF_8));
+    Map<String, String[]> locations = new LinkedHashMap<String, String[]>();
+    for (Object modelId : json.keySet()) {
+      JSONArray location = (JSONArray) json.get(modelId);
+      locations.put((String) modelId,
+          new String[] {(String) location.get(0), (String) location.get(1)});
+    }
+    return new TraceIndex(locations);
+  }
+
+  /**
+   * Updates the locations of the model elements of a file after its traces were changed, e.g. by
+   * the editor. The entries of the file are rebuilt from its new traces, so that model elements
+   * whose traces were removed are dropped and newly traced ones are added. Model elements located
+   * in another file keep that location.
+   *
+   * @param fileName The name of the file
+   * @param fileTraces The json of the new traces of the file
+   */
+
+  public void update(String fileName, JSONObject fileTraces) {
+    this.locations.values().removeIf(location -> location[0].equals(fileName));
+    JSONObject traces = fileTraces == null ? null : (JSONObject) fileTraces.get("traces");
+    if (traces == null) {
+      return;
+    }
+    for (Object modelId : traces.keySet()) {
+      if (!this.locations.containsKey(modelId)) {
+        this.putFirstSegment((String) modelId, fileName, fileTraces);
+      }
+    }
+  }
+
+  private void putFirstSegment(String modelId, String fileName, JSONObject fileTraces) {
+    if (fileTraces == null) {
+      return;
+    }
+    JSONObject traces = (JSONObject) fileTraces.get("traces");
+    JSONObject modelTraces = traces == null ? null : (JSONObject) traces.get(modelId);
+    if (modelTraces == null) {
+      return;
+    }
+    JSONArray segments = (JSONArray) modelTraces.get("segments");
+    if (segments != null && !segments.isEmpty()) {
+      this.locations.put(modelId, new String[] {fileName, (String) segments.get(0)});
+    }
+  }
+
+  /**
+   * Checks if the index contains the location of a model element
+   *
+   * @param modelId The id of the model element
+   * @return True, if the location is known
+   */
+
+  public boolean contains(String modelId) {
+    return this.locations.containsKey(modelId);
+  }
+
+  /**
+   * Get the file containing the first segment of a model element
+   *
+   * @param modelId The id of the model element
+   * @return The file name or null if the model element is unknown
+   */
+
+  public String getFileName(String modelId) {
+    String[] location = this.locations.get(modelId);
+    return location == null ? null : location[0];
+  }
+
+  /**
+   * Get the id of the first segment of a model element
+   *
+   * @param modelId The id of the model element
+   * @return The segment id or null if the model element is unknown
+   */
+
+  public String getSegmentId(String modelId) {
+    String[] location = this.locations.get(modelId);
+    return location == null ? null : location[1];
+  }
+
+  public int size() {
+    return this.locations.size();
+  }
+
+  /**
+   * Serializes the index as json
+   *
+   * @return The content of the index file
+   */
+
+  @SuppressWarnings("unchecked")
+  public String toJSONString() {
+    JSONObject json = new JSONObject();
+    for (Map.Entry<String, String[]> entry : this.locations.entrySet()) {
+      JSONArray location = new JSONArray();
+      location.add(entry.getValue()[0]);
+      location.add(entry.getValue()[1]);
+      json.put(entry.getKey(), location);
+    }
+    return json.toJSONString();
+  }
+
+}
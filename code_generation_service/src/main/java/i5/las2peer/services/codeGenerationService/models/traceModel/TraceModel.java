@@ -50,6 +50,16 @@ public class TraceModel {
     return this.filenameToFileTraceModel;
   }
 
+  /**
+   * Get the map containing the files of each model element
+   * 
+   * @return The map containing the model ids and the names of the files they belong to
+   */
+
+  public Map<String, List<String>> getModelIdToFilenamesMap() {
+    return this.modelIdToFilenames;
+  }
+
   /**
    * Generates a JSON representation of the trace model
    * 
@@ -5,7 +5,6 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import org.json.simple.JSONArray;
 import org.json.simple.JSONObject;
@@ -26,6 +25,19 @@ public class GuidanceModel {
 
   private Map<String, List<ViolationRule>> violationRules =
       new HashMap<String, List<ViolationRule>>();
+  private String rules = "";
+
+  public GuidanceModel() {
+  }
+
+  /**
+   * Creates a guidance model containing the violation rules of the given json file
+   * 
+   * @param violationRulesObj the rules to add
+   */
+  public GuidanceModel(JSONObject violationRulesObj) {
+    this.addRules(violationRulesObj);
+  }
 
   /**
    * Adds a single rule to the model
@@ -48,6 +60,7 @@ public class GuidanceModel {
    */
   public void addRules(JSONObject violationRulesObj) {
 
+    this.rules += violationRulesObj.toJSONString();
     JSONArray violationRules = (JSONArray) violationRulesObj.get("guidances");
     for (int i = 0; i < violationRules.size(); i++) {
       JSONObject rule = (JSONObject) violationRules.get(i);
@@ -56,6 +69,15 @@ public class GuidanceModel {
 
   }
 
+  /**
+   * Get the json of all added rules, used to identify the rules of the model
+   * 
+   * @return The added rules
+   */
+  public String getRules() {
+    return this.rules;
+  }
+
   /**
    * Performs the model violation check and creates corresponding guidances if breaking code is
    * found
@@ -84,8 +106,7 @@ public class GuidanceModel {
 
     for (ViolationRule rule : rules) {
 
-      Pattern forbiddenPattern = Pattern.compile(rule.getRegex(), Pattern.DOTALL);
-      Matcher matcher = forbiddenPattern.matcher(content);
+      Matcher matcher = rule.getPattern().matcher(content);
 
       // loop through all findings
       while (matcher.find()) {
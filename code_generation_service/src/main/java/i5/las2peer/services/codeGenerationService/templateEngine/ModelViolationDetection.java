@@ -1,10 +1,21 @@
 package i5.las2peer.services.codeGenerationService.templateEngine;
 
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
 import java.util.Base64;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import org.json.simple.JSONArray;
 import org.json.simple.JSONObject;
@@ -15,10 +26,16 @@ import i5.las2peer.services.codeGenerationService.traces.segments.CompositeSegme
 import i5.las2peer.services.codeGenerationService.traces.segments.Segment;
 import i5.las2peer.services.codeGenerationService.traces.segments.SegmentFactory;
 import i5.las2peer.services.codeGenerationService.traces.segments.UnprotectedSegment;
+import i5.las2peer.services.codeGenerationService.utilities.BoundedCache;
+import i5.las2peer.services.codeGenerationService.utilities.Metrics;
+import i5.las2peer.services.codeGenerationService.utilities.WorkerPools;
 
 /**
  * The model violation detection class is responsible to find not allowed elements in unprotected
- * segments of the traced model elements.
+ * segments of the traced model elements. The feedback of every checked composite segment is cached
+ * per repository and file together with a fingerprint of its unprotected segments, so that a file
+ * that is checked again, e.g. after an editor save, only needs to be checked for the model elements
+ * whose unprotected content changed.
  * 
  * @author Thomas Winkler
  *
@@ -29,46 +46,174 @@ public class ModelViolationDetection {
   private static final L2pLogger logger =
       L2pLogger.getInstance(ApplicationGenerator.class.getName());
 
+  private static final int MAX_CHECKED_FILES = 256;
+
+  // the files of a check are checked concurrently by a bounded number of threads shared by all
+  // checks
+  private static final ExecutorService executor =
+      WorkerPools.newBoundedPool("model-violation-detection");
+
+  private static final BoundedCache<String, CheckedFile> checkedFiles =
+      new BoundedCache<String, CheckedFile>(MAX_CHECKED_FILES);
 
   /**
    * The actual method that performs the checking.
    * 
+   * @param repositoryName The name of the repository of the files, the results of the check are
+   *        only kept for the next check of the files if it is given
    * @param files The files of the repository of the component that should be tested
    * @param violationsRules The rules for the violation detection
    * @return A json array containing corresponding guidances of the found violations
    */
+  public static JSONArray performViolationCheck(String repositoryName,
+      HashMap<String, JSONObject> files, JSONObject violationsRules) {
+    return performViolationCheck(repositoryName, files, new GuidanceModel(violationsRules));
+  }
+
+  /**
+   * Performs the checking with a guidance model that was already created, e.g. a cached one. The
+   * files are checked concurrently, the feedback is ordered by file name. A file that cannot be
+   * checked is logged and contributes the feedback found until the error.
+   * 
+   * @param repositoryName The name of the repository of the files, the results of the check are
+   *        only kept for the next check of the files if it is given
+   * @param files The files of the repository of the component that should be tested
+   * @param guidanceModel The guidance model containing the rules for the violation detection
+   * @return A json array containing corresponding guidances of the found violations
+   */
   @SuppressWarnings("unchecked")
-  public static JSONArray performViolationCheck(HashMap<String, JSONObject> files,
-      JSONObject violationsRules) {
+  public static JSONArray performViolationCheck(String repositoryName,
+      HashMap<String, JSONObject> files, GuidanceModel guidanceModel) {
     JSONArray feedback = new JSONArray();
-    GuidanceModel guidanceModel = new GuidanceModel();
-    guidanceModel.addRules(violationsRules);
-
-    Iterator<String> it = files.keySet().iterator();
-    while (it.hasNext()) {
-      String fileName = it.next();
-      JSONObject fileObject = files.get(fileName);
-      String content = (String) fileObject.get("content");
-      byte[] base64decodedBytes = Base64.getDecoder().decode(content);
-
-      try {
-        content = new String(base64decodedBytes, "utf-8");
-        JSONObject fileTraces = (JSONObject) fileObject.get("fileTraces");
-        JSONArray traceSegments = (JSONArray) fileTraces.get("traceSegments");
-        JSONObject traces = (JSONObject) fileTraces.get("traces");
-
-        List<Segment> segments = SegmentFactory.createSegments(traceSegments, content, 0L);
-        for (Segment segment : segments) {
-          feedback.addAll(checkSegment(segment, traces, guidanceModel));
+    List<String> fileNames = new ArrayList<String>(files.keySet());
+    Collections.sort(fileNames);
+
+    // a single file, e.g. of an editor save, is checked by the calling thread
+    if (fileNames.size() == 1) {
+      feedback.addAll(
+          checkFile(repositoryName, fileNames.get(0), files.get(fileNames.get(0)), guidanceModel,
+              false));
+      return feedback;
+    }
+
+    List<Future<List<JSONObject>>> results = new ArrayList<Future<List<JSONObject>>>();
+    try {
+      for (String fileName : fileNames) {
+        JSONObject fileObject = files.get(fileName);
+        results.add(executor
+            .submit(() -> checkFile(repositoryName, fileName, fileObject, guidanceModel, false)));
+      }
+      for (Future<List<JSONObject>> result : results) {
+        feedback.addAll(getResult(result));
+      }
+    } finally {
+      cancel(results);
+    }
+    return feedback;
+  }
+
+  /**
+   * Checks if the files contain any violation. The files are checked concurrently and the check is
+   * cancelled as soon as a violation was found in one of them.
+   * 
+   * @param repositoryName The name of the repository of the files, the results of the check are
+   *        only kept for the next check of the files if it is given
+   * @param files The files of the repository of the component that should be tested
+   * @param guidanceModel The guidance model containing the rules for the violation detection
+   * @return True, if none of the files contains a violation
+   * @throws IllegalStateException if one of the files could not be checked
+   */
+  public static boolean passesViolationCheck(String repositoryName,
+      HashMap<String, JSONObject> files, GuidanceModel guidanceModel) {
+    CompletionService<List<JSONObject>> completionService =
+        new ExecutorCompletionService<List<JSONObject>>(executor);
+    List<Future<List<JSONObject>>> results = new ArrayList<Future<List<JSONObject>>>();
+    try {
+      for (Map.Entry<String, JSONObject> file : files.entrySet()) {
+        results.add(completionService
+            .submit(() -> checkFile(repositoryName, file.getKey(), file.getValue(), guidanceModel,
+                true)));
+      }
+      for (int i = 0; i < results.size(); i++) {
+        if (!getResult(completionService.take()).isEmpty()) {
+          return false;
         }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted during the model violation check", e);
+    } finally {
+      cancel(results);
+    }
+    return true;
+  }
 
-      } catch (Exception e) {
-        logger.printStackTrace(e);
+  /**
+   * Checks a single file
+   * 
+   * @param repositoryName The name of the repository of the file, may be null
+   * @param fileName The name of the file
+   * @param fileObject The json object of the file, containing its base64 encoded content and its
+   *        traces
+   * @param guidanceModel The guidance model to use
+   * @param failOnError If true, a file that cannot be checked fails the check, otherwise it is
+   *        only logged
+   * @return The found violations of the file
+   * @throws IllegalStateException if the file or its traces could not be checked and failOnError
+   *         is set
+   */
+
+  private static List<JSONObject> checkFile(String repositoryName, String fileName,
+      JSONObject fileObject, GuidanceModel guidanceModel, boolean failOnError) {
+    List<JSONObject> feedback = new ArrayList<JSONObject>();
+    String rules = guidanceModel.getRules();
+    String content = (String) fileObject.get("content");
+    byte[] base64decodedBytes = Base64.getDecoder().decode(content);
+
+    try {
+      content = new String(base64decodedBytes, "utf-8");
+      JSONObject fileTraces = (JSONObject) fileObject.get("fileTraces");
+      JSONArray traceSegments = (JSONArray) fileTraces.get("traceSegments");
+      JSONObject traces = (JSONObject) fileTraces.get("traces");
+
+      List<Segment> segments = SegmentFactory.createSegments(traceSegments, content, 0L);
+      Map<String, JSONObject> models = getModelsBySegmentId(traces);
+      // the results are cached per repository, as the same files exist in every repository
+      String checkedFileKey = repositoryName == null ? null : repositoryName + "/" + fileName;
+      Map<String, CheckedSegment> lastChecked = getCheckedSegments(checkedFileKey, rules);
+      Map<String, CheckedSegment> checked = new HashMap<String, CheckedSegment>();
+      for (Segment segment : segments) {
+        feedback.addAll(checkSegment(segment, models, guidanceModel, lastChecked, checked));
+      }
+      putCheckedSegments(checkedFileKey, rules, checked);
+
+    } catch (Exception e) {
+      logger.printStackTrace(e);
+      // a file that cannot be checked must not pass the check
+      if (failOnError) {
+        throw new IllegalStateException("Model violation check of " + fileName + " failed", e);
       }
     }
     return feedback;
   }
 
+  private static List<JSONObject> getResult(Future<List<JSONObject>> result) {
+    try {
+      return result.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted during the model violation check", e);
+    } catch (ExecutionException e) {
+      throw new IllegalStateException("Model violation check failed", e.getCause());
+    }
+  }
+
+  private static void cancel(List<Future<List<JSONObject>>> results) {
+    for (Future<List<JSONObject>> result : results) {
+      result.cancel(true);
+    }
+  }
+
   private static List<UnprotectedSegment> getUnprotectedSegments(CompositeSegment cSegment) {
     List<UnprotectedSegment> list = new ArrayList<UnprotectedSegment>();
 
@@ -89,14 +234,17 @@ public class ModelViolationDetection {
    * Method to check a single segment if it contains not allowed content
    * 
    * @param segment The segment to check
-   * @param traces The traces of the file the segment is contained. Used for additional information
-   *        needed during the check
+   * @param models The model elements of the traces of the file, by the ids of their segments. Used
+   *        for additional information needed during the check
    * @param guidanceModel The guidance model to use
+   * @param lastChecked The composite segments of the last check of the file
+   * @param checked The composite segments checked by this check, filled by this method
    * @return A list of all found violations
    */
 
-  private static List<JSONObject> checkSegment(Segment segment, JSONObject traces,
-      GuidanceModel guidanceModel) {
+  private static List<JSONObject> checkSegment(Segment segment, Map<String, JSONObject> models,
+      GuidanceModel guidanceModel, Map<String, CheckedSegment> lastChecked,
+      Map<String, CheckedSegment> checked) {
 
     List<JSONObject> feedback = new ArrayList<JSONObject>();
 
@@ -107,39 +255,136 @@ public class ModelViolationDetection {
       List<String> children = cSegment.getChildrenList();
       for (String child : children) {
         Segment childSegment = cSegment.getChild(child);
-        feedback.addAll(checkSegment(childSegment, traces, guidanceModel));
+        feedback.addAll(checkSegment(childSegment, models, guidanceModel, lastChecked, checked));
       }
 
-
-
-      JSONObject modelMeta = getModelFromSegmentId(segment.getId(), traces);
+      JSONObject modelMeta = models.get(segment.getId());
       if (modelMeta != null) {
         String type = (String) modelMeta.get("type");
-        feedback.addAll(guidanceModel.createFeedback(type, getUnprotectedSegments(cSegment)));
+        List<UnprotectedSegment> unprotectedSegments = getUnprotectedSegments(cSegment);
+        String fingerprint = getFingerprint(unprotectedSegments);
+
+        // reuse the feedback of the last check if the unprotected content did not change
+        CheckedSegment checkedSegment = lastChecked.get(segment.getId());
+        if (checkedSegment != null && checkedSegment.matches(type, fingerprint)) {
+          Metrics.counter(Metrics.VIOLATION_CHECK_CACHE_HITS).increment();
+        } else {
+          Metrics.counter(Metrics.VIOLATION_CHECK_CACHE_MISSES).increment();
+          checkedSegment = new CheckedSegment(type, fingerprint,
+              guidanceModel.createFeedback(type, unprotectedSegments));
+        }
+        checked.put(segment.getId(), checkedSegment);
+        feedback.addAll(checkedSegment.feedback);
       }
 
     }
     return feedback;
   }
 
+  /**
+   * Maps the ids of the segments of the traces of a file to the meta information of their model
+   * elements
+   * 
+   * @param traces The traces of the file
+   * @return The model elements by segment id
+   */
+
   @SuppressWarnings("unchecked")
-  private static JSONObject getModelFromSegmentId(String id, JSONObject traces) {
-    JSONObject modelMeta = null;
+  private static Map<String, JSONObject> getModelsBySegmentId(JSONObject traces) {
+    Map<String, JSONObject> models = new HashMap<String, JSONObject>();
     Iterator<String> itr = traces.keySet().iterator();
     while (itr.hasNext()) {
-      String modelId = itr.next();
-      JSONObject model = (JSONObject) traces.get(modelId);
+      JSONObject model = (JSONObject) traces.get(itr.next());
       JSONArray segments = (JSONArray) model.get("segments");
-      if (segments != null && segments.contains(id)) {
-        modelMeta = model;
-        break;
+      if (segments != null) {
+        for (Object segmentId : segments) {
+          // keep the first model element found for a segment
+          models.putIfAbsent((String) segmentId, model);
+        }
       }
     }
+    return models;
+  }
 
-    if (modelMeta != null) {
-      return modelMeta;
+  /**
+   * Computes a fingerprint of the ids and contents of unprotected segments. The stored hashes of
+   * the segments are not used as they are only present for segments with integrity check.
+   * 
+   * @param segments The unprotected segments
+   * @return The fingerprint
+   */
+
+  private static String getFingerprint(List<UnprotectedSegment> segments) {
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      for (UnprotectedSegment segment : segments) {
+        digest.update(segment.getId().getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+        digest.update(segment.getContent().getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+      }
+      return new BigInteger(1, digest.digest()).toString(16);
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private static Map<String, CheckedSegment> getCheckedSegments(String key,
+      String rules) {
+    CheckedFile checkedFile = key == null ? null : checkedFiles.get(key);
+    if (checkedFile == null || !checkedFile.rules.equals(rules)) {
+      return new HashMap<String, CheckedSegment>();
     }
+    return checkedFile.segments;
+  }
 
-    return modelMeta;
+  private static void putCheckedSegments(String key, String rules,
+      Map<String, CheckedSegment> segments) {
+    if (key != null) {
+      checkedFiles.put(key, new CheckedFile(rules, segments));
+    }
+  }
+
+  /**
+   * Removes the results of all previous checks.
+   */
+
+  public static void clearCache() {
+    checkedFiles.clear();
+  }
+
+  /**
+   * The composite segments of the last check of a file and the rules they were checked with
+   */
+
+  private static class CheckedFile {
+    private final String rules;
+    private final Map<String, CheckedSegment> segments;
+
+    private CheckedFile(String rules, Map<String, CheckedSegment> segments) {
+      this.rules = rules;
+      this.segments = segments;
+    }
+  }
+
+  /**
+   * The feedback of a checked composite segment
+   */
+
+  private static class CheckedSegment {
+    private final String type;
+    private final String fingerprint;
+    private final List<JSONObject> feedback;
+
+    private CheckedSegment(String type, String fingerprint, List<JSONObject> feedback) {
+      this.type = type;
+      this.fingerprint = fingerprint;
+      this.feedback = feedback;
+    }
+
+    private boolean matches(String type, String fingerprint) {
+      return (this.type == null ? type == null : this.type.equals(type))
+          && this.fingerprint.equals(fingerprint);
+    }
   }
 }
@@ -8,6 +8,7 @@ import i5.las2peer.services.codeGenerationService.traces.segments.AppendableVari
 import i5.las2peer.services.codeGenerationService.traces.segments.CompositeSegment;
 import i5.las2peer.services.codeGenerationService.traces.segments.ContentSegment;
 import i5.las2peer.services.codeGenerationService.traces.segments.Segment;
+import i5.las2peer.services.codeGenerationService.traces.segments.SegmentIds;
 
 /**
  * A class representing a single template. Provides methods to set and append variables, that are
@@ -152,7 +153,7 @@ public class Template {
   }
 
   public void setVariableIfNotSet(String variableName, String content) {
-    String segmentId = this.getId() + ":" + variableName;
+    String segmentId = SegmentIds.join(this.getId(), variableName);
 
     Segment segment = this.segment.getChildRecursive(segmentId);
     if (segment instanceof ContentSegment && segment.getId().equals(segmentId)) {
@@ -225,7 +226,7 @@ public class Template {
    */
 
   private AppendableVariableSegment getAppendableVariableSegment(String variableName) {
-    String id = this.getId() + ":" + variableName;
+    String id = SegmentIds.join(this.getId(), variableName);
     AppendableVariableSegment container = new AppendableVariableSegment(id);
 
     Segment recursiveChild = this.segment.getChildRecursive(id);
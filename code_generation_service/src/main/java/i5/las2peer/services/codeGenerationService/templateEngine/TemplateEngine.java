@@ -8,9 +8,11 @@ import java.util.regex.Pattern;
 import org.json.simple.JSONArray;
 import org.json.simple.JSONObject;
 
+import i5.las2peer.services.codeGenerationService.events.RenderEvent;
 import i5.las2peer.services.codeGenerationService.models.traceModel.FileTraceModel;
 import i5.las2peer.services.codeGenerationService.traces.segments.CompositeSegment;
 import i5.las2peer.services.codeGenerationService.traces.segments.Segment;
+import i5.las2peer.services.codeGenerationService.traces.segments.SegmentIds;
 import i5.las2peer.services.codeGenerationService.traces.segments.SegmentFactory;
 
 /**
@@ -95,7 +97,11 @@ public class TemplateEngine {
    */
 
   public String getContent() {
-    return this.traceModel.getContent();
+    RenderEvent event = new RenderEvent(this.traceModel.getFileName());
+    String content = this.traceModel.getContent();
+    event.length = content.length();
+    event.commit();
+    return content;
   }
 
   public void setSegmentContent(CompositeSegment segment, String variableName, String content) {
@@ -278,7 +284,8 @@ public class TemplateEngine {
 
         String key = id + "before";
         key += "[" + incrementElementCount(elementCountMap, key) + "]";
-        segments.add(Segment.createJSONSegment(start - s, idPrefix + ":" + key, "protected"));
+        segments.add(Segment.createJSONSegment(start - s, SegmentIds.join(idPrefix, key),
+            "protected"));
       }
 
       if (unprotected) {
@@ -287,9 +294,10 @@ public class TemplateEngine {
           type += "Integrity";
         }
         segments.add(Segment.createJSONSegment(unprotectedBlockMatcher.group(1).length(),
-            idPrefix + ":" + id, type));
+            SegmentIds.join(idPrefix, id), type));
       } else {
-        segments.add(Segment.createJSONSegment(end - start, idPrefix + ":" + id, "protected"));
+        segments.add(Segment.createJSONSegment(end - start, SegmentIds.join(idPrefix, id),
+            "protected"));
       }
 
       s = end;
@@ -298,7 +306,8 @@ public class TemplateEngine {
     // add the last trailing segment
     String id = "End";
 
-    segments.add(Segment.createJSONSegment(content.length() - s, idPrefix + ":" + id, "protected"));
+    segments.add(Segment.createJSONSegment(content.length() - s, SegmentIds.join(idPrefix, id),
+        "protected"));
     outerObject.put("traceSegments", segments);
     return outerObject;
   }
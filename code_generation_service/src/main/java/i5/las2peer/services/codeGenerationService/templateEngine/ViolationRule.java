@@ -1,5 +1,7 @@
 package i5.las2peer.services.codeGenerationService.templateEngine;
 
+import java.util.regex.Pattern;
+
 import org.json.simple.JSONObject;
 
 import i5.las2peer.services.codeGenerationService.traces.segments.SegmentFactory;
@@ -11,6 +13,7 @@ import i5.las2peer.services.codeGenerationService.traces.segments.SegmentFactory
  */
 public class ViolationRule {
   private JSONObject jsonObject;
+  private Pattern pattern;
 
   /**
    * Creates a new guidance
@@ -39,6 +42,19 @@ public class ViolationRule {
     return (String) this.jsonObject.get("regex");
   }
 
+  /**
+   * Get the compiled regular expression of the guidance. It is compiled once, so that guidance
+   * models can be reused for several checks.
+   * 
+   * @return The pattern of the regular expression
+   */
+  public synchronized Pattern getPattern() {
+    if (this.pattern == null) {
+      this.pattern = Pattern.compile(this.getRegex(), Pattern.DOTALL);
+    }
+    return this.pattern;
+  }
+
   /**
    * Get the group of the regular expression that represents the not allowed code
    * 
@@ -1,5 +1,6 @@
 package i5.las2peer.services.codeGenerationService.traces.segments;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
@@ -9,6 +10,8 @@ import java.util.Map;
 import org.json.simple.JSONArray;
 import org.json.simple.JSONObject;
 
+import com.google.gson.stream.JsonWriter;
+
 /**
  * A class representing a composition of segments. Such a composition is used for model elements
  * that are made up of a sequence of segments. In addition, compositions are also used as containers
@@ -119,15 +122,20 @@ public class CompositeSegment extends Segment {
    */
 
   public Segment getChildRecursive(String segmentId) {
+    return this.getCanonicalChildRecursive(SegmentIds.intern(segmentId));
+  }
+
+  private Segment getCanonicalChildRecursive(String segmentId) {
     for (String childSegmentId : this.children) {
-      if (childSegmentId.equals(segmentId)) {
+      // ids of segments are canonical, so comparing the references is sufficient
+      if (childSegmentId == segmentId) {
         return this.getChild(childSegmentId);
       } else {
         Segment segment = this.getChild(childSegmentId);
         // recursively look up for the segment if the child is also a composition
         if (segment instanceof CompositeSegment) {
           CompositeSegment cS = (CompositeSegment) segment;
-          Segment recursiveChild = cS.getChildRecursive(segmentId);
+          Segment recursiveChild = cS.getCanonicalChildRecursive(segmentId);
           if (recursiveChild != null) {
             return recursiveChild;
           }
@@ -179,7 +187,7 @@ public class CompositeSegment extends Segment {
   }
 
   public void setVariableSegment(String variableName, CompositeSegment segment) {
-    String id = this.getId() + ":" + variableName;
+    String id = SegmentIds.join(this.getId(), variableName);
     // only update a segment of a variable name that exists
     if (this.hasChild(id)) {
       map.put(id, segment);
@@ -188,11 +196,9 @@ public class CompositeSegment extends Segment {
 
   public void setSegmentContent(String id, String content, boolean integrityCheck) {
     // if this composite segment holds a segment with the given id, set its content
-    if (map.containsKey(this.getId() + ":" + id)) {
-      Segment segment = map.get(this.getId() + ":" + id);
-      if (segment instanceof ContentSegment) {
-        ((ContentSegment) segment).setContent(content, integrityCheck);
-      }
+    Segment contentSegment = map.get(SegmentIds.join(this.getId(), id));
+    if (contentSegment instanceof ContentSegment) {
+      ((ContentSegment) contentSegment).setContent(content, integrityCheck);
     }
 
     // now propagate the content recursively to the segments that are also compositions
@@ -258,4 +264,25 @@ public class CompositeSegment extends Segment {
   public JSONObject toJSONObject() {
     return this.toJSONObject(this.getChildrenList());
   }
+
+  protected void writeJSON(JsonWriter writer, List<String> childrenList) throws IOException {
+    writer.beginObject();
+    writer.name("type").value(this.getTypeString());
+    writer.name("id").value(this.getId());
+    writer.name("traceSegments").beginArray();
+    for (String id : childrenList) {
+      this.getChild(id).writeJSON(writer);
+    }
+    writer.endArray();
+    writer.endObject();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+
+  @Override
+  public void writeJSON(JsonWriter writer) throws IOException {
+    this.writeJSON(writer, this.getChildrenList());
+  }
 }
@@ -1,7 +1,11 @@
 package i5.las2peer.services.codeGenerationService.traces.segments;
 
+import java.io.IOException;
+
 import org.json.simple.JSONObject;
 
+import com.google.gson.stream.JsonWriter;
+
 public abstract class ContentSegment extends Segment {
 
   public ContentSegment(String id) {
@@ -25,6 +29,25 @@ public abstract class ContentSegment extends Segment {
     return jObject;
   }
 
+  @Override
+  public void writeJSON(JsonWriter writer) throws IOException {
+    writer.beginObject();
+    writer.name("id").value(this.getId());
+    writer.name("type").value(this.getTypeString());
+    writer.name("length").value(this.getLength());
+    this.writeJSONProperties(writer);
+    writer.endObject();
+  }
+
+  /**
+   * Write additional properties of the segment, see {@link #writeJSON(JsonWriter)}
+   * 
+   * @param writer The json writer, inside the object of the segment
+   * @throws IOException Thrown if the writer fails
+   */
+
+  protected void writeJSONProperties(JsonWriter writer) throws IOException {}
+
   public String toString() {
     return this.getContent();
   }
@@ -1,7 +1,11 @@
 package i5.las2peer.services.codeGenerationService.traces.segments;
 
+import java.io.IOException;
+
 import org.json.simple.JSONObject;
 
+import com.google.gson.stream.JsonWriter;
+
 /**
  * An abstract class describing the needed methods of all segments
  * 
@@ -19,7 +23,7 @@ public abstract class Segment {
    */
 
   public Segment(String id) {
-    this.id = id;
+    this.id = SegmentIds.intern(id);
   }
 
   /**
@@ -39,7 +43,7 @@ public abstract class Segment {
    */
 
   protected void setId(String id) {
-    this.id = id;
+    this.id = SegmentIds.intern(id);
   }
 
   /**
@@ -58,6 +62,15 @@ public abstract class Segment {
 
   public abstract Object toJSONObject();
 
+  /**
+   * Write the json object of the segment to a stream, without creating it first
+   * 
+   * @param writer The json writer
+   * @throws IOException Thrown if the writer fails
+   */
+
+  public abstract void writeJSON(JsonWriter writer) throws IOException;
+
   /**
    * Return the length of the content of the segment
    * 
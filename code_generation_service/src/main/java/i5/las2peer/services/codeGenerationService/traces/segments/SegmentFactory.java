@@ -1,11 +1,15 @@
 package i5.las2peer.services.codeGenerationService.traces.segments;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
 import org.json.simple.JSONArray;
 import org.json.simple.JSONObject;
 
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
 /**
  * A factory class providing utilities to create new content segments and compositions of segments.
  * 
@@ -60,6 +64,108 @@ public class SegmentFactory {
     return list;
   }
 
+  /**
+   * Create a list of segments directly from a json array in a stream and extract the content of
+   * each segment from a given source code. In contrast to
+   * {@link #createSegments(JSONArray, String, Long)}, no json objects are created.
+   * 
+   * @param reader A json reader positioned at an array of json objects representing the segments
+   * @param source The source code of the segments
+   * @param start The relative start position of the segements within the source code
+   * @return A list of extracted and created Segments
+   * @throws IOException Thrown if the json is malformed
+   */
+
+  public static List<Segment> createSegments(JsonReader reader, String source, Long start)
+      throws IOException {
+    List<Segment> list = new ArrayList<Segment>();
+
+    reader.beginArray();
+    while (reader.hasNext()) {
+      Segment segment = createSegment(reader, source, start);
+      list.add(segment);
+      start += segment.getLength();
+    }
+    reader.endArray();
+
+    return list;
+  }
+
+  /**
+   * Create a single segment from a json object in a stream. The properties of the object may be in
+   * any order, the children of a composition are read before its type is known, as they start at
+   * the start of the composition anyway.
+   * 
+   * @param reader A json reader positioned at the json object of the segment
+   * @param source The source code from which the content should be extracted
+   * @param start The relative start position of the segment within the source code
+   * @return The created segment containing the extracted content
+   * @throws IOException Thrown if the json is malformed
+   */
+
+  private static Segment createSegment(JsonReader reader, String source, Long start)
+      throws IOException {
+    String id = null;
+    String type = null;
+    long length = 0;
+    boolean integrityCheck = false;
+    String hash = null;
+    List<Segment> children = null;
+
+    reader.beginObject();
+    while (reader.hasNext()) {
+      switch (reader.nextName()) {
+        case "id":
+          id = reader.nextString();
+          break;
+        case "type":
+          type = reader.nextString();
+          break;
+        case "length":
+          // also parses numbers saved as strings, see getLong
+          length = reader.nextLong();
+          break;
+        case "integrityCheck":
+          integrityCheck = reader.peek() == JsonToken.STRING
+              ? Boolean.parseBoolean(reader.nextString()) : reader.nextBoolean();
+          break;
+        case "hash":
+          hash = reader.nextString();
+          break;
+        case "traceSegments":
+          children = createSegments(reader, source, start);
+          break;
+        default:
+          reader.skipValue();
+      }
+    }
+    reader.endObject();
+
+    if (type == null) {
+      throw new IOException("Segment " + id + " has no type");
+    }
+    switch (type) {
+      case CompositeSegment.TYPE:
+      case AppendableVariableSegment.TYPE:
+        CompositeSegment composite = type.equals(AppendableVariableSegment.TYPE)
+            ? new AppendableVariableSegment(id) : new CompositeSegment(id);
+        if (children != null) {
+          composite.addAllSegments(children);
+        }
+        return composite;
+      case UnprotectedSegment.TYPE:
+      case ProtectedSegment.TYPE:
+        String segmentContent =
+            source.substring(Math.toIntExact(start), Math.toIntExact(start + length));
+        ContentSegment segment = type.equals(ProtectedSegment.TYPE) ? new ProtectedSegment(id)
+            : new UnprotectedSegment(id, integrityCheck, hash);
+        segment.setContent(segmentContent);
+        return segment;
+      default:
+        throw new IOException("Segment " + id + " has the unknown type " + type);
+    }
+  }
+
   /**
    * Create a single segment from a json object and extract its content from a given source code.
    * 
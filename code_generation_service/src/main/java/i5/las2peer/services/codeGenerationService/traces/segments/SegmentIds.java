@@ -0,0 +1,69 @@
+package i5.las2peer.services.codeGenerationService.traces.segments;
+
+import java.lang.ref.WeakReference;
+import java.util.WeakHashMap;
+
+/**
+ * A table of canonical segment ids. Segment ids are long, colon separated paths that are built by
+ * concatenation and are stored in the children lists and maps of compositions as well as in the
+ * segment maps of file trace models. Interning them lets all of these share one instance per id,
+ * so that equal ids are compared by reference and their hash codes are only computed once.
+ * Entries are weak and disappear once no segment uses their id anymore.
+ *
+ */
+
+public class SegmentIds {
+
+  public static final String SEPARATOR = ":";
+
+  private static final int STRIPES = 16;
+
+  @SuppressWarnings("unchecked")
+  private static final WeakHashMap<String, WeakReference<String>>[] tables =
+      new WeakHashMap[STRIPES];
+
+  static {
+    for (int i = 0; i < STRIPES; i++) {
+      tables[i] = new WeakHashMap<String, WeakReference<String>>();
+    }
+  }
+
+  private SegmentIds() {}
+
+  /**
+   * Get the canonical instance of a segment id
+   *
+   * @param id The segment id
+   * @return The canonical instance equal to the given id, or null if the id is null
+   */
+
+  public static String intern(String id) {
+    if (id == null) {
+      return null;
+    }
+    WeakHashMap<String, WeakReference<String>> table = tables[id.hashCode() & (STRIPES - 1)];
+    synchronized (table) {
+      WeakReference<String> reference = table.get(id);
+      String canonical = reference == null ? null : reference.get();
+      if (canonical == null) {
+        canonical = id;
+        table.put(canonical, new WeakReference<String>(canonical));
+      }
+      return canonical;
+    }
+  }
+
+  /**
+   * Get the canonical id of a child segment, i.e. the id of its parent and its own name joined by
+   * the separator
+   *
+   * @param parentId The id of the parent segment or template
+   * @param name The name of the child
+   * @return The canonical id of the child
+   */
+
+  public static String join(String parentId, String name) {
+    return intern(parentId + SEPARATOR + name);
+  }
+
+}
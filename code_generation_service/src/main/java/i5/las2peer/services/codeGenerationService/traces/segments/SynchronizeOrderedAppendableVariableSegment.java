@@ -1,10 +1,13 @@
 package i5.las2peer.services.codeGenerationService.traces.segments;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
 import org.json.simple.JSONObject;
 
+import com.google.gson.stream.JsonWriter;
+
 public class SynchronizeOrderedAppendableVariableSegment
     extends SynchronizeAppendableVariableSegment {
 
@@ -45,6 +48,11 @@ public class SynchronizeOrderedAppendableVariableSegment
     return this.toJSONObject(this.getReorderedChildrenList());
   }
 
+  @Override
+  public void writeJSON(JsonWriter writer) throws IOException {
+    this.writeJSON(writer, this.getReorderedChildrenList());
+  }
+
   @Override
   public String toString() {
     return this.toString(this.getReorderedChildrenList());
@@ -3,8 +3,12 @@ package i5.las2peer.services.codeGenerationService.traces.segments;
 import java.math.BigInteger;
 import java.security.MessageDigest;
 
+import java.io.IOException;
+
 import org.json.simple.JSONObject;
 
+import com.google.gson.stream.JsonWriter;
+
 /**
  * A class representing an unprotected segments. Unprotected segments are the segments, which can be
  * edited by a user in the editor.
@@ -30,18 +34,26 @@ public class UnprotectedSegment extends ContentSegment {
   }
 
   public UnprotectedSegment(JSONObject entry) {
-    this((String) entry.get("id"));
+    this((String) entry.get("id"),
+        entry.get("integrityCheck") != null && (boolean) entry.get("integrityCheck"),
+        (String) entry.get("hash"));
+  }
 
-    boolean integrityCheck = false;
-    if (entry.get("integrityCheck") != null) {
-      integrityCheck = (boolean) entry.get("integrityCheck");
-    }
+  /**
+   * Create a new unprotected segment from its trace information
+   * 
+   * @param id The id of the new unprotected segment
+   * @param integrityCheck True, if the integrity check should be enabled
+   * @param hash The hash of the content of the last generation, may be null
+   */
+
+  public UnprotectedSegment(String id, boolean integrityCheck, String hash) {
+    this(id);
 
     if (integrityCheck) {
       this.enableIntegrityCheck();
       // check if we already have a hash
-      if (entry.containsKey("hash")) {
-        String hash = (String) entry.get("hash");
+      if (hash != null) {
         this.setHash(hash);
       }
     }
@@ -137,6 +149,17 @@ public class UnprotectedSegment extends ContentSegment {
     return jObject;
   }
 
+  @Override
+  protected void writeJSONProperties(JsonWriter writer) throws IOException {
+    // same properties as in toJSONObject
+    if (this.needsIntegrityCheck && this.getHash() != null) {
+      writer.name("integrityCheck").value(true);
+      writer.name("hash").value(this.getHash());
+    } else {
+      writer.name("integrityCheck").value(false);
+    }
+  }
+
   @Override
   public String getTypeString() {
     return UnprotectedSegment.TYPE;
@@ -0,0 +1,111 @@
+package i5.las2peer.services.codeGenerationService.utilities;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * A thread safe cache with a maximum number of entries, which removes the least recently used
+ * entries if it is full. Used by the caches of the service, e.g. of parsed models, responses or
+ * the trace indices of repositories, so that they do not grow with the number of repositories.
+ *
+ * @param <K> The type of the keys
+ * @param <V> The type of the cached values
+ */
+
+public class BoundedCache<K, V> {
+
+  private int maxEntries;
+
+  private final Map<K, V> entries = new LinkedHashMap<K, V>(16, 0.75f, true) {
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+      return size() > maxEntries;
+    }
+  };
+
+  /**
+   * Creates an empty cache
+   *
+   * @param maxEntries The maximum number of entries, 0 disables the cache
+   */
+
+  public BoundedCache(int maxEntries) {
+    this.maxEntries = maxEntries;
+  }
+
+  /**
+   * Get a cached value and marks it as recently used
+   *
+   * @param key The key of the value
+   * @return The value or null if it is not cached
+   */
+
+  public synchronized V get(K key) {
+    return entries.get(key);
+  }
+
+  /**
+   * Caches a value, removes the least recently used value if the cache is full. Does nothing if
+   * the cache is disabled.
+   *
+   * @param key The key of the value
+   * @param value The value
+   */
+
+  public synchronized void put(K key, V value) {
+    if (maxEntries > 0) {
+      entries.put(key, value);
+    }
+  }
+
+  /**
+   * Removes a cached value
+   *
+   * @param key The key of the value
+   */
+
+  public synchronized void remove(K key) {
+    entries.remove(key);
+  }
+
+  /**
+   * Removes all values matching the given filter, e.g. expired ones
+   *
+   * @param filter The filter of the values to remove
+   */
+
+  public synchronized void removeIf(Predicate<? super V> filter) {
+    entries.values().removeIf(filter);
+  }
+
+  /**
+   * Sets the maximum number of entries, 0 disables the cache. Clears the cache.
+   *
+   * @param max The maximum number of entries
+   */
+
+  public synchronized void setMaxEntries(int max) {
+    maxEntries = max;
+    entries.clear();
+  }
+
+  public synchronized int getMaxEntries() {
+    return maxEntries;
+  }
+
+  /**
+   * Removes all cached values.
+   */
+
+  public synchronized void clear() {
+    entries.clear();
+  }
+
+  public synchronized int size() {
+    return entries.size();
+  }
+
+}
@@ -3,20 +3,33 @@ package i5.las2peer.services.codeGenerationService.utilities;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
 
+import org.eclipse.jgit.api.AddCommand;
 import org.eclipse.jgit.api.Git;
 import org.eclipse.jgit.api.LsRemoteCommand;
 import org.eclipse.jgit.api.MergeCommand;
 import org.eclipse.jgit.api.MergeResult;
 import org.eclipse.jgit.api.PushCommand;
 import org.eclipse.jgit.api.errors.GitAPIException;
+import org.eclipse.jgit.api.errors.TransportException;
+import org.eclipse.jgit.dircache.DirCache;
+import org.eclipse.jgit.dircache.DirCacheEntry;
+import org.eclipse.jgit.dircache.DirCacheIterator;
+import org.eclipse.jgit.errors.NoRemoteRepositoryException;
 import org.eclipse.jgit.lib.Constants;
 import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.ObjectInserter;
 import org.eclipse.jgit.lib.ObjectLoader;
 import org.eclipse.jgit.lib.ObjectReader;
 import org.eclipse.jgit.lib.Ref;
 import org.eclipse.jgit.lib.Repository;
 import org.eclipse.jgit.merge.MergeStrategy;
+import org.eclipse.jgit.revwalk.RevCommit;
 import org.eclipse.jgit.revwalk.RevTree;
 import org.eclipse.jgit.revwalk.RevWalk;
 import org.eclipse.jgit.storage.file.FileRepositoryBuilder;
@@ -25,12 +38,15 @@ import org.eclipse.jgit.transport.RefSpec;
 import org.eclipse.jgit.transport.UsernamePasswordCredentialsProvider;
 import org.eclipse.jgit.treewalk.TreeWalk;
 import org.eclipse.jgit.treewalk.filter.PathFilter;
+import org.eclipse.jgit.treewalk.filter.TreeFilter;
 
 import i5.las2peer.api.Context;
 import i5.las2peer.api.logging.MonitoringEvent;
 import i5.las2peer.logging.L2pLogger;
 import i5.las2peer.services.codeGenerationService.CodeGenerationService;
+import i5.las2peer.services.codeGenerationService.events.GitOperationEvent;
 import i5.las2peer.services.codeGenerationService.exception.GitHelperException;
+import i5.las2peer.services.codeGenerationService.generators.GeneratedFile;
 
 /**
  * 
@@ -46,6 +62,7 @@ public class GitUtility {
 	private String gitHostOrganization;
 	private CredentialsProvider provider;
 	private L2pLogger logger;
+	private PushCoalescer pushCoalescer = new PushCoalescer(0);
 	
 	public GitUtility(String gitUser, String gitPassword, String gitOrganization, String baseURL) {
 		 logger = L2pLogger.getInstance(CodeGenerationService.class.getName());
@@ -53,6 +70,15 @@ public class GitUtility {
 		 this.gitHostOrganization = gitOrganization;
 		 this.baseURL = baseURL;
 	}
+
+	/**
+	 * Sets the time window in which the pushes of {@link #mergeIntoMasterBranch} to the same repository
+	 * are coalesced into one push, if another push of the repository is in progress.
+	 * @param windowMillis The window in milliseconds, 0 pushes every merge on its own
+	 */
+	public void setPushCoalescingWindow(long windowMillis) {
+		this.pushCoalescer = new PushCoalescer(windowMillis);
+	}
 	
 	
 	/**
@@ -114,7 +140,8 @@ public class GitUtility {
 	
 	/**
 	   * Merge the development branch of the repository to the given master branch and push it to the
-	   * remote repository
+	   * remote repository. Merges of the same repository requested while another merge of it is pushed
+	   * are done by a single merge and push of the latest development branch, see {@link PushCoalescer}.
 	   * 
 	   * @param repositoryName The name of the repository
 	   * @param masterBranchName The name of the master branch
@@ -122,31 +149,58 @@ public class GitUtility {
 	   * @throws GitHelperException thrown incase of error in git api
 	   * 
 	   */
-	public void mergeIntoMasterBranch(String repositoryName,String masterBranchName, String versionTag) throws GitHelperException {
+	public void mergeIntoMasterBranch(String repositoryName, String masterBranchName, String versionTag) throws GitHelperException {
+		pushCoalescer.push(repositoryName + ":" + masterBranchName, versionTag,
+				versionTags -> mergeAndPush(repositoryName, masterBranchName, versionTags));
+	}
+
+	/**
+	 * Helper method: Merges the development branch of the repository into the master branch and pushes
+	 * all branches and the given tags.
+	 * @param repositoryName The name of the repository
+	 * @param masterBranchName The name of the master branch
+	 * @param versionTags The tags to push, may be empty
+	 * @throws GitHelperException thrown incase of error in git api
+	 */
+	private void mergeAndPush(String repositoryName, String masterBranchName, Set<String> versionTags) throws GitHelperException {
 		Git git = null;
+		long startTime = System.nanoTime();
 
 	    try {
 	    	git = getLocalGit(repositoryName, masterBranchName);
+	    	GitOperationEvent event = new GitOperationEvent("fetch", repositoryName);
 	    	git.fetch().setCredentialsProvider(provider).call();
+	    	event.commit();
 
+	    	event = new GitOperationEvent("merge", repositoryName);
+	    	event.branchName = masterBranchName;
 	    	MergeCommand mCmd = git.merge();
 	    	Ref HEAD = git.getRepository().getRef("refs/heads/development");
 	    	mCmd.include(HEAD);
 	    	mCmd.setStrategy(MergeStrategy.THEIRS);
 	    	MergeResult mRes = mCmd.call();
+	    	event.commit();
 	    	
 	    	if (mRes.getMergeStatus().isSuccessful()) {
 	    		Context.get().monitorEvent(MonitoringEvent.SERVICE_MESSAGE, "Merged development and " + masterBranchName + " branch successfully");
 	    		Context.get().monitorEvent(MonitoringEvent.SERVICE_MESSAGE, "Now pushing the commits...");
+	    		event = new GitOperationEvent("push", repositoryName);
+	    		event.branchName = masterBranchName;
 	    		PushCommand pushCmd = git.push();
 	    		pushCmd.setCredentialsProvider(provider).setForce(true).setPushAll().call();
 	    		
-	    		if(versionTag != null) {
-	    			RefSpec specTags = new RefSpec("refs/tags/" + versionTag + ":refs/tags/" + versionTag);
+	    		if(!versionTags.isEmpty()) {
+	    			List<RefSpec> specTags = new ArrayList<RefSpec>();
+	    			for (String versionTag : versionTags) {
+	    				specTags.add(new RefSpec("refs/tags/" + versionTag + ":refs/tags/" + versionTag));
+	    			}
 	    			git.push().setCredentialsProvider(provider).setForce(true).setPushTags().setRefSpecs(specTags).call();
 	    		}
 	    		
 	    		Context.get().monitorEvent(MonitoringEvent.SERVICE_MESSAGE, "... commits pushed");
+	    		Metrics.timer(Metrics.PUSH).recordSince(startTime);
+	    		event.commit();
+	    		RemoteRepositoryCache.put(baseURL + gitHostOrganization + "/" + repositoryName + ".git", true);
 	    	} else {
 	    		logger.warning("Error during merging of development and " + masterBranchName + " branch");
 	    		throw new GitHelperException("Unable to merge " + masterBranchName + " and development branch");
@@ -166,24 +220,32 @@ public class GitUtility {
 	}
 	
 	/**
-	 * Checks if a remote repository exists by issuing a {@link LsRemoteCommand}
+	 * Checks if a remote repository exists by issuing a {@link LsRemoteCommand}, the result is cached
+	 * for a short time, see {@link RemoteRepositoryCache}
 	 * @param url url of remote repository
 	 * @return A boolean that indicates if the remote exists
 	 */
 	public boolean existsRemoteRepository(String url) {
+		return RemoteRepositoryCache.exists(url, () -> lsRemote(url));
+	}
+
+	private boolean lsRemote(String url) throws GitAPIException {
 		LsRemoteCommand lsCmd = new LsRemoteCommand(null);
 	    lsCmd.setRemote(url);
 	    lsCmd.setHeads(true);
 	    // This is needed for gitlab
 	    lsCmd.setCredentialsProvider(provider);
-	    boolean exists = true;
 	    try {
 	    	lsCmd.call();
-	    } catch (Exception e) {
-	    	// ignore the exception, as this is the way we determine if a remote repository exists
-	    	exists = false;
+	    } catch (TransportException e) {
+	    	// this is the way we determine that a remote repository does not exist, other failures
+	    	// leave the existence unknown
+	    	if (e.getCause() instanceof NoRemoteRepositoryException) {
+	    		return false;
+	    	}
+	    	throw e;
 	    }
-	    return exists;
+	    return true;
 	}
 	
 	/**
@@ -273,8 +335,22 @@ public class GitUtility {
 	}
 	
 	public String getFileContent(Repository repository, String fileName) throws GitHelperException {
-		String content = "";
+		try {
+			return new String(getFileBytes(repository, fileName), "UTF-8");
+		} catch (UnsupportedEncodingException e) {
+			throw new GitHelperException(e.getMessage());
+		}
+	}
 
+	/**
+	 * Get the raw content of a file, e.g. of a binary trace file.
+	 *
+	 * @param repository The repository of the file
+	 * @param fileName The full file name, i.e. with full file path
+	 * @return The content of the file at the head of the repository
+	 * @throws GitHelperException if the file was not found
+	 */
+	public byte[] getFileBytes(Repository repository, String fileName) throws GitHelperException {
 	    try (TreeWalk treeWalk = getRepositoryTreeWalk(repository)) {
 
 	      treeWalk.setFilter(PathFilter.create(fileName));
@@ -295,7 +371,7 @@ public class GitUtility {
 	        ObjectReader reader = treeWalk.getObjectReader();
 	        ObjectId objectId = treeWalk.getObjectId(0);
 	        ObjectLoader loader = reader.open(objectId);
-	        content = new String(loader.getBytes(), "UTF-8");
+	        return loader.getBytes();
 	      } else {
 	        throw new FileNotFoundException(fileName + " not found");
 	      }
@@ -303,8 +379,111 @@ public class GitUtility {
 	    } catch (IOException e) {
 			throw new GitHelperException(e.getMessage());
 		}
+	}
+
+	/**
+	 * Checks if the index contains changes that are not committed yet, e.g. staged
+	 * renames or deletions. Only the object ids of the index are compared, the
+	 * working tree is not read.
+	 *
+	 * @param repository The repository
+	 * @param headTree The tree of the current commit
+	 * @return True, if the index differs from the given tree
+	 * @throws IOException if the index or the tree could not be read
+	 */
+	public boolean hasStagedChanges(Repository repository, RevTree headTree) throws IOException {
+		try (TreeWalk treeWalk = new TreeWalk(repository)) {
+			treeWalk.addTree(headTree);
+			treeWalk.addTree(new DirCacheIterator(repository.readDirCache()));
+			treeWalk.setRecursive(true);
+			treeWalk.setFilter(TreeFilter.ANY_DIFF);
+			return treeWalk.next();
+		}
+	}
+
+	/**
+	 * Writes the given files to the working tree of the repository, stages and
+	 * commits them. A file is neither written nor staged if its content equals the
+	 * staged one and the one in the working tree, and if nothing changed compared
+	 * to the current commit, no commit is created.
+	 *
+	 * @param git The git object of the repository
+	 * @param authorName The name of the author of the commit
+	 * @param authorMail The mail address of the author of the commit
+	 * @param commitMessage The commit message to use
+	 * @param versionTag The tag to add to the commit, may be null
+	 * @param files The files to store
+	 * @param event The event to which the number and size of the written files are added
+	 * @return The new commit, or the current one if nothing changed
+	 * @throws IOException if a file or the index could not be read or written
+	 * @throws GitAPIException if the files could not be staged, committed or tagged
+	 */
+	public RevCommit storeAndCommitFiles(Git git, String authorName, String authorMail, String commitMessage,
+			String versionTag, List<GeneratedFile> files, GitOperationEvent event) throws IOException, GitAPIException {
+		Repository repository = git.getRepository();
+		try (RevWalk revWalk = new RevWalk(repository)) {
+			ObjectId headId = repository.resolve(Constants.HEAD);
+			RevTree headTree = headId == null ? null : revWalk.parseCommit(headId).getTree();
+			DirCache dirCache = repository.readDirCache();
+			ObjectInserter.Formatter formatter = new ObjectInserter.Formatter();
+
+			AddCommand add = git.add();
+			int changedFiles = 0;
+			for (GeneratedFile generatedFile : files) {
+
+				String filePath = generatedFile.getPath();
+				byte[] content = generatedFile.getContent();
+				File file = new File(repository.getWorkTree(), filePath);
+
+				if (isUnchanged(dirCache, filePath, file, formatter.idFor(Constants.OBJ_BLOB, content), formatter)) {
+					Metrics.counter(Metrics.FILES_UNCHANGED).increment();
+					continue;
+				}
+
+				file.getParentFile().mkdirs();
+				Files.write(file.toPath(), content);
+				Metrics.counter(Metrics.FILES_WRITTEN).increment();
+				Metrics.counter(Metrics.BYTES_WRITTEN).add(content.length);
+				event.bytes += content.length;
+
+				add.addFilepattern(filePath);
+				changedFiles++;
+			}
+			event.fileCount = changedFiles;
 
-	    return content;
+			if (changedFiles > 0) {
+				// stage all changed files in one index update
+				add.call();
+			}
+
+			RevCommit commit;
+			if (headTree != null && !hasStagedChanges(repository, headTree)) {
+				// nothing changed, e.g. a synchronization without any model changes
+				commit = revWalk.parseCommit(headId);
+			} else {
+				commit = git.commit().setAuthor(authorName, authorMail).setMessage(commitMessage).call();
+			}
+
+			if (versionTag != null) {
+				git.tag().setObjectId(commit).setName(versionTag).call();
+			}
+			return commit;
+		}
+	}
+
+	/**
+	 * Checks if the given content is already staged and the file in the working
+	 * tree has the same content, i.e. writing and staging the file would not
+	 * change anything.
+	 */
+	private static boolean isUnchanged(DirCache dirCache, String filePath, File file, ObjectId contentId,
+			ObjectInserter.Formatter formatter) throws IOException {
+		DirCacheEntry entry = dirCache.getEntry(filePath);
+		if (entry == null || !entry.getObjectId().equals(contentId) || !file.isFile()
+				|| file.length() != entry.getLength()) {
+			return false;
+		}
+		return formatter.idFor(Constants.OBJ_BLOB, Files.readAllBytes(file.toPath())).equals(contentId);
 	}
 	
 	public void switchBranch(Git git, String branchName) throws GitHelperException {
@@ -313,10 +492,14 @@ public class GitUtility {
 				return;
 			}
 			boolean branchExists = git.getRepository().getRef(branchName) != null;
+			GitOperationEvent event =
+					new GitOperationEvent("checkout", git.getRepository().getDirectory().getParentFile().getName());
+			event.branchName = branchName;
 			if (!branchExists) {
 				git.branchCreate().setName(branchName).call();
 			}
 			git.checkout().setName(branchName).call();
+			event.commit();
 		} catch(IOException e) {
 			throw new GitHelperException(e.getMessage());
 		} catch(GitAPIException  e) {
@@ -338,9 +521,15 @@ public class GitUtility {
 
 	    if (existsRemoteRepository(repositoryAddress)) {
 	    	try {
+	    	long startTime = System.nanoTime();
+	    	GitOperationEvent event = new GitOperationEvent("clone", repositoryName);
+	    	event.branchName = masterBranchName;
 	    	Git result = Git.cloneRepository().setURI(repositoryAddress).setCredentialsProvider(provider)
 	    			.setDirectory(getRepositoryPath(repositoryName)).setBranch(masterBranchName).call();
 	        repository = result.getRepository();
+	        Metrics.timer(Metrics.CLONE).recordSince(startTime);
+	        event.commit();
+	        RemoteRepositoryCache.put(repositoryAddress, true);
 	        
 	        // get the files of the folder which is used by the local repository
 	        String[] files = repository.getDirectory().getParentFile().list();
@@ -0,0 +1,325 @@
+package i5.las2peer.services.codeGenerationService.utilities;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Registry of the timers, summaries, counters and gauges of the code generation, e.g. the durations
+ * of the phases template fetch, model parsing, rendering, committing and pushing. The metrics are
+ * shared by all requests of the service, as the generators are static classes as well, and can be
+ * exported in the Prometheus text format, see {@link #toPrometheusText()}.
+ *
+ */
+
+public class Metrics {
+
+  // timers
+  public static final String TEMPLATE_FETCH = "template_fetch";
+  public static final String PARSE = "parse";
+  public static final String RENDER = "render";
+  public static final String COMMIT = "commit";
+  public static final String PUSH = "push";
+  public static final String CLONE = "clone";
+  public static final String GIT_HOST_REQUEST = "git_host_request";
+  public static final String WARM_UP = "warm_up";
+
+  // summaries
+  public static final String FILES_PER_COMMIT = "files_per_commit";
+
+  // counters
+  public static final String FILES_WRITTEN = "files_written";
+  public static final String FILES_UNCHANGED = "files_unchanged";
+  public static final String BYTES_WRITTEN = "bytes_written";
+  public static final String GENERATION_ERRORS = "generation_errors";
+  public static final String GIT_HOST_REQUEST_ERRORS = "git_host_request_errors";
+  public static final String REMOTE_EXISTS_CACHE_HITS = "remote_exists_cache_hits";
+  public static final String REMOTE_EXISTS_CACHE_MISSES = "remote_exists_cache_misses";
+  public static final String COALESCED_PUSHES = "coalesced_pushes";
+  public static final String RESPONSE_CACHE_HITS = "response_cache_hits";
+  public static final String RESPONSE_CACHE_MISSES = "response_cache_misses";
+  public static final String NOT_MODIFIED_RESPONSES = "not_modified_responses";
+  public static final String VIOLATION_CHECK_CACHE_HITS = "violation_check_cache_hits";
+  public static final String VIOLATION_CHECK_CACHE_MISSES = "violation_check_cache_misses";
+  public static final String PARSED_MODEL_CACHE_HITS = "parsed_model_cache_hits";
+  public static final String PARSED_MODEL_CACHE_MISSES = "parsed_model_cache_misses";
+
+  // gauges
+  public static final String GENERATIONS_ACTIVE = "generations_active";
+
+  private static final String PREFIX = "codegen_";
+
+  private static final Map<String, Timer> timers = new ConcurrentHashMap<String, Timer>();
+  private static final Map<String, Summary> summaries = new ConcurrentHashMap<String, Summary>();
+  private static final Map<String, Counter> counters = new ConcurrentHashMap<String, Counter>();
+  private static final Map<String, Gauge> gauges = new ConcurrentHashMap<String, Gauge>();
+
+  /**
+   * Get the timer of the given name, creates it if it does not exist yet.
+   *
+   * @param name The name of the timer
+   * @return The timer
+   */
+
+  public static Timer timer(String name) {
+    return timers.computeIfAbsent(name, Timer::new);
+  }
+
+  /**
+   * Get the summary of the given name, creates it if it does not exist yet.
+   *
+   * @param name The name of the summary
+   * @return The summary
+   */
+
+  public static Summary summary(String name) {
+    return summaries.computeIfAbsent(name, Summary::new);
+  }
+
+  /**
+   * Get the counter of the given name, creates it if it does not exist yet.
+   *
+   * @param name The name of the counter
+   * @return The counter
+   */
+
+  public static Counter counter(String name) {
+    return counters.computeIfAbsent(name, Counter::new);
+  }
+
+  /**
+   * Get the gauge of the given name, creates it if it does not exist yet.
+   *
+   * @param name The name of the gauge
+   * @return The gauge
+   */
+
+  public static Gauge gauge(String name) {
+    return gauges.computeIfAbsent(name, Gauge::new);
+  }
+
+  /**
+   * Get all timers, sorted by their name.
+   *
+   * @return A sorted copy of the timers map
+   */
+
+  public static Map<String, Timer> getTimers() {
+    return new TreeMap<String, Timer>(timers);
+  }
+
+  /**
+   * Removes all metrics, e.g. between two runs of a benchmark.
+   */
+
+  public static void reset() {
+    timers.clear();
+    summaries.clear();
+    counters.clear();
+    gauges.clear();
+  }
+
+  /**
+   * Exports all metrics in the Prometheus text format. Timers are exported as summaries in seconds,
+   * all names are prefixed with "codegen_".
+   *
+   * @return The metrics as text
+   */
+
+  public static String toPrometheusText() {
+    StringBuilder builder = new StringBuilder();
+    for (Timer timer : new TreeMap<String, Timer>(timers).values()) {
+      appendSummary(builder, PREFIX + timer.getName() + "_seconds", timer, 1e-9);
+    }
+    for (Summary summary : new TreeMap<String, Summary>(summaries).values()) {
+      appendSummary(builder, PREFIX + summary.getName(), summary, 1);
+    }
+    for (Counter counter : new TreeMap<String, Counter>(counters).values()) {
+      String name = PREFIX + counter.getName() + "_total";
+      builder.append("# TYPE ").append(name).append(" counter\n");
+      builder.append(name).append(' ').append(counter.getCount()).append('\n');
+    }
+    for (Gauge gauge : new TreeMap<String, Gauge>(gauges).values()) {
+      String name = PREFIX + gauge.getName();
+      builder.append("# TYPE ").append(name).append(" gauge\n");
+      builder.append(name).append(' ').append(gauge.getValue()).append('\n');
+    }
+    return builder.toString();
+  }
+
+  private static void appendSummary(StringBuilder builder, String name, Summary summary,
+      double unit) {
+    builder.append("# TYPE ").append(name).append(" summary\n");
+    for (String quantile : new String[] {"0.5", "0.99"}) {
+      builder.append(name).append("{quantile=\"").append(quantile).append("\"} ")
+          .append(format(summary.getPercentile(Double.parseDouble(quantile)) * unit)).append('\n');
+    }
+    builder.append(name).append("_sum ").append(format(summary.getSum() * unit)).append('\n');
+    builder.append(name).append("_count ").append(summary.getCount()).append('\n');
+  }
+
+  private static String format(double value) {
+    return String.format(Locale.ROOT, "%.6f", value);
+  }
+
+  /**
+   * A summary counting the recorded values and keeping the most recent ones to compute
+   * percentiles.
+   *
+   */
+
+  public static class Summary {
+    // number of values kept for the percentiles
+    private static final int RESERVOIR_SIZE = 4096;
+
+    private final String name;
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final long[] reservoir = new long[RESERVOIR_SIZE];
+    private int position = 0;
+    private int size = 0;
+
+    private Summary(String name) {
+      this.name = name;
+    }
+
+    /**
+     * Records a value.
+     *
+     * @param value The value
+     */
+
+    public void record(long value) {
+      count.increment();
+      sum.add(value);
+      synchronized (reservoir) {
+        reservoir[position] = value;
+        position = (position + 1) % RESERVOIR_SIZE;
+        size = Math.min(size + 1, RESERVOIR_SIZE);
+      }
+    }
+
+    /**
+     * Get a percentile of the most recent values.
+     *
+     * @param quantile The quantile between 0 and 1, e.g. 0.99 for the 99th percentile
+     * @return The percentile, or 0 if nothing was recorded yet
+     */
+
+    public long getPercentile(double quantile) {
+      long[] samples;
+      synchronized (reservoir) {
+        samples = Arrays.copyOf(reservoir, size);
+      }
+      if (samples.length == 0) {
+        return 0;
+      }
+      Arrays.sort(samples);
+      int index = (int) Math.ceil(quantile * samples.length) - 1;
+      return samples[Math.max(0, Math.min(index, samples.length - 1))];
+    }
+
+    public String getName() {
+      return name;
+    }
+
+    public long getCount() {
+      return count.sum();
+    }
+
+    public long getSum() {
+      return sum.sum();
+    }
+  }
+
+  /**
+   * A summary of durations in nanoseconds.
+   *
+   */
+
+  public static class Timer extends Summary {
+
+    private Timer(String name) {
+      super(name);
+    }
+
+    /**
+     * Records the time elapsed since the given start time.
+     *
+     * @param startTime The start time as returned by {@link System#nanoTime()}
+     */
+
+    public void recordSince(long startTime) {
+      record(System.nanoTime() - startTime);
+    }
+  }
+
+  /**
+   * A monotonically increasing counter.
+   *
+   */
+
+  public static class Counter {
+    private final String name;
+    private final LongAdder count = new LongAdder();
+
+    private Counter(String name) {
+      this.name = name;
+    }
+
+    public void increment() {
+      count.increment();
+    }
+
+    public void add(long value) {
+      count.add(value);
+    }
+
+    public String getName() {
+      return name;
+    }
+
+    public long getCount() {
+      return count.sum();
+    }
+  }
+
+  /**
+   * A value that can go up and down, e.g. the number of running generations.
+   *
+   */
+
+  public static class Gauge {
+    private final String name;
+    private final AtomicLong value = new AtomicLong();
+
+    private Gauge(String name) {
+      this.name = name;
+    }
+
+    public void increment() {
+      value.incrementAndGet();
+    }
+
+    public void decrement() {
+      value.decrementAndGet();
+    }
+
+    public void set(long newValue) {
+      value.set(newValue);
+    }
+
+    public String getName() {
+      return name;
+    }
+
+    public long getValue() {
+      return value.get();
+    }
+  }
+
+}
@@ -0,0 +1,166 @@
+package i5.las2peer.services.codeGenerationService.utilities;
+
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+
+import i5.cae.simpleModel.SimpleEntityAttribute;
+import i5.cae.simpleModel.SimpleModel;
+import i5.cae.simpleModel.edge.SimpleEdge;
+import i5.cae.simpleModel.node.SimpleNode;
+import i5.las2peer.apiTestModel.TestModel;
+import i5.las2peer.services.codeGenerationService.exception.ModelParseException;
+import i5.las2peer.services.codeGenerationService.models.frontendComponent.FrontendComponent;
+import i5.las2peer.services.codeGenerationService.models.microservice.Microservice;
+
+/**
+ * Cache of parsed component models. An update of a component sends the new and the old model of
+ * the component, where the old model is the new model of the previous update. Parsed models are
+ * therefore cached by a hash of their content, so that the old model of an update usually does not
+ * need to be parsed again. The least recently used models are removed if the cache is full.
+ *
+ */
+
+public class ParsedModelCache {
+
+  public static final int DEFAULT_MAX_ENTRIES = 64;
+
+  private static final BoundedCache<String, Object> entries =
+      new BoundedCache<String, Object>(DEFAULT_MAX_ENTRIES);
+
+  /**
+   * Get the parsed microservice of a model, parses the model if it is not cached
+   *
+   * @param model The microservice model
+   * @param testModel The test model of the microservice, may be null
+   * @return The parsed microservice
+   * @throws ModelParseException if the model is not valid
+   */
+
+  public static Microservice getMicroservice(SimpleModel model, TestModel testModel)
+      throws ModelParseException {
+    String key = "microservice:" + getContentHash(model, testModel);
+    Microservice microservice = (Microservice) get(key);
+    if (microservice == null) {
+      microservice = new Microservice(model, testModel);
+      entries.put(key, microservice);
+    }
+    return microservice;
+  }
+
+  /**
+   * Get the parsed frontend component of a model, parses the model if it is not cached
+   *
+   * @param model The frontend component model
+   * @return The parsed frontend component
+   * @throws ModelParseException if the model is not valid
+   */
+
+  public static FrontendComponent getFrontendComponent(SimpleModel model)
+      throws ModelParseException {
+    String key = "frontend-component:" + getContentHash(model, null);
+    FrontendComponent frontendComponent = (FrontendComponent) get(key);
+    if (frontendComponent == null) {
+      frontendComponent = new FrontendComponent(model);
+      entries.put(key, frontendComponent);
+    }
+    return frontendComponent;
+  }
+
+  private static Object get(String key) {
+    Object parsedModel = entries.get(key);
+    Metrics.counter(parsedModel != null ? Metrics.PARSED_MODEL_CACHE_HITS
+        : Metrics.PARSED_MODEL_CACHE_MISSES).increment();
+    return parsedModel;
+  }
+
+  /**
+   * Sets the maximum number of cached models, 0 disables the cache. Clears the cache.
+   *
+   * @param max The maximum number of models
+   */
+
+  public static void setMaxEntries(int max) {
+    entries.setMaxEntries(max);
+  }
+
+  /**
+   * Removes all cached models.
+   */
+
+  public static void clear() {
+    entries.clear();
+  }
+
+  /**
+   * Computes a hash of the content of a model, i.e. of its name, its attributes (including the
+   * versioned model id) and its nodes and edges with their attributes, and of a test model
+   *
+   * @param model The model
+   * @param testModel The test model, may be null
+   * @return The hash
+   */
+
+  public static String getContentHash(SimpleModel model, TestModel testModel) {
+    MessageDigest digest;
+    try {
+      digest = MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+    update(digest, model.getName());
+    update(digest, model.getAttributes());
+    update(digest, String.valueOf(model.getNodes().size()));
+    for (SimpleNode node : model.getNodes()) {
+      update(digest, node.getId());
+      update(digest, node.getType());
+      update(digest, node.getAttributes());
+    }
+    update(digest, String.valueOf(model.getEdges().size()));
+    for (SimpleEdge edge : model.getEdges()) {
+      update(digest, edge.getId());
+      update(digest, edge.getSourceNode());
+      update(digest, edge.getTargetNode());
+      update(digest, edge.getType());
+      update(digest, edge.getLabelValue());
+      update(digest, edge.getAttributes());
+    }
+    if (testModel != null) {
+      try (ObjectOutputStream out =
+          new ObjectOutputStream(new DigestOutputStream(OutputStream.nullOutputStream(), digest))) {
+        out.writeObject(testModel);
+      } catch (IOException e) {
+        throw new IllegalStateException(e);
+      }
+    }
+    return new BigInteger(1, digest.digest()).toString(16);
+  }
+
+  private static void update(MessageDigest digest, List<SimpleEntityAttribute> attributes) {
+    update(digest, String.valueOf(attributes.size()));
+    for (SimpleEntityAttribute attribute : attributes) {
+      update(digest, attribute.getSyncMetaId());
+      update(digest, attribute.getName());
+      update(digest, attribute.getValue());
+    }
+  }
+
+  private static void update(MessageDigest digest, String value) {
+    // the length separates the values and distinguishes null from the empty string
+    if (value == null) {
+      digest.update((byte) 0);
+    } else {
+      digest.update((byte) 1);
+      digest.update(String.valueOf(value.length()).getBytes(StandardCharsets.UTF_8));
+      digest.update((byte) ':');
+      digest.update(value.getBytes(StandardCharsets.UTF_8));
+    }
+  }
+
+}
@@ -0,0 +1,164 @@
+package i5.las2peer.services.codeGenerationService.utilities;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+
+import i5.las2peer.services.codeGenerationService.exception.GitHelperException;
+
+/**
+ * Coalesces the pushes to a repository that are requested while another push of the repository is
+ * in progress into a single push. A request for a repository without a push in progress is pushed
+ * right away. Otherwise it opens a batch, which waits for the push in progress and at least for the
+ * time window since its first request, and then pushes the latest state together with the version
+ * tags of all requests of the batch. The other requests of the batch wait for this push and get its
+ * result. Pushes of the same repository never run concurrently.
+ *
+ * The push is executed by the thread of the first request, thus it runs in the context of a service
+ * call.
+ *
+ */
+
+public class PushCoalescer {
+
+  /**
+   * A push of the latest state of a repository.
+   */
+  public interface Push {
+
+    /**
+     * Pushes the repository.
+     *
+     * @param versionTags The version tags of all coalesced requests, may be empty
+     * @throws GitHelperException if the push failed
+     */
+
+    void push(Set<String> versionTags) throws GitHelperException;
+  }
+
+  private final long windowMillis;
+  // the batches still accepting requests, guarded by this
+  private final Map<String, Batch> openBatches = new HashMap<String, Batch>();
+  // the number of pushes in progress or waiting per repository, guarded by this
+  private final Map<String, Integer> activePushes = new HashMap<String, Integer>();
+  private final Map<String, Object> repositoryLocks = new ConcurrentHashMap<String, Object>();
+
+  /**
+   * Creates a coalescer.
+   *
+   * @param windowMillis The time window in milliseconds, 0 pushes each request on its own
+   */
+
+  public PushCoalescer(long windowMillis) {
+    this.windowMillis = windowMillis;
+  }
+
+  /**
+   * Requests a push, blocks until the push containing this request is done.
+   *
+   * @param key The key of the repository, e.g. its name and branch
+   * @param versionTag The version tag to push, may be null
+   * @param push The push, only executed by the first request of a batch
+   * @throws GitHelperException if the push failed
+   */
+
+  public void push(String key, String versionTag, Push push) throws GitHelperException {
+    if (windowMillis <= 0) {
+      synchronized (getLock(key)) {
+        push.push(versionTag == null ? Collections.<String>emptySet()
+            : Collections.singleton(versionTag));
+      }
+      return;
+    }
+
+    Batch batch;
+    boolean first;
+    boolean immediate = false;
+    synchronized (this) {
+      batch = openBatches.get(key);
+      first = batch == null;
+      if (first) {
+        batch = new Batch();
+        immediate = activePushes.merge(key, 1, Integer::sum) == 1;
+        if (!immediate) {
+          openBatches.put(key, batch);
+        }
+      }
+      if (versionTag != null) {
+        batch.versionTags.add(versionTag);
+      }
+    }
+    if (!first) {
+      Metrics.counter(Metrics.COALESCED_PUSHES).increment();
+      batch.await();
+      return;
+    }
+
+    try {
+      synchronized (getLock(key)) {
+        if (!immediate) {
+          batch.awaitWindow(windowMillis);
+          synchronized (this) {
+            openBatches.remove(key);
+          }
+        }
+        try {
+          push.push(batch.versionTags);
+          batch.result.complete(null);
+        } catch (Throwable e) {
+          // also errors, the other requests of the batch must not wait forever
+          batch.result.completeExceptionally(e);
+          throw e;
+        }
+      }
+    } finally {
+      synchronized (this) {
+        activePushes.computeIfPresent(key, (k, count) -> count == 1 ? null : count - 1);
+      }
+    }
+  }
+
+  private Object getLock(String key) {
+    return repositoryLocks.computeIfAbsent(key, k -> new Object());
+  }
+
+  private static class Batch {
+    private final long created = System.nanoTime();
+    private final Set<String> versionTags = new LinkedHashSet<String>();
+    private final CompletableFuture<Void> result = new CompletableFuture<Void>();
+
+    private void awaitWindow(long windowMillis) {
+      long remaining = windowMillis - (System.nanoTime() - created) / 1000000;
+      if (remaining > 0) {
+        try {
+          Thread.sleep(remaining);
+        } catch (InterruptedException e) {
+          // push right away
+          Thread.currentThread().interrupt();
+        }
+      }
+    }
+
+    private void await() throws GitHelperException {
+      try {
+        result.get();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new GitHelperException("Interrupted while waiting for the push");
+      } catch (ExecutionException e) {
+        if (e.getCause() instanceof GitHelperException) {
+          throw (GitHelperException) e.getCause();
+        }
+        Throwable cause = e.getCause();
+        throw new GitHelperException(
+            cause.getMessage() != null ? cause.getMessage() : cause.getClass().getName());
+      }
+    }
+  }
+
+}
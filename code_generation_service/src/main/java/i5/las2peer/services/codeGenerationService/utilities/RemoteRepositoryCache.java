@@ -0,0 +1,135 @@
+package i5.las2peer.services.codeGenerationService.utilities;
+
+/**
+ * Cache of the existence of remote repositories, keyed by the url of the repository. Checking the
+ * existence needs a network round trip (ls-remote), but an update of a model checks the same
+ * repository several times. Entries expire after a short time and are updated eagerly when a
+ * repository is created, deleted, pushed to or cloned by the service. Only definitive results are
+ * cached, a check that fails, e.g. because the git host is not reachable, is repeated next time.
+ * The least recently used and expired entries are removed if the cache is full. The cache is
+ * shared, as the generators are static classes as well.
+ *
+ */
+
+public class RemoteRepositoryCache {
+
+  public static final long DEFAULT_TTL_MILLIS = 10000;
+  public static final int MAX_ENTRIES = 1024;
+
+  private static volatile long ttlMillis = DEFAULT_TTL_MILLIS;
+
+  private static final BoundedCache<String, Entry> entries =
+      new BoundedCache<String, Entry>(MAX_ENTRIES);
+
+  /**
+   * Checks the existence of a remote repository on the git host.
+   */
+
+  public interface Check {
+
+    /**
+     * Checks the existence of the repository.
+     *
+     * @return True, if the repository exists, false if the git host reported that it does not exist
+     * @throws Exception if the existence could not be determined
+     */
+
+    boolean exists() throws Exception;
+  }
+
+  /**
+   * Checks if the remote repository exists, using the cached result if it did not expire yet. If
+   * the check fails, the repository is treated as not existing, but the result is not cached.
+   *
+   * @param url The url of the remote repository
+   * @param check Checks the existence on the git host on a cache miss
+   * @return True, if the repository exists, otherwise false
+   */
+
+  public static boolean exists(String url, Check check) {
+    Entry entry = get(url);
+    if (entry != null) {
+      Metrics.counter(Metrics.REMOTE_EXISTS_CACHE_HITS).increment();
+      return entry.exists;
+    }
+    Metrics.counter(Metrics.REMOTE_EXISTS_CACHE_MISSES).increment();
+    boolean exists;
+    try {
+      exists = check.exists();
+    } catch (Exception e) {
+      return false;
+    }
+    put(url, exists);
+    return exists;
+  }
+
+  private static synchronized Entry get(String url) {
+    Entry entry = entries.get(url);
+    if (entry != null && entry.isExpired()) {
+      entries.remove(url);
+      return null;
+    }
+    return entry;
+  }
+
+  /**
+   * Updates the existence of a remote repository, e.g. after it was created or deleted.
+   *
+   * @param url The url of the remote repository
+   * @param exists True, if the repository exists now
+   */
+
+  public static synchronized void put(String url, boolean exists) {
+    if (ttlMillis > 0) {
+      if (entries.size() >= MAX_ENTRIES) {
+        entries.removeIf(Entry::isExpired);
+      }
+      entries.put(url, new Entry(exists, System.nanoTime()));
+    }
+  }
+
+  /**
+   * Sets the time after which the cached existence of a repository is checked again, 0 disables
+   * the cache. Clears the cache.
+   *
+   * @param millis The time to live in milliseconds
+   */
+
+  public static synchronized void setTtl(long millis) {
+    ttlMillis = millis;
+    entries.clear();
+  }
+
+  /**
+   * Removes all cached entries.
+   */
+
+  public static void clear() {
+    entries.clear();
+  }
+
+  /**
+   * Get the number of cached entries, including expired ones that were not removed yet.
+   *
+   * @return The number of entries
+   */
+
+  public static int size() {
+    return entries.size();
+  }
+
+  private static class Entry {
+    private final boolean exists;
+    private final long time;
+
+    private Entry(boolean exists, long time) {
+      this.exists = exists;
+      this.time = time;
+    }
+
+    private boolean isExpired() {
+      return System.nanoTime() - this.time >= ttlMillis * 1000000;
+    }
+  }
+
+}
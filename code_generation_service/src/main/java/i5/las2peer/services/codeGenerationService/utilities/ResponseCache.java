@@ -0,0 +1,102 @@
+package i5.las2peer.services.codeGenerationService.utilities;
+
+/**
+ * Cache of the responses of the read only file endpoints, e.g. the files of the live preview
+ * widget, which polls them. The content of these responses only depends on the commit of the
+ * development branch, so every entry stores the commit it was created for and is only used as long
+ * as the branch still points to this commit. The commit id is also used as the entity tag of the
+ * responses, so that clients can revalidate them with If-None-Match. The least recently used
+ * entries are removed if the cache is full.
+ *
+ */
+
+public class ResponseCache {
+
+  public static final int DEFAULT_MAX_ENTRIES = 256;
+
+  private static final BoundedCache<String, Entry> entries =
+      new BoundedCache<String, Entry>(DEFAULT_MAX_ENTRIES);
+
+  /**
+   * Get a cached response
+   *
+   * @param key The key of the response, i.e. the endpoint and its parameters
+   * @param commitId The id of the current commit of the repository
+   * @return The cached response or null if there is none for the given commit
+   */
+
+  public static String get(String key, String commitId) {
+    Entry entry = entries.get(key);
+    if (entry != null && entry.commitId.equals(commitId)) {
+      Metrics.counter(Metrics.RESPONSE_CACHE_HITS).increment();
+      return entry.response;
+    }
+    Metrics.counter(Metrics.RESPONSE_CACHE_MISSES).increment();
+    return null;
+  }
+
+  /**
+   * Caches a response, replaces the response of an older commit
+   *
+   * @param key The key of the response, i.e. the endpoint and its parameters
+   * @param commitId The id of the commit the response was created for
+   * @param response The response
+   */
+
+  public static void put(String key, String commitId, String response) {
+    entries.put(key, new Entry(commitId, response));
+  }
+
+  /**
+   * Sets the maximum number of cached responses, 0 disables the cache. Clears the cache.
+   *
+   * @param max The maximum number of responses
+   */
+
+  public static void setMaxEntries(int max) {
+    entries.setMaxEntries(max);
+  }
+
+  /**
+   * Removes all cached responses.
+   */
+
+  public static void clear() {
+    entries.clear();
+  }
+
+  /**
+   * Checks if the value of an If-None-Match header matches the entity tag of a commit
+   *
+   * @param ifNoneMatch The value of the header, may be null
+   * @param commitId The id of the commit used as entity tag
+   * @return True, if the client already has the response for the commit
+   */
+
+  public static boolean matches(String ifNoneMatch, String commitId) {
+    if (ifNoneMatch == null) {
+      return false;
+    }
+    for (String tag : ifNoneMatch.split(",")) {
+      tag = tag.trim();
+      if (tag.startsWith("W/")) {
+        tag = tag.substring(2);
+      }
+      if (tag.equals("*") || tag.equals("\"" + commitId + "\"")) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static class Entry {
+    private final String commitId;
+    private final String response;
+
+    private Entry(String commitId, String response) {
+      this.commitId = commitId;
+      this.response = response;
+    }
+  }
+
+}
@@ -0,0 +1,45 @@
+package i5.las2peer.services.codeGenerationService.utilities;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Creates the thread pools the service uses for concurrent work within a request, e.g. parsing
+ * the component models of an application or checking the files of a model violation check. Each
+ * pool is shared by all requests of its kind and has a bounded number of daemon threads, so that
+ * concurrent requests do not use more threads than there are cores and the pools do not keep the
+ * jvm from exiting.
+ *
+ */
+
+public class WorkerPools {
+
+  public static final int MAX_THREADS = 4;
+
+  /**
+   * The number of threads of a pool, at most {@link #MAX_THREADS} and at most the number of
+   * processors
+   *
+   * @return The number of threads
+   */
+
+  public static int getThreadCount() {
+    return Math.max(1, Math.min(MAX_THREADS, Runtime.getRuntime().availableProcessors()));
+  }
+
+  /**
+   * Creates a bounded pool of daemon threads
+   *
+   * @param name The name of the threads of the pool
+   * @return The pool
+   */
+
+  public static ExecutorService newBoundedPool(String name) {
+    return Executors.newFixedThreadPool(getThreadCount(), runnable -> {
+      Thread thread = new Thread(runnable, name);
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+}
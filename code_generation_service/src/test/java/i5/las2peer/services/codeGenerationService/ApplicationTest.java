@@ -0,0 +1,86 @@
+package i5.las2peer.services.codeGenerationService;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+
+import org.junit.Test;
+
+import i5.cae.simpleModel.SimpleEntityAttribute;
+import i5.cae.simpleModel.SimpleModel;
+import i5.cae.simpleModel.edge.SimpleEdge;
+import i5.cae.simpleModel.node.SimpleNode;
+import i5.las2peer.services.codeGenerationService.exception.ModelParseException;
+import i5.las2peer.services.codeGenerationService.models.application.Application;
+
+public class ApplicationTest {
+
+  private static SimpleModel createModel(String name, String type, String... nodeTypes) {
+    ArrayList<SimpleNode> nodes = new ArrayList<SimpleNode>();
+    for (int i = 0; i < nodeTypes.length; i++) {
+      nodes.add(new SimpleNode(name + i, nodeTypes[i], new ArrayList<SimpleEntityAttribute>()));
+    }
+    ArrayList<SimpleEntityAttribute> attributes = new ArrayList<SimpleEntityAttribute>();
+    attributes.add(new SimpleEntityAttribute("type", "type", type));
+    return new SimpleModel(name, nodes, new ArrayList<SimpleEdge>(), attributes);
+  }
+
+  private static String parseError(SimpleModel... components) {
+    ArrayList<SimpleModel> models = new ArrayList<SimpleModel>();
+    models.add(new SimpleModel("application", new ArrayList<SimpleNode>(),
+        new ArrayList<SimpleEdge>(), new ArrayList<SimpleEntityAttribute>()));
+    models.addAll(Arrays.asList(components));
+    try {
+      new Application(models, new HashMap<String, String>());
+    } catch (ModelParseException e) {
+      return e.getMessage();
+    }
+    fail("The application should not be parsed");
+    return null;
+  }
+
+  /**
+   * Test that the components are parsed and that only the first component of a name is used
+   */
+  @Test
+  public void parseTest() throws ModelParseException {
+    ArrayList<SimpleModel> models = new ArrayList<SimpleModel>();
+    models.add(new SimpleModel("application", new ArrayList<SimpleNode>(),
+        new ArrayList<SimpleEdge>(), new ArrayList<SimpleEntityAttribute>()));
+    for (int i = 0; i < 10; i++) {
+      models.add(createModel("service" + i, "microservice"));
+    }
+    // components with the name of a parsed one are ignored, even if they are not valid
+    models.add(createModel("service0", "microservice", "Unknown"));
+
+    Application application = new Application(models, new HashMap<String, String>());
+    assertEquals(10, application.getMicroservices().size());
+    assertEquals("service3", application.getMicroservices().get("service3").getName());
+  }
+
+  /**
+   * Test that the error of the first invalid component is reported, although the components are
+   * parsed concurrently
+   */
+  @Test
+  public void errorOrderTest() {
+    SimpleModel[] components = new SimpleModel[20];
+    for (int i = 0; i < components.length; i++) {
+      components[i] = createModel("service" + i, "microservice");
+    }
+    components[15] = createModel("service15", "microservice", "Unknown 15");
+    components[5] = createModel("service5", "microservice", "Unknown 5");
+    assertEquals("Unknown node type: Unknown 5", parseError(components));
+
+    // an unknown component type is reported after the errors of the components before it
+    components[10] = createModel("widget", "widget");
+    assertEquals("Unknown node type: Unknown 5", parseError(components));
+    components[5] = createModel("service5", "microservice");
+    assertEquals("Error: Application can only consist of microservices and frontend components!",
+        parseError(components));
+  }
+
+}
@@ -0,0 +1,49 @@
+package i5.las2peer.services.codeGenerationService;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import org.junit.Test;
+
+import i5.las2peer.services.codeGenerationService.utilities.BoundedCache;
+
+public class BoundedCacheTest {
+
+  /**
+   * Test that the least recently used entries are removed if the cache is full
+   */
+  @Test
+  public void leastRecentlyUsedTest() {
+    BoundedCache<String, String> cache = new BoundedCache<String, String>(2);
+    cache.put("a", "a");
+    cache.put("b", "b");
+    cache.get("a");
+    cache.put("c", "c");
+    assertEquals("a", cache.get("a"));
+    assertNull(cache.get("b"));
+    assertEquals("c", cache.get("c"));
+    assertEquals(2, cache.size());
+
+    cache.removeIf(value -> value.equals("a"));
+    assertNull(cache.get("a"));
+    assertEquals(1, cache.size());
+  }
+
+  /**
+   * Test that setting the maximum number of entries clears the cache and that 0 disables it
+   */
+  @Test
+  public void setMaxEntriesTest() {
+    BoundedCache<String, String> cache = new BoundedCache<String, String>(2);
+    cache.put("a", "a");
+    cache.setMaxEntries(3);
+    assertNull(cache.get("a"));
+    assertEquals(3, cache.getMaxEntries());
+
+    cache.setMaxEntries(0);
+    cache.put("a", "a");
+    assertNull(cache.get("a"));
+    assertEquals(0, cache.size());
+  }
+
+}
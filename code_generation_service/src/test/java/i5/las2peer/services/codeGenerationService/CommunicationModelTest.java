@@ -0,0 +1,320 @@
+package i5.las2peer.services.codeGenerationService;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.ObjectInputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+
+import org.junit.Test;
+
+import i5.cae.simpleModel.SimpleEntityAttribute;
+import i5.cae.simpleModel.SimpleModel;
+import i5.cae.simpleModel.edge.SimpleEdge;
+import i5.cae.simpleModel.node.SimpleNode;
+import i5.las2peer.services.codeGenerationService.models.application.Application;
+import i5.las2peer.services.codeGenerationService.models.frontendComponent.FrontendComponent;
+import i5.las2peer.services.codeGenerationService.models.frontendComponent.Function;
+import i5.las2peer.services.codeGenerationService.models.frontendComponent.HtmlElement;
+import i5.las2peer.services.codeGenerationService.models.frontendComponent.IWCCall;
+import i5.las2peer.services.codeGenerationService.models.frontendComponent.IWCResponse;
+import i5.las2peer.services.codeGenerationService.models.frontendComponent.MicroserviceCall;
+import i5.las2peer.services.codeGenerationService.models.microservice.HttpMethod;
+import i5.las2peer.services.codeGenerationService.models.microservice.InternalCall;
+import i5.las2peer.services.codeGenerationService.models.microservice.Microservice;
+
+/**
+ * Tests the edges of the communication view model of the example application and of applications
+ * made of copies of its components. The edges are compared with the ones of the nested lookups the
+ * communication model used before its lookups were indexed, see {@link #expectedEdges(Application)}.
+ */
+public class CommunicationModelTest {
+
+  private static final String[] APPLICATION_MODEL_PATHS = new String[] {
+      "testModels/applicationTestModel/CAE Example Application.model",
+      "testModels/applicationTestModel/Graph Widget.model",
+      "testModels/applicationTestModel/LAS2peer Load Store Graph Service.model",
+      "testModels/applicationTestModel/LAS2peer Video List Service.model",
+      "testModels/applicationTestModel/Load Store Widget.model",
+      "testModels/applicationTestModel/Video List Widget.model",
+      "testModels/applicationTestModel/Video Player Widget.model"};
+
+  // attributes that connect the components of an application or have to be unique in it
+  private static final List<String> COMPONENT_ATTRIBUTES =
+      Arrays.asList("name", "path", "microserviceAddress", "intentAction", "id");
+
+  /**
+   * Reads a serialized test model, from the root folder or the project folder. The node type "HTML
+   * Element" of the older frontend component models is renamed to "View Component Part".
+   */
+  private static SimpleModel readModel(String path) throws Exception {
+    File file = new File(path);
+    if (!file.exists()) {
+      file = new File("..", path);
+    }
+    SimpleModel model;
+    try (ObjectInputStream input =
+        new ObjectInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+      model = (SimpleModel) input.readObject();
+    }
+    ArrayList<SimpleNode> nodes = new ArrayList<SimpleNode>();
+    for (SimpleNode node : model.getNodes()) {
+      String type = node.getType().equals("HTML Element") ? "View Component Part" : node.getType();
+      nodes.add(new SimpleNode(node.getId(), type, node.getAttributes()));
+    }
+    return new SimpleModel(model.getName(), nodes, model.getEdges(), model.getAttributes());
+  }
+
+  /**
+   * Copies a component model with unique ids, names, paths, intent actions and element ids, so
+   * that the copies of the example application only communicate within themselves.
+   */
+  private static SimpleModel copyModel(SimpleModel model, String suffix) {
+    ArrayList<SimpleNode> nodes = new ArrayList<SimpleNode>();
+    for (SimpleNode node : model.getNodes()) {
+      ArrayList<SimpleEntityAttribute> attributes = new ArrayList<SimpleEntityAttribute>();
+      for (SimpleEntityAttribute attribute : node.getAttributes()) {
+        String value = attribute.getValue();
+        if (COMPONENT_ATTRIBUTES.contains(attribute.getName()) && value != null
+            && !value.isEmpty()) {
+          value = value + suffix;
+        }
+        attributes.add(
+            new SimpleEntityAttribute(attribute.getSyncMetaId(), attribute.getName(), value));
+      }
+      nodes.add(new SimpleNode(node.getId() + suffix, node.getType(), attributes));
+    }
+    ArrayList<SimpleEdge> edges = new ArrayList<SimpleEdge>();
+    for (SimpleEdge edge : model.getEdges()) {
+      edges.add(new SimpleEdge(edge.getId() + suffix, edge.getSourceNode() + suffix,
+          edge.getTargetNode() + suffix, edge.getType(), "", edge.getAttributes()));
+    }
+    return new SimpleModel(model.getName() + suffix, nodes, edges, model.getAttributes());
+  }
+
+  private static Application createApplication(int copies) throws Exception {
+    ArrayList<SimpleModel> models = new ArrayList<SimpleModel>();
+    models.add(readModel(APPLICATION_MODEL_PATHS[0]));
+    for (int copy = 0; copy < copies; copy++) {
+      for (int i = 1; i < APPLICATION_MODEL_PATHS.length; i++) {
+        SimpleModel model = readModel(APPLICATION_MODEL_PATHS[i]);
+        models.add(copy == 0 ? model : copyModel(model, "_" + copy));
+      }
+    }
+    return new Application(models, new HashMap<String, String>());
+  }
+
+  private static String getLabel(SimpleNode node) {
+    for (SimpleEntityAttribute attribute : node.getAttributes()) {
+      if (attribute.getName().equals("label")) {
+        return attribute.getValue();
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Converts the edges of a communication view model to strings of their source, target and type.
+   * The random ids of the application environment and the other services are replaced by their
+   * type and label.
+   */
+  private static List<String> getEdges(SimpleModel communicationModel) {
+    Map<String, String> randomIds = new HashMap<String, String>();
+    for (SimpleNode node : communicationModel.getNodes()) {
+      if (node.getType().equals("Application Environment")) {
+        randomIds.put(node.getId(), "environment");
+      } else if (node.getType().equals("Other Service")) {
+        randomIds.put(node.getId(), "other:" + getLabel(node));
+      }
+    }
+    List<String> edges = new ArrayList<String>();
+    for (SimpleEdge edge : communicationModel.getEdges()) {
+      edges.add(randomIds.getOrDefault(edge.getSourceNode(), edge.getSourceNode()) + " -> "
+          + randomIds.getOrDefault(edge.getTargetNode(), edge.getTargetNode()) + " : "
+          + edge.getType());
+    }
+    return edges;
+  }
+
+  private static String getServiceClass(Microservice microservice) {
+    return "i5.las2peer.services." + microservice.getResourceName().substring(0, 1).toLowerCase()
+        + microservice.getResourceName().substring(1) + "." + microservice.getResourceName();
+  }
+
+  /**
+   * Creates the edges of the communication view model of an application with the nested lookups of
+   * the communication model before its lookups were indexed, in the same order.
+   */
+  private static List<String> expectedEdges(Application application) {
+    HashMap<String, Microservice> microservices = application.getMicroservices();
+    HashMap<String, FrontendComponent> frontendComponents = application.getFrontendComponents();
+    HashMap<String, Microservice> restfulResources = new HashMap<String, Microservice>();
+    for (Microservice microservice : microservices.values()) {
+      restfulResources.put(microservice.getMicroserviceModelId(), microservice);
+    }
+    HashMap<String, FrontendComponent> widgets = new HashMap<String, FrontendComponent>();
+    HashMap<String, IWCCall> iwcCalls = new HashMap<String, IWCCall>();
+    HashMap<String, IWCResponse> iwcResponses = new HashMap<String, IWCResponse>();
+    HashMap<String, HtmlElement> collaborativeElements = new HashMap<String, HtmlElement>();
+    for (FrontendComponent frontendComponent : frontendComponents.values()) {
+      widgets.put(frontendComponent.getWidgetModelId(), frontendComponent);
+      for (Function function : frontendComponent.getFunctions().values()) {
+        for (IWCCall iwcCall : function.getIwcCalls()) {
+          iwcCalls.put(iwcCall.getModelId(), iwcCall);
+        }
+        for (IWCResponse iwcResponse : function.getIwcResponses()) {
+          iwcResponses.put(iwcResponse.getModelId(), iwcResponse);
+        }
+      }
+      for (HtmlElement element : frontendComponent.getHtmlElements().values()) {
+        if (element.isCollaborativeElement()) {
+          collaborativeElements.put(element.getModelId(), element);
+        }
+      }
+    }
+
+    List<String> edges = new ArrayList<String>();
+    for (String id : restfulResources.keySet()) {
+      edges.add("environment -> " + id + " : Application Component");
+    }
+    for (String id : widgets.keySet()) {
+      edges.add("environment -> " + id + " : Application Component");
+    }
+    for (Microservice source : microservices.values()) {
+      for (HttpMethod method : source.getHttpMethods().values()) {
+        for (InternalCall internalCall : method.getInternalCalls()) {
+          String target = "other:" + internalCall.getServiceClass();
+          for (Microservice microservice : microservices.values()) {
+            if (getServiceClass(microservice).equals(internalCall.getServiceClass())
+                && !microservice.getMicroserviceModelId()
+                    .equals(source.getMicroserviceModelId())) {
+              target = microservice.getMicroserviceModelId();
+              break;
+            }
+          }
+          edges.add(source.getMicroserviceModelId() + " -> " + target + " : Internal Resource Call");
+        }
+      }
+    }
+    for (FrontendComponent frontendComponent : frontendComponents.values()) {
+      String widgetId = frontendComponent.getWidgetModelId();
+      for (Function function : frontendComponent.getFunctions().values()) {
+        for (MicroserviceCall call : function.getMicroserviceCalls()) {
+          edges.add(widgetId + " -> " + call.getModelId() + " : Widget to Microservice Call");
+        }
+        for (IWCCall call : function.getIwcCalls()) {
+          edges.add(widgetId + " -> " + call.getModelId() + " : Widget to IWC Call");
+        }
+        for (IWCResponse response : function.getIwcResponses()) {
+          edges.add(widgetId + " -> " + response.getModelId() + " : Widget to IWC Response");
+        }
+        for (Microservice microservice : microservices.values()) {
+          if (frontendComponent.getMicroserviceAddress().equals(microservice.getPath())) {
+            for (MicroserviceCall call : function.getMicroserviceCalls()) {
+              edges.add(call.getModelId() + " -> " + microservice.getMicroserviceModelId()
+                  + " : HTTP Call");
+            }
+          }
+        }
+      }
+      for (HtmlElement element : frontendComponent.getHtmlElements().values()) {
+        if (element.isCollaborativeElement()) {
+          edges.add(widgetId + " -> " + element.getModelId() + " : Widget to Collaborative Element");
+        }
+      }
+    }
+    for (Entry<String, IWCResponse> response : iwcResponses.entrySet()) {
+      for (Entry<String, IWCCall> call : iwcCalls.entrySet()) {
+        if (response.getValue().getIntentAction().equals(call.getValue().getIntentAction())) {
+          edges.add(call.getKey() + " -> " + response.getKey() + " : IWC Communication");
+        }
+      }
+    }
+    for (Entry<String, HtmlElement> elementOne : collaborativeElements.entrySet()) {
+      for (Entry<String, HtmlElement> elementTwo : collaborativeElements.entrySet()) {
+        if (!elementOne.getKey().equals(elementTwo.getKey())
+            && elementOne.getValue().getId().equals(elementTwo.getValue().getId())) {
+          edges.add(elementOne.getKey() + " -> " + elementTwo.getKey() + " : Communicates");
+        }
+      }
+    }
+    return edges;
+  }
+
+  private static int count(List<String> edges, String type) {
+    int count = 0;
+    for (String edge : edges) {
+      if (edge.endsWith(" : " + type)) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Checks the edges of the communication view model of an application against the expected ones
+   * and checks that every unknown service class is represented by exactly one other service.
+   */
+  private static void checkCommunicationModel(Application application) {
+    SimpleModel communicationModel = application.toCommunicationModel();
+    List<String> edges = getEdges(communicationModel);
+    List<String> expected = expectedEdges(application);
+    assertEquals(expected, edges);
+
+    Set<String> unknownClasses = new HashSet<String>();
+    for (String edge : expected) {
+      if (edge.endsWith(" : Internal Resource Call") && edge.contains(" -> other:")) {
+        unknownClasses.add(edge.substring(edge.indexOf(" -> other:") + 10, edge.indexOf(" : ")));
+      }
+    }
+    List<String> otherServices = new ArrayList<String>();
+    for (SimpleNode node : communicationModel.getNodes()) {
+      if (node.getType().equals("Other Service")) {
+        otherServices.add(getLabel(node));
+      }
+    }
+    assertEquals(unknownClasses.size(), otherServices.size());
+    assertEquals(unknownClasses, new HashSet<String>(otherServices));
+  }
+
+  /**
+   * Test the edges of the communication view model of the example application
+   */
+  @Test
+  public void exampleApplicationTest() throws Exception {
+    Application application = createApplication(1);
+    checkCommunicationModel(application);
+
+    List<String> edges = getEdges(application.toCommunicationModel());
+    assertEquals(6, count(edges, "Application Component"));
+    assertTrue(edges.size() > 6);
+  }
+
+  /**
+   * Test that the copies of the example application communicate only within themselves, i.e. that
+   * every copy adds the same number of internal call, IWC and collaborative edges
+   */
+  @Test
+  public void copiedApplicationTest() throws Exception {
+    List<String> singleEdges = getEdges(createApplication(1).toCommunicationModel());
+    Application application = createApplication(15);
+    checkCommunicationModel(application);
+
+    List<String> edges = getEdges(application.toCommunicationModel());
+    for (String type : new String[] {"Internal Resource Call", "IWC Communication",
+        "Communicates", "HTTP Call"}) {
+      assertEquals(type, 15 * count(singleEdges, type), count(edges, type));
+    }
+  }
+
+}
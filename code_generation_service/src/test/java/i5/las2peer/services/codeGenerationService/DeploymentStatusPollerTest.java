@@ -0,0 +1,117 @@
+package i5.las2peer.services.codeGenerationService;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import i5.las2peer.services.codeGenerationService.generators.DeploymentStatusPoller;
+
+/**
+ * Tests the deployment status poller against a local stub of the Jenkins remote api. The queue item
+ * is pending until the build is started, the console text of the build is set by the tests.
+ */
+public class DeploymentStatusPollerTest {
+
+  private static final String QUEUE_ITEM = "queue/item/1/";
+
+  private HttpServer server;
+  private String jenkinsUrl;
+  private DeploymentStatusPoller poller;
+  private volatile boolean started = false;
+  private volatile String consoleText = "Started\n";
+  private final AtomicInteger requests = new AtomicInteger();
+
+  @Before
+  public void startJenkins() throws IOException {
+    server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+    server.createContext("/", this::handle);
+    server.start();
+    jenkinsUrl = "http://localhost:" + server.getAddress().getPort() + "/";
+    poller = new DeploymentStatusPoller(jenkinsUrl, 50);
+  }
+
+  @After
+  public void stopJenkins() {
+    poller.shutdown();
+    server.stop(0);
+  }
+
+  private void handle(HttpExchange exchange) throws IOException {
+    requests.incrementAndGet();
+    String path = exchange.getRequestURI().getPath();
+    String body;
+    if (path.endsWith(QUEUE_ITEM + "api/json")) {
+      body = started ? "{\"executable\":{\"url\":\"" + jenkinsUrl + "job/Build/5/\"}}" : "{}";
+    } else if (path.endsWith("Build/5/consoleText")) {
+      // the base path and the build path are joined with a double slash, thus only match the end
+      body = consoleText;
+    } else {
+      exchange.sendResponseHeaders(404, -1);
+      exchange.close();
+      return;
+    }
+    byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+    exchange.sendResponseHeaders(200, bytes.length);
+    try (OutputStream output = exchange.getResponseBody()) {
+      output.write(bytes);
+    }
+  }
+
+  /**
+   * Test that repeated requests of the status are served from the cache
+   */
+  @Test
+  public void cachedStatusTest() throws InterruptedException {
+    assertEquals("Pending", poller.getStatus(QUEUE_ITEM));
+    for (int i = 0; i < 100; i++) {
+      poller.getStatus(QUEUE_ITEM);
+    }
+    assertTrue(requests.get() < 10);
+
+    started = true;
+    Thread.sleep(200);
+    assertEquals("Started\n", poller.getStatus(QUEUE_ITEM));
+  }
+
+  /**
+   * Test that a long-poll returns on a change of the status, on a finished build and on timeout
+   */
+  @Test
+  public void awaitStatusChangeTest() {
+    String status = poller.getStatus(QUEUE_ITEM);
+    assertEquals("Pending", status);
+
+    // no change within the timeout
+    long start = System.nanoTime();
+    assertEquals("Pending", poller.awaitStatusChange(QUEUE_ITEM, status.hashCode(), 200));
+    assertTrue(System.nanoTime() - start >= 150000000L);
+
+    started = true;
+    status = poller.awaitStatusChange(QUEUE_ITEM, status.hashCode(), 5000);
+    assertEquals("Started\n", status);
+
+    consoleText = "Started\nFinished: SUCCESS\n";
+    status = poller.awaitStatusChange(QUEUE_ITEM, status.hashCode(), 5000);
+    assertEquals(consoleText, status);
+
+    // a finished build does not change anymore
+    int polls = requests.get();
+    start = System.nanoTime();
+    assertEquals(consoleText, poller.awaitStatusChange(QUEUE_ITEM, status.hashCode(), 5000));
+    assertTrue(System.nanoTime() - start < 1000000000L);
+    assertEquals(polls, requests.get());
+  }
+
+}
@@ -0,0 +1,106 @@
+package i5.las2peer.services.codeGenerationService;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import i5.cae.simpleModel.SimpleEntityAttribute;
+import i5.cae.simpleModel.SimpleModel;
+import i5.cae.simpleModel.edge.SimpleEdge;
+import i5.cae.simpleModel.node.SimpleNode;
+import i5.las2peer.services.codeGenerationService.exception.ModelParseException;
+import i5.las2peer.services.codeGenerationService.models.frontendComponent.FrontendComponent;
+
+public class FrontendComponentTest {
+
+  private static ArrayList<SimpleEntityAttribute> attributes(String... namesAndValues) {
+    ArrayList<SimpleEntityAttribute> attributes = new ArrayList<SimpleEntityAttribute>();
+    for (int i = 0; i < namesAndValues.length; i += 2) {
+      attributes.add(
+          new SimpleEntityAttribute(namesAndValues[i], namesAndValues[i], namesAndValues[i + 1]));
+    }
+    return attributes;
+  }
+
+  private static SimpleEdge edge(String source, String target, String type) {
+    return new SimpleEdge(source + target, source, target, type, "",
+        new ArrayList<SimpleEntityAttribute>());
+  }
+
+  private static SimpleModel createModel(SimpleEdge... edges) {
+    ArrayList<SimpleNode> nodes = new ArrayList<SimpleNode>();
+    nodes.add(new SimpleNode("widget", "Widget", attributes("name", "Widget")));
+    nodes.add(new SimpleNode("button", "View Component Part",
+        attributes("id", "button", "type", "button")));
+    nodes.add(new SimpleNode("click", "Event", attributes("eventCause", "click")));
+    nodes.add(new SimpleNode("function", "Function", attributes("name", "onClick")));
+    return new SimpleModel("widget", nodes, new ArrayList<SimpleEdge>(Arrays.asList(edges)),
+        attributes("type", "frontend-component", "componentName", "Widget Component",
+            "version", "0.1.0", "version", "0.2.0"));
+  }
+
+  /**
+   * Test that the function called by an event is found independently of the order of the edges,
+   * i.e. also if the event was already added to its html element
+   */
+  @Test
+  public void edgeOrderTest() throws ModelParseException {
+    SimpleEdge[] edges = {edge("widget", "button", "Widget to HTML Element"),
+        edge("button", "click", "HTML Element to Event"),
+        edge("click", "function", "Event to Function Call"),
+        edge("widget", "function", "Widget to Function")};
+    FrontendComponent component = new FrontendComponent(createModel(edges));
+    assertEquals("function",
+        component.getHtmlElements().get("button").getEvents().get(0).getCalledFunctionId());
+
+    SimpleEdge eventEdge = edges[1];
+    edges[1] = edges[2];
+    edges[2] = eventEdge;
+    component = new FrontendComponent(createModel(edges));
+    assertEquals("function",
+        component.getHtmlElements().get("button").getEvents().get(0).getCalledFunctionId());
+  }
+
+  /**
+   * Test that an event to function call edge from an unknown node is rejected
+   */
+  @Test(expected = ModelParseException.class)
+  public void unknownEventTest() throws ModelParseException {
+    new FrontendComponent(createModel(edge("widget", "button", "Widget to HTML Element"),
+        edge("button", "click", "HTML Element to Event"),
+        edge("widget", "function", "Event to Function Call"),
+        edge("widget", "function", "Widget to Function")));
+  }
+
+  /**
+   * Test that an event connected to more than one html element is rejected independently of the
+   * order of the edges
+   */
+  @Test(expected = ModelParseException.class)
+  public void duplicateEventEdgeTest() throws ModelParseException {
+    new FrontendComponent(createModel(edge("widget", "button", "Widget to HTML Element"),
+        edge("button", "click", "HTML Element to Event"),
+        edge("click", "function", "Event to Function Call"),
+        edge("widget", "function", "Widget to Function"),
+        edge("button", "click", "HTML Element to Event")));
+  }
+
+  /**
+   * Test that the metadata is read from the model attributes and that the last value of an
+   * attribute is used
+   */
+  @Test
+  public void modelAttributesTest() throws ModelParseException {
+    FrontendComponent component = new FrontendComponent(createModel(
+        edge("widget", "button", "Widget to HTML Element"),
+        edge("button", "click", "HTML Element to Event"),
+        edge("click", "function", "Event to Function Call"),
+        edge("widget", "function", "Widget to Function")));
+    assertEquals("Widget Component", component.getName());
+    assertEquals("0.2.0", component.getVersion());
+  }
+
+}
@@ -0,0 +1,165 @@
+package i5.las2peer.services.codeGenerationService;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import i5.las2peer.services.codeGenerationService.adapters.GitHostHttpClient;
+
+/**
+ * Tests the scheduling and retries of the git host http client against a local stub server, which
+ * answers with the queued responses and afterwards with 200.
+ */
+public class GitHostHttpClientTest {
+
+  private HttpServer server;
+  private String url;
+  private final List<String[]> responses = Collections.synchronizedList(new ArrayList<String[]>());
+  private final AtomicInteger requests = new AtomicInteger();
+
+  @Before
+  public void startServer() throws IOException {
+    server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+    server.createContext("/", this::handle);
+    server.start();
+    url = "http://localhost:" + server.getAddress().getPort() + "/api";
+  }
+
+  @After
+  public void stopServer() {
+    server.stop(0);
+  }
+
+  /**
+   * Queues a response of the stub server.
+   *
+   * @param status The status of the response
+   * @param headers Alternating names and values of the response headers
+   */
+
+  private void enqueue(int status, String... headers) {
+    String[] response = new String[headers.length + 1];
+    response[0] = String.valueOf(status);
+    System.arraycopy(headers, 0, response, 1, headers.length);
+    responses.add(response);
+  }
+
+  private void handle(HttpExchange exchange) throws IOException {
+    requests.incrementAndGet();
+    String[] response = responses.isEmpty() ? new String[] {"200"} : responses.remove(0);
+    for (int i = 1; i + 1 < response.length; i += 2) {
+      exchange.getResponseHeaders().add(response[i], response[i + 1]);
+    }
+    byte[] body = ("status " + response[0]).getBytes(StandardCharsets.UTF_8);
+    exchange.sendResponseHeaders(Integer.parseInt(response[0]), body.length);
+    try (OutputStream output = exchange.getResponseBody()) {
+      output.write(body);
+    }
+  }
+
+  private GitHostHttpClient createClient(double requestsPerSecond, int burst) {
+    return new GitHostHttpClient(Duration.ofSeconds(2), Duration.ofSeconds(5), requestsPerSecond, burst, 3);
+  }
+
+  /**
+   * Test that server errors are retried until the request succeeds
+   */
+  @Test
+  public void retryServerErrorTest() throws IOException {
+    enqueue(503);
+    enqueue(502);
+    HttpResponse<String> response = createClient(100, 10).send("GET", url, null);
+    assertEquals(200, response.statusCode());
+    assertEquals("status 200", response.body());
+    assertEquals(3, requests.get());
+  }
+
+  /**
+   * Test that the last response is returned when all retries fail
+   */
+  @Test
+  public void retriesExhaustedTest() throws IOException {
+    for (int i = 0; i < 4; i++) {
+      enqueue(500);
+    }
+    HttpResponse<String> response = createClient(100, 10).send("DELETE", url, null);
+    assertEquals(500, response.statusCode());
+    assertEquals(4, requests.get());
+  }
+
+  /**
+   * Test that a POST is not repeated after a server error, since it may have taken effect
+   */
+  @Test
+  public void postServerErrorTest() throws IOException {
+    enqueue(502);
+    HttpResponse<String> response = createClient(100, 10).send("POST", url, "{}");
+    assertEquals(502, response.statusCode());
+    assertEquals(1, requests.get());
+  }
+
+  /**
+   * Test that a 403 without rate limit is not retried, but a 429 with Retry-After is
+   */
+  @Test
+  public void forbiddenAndRetryAfterTest() throws IOException {
+    GitHostHttpClient client = createClient(100, 10);
+    enqueue(403);
+    assertEquals(403, client.send("POST", url, "{}").statusCode());
+    assertEquals(1, requests.get());
+
+    enqueue(429, "Retry-After", "1");
+    long start = System.nanoTime();
+    assertEquals(200, client.send("POST", url, "{}").statusCode());
+    assertTrue(System.nanoTime() - start >= 900000000L);
+    assertEquals(3, requests.get());
+  }
+
+  /**
+   * Test that requests are held back until the reset when the rate limit of the host is exhausted
+   */
+  @Test
+  public void exhaustedRateLimitTest() throws IOException {
+    GitHostHttpClient client = createClient(100, 10);
+    long reset = System.currentTimeMillis() / 1000 + 2;
+    enqueue(200, "X-RateLimit-Remaining", "0", "X-RateLimit-Reset", String.valueOf(reset));
+    client.send("GET", url, null);
+
+    client.send("GET", url, null);
+    assertTrue(System.currentTimeMillis() >= reset * 1000 - 100);
+    assertEquals(2, requests.get());
+  }
+
+  /**
+   * Test that the token bucket allows a burst and then limits the request rate
+   */
+  @Test
+  public void tokenBucketTest() throws IOException {
+    GitHostHttpClient client = createClient(10, 2);
+    long start = System.nanoTime();
+    for (int i = 0; i < 6; i++) {
+      client.send("GET", url, null);
+    }
+    // 2 requests of the burst, 4 requests at 10 per second
+    assertTrue(System.nanoTime() - start >= 350000000L);
+    assertEquals(6, requests.get());
+  }
+
+}
@@ -0,0 +1,177 @@
+package i5.las2peer.services.codeGenerationService;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.apache.commons.io.FileUtils;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.eclipse.jgit.treewalk.TreeWalk;
+import org.eclipse.jgit.treewalk.filter.TreeFilter;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import i5.las2peer.services.codeGenerationService.events.GitOperationEvent;
+import i5.las2peer.services.codeGenerationService.generators.GeneratedFile;
+import i5.las2peer.services.codeGenerationService.utilities.GitUtility;
+
+public class GitUtilityTest {
+
+  private File directory;
+  private Git git;
+  private final GitUtility gitUtility = new GitUtility("user", "password", "organization", "");
+
+  @Before
+  public void createRepository() throws Exception {
+    directory = Files.createTempDirectory("gitUtilityTest").toFile();
+    git = Git.init().setDirectory(directory).call();
+  }
+
+  @After
+  public void deleteRepository() throws IOException {
+    git.close();
+    FileUtils.deleteDirectory(directory);
+  }
+
+  private RevCommit commitFile(String fileName, String content) throws Exception {
+    Files.write(new File(directory, fileName).toPath(), content.getBytes(StandardCharsets.UTF_8));
+    git.add().addFilepattern(fileName).call();
+    return git.commit().setMessage(fileName).call();
+  }
+
+  private static GeneratedFile file(String path, String content) {
+    return new GeneratedFile(path, content.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private String readFile(String fileName) throws IOException {
+    return new String(Files.readAllBytes(new File(directory, fileName).toPath()),
+        StandardCharsets.UTF_8);
+  }
+
+  private RevCommit storeAndCommit(String versionTag, GitOperationEvent event,
+      GeneratedFile... files) throws Exception {
+    return gitUtility.storeAndCommitFiles(git, "user", "user@example.org", "generated", versionTag,
+        Arrays.asList(files), event);
+  }
+
+  private Set<String> changedPaths(RevCommit commit) throws Exception {
+    Set<String> paths = new HashSet<String>();
+    try (TreeWalk treeWalk = new TreeWalk(git.getRepository())) {
+      treeWalk.addTree(commit.getParent(0).getTree());
+      treeWalk.addTree(commit.getTree());
+      treeWalk.setRecursive(true);
+      treeWalk.setFilter(TreeFilter.ANY_DIFF);
+      while (treeWalk.next()) {
+        paths.add(treeWalk.getPathString());
+      }
+    }
+    return paths;
+  }
+
+  /**
+   * Test that staged deletions and modifications are detected, but unstaged changes are not
+   */
+  @Test
+  public void hasStagedChangesTest() throws Exception {
+    commitFile("a.txt", "a");
+    RevCommit commit = commitFile("b.txt", "b");
+    assertFalse(gitUtility.hasStagedChanges(git.getRepository(), commit.getTree()));
+
+    // unstaged changes of the working tree are not part of the next commit
+    Files.write(new File(directory, "a.txt").toPath(), "changed".getBytes(StandardCharsets.UTF_8));
+    assertFalse(gitUtility.hasStagedChanges(git.getRepository(), commit.getTree()));
+
+    git.add().addFilepattern("a.txt").call();
+    assertTrue(gitUtility.hasStagedChanges(git.getRepository(), commit.getTree()));
+
+    commit = git.commit().setMessage("a changed").call();
+    assertFalse(gitUtility.hasStagedChanges(git.getRepository(), commit.getTree()));
+
+    git.rm().addFilepattern("b.txt").call();
+    assertTrue(gitUtility.hasStagedChanges(git.getRepository(), commit.getTree()));
+  }
+
+  /**
+   * Test that storing files with the content of the current commit creates no commit
+   */
+  @Test
+  public void storeUnchangedFilesTest() throws Exception {
+    commitFile("a.txt", "a");
+    RevCommit head = commitFile("b.txt", "b");
+
+    GitOperationEvent event = new GitOperationEvent("commit", "test");
+    RevCommit commit = storeAndCommit(null, event, file("a.txt", "a"), file("b.txt", "b"));
+    assertEquals(head.getName(), commit.getName());
+    assertEquals(head, git.getRepository().resolve(Constants.HEAD));
+    assertEquals(0, event.fileCount);
+  }
+
+  /**
+   * Test that only the changed files of a mix of changed and unchanged files are committed
+   */
+  @Test
+  public void storeChangedFilesTest() throws Exception {
+    commitFile("a.txt", "a");
+    RevCommit head = commitFile("b.txt", "b");
+
+    GitOperationEvent event = new GitOperationEvent("commit", "test");
+    RevCommit commit =
+        storeAndCommit(null, event, file("a.txt", "a"), file("b.txt", "b2"), file("c/c.txt", "c"));
+    assertEquals(head, commit.getParent(0));
+    assertEquals(commit, git.getRepository().resolve(Constants.HEAD));
+    assertEquals(new HashSet<String>(Arrays.asList("b.txt", "c/c.txt")), changedPaths(commit));
+    assertEquals(2, event.fileCount);
+    assertEquals(3, event.bytes);
+    assertEquals("b2", readFile("b.txt"));
+    assertTrue(git.status().call().isClean());
+  }
+
+  /**
+   * Test that the version tag is added to the current commit if no commit is created
+   */
+  @Test
+  public void tagUnchangedFilesTest() throws Exception {
+    RevCommit head = commitFile("a.txt", "a");
+
+    RevCommit commit =
+        storeAndCommit("v1.0.0", new GitOperationEvent("commit", "test"), file("a.txt", "a"));
+    assertEquals(head, commit);
+    assertEquals(head, git.getRepository().resolve("v1.0.0^{commit}"));
+  }
+
+  /**
+   * Test that files are rewritten if the working tree or the index differs from the given content,
+   * even though the content equals the one of the current commit
+   */
+  @Test
+  public void storeModifiedWorkingTreeTest() throws Exception {
+    commitFile("a.txt", "a");
+    RevCommit head = commitFile("b.txt", "b");
+
+    // e.g. a rejected save of the editor, which was not staged
+    Files.write(new File(directory, "a.txt").toPath(), "edited".getBytes(StandardCharsets.UTF_8));
+    // a staged change, which must not end up in the next commit
+    Files.write(new File(directory, "b.txt").toPath(), "staged".getBytes(StandardCharsets.UTF_8));
+    git.add().addFilepattern("b.txt").call();
+
+    GitOperationEvent event = new GitOperationEvent("commit", "test");
+    RevCommit commit = storeAndCommit(null, event, file("a.txt", "a"), file("b.txt", "b"));
+    assertEquals(head, commit);
+    assertEquals(2, event.fileCount);
+    assertEquals("a", readFile("a.txt"));
+    assertEquals("b", readFile("b.txt"));
+    assertTrue(git.status().call().isClean());
+  }
+
+}
@@ -0,0 +1,55 @@
+package i5.las2peer.services.codeGenerationService;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import i5.las2peer.services.codeGenerationService.utilities.Metrics;
+
+public class MetricsTest {
+
+  @Before
+  public void resetMetrics() {
+    Metrics.reset();
+  }
+
+  /**
+   * Test the percentiles of a summary
+   */
+  @Test
+  public void percentileTest() {
+    Metrics.Summary summary = Metrics.summary("test");
+    assertEquals(0, summary.getPercentile(0.5));
+    for (int i = 100; i >= 1; i--) {
+      summary.record(i);
+    }
+    assertEquals(100, summary.getCount());
+    assertEquals(5050, summary.getSum());
+    assertEquals(50, summary.getPercentile(0.5));
+    assertEquals(99, summary.getPercentile(0.99));
+    assertEquals(100, summary.getPercentile(1));
+  }
+
+  /**
+   * Test the export of all metric types in the Prometheus text format
+   */
+  @Test
+  public void prometheusTextTest() {
+    Metrics.timer(Metrics.PUSH).record(2000000000L);
+    Metrics.counter(Metrics.BYTES_WRITTEN).add(42);
+    Metrics.gauge(Metrics.GENERATIONS_ACTIVE).increment();
+    String text = Metrics.toPrometheusText();
+
+    assertTrue(text.contains("# TYPE codegen_push_seconds summary\n"));
+    assertTrue(text.contains("codegen_push_seconds{quantile=\"0.5\"} 2.000000\n"));
+    assertTrue(text.contains("codegen_push_seconds_sum 2.000000\n"));
+    assertTrue(text.contains("codegen_push_seconds_count 1\n"));
+    assertTrue(text.contains("# TYPE codegen_bytes_written_total counter\n"));
+    assertTrue(text.contains("codegen_bytes_written_total 42\n"));
+    assertTrue(text.contains("# TYPE codegen_generations_active gauge\n"));
+    assertTrue(text.contains("codegen_generations_active 1\n"));
+  }
+
+}
@@ -0,0 +1,106 @@
+package i5.las2peer.services.codeGenerationService;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+
+import i5.cae.simpleModel.SimpleEntityAttribute;
+import i5.cae.simpleModel.SimpleModel;
+import i5.cae.simpleModel.edge.SimpleEdge;
+import i5.cae.simpleModel.node.SimpleNode;
+import i5.las2peer.services.codeGenerationService.exception.ModelParseException;
+import i5.las2peer.services.codeGenerationService.models.microservice.HttpMethod;
+import i5.las2peer.services.codeGenerationService.models.microservice.InternalCall;
+import i5.las2peer.services.codeGenerationService.models.microservice.Microservice;
+
+public class MicroserviceTest {
+
+  private static ArrayList<SimpleEntityAttribute> attributes(String... namesAndValues) {
+    ArrayList<SimpleEntityAttribute> attributes = new ArrayList<SimpleEntityAttribute>();
+    for (int i = 0; i < namesAndValues.length; i += 2) {
+      attributes.add(
+          new SimpleEntityAttribute(namesAndValues[i], namesAndValues[i], namesAndValues[i + 1]));
+    }
+    return attributes;
+  }
+
+  private static SimpleEdge edge(String source, String target, String type) {
+    return new SimpleEdge(source + target, source, target, type, "",
+        new ArrayList<SimpleEntityAttribute>());
+  }
+
+  private static SimpleModel createModel(List<SimpleEdge> edges) {
+    ArrayList<SimpleNode> nodes = new ArrayList<SimpleNode>();
+    nodes.add(new SimpleNode("resource", "RESTful Resource",
+        attributes("name", "resource", "path", "resource", "developer", "developer")));
+    nodes.add(new SimpleNode("method", "HTTP Method",
+        attributes("methodType", "GET", "name", "getItem", "path", "{id}")));
+    nodes.add(new SimpleNode("payload", "HTTP Payload",
+        attributes("name", "id", "payloadType", "PATH_PARAM")));
+    nodes.add(new SimpleNode("response", "HTTP Response", attributes("name", "ok",
+        "resultName", "result", "returnStatusCode", "OK", "resultType", "JSON")));
+    nodes.add(new SimpleNode("call", "Internal Service Call",
+        attributes("returnVariableName", "item", "serviceClass", "Items", "methodName", "get")));
+    nodes.add(new SimpleNode("parameter", "Service Call Parameter", attributes("name", "id")));
+    nodes.add(new SimpleNode("log", "MobSOS Log", attributes("includeActingAgent", "true")));
+    return new SimpleModel("microservice", nodes, new ArrayList<SimpleEdge>(edges),
+        attributes("type", "microservice"));
+  }
+
+  private static List<SimpleEdge> createEdges() {
+    return new ArrayList<SimpleEdge>(Arrays.asList(
+        edge("resource", "method", "RESTful Resource to HTTP Method"),
+        edge("method", "payload", "HTTP Method to HTTP Payload"),
+        edge("method", "response", "HTTP Method to HTTP Response"),
+        edge("method", "call", "Internal Call"),
+        edge("call", "parameter", "Parameter to Internal Service Call"),
+        edge("payload", "log", "HTTP Payload to MobSOS Log")));
+  }
+
+  /**
+   * Test that the nodes connected to an http method are added to it independently of the order of
+   * the edges
+   */
+  @Test
+  public void connectedNodesTest() throws ModelParseException {
+    List<SimpleEdge> edges = createEdges();
+    for (int i = 0; i < 2; i++) {
+      HttpMethod httpMethod = new Microservice(createModel(edges)).getHttpMethods().get("method");
+      assertEquals(1, httpMethod.getHttpPayloads().size());
+      assertNotNull(httpMethod.getNodeIdPayloads().get("payload").getMobSOSLog());
+      assertEquals(1, httpMethod.getHttpResponses().size());
+      assertEquals(1, httpMethod.getInternalCalls().size());
+      InternalCall internalCall = httpMethod.getInternalCalls().get(0);
+      assertEquals("call", internalCall.getModelId());
+      assertEquals(1, internalCall.getParameters().size());
+      Collections.reverse(edges);
+    }
+  }
+
+  /**
+   * Test that a parameter without an internal call is rejected
+   */
+  @Test(expected = ModelParseException.class)
+  public void unconnectedParameterTest() throws ModelParseException {
+    List<SimpleEdge> edges = createEdges();
+    edges.remove(4);
+    new Microservice(createModel(edges));
+  }
+
+  /**
+   * Test that a duplicated edge to a response is rejected
+   */
+  @Test(expected = ModelParseException.class)
+  public void duplicateResponseEdgeTest() throws ModelParseException {
+    List<SimpleEdge> edges = createEdges();
+    edges.add(edge("method", "response", "HTTP Method to HTTP Response"));
+    new Microservice(createModel(edges));
+  }
+
+}
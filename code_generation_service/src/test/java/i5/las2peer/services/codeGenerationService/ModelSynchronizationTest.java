@@ -37,6 +37,7 @@ import i5.las2peer.services.codeGenerationService.adapters.BaseGitHostAdapter;
 import i5.las2peer.services.codeGenerationService.adapters.GitHostAdapter;
 import i5.las2peer.services.codeGenerationService.adapters.GitHubAdapter;
 import i5.las2peer.services.codeGenerationService.adapters.GitLabAdapter;
+import i5.las2peer.services.codeGenerationService.generators.GeneratedFile;
 import i5.las2peer.services.codeGenerationService.generators.Generator;
 import i5.las2peer.services.codeGenerationService.models.traceModel.FileTraceModel;
 import i5.las2peer.services.codeGenerationService.models.traceModel.FileTraceModelFactory;
@@ -85,7 +86,11 @@ public class ModelSynchronizationTest extends Generator {
   private static String commitFiles(String prefix, SimpleModel model, TraceModel traceModel)
       throws Exception {
     String repositoryName = prefix + "-" + model.getName().replace(" ", "-");
-    List<String[]> fileList = getUpdatedTracedFilesForRepository(traceModel, "{}");
+    List<String[]> fileList = new ArrayList<String[]>();
+    for (GeneratedFile file : getUpdatedTracedFilesForRepository(traceModel, "{}")) {
+      fileList.add(
+          new String[] {file.getPath(), Base64.getEncoder().encodeToString(file.getContent())});
+    }
 
     return commitFilesRaw(repositoryName, fileList);
 
@@ -0,0 +1,219 @@
+package i5.las2peer.services.codeGenerationService;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.TreeSet;
+
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+import org.json.simple.parser.JSONParser;
+import org.json.simple.parser.ParseException;
+import org.junit.After;
+import org.junit.Test;
+
+import i5.las2peer.services.codeGenerationService.models.traceModel.FileTraceModel;
+import i5.las2peer.services.codeGenerationService.models.traceModel.TraceModel;
+import i5.las2peer.services.codeGenerationService.templateEngine.GuidanceModel;
+import i5.las2peer.services.codeGenerationService.templateEngine.ModelViolationDetection;
+import i5.las2peer.services.codeGenerationService.templateEngine.Template;
+import i5.las2peer.services.codeGenerationService.templateEngine.TemplateEngine;
+import i5.las2peer.services.codeGenerationService.utilities.Metrics;
+
+public class ModelViolationDetectionTest extends TemplateBasicSetup {
+
+  private static final String RULES =
+      "{\"guidances\":[{\"type\":\"Element\",\"regex\":\"(forbidden)\",\"group\":1,"
+          + "\"message\":\"Not allowed\"}]}";
+
+  @After
+  public void clearCache() {
+    ModelViolationDetection.clearCache();
+  }
+
+  private HashMap<String, JSONObject> generateFile(String... contents) throws ParseException {
+    HashMap<String, JSONObject> files = new HashMap<String, JSONObject>();
+    files.put("testFile.txt", generateFileObject("testFile.txt", contents));
+    return files;
+  }
+
+  @SuppressWarnings("unchecked")
+  private JSONObject generateFileObject(String fileName, String... contents) throws ParseException {
+    TemplateEngine templateEngine =
+        Template.createInitialTemplateEngine(new TraceModel(), fileName);
+    Template mainTemplate = templateEngine.createTemplate("testFileId", testFileTemplateContent);
+    templateEngine.addTemplate(mainTemplate);
+    for (int i = 0; i < contents.length; i++) {
+      Template contentTemplate =
+          templateEngine.createTemplate("content" + i, testContentTemplateContent3);
+      contentTemplate.setVariable("$UnprotectedBlock$", contents[i]);
+      mainTemplate.appendVariable("$Content$", contentTemplate);
+      templateEngine.addTrace("model" + i, "Element", "element" + i, contentTemplate);
+    }
+    FileTraceModel fileTraceModel = templateEngine.getFileTraceModel();
+
+    JSONObject file = new JSONObject();
+    file.put("content", Base64.getEncoder()
+        .encodeToString(fileTraceModel.getContent().getBytes(StandardCharsets.UTF_8)));
+    file.put("fileTraces",
+        new JSONParser().parse(fileTraceModel.toJSONObject().toJSONString()));
+    return file;
+  }
+
+  private JSONArray check(HashMap<String, JSONObject> files, String rules) throws ParseException {
+    return check("microservice-1", files, rules);
+  }
+
+  private JSONArray check(String repositoryName, HashMap<String, JSONObject> files, String rules)
+      throws ParseException {
+    return ModelViolationDetection.performViolationCheck(repositoryName, files,
+        (JSONObject) new JSONParser().parse(rules));
+  }
+
+  /**
+   * Test that only the model elements whose unprotected content changed are checked again and that
+   * the cached feedback is used for the others
+   */
+  @Test
+  public void incrementalCheckTest() throws ParseException {
+    Metrics.Counter hits = Metrics.counter(Metrics.VIOLATION_CHECK_CACHE_HITS);
+    Metrics.Counter misses = Metrics.counter(Metrics.VIOLATION_CHECK_CACHE_MISSES);
+    long initialHits = hits.getCount();
+    long initialMisses = misses.getCount();
+
+    JSONArray feedback = check(generateFile("ok", "forbidden", "ok"), RULES);
+    assertEquals(1, feedback.size());
+    assertEquals(initialMisses + 3, misses.getCount());
+
+    JSONArray cachedFeedback = check(generateFile("ok", "forbidden", "ok"), RULES);
+    assertEquals(feedback.toJSONString(), cachedFeedback.toJSONString());
+    assertEquals(initialHits + 3, hits.getCount());
+
+    feedback = check(generateFile("forbidden", "forbidden", "ok"), RULES);
+    assertEquals(2, feedback.size());
+    assertEquals(initialHits + 5, hits.getCount());
+    assertEquals(initialMisses + 4, misses.getCount());
+
+    // the changed element is found again after it was fixed
+    feedback = check(generateFile("ok", "forbidden", "ok"), RULES);
+    assertEquals(1, feedback.size());
+    assertEquals(initialMisses + 5, misses.getCount());
+  }
+
+  /**
+   * Test that the cached feedback of a file is not used for the file of the same name in another
+   * repository and that nothing is cached without a repository
+   */
+  @Test
+  public void repositoryTest() throws ParseException {
+    Metrics.Counter hits = Metrics.counter(Metrics.VIOLATION_CHECK_CACHE_HITS);
+    long initialHits = hits.getCount();
+
+    assertEquals(1, check("microservice-1", generateFile("ok", "forbidden", "ok"), RULES).size());
+    assertEquals(2,
+        check("microservice-2", generateFile("forbidden", "forbidden", "ok"), RULES).size());
+    assertEquals(initialHits, hits.getCount());
+    assertEquals(1, check("microservice-1", generateFile("ok", "forbidden", "ok"), RULES).size());
+    assertEquals(initialHits + 3, hits.getCount());
+
+    check(null, generateFile("ok", "ok", "ok"), RULES);
+    check(null, generateFile("ok", "ok", "ok"), RULES);
+    assertEquals(initialHits + 3, hits.getCount());
+  }
+
+  /**
+   * Test that the cached feedback is not used for other rules
+   */
+  @Test
+  public void changedRulesTest() throws ParseException {
+    assertEquals(1, check(generateFile("ok", "forbidden", "ok"), RULES).size());
+    assertEquals(2, check(generateFile("ok", "forbidden", "ok"), RULES.replace("forbidden", "ok"))
+        .size());
+  }
+
+  /**
+   * Test that a guidance model can be reused for several checks
+   */
+  @Test
+  public void reusedGuidanceModelTest() throws ParseException {
+    GuidanceModel guidanceModel = new GuidanceModel((JSONObject) new JSONParser().parse(RULES));
+    assertEquals(1, ModelViolationDetection.performViolationCheck("microservice-1",
+        generateFile("ok", "forbidden", "ok"), guidanceModel).size());
+    ModelViolationDetection.clearCache();
+    assertEquals(2, ModelViolationDetection.performViolationCheck("microservice-1",
+        generateFile("forbidden", "forbidden", "ok"), guidanceModel).size());
+  }
+
+  /**
+   * Test that the feedback of concurrently checked files is ordered by file name and that the pass
+   * or fail check finds a violation in any of the files
+   */
+  @Test
+  @SuppressWarnings("unchecked")
+  public void multipleFilesTest() throws ParseException {
+    GuidanceModel guidanceModel = new GuidanceModel((JSONObject) new JSONParser().parse(RULES));
+    HashMap<String, JSONObject> files = new HashMap<String, JSONObject>();
+    for (int i = 19; i >= 0; i--) {
+      String fileName = "file" + (char) ('a' + i) + ".txt";
+      files.put(fileName, i % 2 == 0 ? generateFileObject(fileName, "ok", "ok")
+          : generateFileObject(fileName, " ".repeat(i) + "forbidden"));
+    }
+    assertTrue(ModelViolationDetection.passesViolationCheck("microservice-1",
+        new HashMap<String, JSONObject>(), guidanceModel));
+    assertFalse(ModelViolationDetection.passesViolationCheck("microservice-1", files, guidanceModel));
+
+    JSONArray feedback =
+        ModelViolationDetection.performViolationCheck("microservice-1", files, guidanceModel);
+    assertEquals(10, feedback.size());
+    JSONArray expectedFeedback = new JSONArray();
+    for (String fileName : new TreeSet<String>(files.keySet())) {
+      HashMap<String, JSONObject> file = new HashMap<String, JSONObject>();
+      file.put(fileName, files.get(fileName));
+      expectedFeedback.addAll(
+          ModelViolationDetection.performViolationCheck("microservice-1", file, guidanceModel));
+    }
+    assertEquals(expectedFeedback.toJSONString(), feedback.toJSONString());
+
+    files.remove("fileb.txt");
+    for (int i = 3; i < 20; i += 2) {
+      String fileName = "file" + (char) ('a' + i) + ".txt";
+      files.put(fileName, generateFileObject(fileName, "ok"));
+    }
+    assertTrue(ModelViolationDetection.passesViolationCheck("microservice-1", files, guidanceModel));
+  }
+
+  /**
+   * Test that a file whose traces cannot be read fails the pass or fail check instead of passing
+   * it, while the feedback of the other files is still returned
+   */
+  @Test
+  public void malformedTracesTest() throws ParseException {
+    GuidanceModel guidanceModel = new GuidanceModel((JSONObject) new JSONParser().parse(RULES));
+    HashMap<String, JSONObject> files = new HashMap<String, JSONObject>();
+    files.put("filea.txt", generateFileObject("filea.txt", "ok"));
+    JSONObject malformedFile = generateFileObject("fileb.txt", "ok");
+    ((JSONObject) malformedFile.get("fileTraces")).remove("traceSegments");
+    files.put("fileb.txt", malformedFile);
+
+    try {
+      ModelViolationDetection.passesViolationCheck("microservice-1", files, guidanceModel);
+      fail("check should fail");
+    } catch (IllegalStateException e) {
+      // expected
+    }
+    files.put("filea.txt", generateFileObject("filea.txt", "forbidden"));
+    assertEquals(1,
+        ModelViolationDetection.performViolationCheck("microservice-1", files, guidanceModel)
+            .size());
+    files.remove("filea.txt");
+    assertEquals(0,
+        ModelViolationDetection.performViolationCheck("microservice-1", files, guidanceModel)
+            .size());
+  }
+
+}
@@ -0,0 +1,69 @@
+package i5.las2peer.services.codeGenerationService;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+
+import org.junit.After;
+import org.junit.Test;
+
+import i5.cae.simpleModel.SimpleEntityAttribute;
+import i5.cae.simpleModel.SimpleModel;
+import i5.cae.simpleModel.edge.SimpleEdge;
+import i5.cae.simpleModel.node.SimpleNode;
+import i5.las2peer.services.codeGenerationService.exception.ModelParseException;
+import i5.las2peer.services.codeGenerationService.models.microservice.Microservice;
+import i5.las2peer.services.codeGenerationService.utilities.ParsedModelCache;
+
+public class ParsedModelCacheTest {
+
+  @After
+  public void resetCache() {
+    ParsedModelCache.setMaxEntries(ParsedModelCache.DEFAULT_MAX_ENTRIES);
+  }
+
+  private static SimpleModel createModel(String versionedModelId, String version) {
+    ArrayList<SimpleEntityAttribute> attributes = new ArrayList<SimpleEntityAttribute>();
+    attributes.add(new SimpleEntityAttribute("type", "type", "microservice"));
+    attributes.add(new SimpleEntityAttribute("versionedModelId", "versionedModelId",
+        versionedModelId));
+    attributes.add(new SimpleEntityAttribute("version", "version", version));
+    return new SimpleModel("service", new ArrayList<SimpleNode>(), new ArrayList<SimpleEdge>(),
+        attributes);
+  }
+
+  /**
+   * Test that equal models have the same hash and that changed attributes change the hash
+   */
+  @Test
+  public void contentHashTest() {
+    String hash = ParsedModelCache.getContentHash(createModel("1", "0.1.0"), null);
+    assertEquals(hash, ParsedModelCache.getContentHash(createModel("1", "0.1.0"), null));
+    assertNotEquals(hash, ParsedModelCache.getContentHash(createModel("2", "0.1.0"), null));
+    assertNotEquals(hash, ParsedModelCache.getContentHash(createModel("1", "0.1.1"), null));
+    assertNotEquals(ParsedModelCache.getContentHash(createModel("1", null), null),
+        ParsedModelCache.getContentHash(createModel("1", ""), null));
+    // values are separated, so moving characters between them changes the hash
+    assertNotEquals(ParsedModelCache.getContentHash(createModel("10", ".1.0"), null),
+        ParsedModelCache.getContentHash(createModel("1", "0.1.0"), null));
+  }
+
+  /**
+   * Test that the old model of an update is taken from the cache if it was the new model of the
+   * previous update
+   */
+  @Test
+  public void cacheTest() throws ModelParseException {
+    Microservice microservice = ParsedModelCache.getMicroservice(createModel("1", "0.1.0"), null);
+    assertSame(microservice, ParsedModelCache.getMicroservice(createModel("1", "0.1.0"), null));
+    assertNotSame(microservice, ParsedModelCache.getMicroservice(createModel("1", "0.1.1"), null));
+
+    ParsedModelCache.setMaxEntries(0);
+    microservice = ParsedModelCache.getMicroservice(createModel("1", "0.1.0"), null);
+    assertNotSame(microservice, ParsedModelCache.getMicroservice(createModel("1", "0.1.0"), null));
+  }
+
+}
@@ -0,0 +1,178 @@
+package i5.las2peer.services.codeGenerationService;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import i5.las2peer.services.codeGenerationService.exception.GitHelperException;
+import i5.las2peer.services.codeGenerationService.utilities.PushCoalescer;
+
+public class PushCoalescerTest {
+
+  private final AtomicInteger pushes = new AtomicInteger();
+  private final List<Set<String>> pushedTags = new ArrayList<Set<String>>();
+  private final CountDownLatch firstPushStarted = new CountDownLatch(1);
+  private final CountDownLatch releaseFirstPush = new CountDownLatch(1);
+
+  private void push(Set<String> versionTags) throws GitHelperException {
+    synchronized (pushedTags) {
+      pushedTags.add(new TreeSet<String>(versionTags));
+    }
+    if (pushes.incrementAndGet() == 1) {
+      firstPushStarted.countDown();
+      try {
+        releaseFirstPush.await(5, TimeUnit.SECONDS);
+      } catch (InterruptedException e) {
+        throw new GitHelperException("interrupted");
+      }
+    }
+  }
+
+  /**
+   * Starts a push that blocks until it is released, then requests further pushes while it is in
+   * progress
+   */
+  private List<Future<?>> pushWhileInProgress(ExecutorService executor, PushCoalescer coalescer,
+      int requests, PushCoalescer.Push push) throws Exception {
+    List<Future<?>> results = new ArrayList<Future<?>>();
+    results.add(executor.submit(() -> {
+      coalescer.push("repo:master", "v0", push);
+      return null;
+    }));
+    assertTrue(firstPushStarted.await(5, TimeUnit.SECONDS));
+    for (int i = 1; i < requests; i++) {
+      String versionTag = i % 2 == 0 ? "v" + i : null;
+      results.add(executor.submit(() -> {
+        coalescer.push("repo:master", versionTag, push);
+        return null;
+      }));
+    }
+    // give the requests time to join the batch before the first push is done
+    Thread.sleep(200);
+    releaseFirstPush.countDown();
+    return results;
+  }
+
+  /**
+   * Test that the requests arriving during a push result in one further push with all their
+   * version tags
+   */
+  @Test
+  public void coalesceTest() throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(5);
+    try {
+      for (Future<?> result : pushWhileInProgress(executor, new PushCoalescer(50), 5,
+          this::push)) {
+        result.get();
+      }
+      assertEquals(2, pushes.get());
+      assertEquals("[[v0], [v2, v4]]", pushedTags.toString());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  /**
+   * Test that a request without a push in progress is pushed without waiting for the window
+   */
+  @Test
+  public void immediateTest() throws Exception {
+    releaseFirstPush.countDown();
+    PushCoalescer coalescer = new PushCoalescer(10000);
+    long startTime = System.nanoTime();
+    coalescer.push("repo:master", null, this::push);
+    coalescer.push("repo:master", "v1", this::push);
+    coalescer.push("other:master", null, this::push);
+    assertTrue(System.nanoTime() - startTime < TimeUnit.SECONDS.toNanos(5));
+    assertEquals(3, pushes.get());
+    assertEquals("[[], [v1], []]", pushedTags.toString());
+  }
+
+  /**
+   * Test that every request is pushed on its own without a window
+   */
+  @Test
+  public void noWindowTest() throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(3);
+    try {
+      for (Future<?> result : pushWhileInProgress(executor, new PushCoalescer(0), 3,
+          this::push)) {
+        result.get();
+      }
+      assertEquals(3, pushes.get());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  /**
+   * Test that a failed push is reported to all coalesced requests
+   */
+  @Test
+  public void failureTest() throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(3);
+    try {
+      for (Future<?> result : pushWhileInProgress(executor, new PushCoalescer(50), 3,
+          versionTags -> {
+            push(versionTags);
+            throw new GitHelperException("rejected");
+          })) {
+        try {
+          result.get();
+          fail("push should fail");
+        } catch (ExecutionException e) {
+          assertTrue(e.getCause() instanceof GitHelperException);
+        }
+      }
+      assertEquals(2, pushes.get());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  /**
+   * Test that an error during the push is reported to the coalesced requests instead of leaving
+   * them waiting
+   */
+  @Test
+  public void errorTest() throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(3);
+    try {
+      List<Future<?>> results = pushWhileInProgress(executor, new PushCoalescer(50), 3,
+          versionTags -> {
+            push(versionTags);
+            if (pushes.get() > 1) {
+              throw new OutOfMemoryError();
+            }
+          });
+      results.get(0).get(5, TimeUnit.SECONDS);
+      for (Future<?> result : results.subList(1, results.size())) {
+        try {
+          result.get(5, TimeUnit.SECONDS);
+          fail("push should fail");
+        } catch (ExecutionException e) {
+          assertTrue(e.getCause() instanceof GitHelperException
+              || e.getCause() instanceof OutOfMemoryError);
+        }
+      }
+      assertEquals(2, pushes.get());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+}
@@ -0,0 +1,136 @@
+package i5.las2peer.services.codeGenerationService;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import i5.las2peer.services.codeGenerationService.adapters.LocalGitHostAdapter;
+import i5.las2peer.services.codeGenerationService.generators.Generator;
+import i5.las2peer.services.codeGenerationService.utilities.Metrics;
+import i5.las2peer.services.codeGenerationService.utilities.RemoteRepositoryCache;
+
+public class RemoteRepositoryCacheTest {
+
+  private static final String URL = "https://github.com/CAE/microservice-1.git";
+
+  private final AtomicInteger checks = new AtomicInteger();
+
+  @Before
+  public void resetCache() {
+    RemoteRepositoryCache.setTtl(RemoteRepositoryCache.DEFAULT_TTL_MILLIS);
+    Metrics.reset();
+  }
+
+  @After
+  public void restoreTtl() {
+    RemoteRepositoryCache.setTtl(RemoteRepositoryCache.DEFAULT_TTL_MILLIS);
+  }
+
+  private boolean check(boolean exists) {
+    checks.incrementAndGet();
+    return exists;
+  }
+
+  /**
+   * Test that repeated checks are answered from the cache until the entry expires
+   */
+  @Test
+  public void hitAndExpiryTest() throws InterruptedException {
+    assertTrue(RemoteRepositoryCache.exists(URL, () -> check(true)));
+    assertTrue(RemoteRepositoryCache.exists(URL, () -> check(false)));
+    assertEquals(1, checks.get());
+    assertEquals(1, Metrics.counter(Metrics.REMOTE_EXISTS_CACHE_HITS).getCount());
+    assertEquals(1, Metrics.counter(Metrics.REMOTE_EXISTS_CACHE_MISSES).getCount());
+
+    RemoteRepositoryCache.setTtl(50);
+    assertFalse(RemoteRepositoryCache.exists(URL, () -> check(false)));
+    Thread.sleep(100);
+    assertTrue(RemoteRepositoryCache.exists(URL, () -> check(true)));
+    assertEquals(3, checks.get());
+  }
+
+  /**
+   * Test that eager updates replace the cached existence and that a ttl of 0 disables the cache
+   */
+  @Test
+  public void putAndDisableTest() {
+    RemoteRepositoryCache.put(URL, false);
+    assertFalse(RemoteRepositoryCache.exists(URL, () -> check(true)));
+    RemoteRepositoryCache.put(URL, true);
+    assertTrue(RemoteRepositoryCache.exists(URL, () -> check(false)));
+    assertEquals(0, checks.get());
+
+    RemoteRepositoryCache.setTtl(0);
+    RemoteRepositoryCache.put(URL, true);
+    assertFalse(RemoteRepositoryCache.exists(URL, () -> check(false)));
+    assertFalse(RemoteRepositoryCache.exists(URL, () -> check(false)));
+    assertEquals(2, checks.get());
+  }
+
+  /**
+   * Test that a failing check is treated as a missing repository without caching the result
+   */
+  @Test
+  public void failedCheckTest() {
+    assertFalse(RemoteRepositoryCache.exists(URL, () -> {
+      checks.incrementAndGet();
+      throw new IOException("git host not reachable");
+    }));
+    assertTrue(RemoteRepositoryCache.exists(URL, () -> check(true)));
+    assertTrue(RemoteRepositoryCache.exists(URL, () -> check(false)));
+    assertEquals(2, checks.get());
+  }
+
+  /**
+   * Test that the cache does not grow beyond its maximum size and drops expired entries
+   */
+  @Test
+  public void sizeTest() throws InterruptedException {
+    for (int i = 0; i < RemoteRepositoryCache.MAX_ENTRIES + 10; i++) {
+      RemoteRepositoryCache.put(URL + i, true);
+    }
+    assertEquals(RemoteRepositoryCache.MAX_ENTRIES, RemoteRepositoryCache.size());
+
+    RemoteRepositoryCache.setTtl(50);
+    for (int i = 0; i < RemoteRepositoryCache.MAX_ENTRIES; i++) {
+      RemoteRepositoryCache.put(URL + i, true);
+    }
+    Thread.sleep(100);
+    RemoteRepositoryCache.put(URL, true);
+    assertEquals(1, RemoteRepositoryCache.size());
+  }
+
+  /**
+   * Test that creating and deleting a repository updates the cache, such that no ls-remote is needed
+   */
+  @Test
+  public void gitHostAdapterTest() throws Exception {
+    File gitHost = Files.createTempDirectory("githost").toFile();
+    try {
+      LocalGitHostAdapter gitAdapter = new LocalGitHostAdapter(gitHost.toURI().toString(), "user",
+          "password", "CAE", "CAE-Templates", "user@localhost");
+      gitAdapter.createRepo("microservice-1", "test");
+      assertTrue(Generator.existsRemoteRepository("microservice-1", gitAdapter));
+      gitAdapter.deleteRepo("microservice-1");
+      assertFalse(Generator.existsRemoteRepository("microservice-1", gitAdapter));
+      assertEquals(0, Metrics.counter(Metrics.REMOTE_EXISTS_CACHE_MISSES).getCount());
+
+      // not cached yet, thus checked on the git host
+      assertFalse(Generator.existsRemoteRepository("microservice-2", gitAdapter));
+      assertEquals(1, Metrics.counter(Metrics.REMOTE_EXISTS_CACHE_MISSES).getCount());
+    } finally {
+      FileUtils.deleteDirectory(gitHost);
+    }
+  }
+
+}
@@ -0,0 +1,68 @@
+package i5.las2peer.services.codeGenerationService;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.After;
+import org.junit.Test;
+
+import i5.las2peer.services.codeGenerationService.utilities.ResponseCache;
+
+public class ResponseCacheTest {
+
+  @After
+  public void resetCache() {
+    ResponseCache.setMaxEntries(ResponseCache.DEFAULT_MAX_ENTRIES);
+  }
+
+  /**
+   * Test that responses are only returned for the commit they were created for
+   */
+  @Test
+  public void commitTest() {
+    ResponseCache.put("file:repo:index.html", "commit1", "response1");
+    assertEquals("response1", ResponseCache.get("file:repo:index.html", "commit1"));
+    assertNull(ResponseCache.get("file:repo:index.html", "commit2"));
+    assertNull(ResponseCache.get("file:repo:other.html", "commit1"));
+
+    ResponseCache.put("file:repo:index.html", "commit2", "response2");
+    assertEquals("response2", ResponseCache.get("file:repo:index.html", "commit2"));
+    assertNull(ResponseCache.get("file:repo:index.html", "commit1"));
+  }
+
+  /**
+   * Test that the least recently used responses are removed and that the cache can be disabled
+   */
+  @Test
+  public void maxEntriesTest() {
+    ResponseCache.setMaxEntries(2);
+    ResponseCache.put("a", "commit", "a");
+    ResponseCache.put("b", "commit", "b");
+    ResponseCache.get("a", "commit");
+    ResponseCache.put("c", "commit", "c");
+    assertEquals("a", ResponseCache.get("a", "commit"));
+    assertNull(ResponseCache.get("b", "commit"));
+    assertEquals("c", ResponseCache.get("c", "commit"));
+
+    ResponseCache.setMaxEntries(0);
+    ResponseCache.put("a", "commit", "a");
+    assertNull(ResponseCache.get("a", "commit"));
+  }
+
+  /**
+   * Test the matching of If-None-Match headers against the commit id
+   */
+  @Test
+  public void matchesTest() {
+    assertTrue(ResponseCache.matches("\"abc\"", "abc"));
+    assertTrue(ResponseCache.matches("W/\"abc\"", "abc"));
+    assertTrue(ResponseCache.matches("\"def\", \"abc\"", "abc"));
+    assertTrue(ResponseCache.matches("*", "abc"));
+    assertFalse(ResponseCache.matches("\"def\"", "abc"));
+    assertFalse(ResponseCache.matches("abc", "abc"));
+    assertFalse(ResponseCache.matches(null, "abc"));
+  }
+
+}
@@ -0,0 +1,57 @@
+package i5.las2peer.services.codeGenerationService;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import org.junit.Test;
+
+import i5.las2peer.services.codeGenerationService.models.traceModel.FileTraceModel;
+import i5.las2peer.services.codeGenerationService.models.traceModel.FileTraceModelFactory;
+import i5.las2peer.services.codeGenerationService.models.traceModel.TraceModel;
+import i5.las2peer.services.codeGenerationService.traces.segments.CompositeSegment;
+import i5.las2peer.services.codeGenerationService.traces.segments.ProtectedSegment;
+import i5.las2peer.services.codeGenerationService.traces.segments.SegmentIds;
+
+public class SegmentIdsTest {
+
+  /**
+   * Test that equal ids share one instance, regardless of how they were built
+   */
+  @Test
+  public void internTest() {
+    String id = SegmentIds.join("model1", "$Method_Name$before[3]");
+    assertEquals("model1:$Method_Name$before[3]", id);
+    assertSame(id, SegmentIds.intern(new String("model1:$Method_Name$before[3]")));
+    assertSame(id, SegmentIds.join(new String("model1"), "$Method_Name$before[3]"));
+    assertSame(id, new ProtectedSegment(new String(id)).getId());
+    assertNull(SegmentIds.intern(null));
+  }
+
+  /**
+   * Test that segments are found by ids that are not canonical
+   */
+  @Test
+  public void lookupTest() throws IOException {
+    CompositeSegment composite = new CompositeSegment("parent");
+    CompositeSegment child = new CompositeSegment("parent:child");
+    child.addSegment(new ProtectedSegment("parent:child:$Name$"));
+    composite.addSegment(child);
+
+    String id = new StringBuilder("parent:child:").append("$Name$").toString();
+    assertEquals("parent:child:$Name$", composite.getChildRecursive(id).getId());
+    assertNull(composite.getChildRecursive("parent:child:$Other$"));
+
+    String traces = "{\"traces\":{},\"traceSegments\":[{\"traceSegments\":["
+        + "{\"type\":\"protected\",\"id\":\"a:b\",\"length\":3}],"
+        + "\"id\":\"a\",\"type\":\"composite\"}]}";
+    FileTraceModel fileTraceModel = FileTraceModelFactory.createFileTraceModel("abc",
+        new StringReader(traces), new TraceModel(), "file.txt");
+    assertEquals("abc", fileTraceModel.getRecursiveSegment(new String("a:b")).toString());
+    assertEquals("abc", fileTraceModel.getRecursiveSegment(new String("a")).toString());
+  }
+
+}
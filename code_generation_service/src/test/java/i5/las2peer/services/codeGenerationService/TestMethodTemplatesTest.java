@@ -0,0 +1,95 @@
+package i5.las2peer.services.codeGenerationService;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import i5.las2peer.services.codeGenerationService.generators.TestMethodTemplates;
+
+public class TestMethodTemplatesTest {
+
+  private static final String TEST_METHOD =
+      "/**\n * Test javadoc\n */\n@Test\npublic void $HTTP_Method_Name$() {\n"
+          + "  MiniClientCoverage c = new MiniClientCoverage();\n$Test_Requests$\n}\n";
+  private static final String TEST_REQUEST =
+      "try {\n  System.out.println(\"Request\");\n  ClientResponse result = c.sendRequest();\n}\n";
+
+  private HttpServer server;
+  private String testFilesUrl;
+  private final AtomicInteger downloads = new AtomicInteger();
+
+  @Before
+  public void startTemplateHost() throws IOException {
+    server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+    server.createContext("/", this::handle);
+    server.start();
+    testFilesUrl = "http://localhost:" + server.getAddress().getPort() + "/servicePackage/";
+    TestMethodTemplates.setTtl(TestMethodTemplates.DEFAULT_TTL_MILLIS);
+  }
+
+  @After
+  public void stopTemplateHost() {
+    TestMethodTemplates.setTtl(TestMethodTemplates.DEFAULT_TTL_MILLIS);
+    server.stop(0);
+  }
+
+  private void handle(HttpExchange exchange) throws IOException {
+    downloads.incrementAndGet();
+    String path = exchange.getRequestURI().getPath();
+    String body = path.endsWith("genericTestMethod.txt") ? TEST_METHOD : TEST_REQUEST;
+    byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+    exchange.sendResponseHeaders(200, bytes.length);
+    try (OutputStream output = exchange.getResponseBody()) {
+      output.write(bytes);
+    }
+  }
+
+  /**
+   * Test that the templates are downloaded once and prepared for single test methods
+   */
+  @Test
+  public void cachedTemplatesTest() {
+    TestMethodTemplates templates = TestMethodTemplates.get(testFilesUrl);
+    for (int i = 0; i < 10; i++) {
+      assertSame(templates, TestMethodTemplates.get(testFilesUrl));
+    }
+    assertEquals(2, downloads.get());
+
+    assertEquals("@Test\npublic void $HTTP_Method_Name$() {\n"
+        + "  MiniClient c = new MiniClient();\n$Test_Requests$\n}\n",
+        templates.getGenericTestMethod());
+    assertEquals("try {\n  \n  ClientResponse result = c.sendRequest();\n}\n",
+        templates.getGenericTestRequest());
+  }
+
+  /**
+   * Test that the templates are downloaded again after an invalidation or expiry
+   */
+  @Test
+  public void invalidationTest() throws InterruptedException {
+    TestMethodTemplates templates = TestMethodTemplates.get(testFilesUrl);
+    TestMethodTemplates.invalidate();
+    assertNotSame(templates, TestMethodTemplates.get(testFilesUrl));
+    assertEquals(4, downloads.get());
+
+    TestMethodTemplates.setTtl(50);
+    templates = TestMethodTemplates.get(testFilesUrl);
+    Thread.sleep(100);
+    assertNotSame(templates, TestMethodTemplates.get(testFilesUrl));
+    assertEquals(8, downloads.get());
+  }
+
+}
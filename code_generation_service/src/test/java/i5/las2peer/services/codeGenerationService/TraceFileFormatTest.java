@@ -0,0 +1,114 @@
+package i5.las2peer.services.codeGenerationService;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.json.simple.JSONObject;
+import org.json.simple.parser.JSONParser;
+import org.json.simple.parser.ParseException;
+import org.junit.After;
+import org.junit.Test;
+
+import i5.las2peer.services.codeGenerationService.models.traceModel.FileTraceModel;
+import i5.las2peer.services.codeGenerationService.models.traceModel.FileTraceModelFactory;
+import i5.las2peer.services.codeGenerationService.models.traceModel.TraceFileFormat;
+import i5.las2peer.services.codeGenerationService.models.traceModel.TraceModel;
+import i5.las2peer.services.codeGenerationService.traces.segments.Segment;
+
+public class TraceFileFormatTest extends TemplateBasicSetup {
+
+  private static final String[] TRACE_FILES =
+      {"testFiles/ModelSynchronization/TestCase1/testFile.txt.traces",
+          "testFiles/ModelSynchronization/TestCase2/testFile.txt.traces",
+          "testFiles/ModelSynchronization/TestCase3/index.html.traces"};
+
+  @After
+  public void resetWriteFormat() {
+    TraceFileFormat.setWriteFormat(TraceFileFormat.JSON);
+  }
+
+  /**
+   * Test that the binary format contains the same traces as the json files and is smaller
+   */
+  @Test
+  public void roundTripTest() throws ParseException {
+    for (String traceFile : TRACE_FILES) {
+      byte[] json = getContent(traceFile).getBytes(StandardCharsets.UTF_8);
+      JSONObject traces = (JSONObject) new JSONParser().parse(getContent(traceFile));
+
+      byte[] binary = TraceFileFormat.encode(traces);
+      assertTrue(TraceFileFormat.isBinary(binary));
+      assertFalse(TraceFileFormat.isBinary(json));
+      assertTrue(traceFile, binary.length * 2 < json.length);
+
+      assertEquals(traces, TraceFileFormat.parse(binary));
+      assertEquals(traces, TraceFileFormat.parse(json));
+      assertArrayEquals(binary, TraceFileFormat.convert(json, TraceFileFormat.BINARY));
+      assertEquals(traces,
+          TraceFileFormat.parse(TraceFileFormat.convert(binary, TraceFileFormat.JSON)));
+    }
+  }
+
+  /**
+   * Test that hashes of unprotected segments, other values and unknown objects are preserved
+   */
+  @SuppressWarnings("unchecked")
+  @Test
+  public void segmentsAndValuesTest() throws ParseException {
+    JSONObject traces = (JSONObject) new JSONParser().parse("{\"traceSegments\":["
+        + "{\"type\":\"unprotected\",\"id\":\"a\",\"length\":3,\"integrityCheck\":true,\"hash\":\"f0a\"},"
+        + "{\"type\":\"unprotected\",\"id\":\"b\",\"length\":0,\"integrityCheck\":false},"
+        + "{\"type\":\"unprotected\",\"id\":\"c\",\"length\":1,\"integrityCheck\":true},"
+        + "{\"type\":\"protected\",\"id\":\"d\",\"length\":12,\"extra\":null}],"
+        + "\"traces\":{\"model1\":{\"name\":\"n\",\"segments\":[\"a\",\"b\"]}},"
+        + "\"number\":-1234567890123,\"fraction\":0.5,\"flag\":false}");
+    traces.put("generationId", Segment.createJSONSegment(4, "e", "unprotectedIntegrity"));
+    assertEquals(traces, TraceFileFormat.decode(TraceFileFormat.encode(traces)));
+  }
+
+  /**
+   * Test that file trace models are created from both formats and that the write format is used
+   */
+  @Test
+  public void fileTraceModelTest() throws ParseException {
+    String content = getContent("testFiles/ModelSynchronization/TestCase3/index.html");
+    JSONObject traces = (JSONObject) new JSONParser()
+        .parse(getContent("testFiles/ModelSynchronization/TestCase3/index.html.traces"));
+
+    TraceFileFormat.setWriteFormat(TraceFileFormat.BINARY);
+    byte[] binary = TraceFileFormat.serialize(traces);
+    assertTrue(TraceFileFormat.isBinary(binary));
+    FileTraceModel fileTraceModel =
+        FileTraceModelFactory.createFileTraceModel(content, binary, new TraceModel(), "index.html");
+    assertEquals(content, fileTraceModel.getContent());
+
+    TraceFileFormat.setWriteFormat(TraceFileFormat.JSON);
+    byte[] json = TraceFileFormat.serialize(traces);
+    assertFalse(TraceFileFormat.isBinary(json));
+    fileTraceModel =
+        FileTraceModelFactory.createFileTraceModel(content, json, new TraceModel(), "index.html");
+    assertEquals(content, fileTraceModel.getContent());
+  }
+
+  /**
+   * Test that truncated binary trace files are rejected
+   */
+  @Test
+  public void corruptedTest() throws ParseException {
+    JSONObject traces = (JSONObject) new JSONParser().parse(getContent(TRACE_FILES[0]));
+    byte[] binary = TraceFileFormat.encode(traces);
+    try {
+      TraceFileFormat.parse(Arrays.copyOf(binary, binary.length / 2));
+      fail("truncated trace file should not be parsed");
+    } catch (ParseException e) {
+      assertEquals(ParseException.ERROR_UNEXPECTED_EXCEPTION, e.getErrorType());
+    }
+  }
+
+}
@@ -0,0 +1,136 @@
+package i5.las2peer.services.codeGenerationService;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.commons.io.FileUtils;
+import org.eclipse.jgit.api.Git;
+import org.json.simple.JSONObject;
+import org.json.simple.parser.JSONParser;
+import org.json.simple.parser.ParseException;
+import org.junit.Test;
+
+import i5.las2peer.services.codeGenerationService.generators.Generator;
+import i5.las2peer.services.codeGenerationService.models.traceModel.FileTraceModel;
+import i5.las2peer.services.codeGenerationService.models.traceModel.TraceIndex;
+import i5.las2peer.services.codeGenerationService.templateEngine.Template;
+import i5.las2peer.services.codeGenerationService.templateEngine.TemplateEngine;
+
+public class TraceIndexTest extends TemplateBasicSetup {
+
+  private FileTraceModel generateFile() {
+    TemplateEngine templateEngine =
+        Template.createInitialTemplateEngine(traceModel, "testFile.txt");
+    Template mainTemplate = templateEngine.createTemplate("testFileId", testFileTemplateContent);
+    templateEngine.addTemplate(mainTemplate);
+    for (int i = 0; i < 3; i++) {
+      Template contentTemplate =
+          templateEngine.createTemplate("content" + i, testContentTemplateContent3);
+      mainTemplate.appendVariable("$Content$", contentTemplate);
+      templateEngine.addTrace("model" + i, "Element", "element" + i, contentTemplate);
+    }
+    return templateEngine.getFileTraceModel();
+  }
+
+  /**
+   * Test that the index contains the first segment of every model element and can be read again
+   */
+  @Test
+  public void createTest() throws ParseException {
+    FileTraceModel fileTraceModel = generateFile();
+    TraceIndex index = TraceIndex.create(traceModel);
+
+    assertEquals(3, index.size());
+    for (int i = 0; i < 3; i++) {
+      assertEquals("testFile.txt", index.getFileName("model" + i));
+      assertEquals(fileTraceModel.getFirstSegmentId("model" + i), index.getSegmentId("model" + i));
+    }
+    assertFalse(index.contains("model3"));
+    assertNull(index.getSegmentId("model3"));
+
+    TraceIndex parsed =
+        TraceIndex.parse(index.toJSONString().getBytes(StandardCharsets.UTF_8));
+    assertEquals(index.toJSONString(), parsed.toJSONString());
+  }
+
+  /**
+   * Test that the index of old repositories, created from the json traces, equals the generated one
+   */
+  @Test
+  public void createFromJSONTest() throws ParseException {
+    FileTraceModel fileTraceModel = generateFile();
+    JSONParser parser = new JSONParser();
+    JSONObject traceModelJSON = (JSONObject) parser.parse(traceModel.toJSONObject().toJSONString());
+    Map<String, JSONObject> fileTraces = new HashMap<String, JSONObject>();
+    fileTraces.put("testFile.txt",
+        (JSONObject) parser.parse(fileTraceModel.toJSONObject().toJSONString()));
+
+    assertEquals(TraceIndex.create(traceModel).toJSONString(),
+        TraceIndex.create(traceModelJSON, fileTraces).toJSONString());
+  }
+
+  /**
+   * Test that generators write the index to the file read by the service
+   */
+  @Test
+  public void repositoryTest() throws Exception {
+    generateFile();
+    File directory = Files.createTempDirectory("traceIndex").toFile();
+    try (Git git = Git.init().setDirectory(directory).call()) {
+      Generator.createTraceIndexInRepository(git.getRepository(), traceModel);
+      byte[] content = Files.readAllBytes(new File(directory, TraceIndex.FILE_NAME).toPath());
+      assertEquals(TraceIndex.create(traceModel).toJSONString(),
+          TraceIndex.parse(content).toJSONString());
+    } finally {
+      FileUtils.deleteDirectory(directory);
+    }
+  }
+
+  /**
+   * Test that the locations of the model elements of an edited file are updated
+   */
+  @Test
+  public void updateTest() throws ParseException {
+    generateFile();
+    TraceIndex index = TraceIndex.create(traceModel);
+    JSONObject traces = (JSONObject) new JSONParser().parse("{\"traces\":{"
+        + "\"model0\":{\"segments\":[\"segment0\"]},\"model1\":{\"segments\":[\"newSegment\"]},"
+        + "\"model2\":{\"segments\":[\"segment2\"]}},\"traceSegments\":[]}");
+
+    index.update("otherFile.txt", traces);
+    assertFalse("newSegment".equals(index.getSegmentId("model1")));
+
+    index.update("testFile.txt", traces);
+    assertEquals("newSegment", index.getSegmentId("model1"));
+    assertEquals("segment0", index.getSegmentId("model0"));
+    assertEquals(3, index.size());
+  }
+
+  /**
+   * Test that model elements newly traced in an edited file are added and that model elements
+   * whose traces were removed from it are dropped
+   */
+  @Test
+  public void updateAddedAndRemovedTest() throws ParseException {
+    generateFile();
+    TraceIndex index = TraceIndex.create(traceModel);
+    JSONObject traces = (JSONObject) new JSONParser().parse("{\"traces\":{"
+        + "\"model0\":{\"segments\":[\"segment0\"]},\"model1\":{\"segments\":[\"segment1\"]},"
+        + "\"model3\":{\"segments\":[\"segment3\"]}},\"traceSegments\":[]}");
+
+    index.update("testFile.txt", traces);
+    assertEquals("testFile.txt", index.getFileName("model3"));
+    assertEquals("segment3", index.getSegmentId("model3"));
+    assertFalse(index.contains("model2"));
+    assertNull(index.getFileName("model2"));
+    assertEquals(3, index.size());
+  }
+
+}
@@ -0,0 +1,102 @@
+package i5.las2peer.services.codeGenerationService;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+
+import org.json.simple.JSONObject;
+import org.json.simple.parser.JSONParser;
+import org.json.simple.parser.ParseException;
+import org.junit.Test;
+
+import i5.las2peer.services.codeGenerationService.models.traceModel.FileTraceModel;
+import i5.las2peer.services.codeGenerationService.models.traceModel.FileTraceModelFactory;
+import i5.las2peer.services.codeGenerationService.models.traceModel.TraceModel;
+import i5.las2peer.services.codeGenerationService.templateEngine.Template;
+import i5.las2peer.services.codeGenerationService.templateEngine.TemplateEngine;
+import i5.las2peer.services.codeGenerationService.traces.segments.UnprotectedSegment;
+
+public class TraceStreamingTest extends TemplateBasicSetup {
+
+  private static final String[][] TRACED_FILES =
+      {{"testFiles/ModelSynchronization/TestCase1/testFile.txt",
+          "testFiles/ModelSynchronization/TestCase1/testFile.txt.traces"},
+          {"testFiles/ModelSynchronization/TestCase2/testFile.txt",
+              "testFiles/ModelSynchronization/TestCase2/testFile.txt.traces"},
+          {"testFiles/ModelSynchronization/TestCase3/index.html",
+              "testFiles/ModelSynchronization/TestCase3/index.html.traces"}};
+
+  /**
+   * Test that the streamed json of a generated file equals its json object
+   */
+  @Test
+  public void writeJSONTest() throws IOException, ParseException {
+    TemplateEngine templateEngine =
+        Template.createInitialTemplateEngine(traceModel, "testFile.txt");
+    Template mainTemplate = templateEngine.createTemplate("testFileId", testFileTemplateContent);
+    templateEngine.addTemplate(mainTemplate);
+    for (int i = 0; i < 3; i++) {
+      Template contentTemplate =
+          templateEngine.createTemplate("content" + i, testContentTemplateContent3);
+      contentTemplate.setVariable("$UnprotectedBlock$", "content \"" + i + "\"\n");
+      mainTemplate.appendVariable("$Content$", contentTemplate);
+      templateEngine.addTrace("model" + i, "Element", "element" + i, contentTemplate);
+    }
+    FileTraceModel fileTraceModel = templateEngine.getFileTraceModel();
+
+    StringWriter out = new StringWriter();
+    fileTraceModel.writeJSON(out);
+    JSONObject expected =
+        (JSONObject) new JSONParser().parse(fileTraceModel.toJSONObject().toJSONString());
+    assertEquals(expected, new JSONParser().parse(out.toString()));
+
+    // writing again must not duplicate the segments stored in the meta information by toJSONObject
+    out = new StringWriter();
+    fileTraceModel.writeJSON(out);
+    assertEquals(expected, new JSONParser().parse(out.toString()));
+  }
+
+  /**
+   * Test that file trace models read from a stream equal the ones created from json objects
+   */
+  @Test
+  public void readJSONTest() throws IOException, ParseException {
+    for (String[] tracedFile : TRACED_FILES) {
+      String content = getContent(tracedFile[0]);
+      String traces = getContent(tracedFile[1]);
+
+      FileTraceModel expected = FileTraceModelFactory.createFileTraceModelFromJSON(content,
+          (JSONObject) new JSONParser().parse(traces), new TraceModel(), tracedFile[0]);
+      FileTraceModel streamed = FileTraceModelFactory.createFileTraceModel(content,
+          new StringReader(traces), new TraceModel(), tracedFile[0]);
+
+      assertEquals(content, streamed.getContent());
+      assertEquals(expected.toJSONObject(), streamed.toJSONObject());
+    }
+  }
+
+  /**
+   * Test that the properties of segments may be in any order and that lengths may be strings
+   */
+  @Test
+  public void propertyOrderTest() throws IOException {
+    String traces = "{\"traces\":{\"m\":{\"segments\":[\"b\"]}},\"traceSegments\":["
+        + "{\"traceSegments\":[{\"length\":\"3\",\"type\":\"protected\",\"id\":\"a\"},"
+        + "{\"hash\":\"" + UnprotectedSegment.getHash("def") + "\",\"integrityCheck\":true,"
+        + "\"length\":3,\"id\":\"b\",\"type\":\"unprotected\"}],\"id\":\"c\",\"type\":\"composite\"},"
+        + "{\"type\":\"unprotected\",\"integrityCheck\":false,\"id\":\"d\",\"length\":1}]}";
+    FileTraceModel fileTraceModel = FileTraceModelFactory.createFileTraceModel("abcdefg",
+        new StringReader(traces), new TraceModel(), "file.txt");
+
+    assertEquals("abcdefg", fileTraceModel.getContent());
+    assertEquals("abc", fileTraceModel.getRecursiveSegment("a").toString());
+    UnprotectedSegment segment = (UnprotectedSegment) fileTraceModel.getRecursiveSegment("b");
+    assertEquals("def", segment.getContent());
+    assertEquals(UnprotectedSegment.getHash("def"), segment.getHash());
+    assertTrue(fileTraceModel.getRecursiveSegment("d") instanceof UnprotectedSegment);
+  }
+
+}
@@ -0,0 +1,50 @@
+package i5.las2peer.services.codeGenerationService;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.nio.charset.StandardCharsets;
+
+import org.json.simple.JSONObject;
+import org.json.simple.parser.JSONParser;
+import org.json.simple.parser.ParseException;
+import org.junit.Test;
+
+import i5.las2peer.services.codeGenerationService.generators.GeneratedFile;
+import i5.las2peer.services.codeGenerationService.generators.TracedFile;
+import i5.las2peer.services.codeGenerationService.models.traceModel.FileTraceModel;
+import i5.las2peer.services.codeGenerationService.models.traceModel.TraceFileFormat;
+import i5.las2peer.services.codeGenerationService.models.traceModel.TraceModel;
+
+public class TracedFileTest extends TemplateBasicSetup {
+
+  /**
+   * Test that old file trace models are created from the raw trace files of both formats
+   */
+  @Test
+  public void createFileTraceModelTest() throws ParseException {
+    String content = getContent("testFiles/ModelSynchronization/TestCase3/index.html");
+    String traces = getContent("testFiles/ModelSynchronization/TestCase3/index.html.traces");
+    byte[] binary = TraceFileFormat.encode((JSONObject) new JSONParser().parse(traces));
+
+    for (byte[] traceFile : new byte[][] {traces.getBytes(StandardCharsets.UTF_8), binary}) {
+      TracedFile tracedFile = new TracedFile("index.html", content, traceFile);
+      FileTraceModel fileTraceModel =
+          tracedFile.createFileTraceModel(new TraceModel(), "index.html");
+      assertEquals("index.html", fileTraceModel.getFileName());
+      assertEquals(content, fileTraceModel.getContent());
+    }
+  }
+
+  /**
+   * Test that the text content of generated files is encoded as utf-8
+   */
+  @Test
+  public void generatedFileTest() {
+    GeneratedFile file = new GeneratedFile("js/app.js", "var s = \"\u00e4\u20ac\";");
+    assertEquals("js/app.js", file.getPath());
+    assertArrayEquals("var s = \"\u00e4\u20ac\";".getBytes(StandardCharsets.UTF_8),
+        file.getContent());
+  }
+
+}
@@ -0,0 +1,83 @@
+package i5.las2peer.services.codeGenerationService;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.eclipse.jgit.revwalk.RevWalk;
+import org.eclipse.jgit.treewalk.TreeWalk;
+import org.json.simple.JSONObject;
+import org.junit.Test;
+
+import i5.las2peer.services.codeGenerationService.generators.WarmUp;
+
+public class WarmUpTest {
+
+  /**
+   * Test that every warm-up generation commits the rendered templates and their traces to the
+   * in-memory repository
+   */
+  @Test
+  public void generateTest() throws IOException {
+    Map<String, String> templates = new LinkedHashMap<String, String>();
+    templates.put("README.md", "# $Name$");
+    templates.put("frontend/widget.html", "<div id=\"$Id$\">-{ }-</div>");
+
+    try (Repository repository = WarmUp.generate(templates, 3);
+        RevWalk revWalk = new RevWalk(repository)) {
+      RevCommit commit = revWalk.parseCommit(repository.resolve(Constants.HEAD));
+      int commits = 1;
+      for (RevCommit parent = commit; parent.getParentCount() > 0; commits++) {
+        parent = revWalk.parseCommit(parent.getParent(0));
+      }
+      assertEquals(3, commits);
+
+      try (TreeWalk treeWalk =
+          TreeWalk.forPath(repository, "frontend/widget.html", commit.getTree())) {
+        assertNotNull(treeWalk);
+        assertEquals("<div id=\"$Id$\"> </div>", new String(
+            repository.open(treeWalk.getObjectId(0)).getBytes(), StandardCharsets.UTF_8));
+      }
+      assertNotNull(
+          TreeWalk.forPath(repository, "traces/frontend/widget.html.traces", commit.getTree()));
+      assertNotNull(TreeWalk.forPath(repository, "traces/index.json", commit.getTree()));
+    }
+  }
+
+  /**
+   * Test that a warm-up that was not started is reported as not ready
+   */
+  @Test
+  public void statusTest() {
+    WarmUp warmUp = new WarmUp(null, 1);
+    assertFalse(warmUp.isDone());
+    JSONObject status = warmUp.toJSONObject();
+    assertEquals(false, status.get("ready"));
+    assertEquals("pending", status.get("status"));
+  }
+
+  /**
+   * Test that an error during the warm-up fails it, such that the service still becomes ready
+   */
+  @Test
+  public void errorTest() throws InterruptedException {
+    WarmUp warmUp = new WarmUp(null, 1, () -> {
+      throw new StackOverflowError();
+    });
+    warmUp.start();
+    for (int i = 0; i < 100 && !warmUp.isDone(); i++) {
+      Thread.sleep(50);
+    }
+    assertEquals(WarmUp.Status.FAILED, warmUp.getStatus());
+    assertEquals(true, warmUp.toJSONObject().get("ready"));
+  }
+
+}